@@ -17,6 +17,7 @@ package com.exadel.etoolbox.linkinspector.api;
 import org.apache.sling.api.resource.ResourceResolver;
 
 import java.util.Collection;
+import java.util.Collections;
 
 /**
  * Represents a service that extracts substrings that follow certain pattern (such as web links) from the given source
@@ -43,10 +44,32 @@ public interface Resolver {
      */
     Collection<Result> getResults(String source);
 
+    /**
+     * Retrieves the literal substrings that every value found by {@link #getResults(String)} contains, such as a URL
+     * scheme. The markers let the caller look for the values of all the resolvers in a single pass over the source
+     * and skip the resolvers the markers of which are missing from it. By default, no markers are declared, and the
+     * resolver is always invoked
+     * @return A collection of non-empty case-sensitive strings. Can be an empty collection, but never {@code null}
+     */
+    default Collection<String> getMarkers() {
+        return Collections.emptyList();
+    }
+
     /**
      * Validates the provided {@link Result}
      * @param result A @code Link} object; a non-null reference is expected
      * @param resourceResolver {@link ResourceResolver} object; a non-null reference is expected
      */
     void validate(Result result, ResourceResolver resourceResolver);
+
+    /**
+     * Validates the provided batch of {@link Result}s. Implementations can override this method to amortize the
+     * work shared by many results, e.g. to request many links simultaneously. By default, the results are validated
+     * one by one with {@link #validate(Result, ResourceResolver)}
+     * @param results A collection of {@link Result} objects; a non-null reference is expected
+     * @param resourceResolver {@link ResourceResolver} object; a non-null reference is expected
+     */
+    default void validateAll(Collection<Result> results, ResourceResolver resourceResolver) {
+        results.forEach(result -> validate(result, resourceResolver));
+    }
 }
@@ -93,15 +93,32 @@ public class GridViewItem {
     @ValueMapValue
     private String propertyName;
 
-    private String pagePath;
+    /**
+     * The path of the containing page if it was resolved at the time of the report generation
+     */
+    @ValueMapValue(name = "pagePath")
+    @Getter(value = AccessLevel.NONE)
+    private String containingPagePath;
+
+    @ValueMapValue
     private String pageTitle;
+
+    @ValueMapValue
     private String componentName;
-    private String componentPath;
+
+    @ValueMapValue
     private String componentType;
+
+    private String pagePath;
+    private String componentPath;
     private boolean isValidPage;
 
     @PostConstruct
     private void init() {
+        if (StringUtils.isNotEmpty(componentType)) {
+            initFromStoredDetails();
+            return;
+        }
         Resource resourceToShow = StringUtils.isNotBlank(resourcePath)
                 ? resourceResolver.getResource(resourcePath)
                 : null;
@@ -125,6 +142,16 @@ public class GridViewItem {
         componentPath = encodePath(resourcePath);
     }
 
+    /**
+     * Initializes the page and component details stored with the report, so that no repository lookups are needed
+     */
+    private void initFromStoredDetails() {
+        isValidPage = StringUtils.isNotEmpty(containingPagePath);
+        pagePath = isValidPage ? EDITOR_LINK + containingPagePath + HTML_EXTENSION : resourcePath;
+        pageTitle = StringUtils.defaultString(pageTitle);
+        componentPath = encodePath(resourcePath);
+    }
+
     /**
      * Gets the validation status of a text fragments, such as a link
      *
@@ -1,7 +1,7 @@
 package com.exadel.etoolbox.linkinspector.core.models.ui;
 
-import com.exadel.etoolbox.linkinspector.core.services.cache.GridResourcesCache;
-import com.exadel.etoolbox.linkinspector.core.services.data.models.GridResource;
+import com.exadel.etoolbox.linkinspector.core.services.data.DataFeedService;
+import com.exadel.etoolbox.linkinspector.core.services.data.models.DataFilter;
 import lombok.Getter;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.math.NumberUtils;
@@ -13,8 +13,7 @@ import org.apache.sling.models.annotations.injectorspecific.OSGiService;
 import org.apache.sling.models.annotations.injectorspecific.Self;
 
 import javax.annotation.PostConstruct;
-import java.util.*;
-import java.util.stream.Collectors;
+import java.util.Optional;
 
 /**
  * Calculates the pagination logic for the Link Inspector grid view.
@@ -36,7 +35,7 @@ public class PaginationModel {
     public static final int DEFAULT_PAGE_SIZE = 50;
 
     @OSGiService
-    private GridResourcesCache cache;
+    private DataFeedService dataFeedService;
 
     @Self
     private SlingHttpServletRequest request;
@@ -60,16 +59,11 @@ public class PaginationModel {
         String type = requestParameterToString(request.getRequestParameter(REQUEST_PARAMETER_TYPE));
         String substring = requestParameterToString(request.getRequestParameter(REQUEST_PARAMETER_SUBSTRING));
 
-        List<GridResource> resources = cache == null
-                ? Collections.emptyList()
-                : cache
-                .getGridResourcesList()
-                .stream()
-                .filter(gridResource -> StringUtils.isBlank(type) || StringUtils.equals(gridResource.getType(), type))
-                .filter(gridResource -> StringUtils.isBlank(substring) || StringUtils.contains(gridResource.getValue(), substring))
-                .collect(Collectors.toList());
+        int total = dataFeedService == null
+                ? 0
+                : dataFeedService.getDataFeedPage(new DataFilter(type, substring), 0, 0).getTotal();
 
-        size = resources.size() / DEFAULT_PAGE_SIZE + (resources.size() % DEFAULT_PAGE_SIZE == 0 ? 0 : 1);
+        size = total / DEFAULT_PAGE_SIZE + (total % DEFAULT_PAGE_SIZE == 0 ? 0 : 1);
     }
 
     private String requestParameterToString(RequestParameter parameter) {
@@ -73,6 +73,15 @@ public class StatsModal {
     @ValueMapValue
     private String[] statistics;
 
+    @ValueMapValue
+    private String[] statusCodeStatistics;
+
+    @ValueMapValue
+    private String[] hostStatistics;
+
+    @ValueMapValue
+    private String incompleteReason;
+
     /**
      * Gets the timestamp of when the data was last generated
      *
@@ -91,6 +100,15 @@ public class StatsModal {
         return searchPath;
     }
 
+    /**
+     * Gets the reason why the last generation did not complete, e.g. it was stopped or timed out
+     *
+     * @return The reason, or null if the last generation completed
+     */
+    public String getIncompleteReason() {
+        return incompleteReason;
+    }
+
     /**
      * Gets the paths excluded from link inspection as a comma-separated string
      *
@@ -175,7 +193,34 @@ public class StatsModal {
      * @return A map containing statistics data, with keys and values parsed from the statistics array
      */
     public Map<String, String> getStatistics() {
-        return Arrays.stream(ArrayUtils.nullToEmpty(statistics))
+        return toMap(statistics);
+    }
+
+    /**
+     * Gets the numbers of the inspected links by validation status code
+     *
+     * @return A map containing status codes as keys and the numbers of links as values
+     */
+    public Map<String, String> getStatusCodeStatistics() {
+        return toMap(statusCodeStatistics);
+    }
+
+    /**
+     * Gets the hosts with the greatest numbers of reported links
+     *
+     * @return A map containing hosts as keys and the numbers of reported links as values
+     */
+    public Map<String, String> getHostStatistics() {
+        return toMap(hostStatistics);
+    }
+
+    /**
+     * Parses an array of "key: value" strings into a map preserving the order of the array
+     * @param stringArray - the input array
+     * @return map of the keys and values
+     */
+    private static Map<String, String> toMap(String[] stringArray) {
+        return Arrays.stream(ArrayUtils.nullToEmpty(stringArray))
                 .map(stat -> StringUtils.split(stat, ":"))
                 .filter(statParts -> statParts.length == 2)
                 .collect(Collectors.toMap(
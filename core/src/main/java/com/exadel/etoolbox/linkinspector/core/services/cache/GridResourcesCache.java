@@ -14,18 +14,20 @@
 
 package com.exadel.etoolbox.linkinspector.core.services.cache;
 
+import com.exadel.etoolbox.linkinspector.core.services.data.models.DataFilter;
 import com.exadel.etoolbox.linkinspector.core.services.data.models.GridResource;
 
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Service interface for caching generated link inspection data.
  * <p>
  * This interface provides methods to manage a cache of {@link GridResource} objects,
  * allowing for efficient access to link inspection results without requiring regeneration
- * on each request. The implementation uses a thread-safe collection to ensure proper
- * concurrent access.
+ * on each request. The implementation keeps the data indexed, so that filtered pages
+ * are retrieved without scanning the whole list, and ensures proper concurrent access.
  * <p><u>Note</u>: This class is not a part of the public API and is subject to change. Do not use it in your own code</p>
  */
 public interface GridResourcesCache {
@@ -33,9 +35,31 @@ public interface GridResourcesCache {
     /**
      * Retrieves the list of cached GridResource objects.
      *
-     * @return Thread-safe list of GridResource objects representing link inspection data
+     * @return Unmodifiable list of GridResource objects representing link inspection data
      */
-    CopyOnWriteArrayList<GridResource> getGridResourcesList();
+    List<GridResource> getGridResourcesList();
+
+    /**
+     * Retrieves the cached GridResource objects that refer to the given property of the given resource. The lookup
+     * does not scan the whole list
+     *
+     * @param path         The resource path
+     * @param propertyName The property name
+     * @return List of GridResource objects, possibly empty
+     */
+    List<GridResource> getGridResources(String path, String propertyName);
+
+    /**
+     * Passes the cached GridResource objects matching the filter within the given range to the consumer.
+     * The items are passed in the order of the cached list
+     *
+     * @param filter   The filter to apply
+     * @param offset   The number of matching items to skip
+     * @param limit    The maximum number of items to pass to the consumer
+     * @param consumer The consumer of the items
+     * @return The overall number of matching items
+     */
+    int query(DataFilter filter, int offset, int limit, Consumer<GridResource> consumer);
 
     /**
      * Updates the cache with a new list of GridResource objects.
@@ -44,6 +68,16 @@ public interface GridResourcesCache {
      */
     void setGridResourcesList(List<GridResource> gridResources);
 
+    /**
+     * Replaces the given cached GridResource objects with their updated copies. Only the replaced objects are
+     * re-indexed, so that the cost does not depend on the size of the cached list. The objects that are no longer
+     * cached are ignored
+     *
+     * @param replacements The cached GridResource objects mapped to the objects replacing them; the keys are compared
+     *                     by identity. A replacing object must have the same resource path and property name
+     */
+    void replaceGridResources(Map<GridResource, GridResource> replacements);
+
     /**
      * Clears the cache, removing all stored GridResource objects.
      * This is typically used when invalidating the cache due to content changes
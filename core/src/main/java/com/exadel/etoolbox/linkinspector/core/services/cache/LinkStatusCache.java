@@ -0,0 +1,51 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exadel.etoolbox.linkinspector.core.services.cache;
+
+import com.exadel.etoolbox.linkinspector.api.Status;
+
+/**
+ * Service interface for caching the statuses of validated links between report generations.
+ * <p>
+ * This interface provides methods to look up and store statuses of links keyed by their normalized URLs,
+ * so that links which have been checked recently are not validated again. Each cached status expires
+ * after a period depending on its status class.
+ * <p><u>Note</u>: This class is not a part of the public API and is subject to change. Do not use it in your own code</p>
+ */
+public interface LinkStatusCache {
+
+    /**
+     * Retrieves the cached status of the given link.
+     *
+     * @param url The link to retrieve the status for
+     * @return The cached {@link Status}, or null if the link is not cached or the cached status is expired
+     */
+    Status get(String url);
+
+    /**
+     * Stores the status of the given link in the cache. Statuses that are not eligible for caching,
+     * e.g. timeouts, are ignored.
+     *
+     * @param url    The link to store the status for
+     * @param status The {@link Status} of the link validation
+     */
+    void put(String url, Status status);
+
+    /**
+     * Saves the cached statuses to the repository, so that they are available to subsequent generations
+     * after an instance restart. Expired entries are dropped.
+     */
+    void persist();
+}
@@ -15,40 +15,42 @@
 package com.exadel.etoolbox.linkinspector.core.services.cache.impl;
 
 import com.exadel.etoolbox.linkinspector.core.services.cache.GridResourcesCache;
+import com.exadel.etoolbox.linkinspector.core.services.data.models.DataFilter;
 import com.exadel.etoolbox.linkinspector.core.services.data.models.GridResource;
-import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Implements {@link GridResourcesCache} interface to provide data caching functionality.
+ * The data is stored as an immutable indexed snapshot which is replaced as a whole on update,
+ * so that readers never block and never see a partially updated report.
  * <p><u>Note</u>: This class is not a part of the public API and is subject to change. Do not use it in your own code</p>
  */
 @Component(service = GridResourcesCache.class)
 public class GridResourcesCacheImpl implements GridResourcesCache {
 
-    private static final String BROKEN_LINKS_MAP_KEY = "elc-broken-links";
-
-    private ConcurrentHashMap<String, CopyOnWriteArrayList<GridResource>> gridResourcesCache;
-
-    @Activate
-    @SuppressWarnings("unused")
-    private void activate() {
-        gridResourcesCache = new ConcurrentHashMap<>();
-    }
+    private volatile GridResourcesIndex gridResourcesIndex = GridResourcesIndex.EMPTY;
 
     /**
-     * Updates the cache with a new list of GridResource objects.
+     * Updates the cache with a new list of GridResource objects and rebuilds the indexes.
      * This method is synchronized to ensure thread safety when updating the cache.
      *
      * @param gridResources The list of GridResource objects to store in the cache
      */
     @Override
     public synchronized void setGridResourcesList(List<GridResource> gridResources) {
-        gridResourcesCache.put(BROKEN_LINKS_MAP_KEY, new CopyOnWriteArrayList<>(gridResources));
+        gridResourcesIndex = new GridResourcesIndex(gridResources);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void replaceGridResources(Map<GridResource, GridResource> replacements) {
+        gridResourcesIndex = gridResourcesIndex.replaceItems(replacements);
     }
 
     /**
@@ -57,18 +59,34 @@ public class GridResourcesCacheImpl implements GridResourcesCache {
      * or when manually triggering a refresh of link inspection data.
      */
     @Override
-    public void clearCache() {
-        gridResourcesCache.clear();
+    public synchronized void clearCache() {
+        gridResourcesIndex = GridResourcesIndex.EMPTY;
     }
 
     /**
      * Retrieves the list of cached GridResource objects.
-     * If no data is found for the predefined key, returns an empty list.
+     * If no data is cached, returns an empty list.
      *
-     * @return Thread-safe list of GridResource objects representing link inspection data
+     * @return Unmodifiable list of GridResource objects representing link inspection data
+     */
+    @Override
+    public List<GridResource> getGridResourcesList() {
+        return gridResourcesIndex.getItems();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<GridResource> getGridResources(String path, String propertyName) {
+        return gridResourcesIndex.getItems(path, propertyName);
+    }
+
+    /**
+     * {@inheritDoc}
      */
     @Override
-    public CopyOnWriteArrayList<GridResource> getGridResourcesList() {
-        return gridResourcesCache.getOrDefault(BROKEN_LINKS_MAP_KEY, new CopyOnWriteArrayList<>());
+    public int query(DataFilter filter, int offset, int limit, Consumer<GridResource> consumer) {
+        return gridResourcesIndex.query(filter, offset, limit, consumer);
     }
 }
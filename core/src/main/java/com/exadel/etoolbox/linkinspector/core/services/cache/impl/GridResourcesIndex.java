@@ -0,0 +1,439 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exadel.etoolbox.linkinspector.core.services.cache.impl;
+
+import com.exadel.etoolbox.linkinspector.core.services.data.models.DataFilter;
+import com.exadel.etoolbox.linkinspector.core.services.data.models.GridResource;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Immutable snapshot of the link inspection report with secondary indexes. Rows are addressed by their position in
+ * the report and are selected by intersecting the row sets of the indexes:
+ * <ul>
+ *     <li>link type and status code are mapped to the sets of rows;</li>
+ *     <li>row numbers are sorted by resource path, so that a subtree is found with a binary search;</li>
+ *     <li>distinct link values are indexed by trigrams, so that only the values containing every trigram of the
+ *     substring are checked.</li>
+ * </ul>
+ * The rows selected for a filter are memoized for the lifetime of the snapshot, so that requesting the page count
+ * and then the page itself, or paging through the same filtered report, selects the rows once.
+ * <p>Edited rows are not updated in place. A new snapshot is derived instead, which shares the indexes with the
+ * original one and keeps the replaced rows aside; the replaced rows are matched against a filter one by one. Once
+ * the replaced rows make up a noticeable part of the report, the indexes are rebuilt</p>
+ * <p><u>Note</u>: This class is not a part of the public API and is subject to change. Do not use it in your own code</p>
+ */
+final class GridResourcesIndex {
+
+    static final GridResourcesIndex EMPTY = new GridResourcesIndex(Collections.emptyList());
+
+    private static final int GRAM_LENGTH = 3;
+
+    private static final int MAX_CACHED_SELECTIONS = 32;
+
+    private static final int MAX_REPLACED_ROWS_FRACTION = 8;
+
+    private final List<GridResource> indexedItems;
+
+    private final Map<Integer, GridResource> replacedRows;
+
+    private final List<GridResource> items;
+
+    private final Map<String, BitSet> rowsByType;
+
+    private final Map<Integer, BitSet> rowsByStatusCode;
+
+    private final int[] rowsByPath;
+
+    private final String[] paths;
+
+    private final String[] values;
+
+    private final int[] valueRowStarts;
+
+    private final int[] valueRows;
+
+    private final Map<String, int[]> valuesByGram;
+
+    private final Map<List<Object>, Selection> selections = Collections.synchronizedMap(
+            new LinkedHashMap<List<Object>, Selection>(MAX_CACHED_SELECTIONS, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<List<Object>, Selection> eldest) {
+                    return size() > MAX_CACHED_SELECTIONS;
+                }
+            });
+
+    GridResourcesIndex(List<GridResource> gridResources) {
+        indexedItems = Collections.unmodifiableList(new ArrayList<>(gridResources));
+        replacedRows = Collections.emptyMap();
+        items = indexedItems;
+        rowsByType = new HashMap<>();
+        rowsByStatusCode = new HashMap<>();
+        valuesByGram = new HashMap<>();
+        int size = items.size();
+
+        Map<String, Integer> valueIds = new HashMap<>();
+        List<String> distinctValues = new ArrayList<>();
+        int[] valueOfRow = new int[size];
+        for (int row = 0; row < size; row++) {
+            GridResource gridResource = items.get(row);
+            if (gridResource.getType() != null) {
+                rowsByType
+                        .computeIfAbsent(gridResource.getType().toLowerCase(Locale.ROOT), key -> new BitSet(size))
+                        .set(row);
+            }
+            rowsByStatusCode.computeIfAbsent(gridResource.getStatusCode(), key -> new BitSet(size)).set(row);
+            String value = StringUtils.defaultString(gridResource.getValue());
+            valueOfRow[row] = valueIds.computeIfAbsent(value, key -> {
+                distinctValues.add(key);
+                return distinctValues.size() - 1;
+            });
+        }
+
+        values = distinctValues.toArray(new String[0]);
+        valueRowStarts = new int[values.length + 1];
+        for (int row = 0; row < size; row++) {
+            valueRowStarts[valueOfRow[row] + 1]++;
+        }
+        for (int value = 0; value < values.length; value++) {
+            valueRowStarts[value + 1] += valueRowStarts[value];
+        }
+        valueRows = new int[size];
+        int[] positions = Arrays.copyOf(valueRowStarts, values.length);
+        for (int row = 0; row < size; row++) {
+            valueRows[positions[valueOfRow[row]]++] = row;
+        }
+
+        Map<String, IntArrayBuilder> gramBuilders = new HashMap<>();
+        for (int value = 0; value < values.length; value++) {
+            for (String gram : getGrams(values[value])) {
+                gramBuilders.computeIfAbsent(gram, key -> new IntArrayBuilder()).add(value);
+            }
+        }
+        gramBuilders.forEach((gram, builder) -> valuesByGram.put(gram, builder.toArray()));
+
+        paths = new String[size];
+        Integer[] sortedRows = new Integer[size];
+        for (int row = 0; row < size; row++) {
+            paths[row] = StringUtils.defaultString(items.get(row).getResourcePath());
+            sortedRows[row] = row;
+        }
+        Arrays.sort(sortedRows, Comparator.comparing(row -> paths[row]));
+        rowsByPath = new int[size];
+        for (int position = 0; position < size; position++) {
+            rowsByPath[position] = sortedRows[position];
+        }
+    }
+
+    private GridResourcesIndex(GridResourcesIndex original, Map<Integer, GridResource> replacedRows) {
+        this.indexedItems = original.indexedItems;
+        this.replacedRows = replacedRows;
+        this.items = new ReplacedRowsList(indexedItems, replacedRows);
+        this.rowsByType = original.rowsByType;
+        this.rowsByStatusCode = original.rowsByStatusCode;
+        this.rowsByPath = original.rowsByPath;
+        this.paths = original.paths;
+        this.values = original.values;
+        this.valueRowStarts = original.valueRowStarts;
+        this.valueRows = original.valueRows;
+        this.valuesByGram = original.valuesByGram;
+    }
+
+    /**
+     * Creates a snapshot in which the given items are replaced with their updated copies. This snapshot is not
+     * modified. The replaced items are found by their resource path, and must keep the resource path and
+     * the property name of the items they replace
+     *
+     * @param replacements The items of this snapshot mapped to the items replacing them; compared by identity
+     * @return A new {@code GridResourcesIndex} instance, or this instance if none of the items is found
+     */
+    GridResourcesIndex replaceItems(Map<GridResource, GridResource> replacements) {
+        Map<Integer, GridResource> mergedRows = new HashMap<>(replacedRows);
+        boolean replaced = false;
+        for (Map.Entry<GridResource, GridResource> replacement : replacements.entrySet()) {
+            String resourcePath = StringUtils.defaultString(replacement.getKey().getResourcePath());
+            for (int position = lowerBound(resourcePath);
+                 position < rowsByPath.length && paths[rowsByPath[position]].equals(resourcePath);
+                 position++) {
+                if (items.get(rowsByPath[position]) == replacement.getKey()) {
+                    mergedRows.put(rowsByPath[position], replacement.getValue());
+                    replaced = true;
+                }
+            }
+        }
+        if (!replaced) {
+            return this;
+        }
+        if (mergedRows.size() > items.size() / MAX_REPLACED_ROWS_FRACTION) {
+            return new GridResourcesIndex(new ReplacedRowsList(indexedItems, mergedRows));
+        }
+        return new GridResourcesIndex(this, mergedRows);
+    }
+
+    /**
+     * Gets the items of the report in their original order
+     *
+     * @return Unmodifiable list of items
+     */
+    List<GridResource> getItems() {
+        return items;
+    }
+
+    /**
+     * Gets the items that refer to the given property of the given resource. The rows of the resource are found with
+     * a binary search over the rows sorted by resource path, so that the cost does not depend on the size of the report
+     *
+     * @param path         The resource path
+     * @param propertyName The property name
+     * @return List of items, possibly empty
+     */
+    List<GridResource> getItems(String path, String propertyName) {
+        String resourcePath = StringUtils.defaultString(path);
+        List<GridResource> result = new ArrayList<>();
+        for (int position = lowerBound(resourcePath);
+             position < rowsByPath.length && paths[rowsByPath[position]].equals(resourcePath);
+             position++) {
+            GridResource gridResource = items.get(rowsByPath[position]);
+            if (StringUtils.equals(gridResource.getPropertyName(), propertyName)) {
+                result.add(gridResource);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Passes the items matching the filter within the given range to the consumer
+     *
+     * @param filter   The filter to apply
+     * @param offset   The number of matching items to skip
+     * @param limit    The maximum number of items to pass to the consumer
+     * @param consumer The consumer of the items
+     * @return The overall number of matching items
+     */
+    int query(DataFilter filter, int offset, int limit, Consumer<GridResource> consumer) {
+        List<Object> key = getSelectionKey(filter);
+        if (key == null) {
+            for (int row = offset; row < items.size() && row - offset < limit; row++) {
+                consumer.accept(items.get(row));
+            }
+            return items.size();
+        }
+        Selection selection = selections.computeIfAbsent(key, k -> new Selection(select(filter)));
+        int position = 0;
+        BitSet rows = selection.rows;
+        for (int row = rows.nextSetBit(0); row >= 0 && position - offset < limit; row = rows.nextSetBit(row + 1)) {
+            if (position++ >= offset) {
+                consumer.accept(items.get(row));
+            }
+        }
+        return selection.total;
+    }
+
+    private static List<Object> getSelectionKey(DataFilter filter) {
+        String type = StringUtils.isBlank(filter.getType()) ? null : filter.getType().toLowerCase(Locale.ROOT);
+        String substring = StringUtils.isBlank(filter.getSubstring()) ? null : filter.getSubstring();
+        String path = StringUtils.defaultIfEmpty(filter.getPathPrefix(), null);
+        if (type == null && substring == null && path == null && filter.getStatusCode() == 0) {
+            return null;
+        }
+        return Arrays.asList(type, substring, filter.getStatusCode(), path);
+    }
+
+    private BitSet select(DataFilter filter) {
+        BitSet rows = null;
+        if (StringUtils.isNotBlank(filter.getType())) {
+            rows = intersect(rows, rowsByType.get(filter.getType().toLowerCase(Locale.ROOT)));
+        }
+        if (filter.getStatusCode() != 0) {
+            rows = intersect(rows, rowsByStatusCode.get(filter.getStatusCode()));
+        }
+        if (StringUtils.isNotEmpty(filter.getPathPrefix())) {
+            rows = intersect(rows, selectByPath(filter.getPathPrefix()));
+        }
+        if (StringUtils.isNotBlank(filter.getSubstring())) {
+            rows = intersect(rows, selectByValue(filter.getSubstring()));
+        }
+        BitSet selectedRows = rows != null ? rows : new BitSet();
+        // The indexes reflect the rows as they were before the replacement
+        replacedRows.forEach((row, item) -> selectedRows.set(row, filter.validate(item)));
+        return selectedRows;
+    }
+
+    private BitSet selectByPath(String path) {
+        BitSet rows = new BitSet(items.size());
+        // The exact path and its descendants are two ranges, since characters like '-' are sorted between them
+        setRange(rows, lowerBound(path), lowerBound(path + Character.MIN_VALUE));
+        setRange(rows, lowerBound(path + "/"), lowerBound(path + (char) ('/' + 1)));
+        return rows;
+    }
+
+    private void setRange(BitSet rows, int from, int to) {
+        for (int position = from; position < to; position++) {
+            rows.set(rowsByPath[position]);
+        }
+    }
+
+    private int lowerBound(String path) {
+        int low = 0;
+        int high = rowsByPath.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (paths[rowsByPath[middle]].compareTo(path) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private BitSet selectByValue(String substring) {
+        BitSet rows = new BitSet(items.size());
+        for (int value : getCandidateValues(substring)) {
+            if (!values[value].contains(substring)) {
+                continue;
+            }
+            for (int position = valueRowStarts[value]; position < valueRowStarts[value + 1]; position++) {
+                rows.set(valueRows[position]);
+            }
+        }
+        return rows;
+    }
+
+    private int[] getCandidateValues(String substring) {
+        Set<String> grams = getGrams(substring);
+        if (grams.isEmpty()) {
+            // Too short to use the index, every distinct value is checked
+            int[] candidates = new int[values.length];
+            Arrays.setAll(candidates, value -> value);
+            return candidates;
+        }
+        int[] candidates = null;
+        for (String gram : grams) {
+            int[] postings = valuesByGram.get(gram);
+            if (postings == null) {
+                return new int[0];
+            }
+            candidates = candidates == null ? postings : intersect(candidates, postings);
+            if (candidates.length == 0) {
+                break;
+            }
+        }
+        return candidates;
+    }
+
+    private static Set<String> getGrams(String value) {
+        if (value.length() < GRAM_LENGTH) {
+            return Collections.emptySet();
+        }
+        Set<String> grams = new LinkedHashSet<>();
+        for (int start = 0; start <= value.length() - GRAM_LENGTH; start++) {
+            grams.add(value.substring(start, start + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    private static BitSet intersect(BitSet rows, BitSet other) {
+        if (other == null) {
+            return new BitSet();
+        }
+        if (rows == null) {
+            return (BitSet) other.clone();
+        }
+        rows.and(other);
+        return rows;
+    }
+
+    private static int[] intersect(int[] first, int[] second) {
+        int[] result = new int[Math.min(first.length, second.length)];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < first.length && j < second.length) {
+            if (first[i] < second[j]) {
+                i++;
+            } else if (first[i] > second[j]) {
+                j++;
+            } else {
+                result[count++] = first[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private static final class Selection {
+        private final BitSet rows;
+        private final int total;
+
+        private Selection(BitSet rows) {
+            this.rows = rows;
+            this.total = rows.cardinality();
+        }
+    }
+
+    private static final class ReplacedRowsList extends AbstractList<GridResource> implements RandomAccess {
+        private final List<GridResource> items;
+        private final Map<Integer, GridResource> replacedRows;
+
+        private ReplacedRowsList(List<GridResource> items, Map<Integer, GridResource> replacedRows) {
+            this.items = items;
+            this.replacedRows = replacedRows;
+        }
+
+        @Override
+        public GridResource get(int index) {
+            GridResource replacement = replacedRows.get(index);
+            return replacement != null ? replacement : items.get(index);
+        }
+
+        @Override
+        public int size() {
+            return items.size();
+        }
+    }
+
+    private static final class IntArrayBuilder {
+        private int[] data = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == data.length) {
+                data = Arrays.copyOf(data, size * 2);
+            }
+            data[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(data, size);
+        }
+    }
+}
@@ -0,0 +1,287 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exadel.etoolbox.linkinspector.core.services.cache.impl;
+
+import com.exadel.etoolbox.linkinspector.api.Status;
+import com.exadel.etoolbox.linkinspector.core.services.cache.LinkStatusCache;
+import com.exadel.etoolbox.linkinspector.core.services.helpers.RepositoryHelper;
+import com.exadel.etoolbox.linkinspector.core.services.util.JsonUtil;
+import com.exadel.etoolbox.linkinspector.core.services.util.LinkInspectorResourceUtil;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.http.HttpStatus;
+import org.apache.sling.api.resource.ResourceResolver;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.metatype.annotations.AttributeDefinition;
+import org.osgi.service.metatype.annotations.Designate;
+import org.osgi.service.metatype.annotations.ObjectClassDefinition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implements {@link LinkStatusCache} interface to provide an OSGi service which keeps the statuses of validated
+ * links in memory and persists them as a JSON file in the repository.
+ * <p><u>Note</u>: This class is not a part of the public API and is subject to change. Do not use it in your own code</p>
+ */
+@Component(service = LinkStatusCache.class)
+@Designate(ocd = LinkStatusCacheImpl.Configuration.class)
+public class LinkStatusCacheImpl implements LinkStatusCache {
+
+    @ObjectClassDefinition(
+            name = "EToolbox Link Inspector - Link Status Cache",
+            description = "Keeps the statuses of validated links between report generations. The time-to-live values " +
+                    "are set in hours, zero means that statuses of the class are not cached"
+    )
+    @interface Configuration {
+
+        @AttributeDefinition(
+                name = "Enabled",
+                description = "Whether the statuses of validated links are reused in subsequent generations"
+        ) boolean enabled() default false;
+
+        @AttributeDefinition(
+                name = "Success TTL",
+                description = "Time-to-live of 2xx statuses, in hours"
+        ) int successTtl() default DEFAULT_SUCCESS_TTL;
+
+        @AttributeDefinition(
+                name = "Redirect TTL",
+                description = "Time-to-live of 3xx statuses, in hours"
+        ) int redirectTtl() default DEFAULT_ERROR_TTL;
+
+        @AttributeDefinition(
+                name = "Not Found TTL",
+                description = "Time-to-live of 404 statuses, in hours"
+        ) int notFoundTtl() default DEFAULT_ERROR_TTL;
+
+        @AttributeDefinition(
+                name = "Client Error TTL",
+                description = "Time-to-live of other 4xx statuses, in hours. 408 and 429 statuses are never cached"
+        ) int clientErrorTtl() default DEFAULT_ERROR_TTL;
+
+        @AttributeDefinition(
+                name = "Server Error TTL",
+                description = "Time-to-live of 5xx statuses, in hours"
+        ) int serverErrorTtl() default 0;
+    }
+
+    private static final Logger LOG = LoggerFactory.getLogger(LinkStatusCacheImpl.class);
+
+    private static final String CACHE_PATH = "/var/etoolbox/link-inspector/data/link-status-cache.json";
+    private static final int DEFAULT_SUCCESS_TTL = 168;
+    private static final int DEFAULT_ERROR_TTL = 24;
+    private static final int HTTP_TOO_MANY_REQUESTS = 429;
+    private static final long LOAD_RETRY_INTERVAL = TimeUnit.MINUTES.toMillis(1);
+
+    @Reference
+    private RepositoryHelper repositoryHelper;
+
+    private final Map<String, CachedStatus> cachedStatuses = new ConcurrentHashMap<>();
+
+    private volatile boolean loaded;
+
+    private volatile long nextLoadAttempt;
+
+    private boolean enabled;
+    private long successTtl;
+    private long redirectTtl;
+    private long notFoundTtl;
+    private long clientErrorTtl;
+    private long serverErrorTtl;
+
+    @Activate
+    @Modified
+    void activate(Configuration configuration) {
+        enabled = configuration.enabled();
+        successTtl = TimeUnit.HOURS.toMillis(configuration.successTtl());
+        redirectTtl = TimeUnit.HOURS.toMillis(configuration.redirectTtl());
+        notFoundTtl = TimeUnit.HOURS.toMillis(configuration.notFoundTtl());
+        clientErrorTtl = TimeUnit.HOURS.toMillis(configuration.clientErrorTtl());
+        serverErrorTtl = TimeUnit.HOURS.toMillis(configuration.serverErrorTtl());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Status get(String url) {
+        if (!enabled || StringUtils.isBlank(url)) {
+            return null;
+        }
+        if (!loaded && System.currentTimeMillis() >= nextLoadAttempt) {
+            loadIfNeeded();
+        }
+        CachedStatus cachedStatus = cachedStatuses.get(normalize(url));
+        if (cachedStatus == null || isExpired(cachedStatus, System.currentTimeMillis())) {
+            return null;
+        }
+        return new Status(cachedStatus.getCode(), cachedStatus.getMessage());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void put(String url, Status status) {
+        if (!enabled || StringUtils.isBlank(url) || status == null || getTtl(status.getCode()) <= 0) {
+            return;
+        }
+        String normalizedUrl = normalize(url);
+        cachedStatuses.put(
+                normalizedUrl,
+                new CachedStatus(normalizedUrl, status.getCode(), status.getMessage(), System.currentTimeMillis())
+        );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void persist() {
+        if (!enabled) {
+            return;
+        }
+        // The stored entries are merged in first, so that they are not overwritten by the ones put meanwhile
+        loadIfNeeded();
+        if (!loaded) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        cachedStatuses.values().removeIf(cachedStatus -> isExpired(cachedStatus, now));
+        List<CachedStatus> entries = new ArrayList<>(cachedStatuses.values());
+        try (ResourceResolver resourceResolver = repositoryHelper.getServiceResourceResolver()) {
+            if (resourceResolver == null) {
+                LOG.warn("ResourceResolver is null, saving link status cache is stopped");
+                return;
+            }
+            LinkInspectorResourceUtil.removeResource(CACHE_PATH, resourceResolver);
+            JsonUtil.saveJsonArrayToFile(entries, CACHE_PATH, resourceResolver);
+            LOG.debug("Link status cache is saved, the number of entries is {}", entries.size());
+        } catch (IOException e) {
+            LOG.error("Failed to save link status cache", e);
+        }
+    }
+
+    private synchronized void loadIfNeeded() {
+        if (loaded || System.currentTimeMillis() < nextLoadAttempt) {
+            return;
+        }
+        try (ResourceResolver resourceResolver = repositoryHelper.getServiceResourceResolver()) {
+            if (resourceResolver == null) {
+                // The lookups do not retry loading until the interval passes, so that they are not serialized
+                // on the failing login
+                LOG.warn("ResourceResolver is null, loading link status cache is postponed");
+                nextLoadAttempt = System.currentTimeMillis() + LOAD_RETRY_INTERVAL;
+                return;
+            }
+            try {
+                JsonUtil.readJsonArrayFromFile(CACHE_PATH, CachedStatus.class, resourceResolver, cachedStatus -> {
+                    if (StringUtils.isNotBlank(cachedStatus.getUrl())) {
+                        cachedStatuses.putIfAbsent(cachedStatus.getUrl(), cachedStatus);
+                    }
+                });
+                LOG.debug("Link status cache is loaded, the number of entries is {}", cachedStatuses.size());
+            } catch (IOException e) {
+                LOG.error("Failed to load link status cache, the cache is started empty", e);
+                cachedStatuses.clear();
+            }
+        }
+        loaded = true;
+    }
+
+    private boolean isExpired(CachedStatus cachedStatus, long now) {
+        return cachedStatus.getChecked() + getTtl(cachedStatus.getCode()) < now;
+    }
+
+    private long getTtl(int code) {
+        if (code == HttpStatus.SC_REQUEST_TIMEOUT || code == HTTP_TOO_MANY_REQUESTS) {
+            return 0;
+        }
+        switch (code / 100) {
+            case 2:
+                return successTtl;
+            case 3:
+                return redirectTtl;
+            case 4:
+                return code == HttpStatus.SC_NOT_FOUND ? notFoundTtl : clientErrorTtl;
+            case 5:
+                return serverErrorTtl;
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * Brings the given URL to a canonical form: the scheme and the host are lower-cased, the default port
+     * and the fragment are dropped
+     *
+     * @param url The URL to normalize
+     * @return The normalized URL, or the trimmed source string if it is not a valid URI
+     */
+    static String normalize(String url) {
+        String trimmedUrl = url.trim();
+        try {
+            URI uri = new URI(trimmedUrl);
+            if (uri.getScheme() == null || uri.getHost() == null) {
+                return trimmedUrl;
+            }
+            String scheme = uri.getScheme().toLowerCase(Locale.ROOT);
+            int port = uri.getPort();
+            if (("http".equals(scheme) && port == 80) || ("https".equals(scheme) && port == 443)) {
+                port = -1;
+            }
+            StringBuilder normalizedUrl = new StringBuilder(scheme).append("://");
+            if (uri.getRawUserInfo() != null) {
+                normalizedUrl.append(uri.getRawUserInfo()).append('@');
+            }
+            normalizedUrl.append(uri.getHost().toLowerCase(Locale.ROOT));
+            if (port != -1) {
+                normalizedUrl.append(':').append(port);
+            }
+            normalizedUrl.append(StringUtils.defaultIfEmpty(uri.getRawPath(), "/"));
+            if (uri.getRawQuery() != null) {
+                normalizedUrl.append('?').append(uri.getRawQuery());
+            }
+            return normalizedUrl.toString();
+        } catch (URISyntaxException e) {
+            return trimmedUrl;
+        }
+    }
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class CachedStatus {
+        private String url;
+        private int code;
+        private String message;
+        private long checked;
+    }
+}
@@ -93,4 +93,68 @@ public interface ConfigService {
      * @return The number of threads per core to use during validation
      */
     int getThreadsPerCore();
+
+    /**
+     * Determines whether the content tree under the search path should be traversed in parallel.
+     * When enabled, subtrees are split across a pool of workers, each of them using its own resource resolver.
+     *
+     * @return True if the parallel traversal is enabled, false otherwise
+     */
+    boolean isParallelTraversal();
+
+    /**
+     * Determines whether links should be validated while the content is still being traversed.
+     * When enabled, a link is sent to validation as soon as it is discovered, so that the traversal
+     * and the validation run simultaneously instead of one after another.
+     *
+     * @return True if the pipelined validation is enabled, false otherwise
+     */
+    boolean isPipelinedValidation();
+
+    /**
+     * Determines whether the data feed should be regenerated incrementally. When enabled, only the content changed
+     * since the previous generation is inspected, and the results are merged into the existing data feed.
+     * A full generation is still performed when the changes since the previous run are not known.
+     *
+     * @return True if the incremental generation is enabled, false otherwise
+     */
+    boolean isIncrementalGeneration();
+
+    /**
+     * Gets the maximum number of rows stored in a single data feed file. When the data feed exceeds this size,
+     * it is split into several files listed in a manifest.
+     *
+     * @return The maximum number of rows per data feed file, or 0 if the data feed is stored in a single file
+     */
+    int getDataFeedChunkSize();
+
+    /**
+     * Determines whether the data feed should also be stored in the compact binary format. The binary data feed
+     * allows showing pages of the report without loading the whole report into memory.
+     *
+     * @return True if the binary data feed is enabled, false otherwise
+     */
+    boolean isBinaryDataFeed();
+
+    /**
+     * Gets the maximum duration of a data feed generation. When it is exceeded, the generation stops, and the links
+     * found so far are stored as an incomplete report.
+     *
+     * @return The maximum duration in minutes, or 0 if the generation is not limited
+     */
+    int getGenerationTimeout();
+
+    /**
+     * Gets the maximum duration of a single link validation task. The results of the tasks exceeding it are discarded,
+     * and the report is marked as incomplete.
+     *
+     * @return The maximum duration in seconds, or 0 if the validation tasks are not limited
+     */
+    int getValidationTimeout();
+
+    /**
+     * Discards the configuration settings cached by the service, so that the current settings are read on the next
+     * call. Called when the configuration resource changes
+     */
+    void invalidate();
 }
@@ -0,0 +1,60 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exadel.etoolbox.linkinspector.core.services.data;
+
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Provides the service that keeps track of the content changed since the previous data feed generation, so that
+ * the data feed can be regenerated incrementally.
+ * <p><u>Note</u>: This class is not a part of the public API and is subject to change. Do not use it in your own code</p>
+ */
+public interface ContentChangeTracker {
+
+    /**
+     * Starts a new tracking period. Is expected to be called when a full data feed generation starts, so that
+     * the changes made during and after the generation are reported to the next one
+     */
+    void reset();
+
+    /**
+     * Discards the tracked changes and marks them as unknown until the next {@link #reset()}. Is expected to be
+     * called when the data feed is no longer consistent with the content, e.g. after it has been deleted
+     */
+    void invalidate();
+
+    /**
+     * Retrieves the roots of the subtrees changed within the given search path since the previous call or
+     * the last {@link #reset()}. An edit within the content of a page or an asset is reported as the change of its
+     * {@code jcr:content} subtree, so that the child pages are not affected. The retrieved changes are removed from
+     * the tracker; they are expected to be returned with {@link #restoreChangedPaths(Set)} if the data feed
+     * generated from them is not saved
+     *
+     * @param searchPath - the path the data feed is generated for
+     * @return Optional set of the changed paths, none of which is a descendant of another one; or an empty
+     * {@code Optional} if the changes are unknown and a full generation is required
+     */
+    Optional<Set<String>> pollChangedPaths(String searchPath);
+
+    /**
+     * Returns the paths retrieved with {@link #pollChangedPaths(String)} to the tracker, so that they are reported
+     * by the next call again. Is expected to be called when the incremental generation based on the paths fails or is
+     * not saved. The paths are ignored if the changes have become unknown meanwhile
+     *
+     * @param paths - the paths previously retrieved from the tracker
+     */
+    void restoreChangedPaths(Set<String> paths);
+}
@@ -14,13 +14,21 @@
 
 package com.exadel.etoolbox.linkinspector.core.services.data;
 
+import com.exadel.etoolbox.linkinspector.core.services.data.models.DataFeedPage;
 import com.exadel.etoolbox.linkinspector.core.services.data.models.UpdatedItem;
 import com.exadel.etoolbox.linkinspector.core.services.data.models.DataFilter;
 import com.exadel.etoolbox.linkinspector.core.services.data.models.GridResource;
 import com.exadel.etoolbox.linkinspector.core.services.exceptions.DataFeedException;
 import org.apache.sling.api.resource.Resource;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
 
 /**
  * Provides the service responsible for managing the data feed based on the set of resources generated
@@ -39,6 +47,16 @@ public interface DataFeedService {
      */
     void generateDataFeed();
 
+    /**
+     * Collects broken links and generates json data feed the same way as {@link #generateDataFeed()} does, and stops
+     * early when requested. The links collected before the stop are stored as an incomplete data feed.
+     *
+     * @param stopRequested - polled during the generation; returns true when the generation should stop
+     */
+    default void generateDataFeed(BooleanSupplier stopRequested) {
+        generateDataFeed();
+    }
+
     /**
      * Parses the data feed to the list of resources({@link Resource}) for further adapting them to view models
      * and displaying in the Link Inspector grid. The number of output items is limited for the sake of UX consistency.
@@ -47,6 +65,36 @@ public interface DataFeedService {
      */
     List<Resource> dataFeedToResources(DataFilter filter);
 
+    /**
+     * Retrieves a single page of the data feed items matching the filter as resources({@link Resource}) along with
+     * the overall number of the matching items. Unlike {@link #dataFeedToResources(DataFilter)}, only the items
+     * within the page are converted to resources.
+     *
+     * @param filter - {@link DataFilter} the items must match
+     * @param offset - the number of matching items to skip
+     * @param limit  - the maximum number of items in the page
+     * @return {@link DataFeedPage} object
+     */
+    default DataFeedPage getDataFeedPage(DataFilter filter, int offset, int limit) {
+        List<Resource> resources = dataFeedToResources(filter);
+        return new DataFeedPage(
+                resources.size(),
+                resources.stream().skip(offset).limit(limit).collect(Collectors.toList())
+        );
+    }
+
+    /**
+     * Writes the data feed items matching the filter to the output stream in the CSV format. The items are written
+     * one by one as they are read, so that the whole report is never built in memory. The stream is flushed but
+     * not closed.
+     *
+     * @param filter       - {@link DataFilter} the items must match
+     * @param outputStream - the stream to write the CSV data to
+     * @return the number of written items
+     * @throws IOException if writing to the stream fails
+     */
+    int writeCsvReport(DataFilter filter, OutputStream outputStream) throws IOException;
+
     /**
      * Parses the data feed to the list of models({@link GridResource}). The number of output items is not limited.
      *
@@ -54,6 +102,25 @@ public interface DataFeedService {
      */
     List<GridResource> dataFeedToGridResources();
 
+    /**
+     * Retrieves the data feed items({@link GridResource}) located at the given properties and having one of the given
+     * link values. The number of output items is not limited.
+     *
+     * @param propertyLocations - the locations of the properties in the {@code path@propertyName} format
+     * @param links             - the link values the items must have
+     * @return the list of view items({@link GridResource}) matching the locations and the links
+     */
+    default List<GridResource> getGridResources(Collection<String> propertyLocations, Collection<String> links) {
+        Set<String> locationSet = new HashSet<>(propertyLocations);
+        Set<String> linkSet = new HashSet<>(links);
+        return dataFeedToGridResources()
+                .stream()
+                .filter(gridResource -> locationSet.contains(
+                        gridResource.getResourcePath() + "@" + gridResource.getPropertyName()))
+                .filter(gridResource -> linkSet.contains(gridResource.getValue()))
+                .collect(Collectors.toList());
+    }
+
 
     /**
      * Method for modification links value in the data feed
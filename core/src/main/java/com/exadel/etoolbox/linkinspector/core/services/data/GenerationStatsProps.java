@@ -35,4 +35,7 @@ public final class GenerationStatsProps {
     public static final String PN_ALLOWED_STATUS_CODES = "allowedStatusCodes";
 
     public static final String PN_STATISTICS = "statistics";
+    public static final String PN_STATUS_CODE_STATISTICS = "statusCodeStatistics";
+    public static final String PN_HOST_STATISTICS = "hostStatistics";
+    public static final String PN_INCOMPLETE_REASON = "incompleteReason";
 }
\ No newline at end of file
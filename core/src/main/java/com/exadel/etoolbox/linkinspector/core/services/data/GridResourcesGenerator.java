@@ -17,7 +17,9 @@ package com.exadel.etoolbox.linkinspector.core.services.data;
 import com.exadel.etoolbox.linkinspector.core.services.data.models.GridResource;
 import org.apache.sling.api.resource.ResourceResolver;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.function.BooleanSupplier;
 
 /**
  * Provides the service responsible for collecting broken links and building models necessary for data feed creation.
@@ -33,5 +35,52 @@ public interface GridResourcesGenerator {
      * @param resourceResolver - {@link ResourceResolver}
      * @return Set of models {@link GridResource}
      */
-    List<GridResource> generateGridResources(String gridResourceType, ResourceResolver resourceResolver);
+    default List<GridResource> generateGridResources(String gridResourceType, ResourceResolver resourceResolver) {
+        return generateGridResources(gridResourceType, resourceResolver, () -> false);
+    }
+
+    /**
+     * Collects broken links the same way as {@link #generateGridResources(String, ResourceResolver)} does, and stops
+     * early when requested. The links collected before the stop are returned, and the saved statistics mark
+     * the results as incomplete.
+     *
+     * @param gridResourceType - the resource type of items displayed in the Link Inspector grid
+     * @param resourceResolver - {@link ResourceResolver}
+     * @param stopRequested    - polled during the generation; returns true when the generation should stop
+     * @return Set of models {@link GridResource}
+     */
+    List<GridResource> generateGridResources(String gridResourceType,
+                                             ResourceResolver resourceResolver,
+                                             BooleanSupplier stopRequested);
+
+    /**
+     * Collects broken links within the given subtrees of the search path only. Subtrees that lie outside the search
+     * path, or would be skipped by a full generation because of their ancestors, are ignored. Unlike the full
+     * generation, this method keeps the previously saved statistics, except for the generation time, intact.
+     *
+     * @param gridResourceType - the resource type of items displayed in the Link Inspector grid
+     * @param paths            - the root paths of the subtrees to inspect
+     * @param resourceResolver - {@link ResourceResolver}
+     * @return Set of models {@link GridResource} found within the given subtrees
+     */
+    default List<GridResource> generateGridResources(String gridResourceType,
+                                                     Collection<String> paths,
+                                                     ResourceResolver resourceResolver) {
+        return generateGridResources(gridResourceType, paths, resourceResolver, () -> false);
+    }
+
+    /**
+     * Collects broken links within the given subtrees the same way as
+     * {@link #generateGridResources(String, Collection, ResourceResolver)} does, and stops early when requested
+     *
+     * @param gridResourceType - the resource type of items displayed in the Link Inspector grid
+     * @param paths            - the root paths of the subtrees to inspect
+     * @param resourceResolver - {@link ResourceResolver}
+     * @param stopRequested    - polled during the generation; returns true when the generation should stop
+     * @return Set of models {@link GridResource} found within the given subtrees
+     */
+    List<GridResource> generateGridResources(String gridResourceType,
+                                             Collection<String> paths,
+                                             ResourceResolver resourceResolver,
+                                             BooleanSupplier stopRequested);
 }
\ No newline at end of file
@@ -0,0 +1,366 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exadel.etoolbox.linkinspector.core.services.data.impl;
+
+import com.exadel.etoolbox.linkinspector.core.services.data.models.DataFilter;
+import com.exadel.etoolbox.linkinspector.core.services.data.models.GridResource;
+import com.exadel.etoolbox.linkinspector.core.services.util.LinkInspectorResourceUtil;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.sling.api.resource.ResourceResolver;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Represents the data feed stored in a compact binary format. All the distinct strings of the feed are stored once
+ * in a dictionary, and the rows are stored column by column as fixed-width references to the dictionary. Thus,
+ * the feed is read by memory-mapping a temporary copy of the file: the strings are decoded from the mapping when
+ * a filter or a requested row needs them, and only the rows actually requested are turned into {@link GridResource}
+ * objects.
+ * <p>The layout of the file is the following (all numbers are 4-byte big-endian integers):
+ * <pre>
+ * magic number, version,
+ * dictionary size, [end offset of the string within the string data]..., string data as UTF-8 bytes,
+ * row count, [column value]... for each of the {@value #COLUMNS_COUNT} columns in turn
+ * </pre>
+ * A string column value is the index of the string in the dictionary, or -1 for {@code null}. The status code
+ * column holds the code itself.
+ */
+final class BinaryDataFeed implements Closeable {
+
+    static final String MIME_TYPE = "application/octet-stream";
+
+    private static final int MAGIC = 0x454C4946;
+    private static final int VERSION = 3;
+    private static final int NO_VALUE = -1;
+
+    private static final int COLUMN_RESOURCE_PATH = 0;
+    private static final int COLUMN_PROPERTY_NAME = 1;
+    private static final int COLUMN_RESOURCE_TYPE = 2;
+    private static final int COLUMN_TYPE = 3;
+    private static final int COLUMN_VALUE = 4;
+    private static final int COLUMN_MATCH = 5;
+    private static final int COLUMN_STATUS_MESSAGE = 6;
+    private static final int COLUMN_STATUS_CODE = 7;
+    private static final int COLUMN_PAGE_PATH = 8;
+    private static final int COLUMN_PAGE_TITLE = 9;
+    private static final int COLUMN_COMPONENT_NAME = 10;
+    private static final int COLUMN_COMPONENT_TYPE = 11;
+    private static final int COLUMNS_COUNT = 12;
+
+    private static final byte UNKNOWN = 0;
+    private static final byte MATCHING = 1;
+    private static final byte NOT_MATCHING = 2;
+
+    private final File file;
+    private final ByteBuffer buffer;
+    private final int dictionarySize;
+    private final int dictionaryOffset;
+    private final int stringsOffset;
+    private final int size;
+    private final int columnsOffset;
+
+    /**
+     * The rows matching the most recently applied filter. A page view requests the total number of matching items
+     * and then the items of the page with the same filter, so that both are served by a single pass over the feed
+     */
+    private volatile Matches lastMatches;
+
+    private BinaryDataFeed(File file, ByteBuffer buffer) throws IOException {
+        this.file = file;
+        this.buffer = buffer;
+        if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+            throw new IOException("Unsupported binary data feed format");
+        }
+        dictionarySize = buffer.getInt();
+        dictionaryOffset = buffer.position();
+        stringsOffset = dictionaryOffset + dictionarySize * Integer.BYTES;
+        int stringsLength = dictionarySize == 0 ? 0 : buffer.getInt(stringsOffset - Integer.BYTES);
+        buffer.position(stringsOffset + stringsLength);
+        size = buffer.getInt();
+        columnsOffset = buffer.position();
+        if (buffer.limit() < columnsOffset + (long) COLUMNS_COUNT * size * Integer.BYTES) {
+            throw new IOException("Binary data feed is truncated");
+        }
+    }
+
+    /**
+     * Saves the given items in the binary format to the repository. The file must not exist before saving
+     *
+     * @param gridResources    The items to save
+     * @param path             The repository path to the file
+     * @param resourceResolver ResourceResolver used to save the file
+     * @throws IOException if writing the file fails
+     */
+    static void save(List<GridResource> gridResources, String path, ResourceResolver resourceResolver) throws IOException {
+        File tempFile = File.createTempFile("etoolbox-link-inspector", ".bin");
+        try {
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+                write(gridResources, output);
+            }
+            try (InputStream input = new BufferedInputStream(new FileInputStream(tempFile))) {
+                LinkInspectorResourceUtil.saveFileToJCR(path, input, MIME_TYPE, resourceResolver);
+            }
+        } finally {
+            FileUtils.deleteQuietly(tempFile);
+        }
+    }
+
+    /**
+     * Opens the binary data feed stored in the repository
+     *
+     * @param input The content of the file
+     * @return {@code BinaryDataFeed} instance which must be closed after usage
+     * @throws IOException if the content cannot be read or is not a binary data feed
+     */
+    static BinaryDataFeed open(InputStream input) throws IOException {
+        File tempFile = File.createTempFile("etoolbox-link-inspector", ".bin");
+        try {
+            Files.copy(input, tempFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            try (FileChannel channel = FileChannel.open(tempFile.toPath(), StandardOpenOption.READ)) {
+                return new BinaryDataFeed(tempFile, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            }
+        } catch (IOException e) {
+            FileUtils.deleteQuietly(tempFile);
+            throw e;
+        } catch (RuntimeException e) {
+            FileUtils.deleteQuietly(tempFile);
+            throw new IOException("Malformed binary data feed", e);
+        }
+    }
+
+    /**
+     * Gets the number of items in the feed
+     *
+     * @return Non-negative integer
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Passes the items matching the filter within the given range to the consumer. The matching rows are found
+     * in a single pass and kept until another filter is applied, so that the subsequent requests with the same filter
+     * do not scan the feed again. Items are compared to the filter by their dictionary references, so that each
+     * distinct string is decoded and checked once, and non-matching items are never materialized
+     *
+     * @param filter   The filter to apply
+     * @param offset   The number of matching items to skip
+     * @param limit    The maximum number of items to pass to the consumer
+     * @param consumer The consumer of the items
+     * @return The overall number of matching items
+     */
+    int find(DataFilter filter, int offset, int limit, Consumer<GridResource> consumer) {
+        if (isUnrestricted(filter)) {
+            for (int row = Math.max(0, offset); row < size && row - offset < limit; row++) {
+                consumer.accept(getRow(row));
+            }
+            return size;
+        }
+        Matches matches = getMatches(filter);
+        int row = matches.rows.nextSetBit(0);
+        for (int skipped = 0; skipped < offset && row >= 0; skipped++) {
+            row = matches.rows.nextSetBit(row + 1);
+        }
+        for (int count = 0; count < limit && row >= 0; count++) {
+            consumer.accept(getRow(row));
+            row = matches.rows.nextSetBit(row + 1);
+        }
+        return matches.count;
+    }
+
+    /**
+     * Releases the temporary copy of the file. The memory mapping itself is released by the garbage collector
+     */
+    @Override
+    public void close() {
+        FileUtils.deleteQuietly(file);
+    }
+
+    private Matches getMatches(DataFilter filter) {
+        List<Object> key = Arrays.asList(filter.getType(), filter.getSubstring(), filter.getStatusCode(), filter.getPathPrefix());
+        Matches matches = lastMatches;
+        if (matches != null && matches.key.equals(key)) {
+            return matches;
+        }
+        byte[] typeStates = new byte[dictionarySize];
+        byte[] valueStates = new byte[dictionarySize];
+        byte[] pathStates = new byte[dictionarySize];
+        BitSet rows = new BitSet(size);
+        for (int row = 0; row < size; row++) {
+            if (isMatching(COLUMN_TYPE, row, typeStates, filter::validateType)
+                    && isMatching(COLUMN_VALUE, row, valueStates, filter::validateValue)
+                    && filter.validateStatusCode(getInt(COLUMN_STATUS_CODE, row))
+                    && isMatching(COLUMN_RESOURCE_PATH, row, pathStates, filter::validatePath)) {
+                rows.set(row);
+            }
+        }
+        matches = new Matches(key, rows, rows.cardinality());
+        lastMatches = matches;
+        return matches;
+    }
+
+    private static boolean isUnrestricted(DataFilter filter) {
+        return StringUtils.isAllBlank(filter.getType(), filter.getSubstring())
+                && filter.getStatusCode() == 0
+                && StringUtils.isEmpty(filter.getPathPrefix());
+    }
+
+    private boolean isMatching(int column, int row, byte[] states, Predicate<String> predicate) {
+        int reference = getInt(column, row);
+        if (reference == NO_VALUE) {
+            return predicate.test(null);
+        }
+        if (states[reference] == UNKNOWN) {
+            states[reference] = predicate.test(getDictionaryEntry(reference)) ? MATCHING : NOT_MATCHING;
+        }
+        return states[reference] == MATCHING;
+    }
+
+    private String getDictionaryEntry(int reference) {
+        int start = reference == 0 ? 0 : buffer.getInt(dictionaryOffset + (reference - 1) * Integer.BYTES);
+        int end = buffer.getInt(dictionaryOffset + reference * Integer.BYTES);
+        byte[] bytes = new byte[end - start];
+        // A duplicate is read, since the buffer is shared by the concurrent requests
+        ByteBuffer entry = buffer.duplicate();
+        entry.position(stringsOffset + start);
+        entry.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private GridResource getRow(int row) {
+        return GridResource.builder()
+                .resourcePath(getString(COLUMN_RESOURCE_PATH, row))
+                .propertyName(getString(COLUMN_PROPERTY_NAME, row))
+                .resourceType(getString(COLUMN_RESOURCE_TYPE, row))
+                .type(getString(COLUMN_TYPE, row))
+                .value(getString(COLUMN_VALUE, row))
+                .match(getString(COLUMN_MATCH, row))
+                .statusMessage(getString(COLUMN_STATUS_MESSAGE, row))
+                .statusCode(getInt(COLUMN_STATUS_CODE, row))
+                .pagePath(getString(COLUMN_PAGE_PATH, row))
+                .pageTitle(getString(COLUMN_PAGE_TITLE, row))
+                .componentName(getString(COLUMN_COMPONENT_NAME, row))
+                .componentType(getString(COLUMN_COMPONENT_TYPE, row))
+                .build();
+    }
+
+    private String getString(int column, int row) {
+        int reference = getInt(column, row);
+        return reference == NO_VALUE ? null : getDictionaryEntry(reference);
+    }
+
+    private int getInt(int column, int row) {
+        return buffer.getInt(columnsOffset + (column * size + row) * Integer.BYTES);
+    }
+
+    @RequiredArgsConstructor
+    private static final class Matches {
+        private final List<Object> key;
+        private final BitSet rows;
+        private final int count;
+    }
+
+    private static void write(List<GridResource> gridResources, DataOutputStream output) throws IOException {
+        Map<String, Integer> dictionary = new HashMap<>();
+        List<byte[]> orderedEntries = new ArrayList<>();
+        for (GridResource gridResource : gridResources) {
+            for (int column = 0; column < COLUMNS_COUNT; column++) {
+                if (column == COLUMN_STATUS_CODE) {
+                    continue;
+                }
+                String value = getString(gridResource, column);
+                if (value != null && !dictionary.containsKey(value)) {
+                    dictionary.put(value, orderedEntries.size());
+                    orderedEntries.add(value.getBytes(StandardCharsets.UTF_8));
+                }
+            }
+        }
+        output.writeInt(MAGIC);
+        output.writeInt(VERSION);
+        output.writeInt(orderedEntries.size());
+        int endOffset = 0;
+        for (byte[] entry : orderedEntries) {
+            endOffset += entry.length;
+            output.writeInt(endOffset);
+        }
+        for (byte[] entry : orderedEntries) {
+            output.write(entry);
+        }
+        output.writeInt(gridResources.size());
+        for (int column = 0; column < COLUMNS_COUNT; column++) {
+            for (GridResource gridResource : gridResources) {
+                if (column == COLUMN_STATUS_CODE) {
+                    output.writeInt(gridResource.getStatusCode());
+                } else {
+                    String value = getString(gridResource, column);
+                    output.writeInt(value == null ? NO_VALUE : dictionary.get(value));
+                }
+            }
+        }
+    }
+
+    private static String getString(GridResource gridResource, int column) {
+        switch (column) {
+            case COLUMN_RESOURCE_PATH:
+                return gridResource.getResourcePath();
+            case COLUMN_PROPERTY_NAME:
+                return gridResource.getPropertyName();
+            case COLUMN_RESOURCE_TYPE:
+                return gridResource.getResourceType();
+            case COLUMN_TYPE:
+                return gridResource.getType();
+            case COLUMN_VALUE:
+                return gridResource.getValue();
+            case COLUMN_MATCH:
+                return gridResource.getMatch();
+            case COLUMN_STATUS_MESSAGE:
+                return gridResource.getStatusMessage();
+            case COLUMN_PAGE_PATH:
+                return gridResource.getPagePath();
+            case COLUMN_PAGE_TITLE:
+                return gridResource.getPageTitle();
+            case COLUMN_COMPONENT_NAME:
+                return gridResource.getComponentName();
+            case COLUMN_COMPONENT_TYPE:
+                return gridResource.getComponentType();
+            default:
+                throw new IllegalArgumentException("Not a string column: " + column);
+        }
+    }
+}
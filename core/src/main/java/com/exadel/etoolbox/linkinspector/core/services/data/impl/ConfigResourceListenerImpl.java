@@ -1,6 +1,7 @@
 package com.exadel.etoolbox.linkinspector.core.services.data.impl;
 
 import com.day.cq.commons.jcr.JcrConstants;
+import com.exadel.etoolbox.linkinspector.core.services.data.ConfigService;
 import com.exadel.etoolbox.linkinspector.core.services.helpers.RepositoryHelper;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.ClassUtils;
@@ -8,6 +9,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.sling.api.resource.Resource;
 import org.apache.sling.api.resource.ResourceResolver;
 import org.apache.sling.api.resource.ValueMap;
+import org.apache.sling.api.resource.observation.ExternalResourceChangeListener;
 import org.apache.sling.api.resource.observation.ResourceChange;
 import org.apache.sling.api.resource.observation.ResourceChangeListener;
 import org.osgi.service.cm.Configuration;
@@ -25,7 +27,9 @@ import java.util.List;
 /**
  * Listens to changes in configuration resources and updates OSGi configurations accordingly.
  * This component observes resource changes (add, change, remove) in the configuration path
- * and synchronizes them with the OSGi ConfigurationAdmin service.
+ * and synchronizes them with the OSGi ConfigurationAdmin service. It also makes the {@link ConfigService} drop
+ * the settings it keeps in memory. The changes made on other instances of a cluster are handled as well, so that
+ * the settings are not kept stale on any of them.
  * <p><u>Note</u>: This class is not a part of the public API and is subject to change. Do not use it in your own code</p>
  */
 @Component(
@@ -39,7 +43,7 @@ import java.util.List;
         }
 )
 @Slf4j
-public class ConfigResourceListenerImpl implements ResourceChangeListener {
+public class ConfigResourceListenerImpl implements ResourceChangeListener, ExternalResourceChangeListener {
 
     private static final String INTERNAL_PACKAGE = "com.exadel.etoolbox.linkinspector";
     private static final String UPDATABLE_CONFIG_TOKEN = "?";
@@ -50,6 +54,9 @@ public class ConfigResourceListenerImpl implements ResourceChangeListener {
     @Reference
     private transient RepositoryHelper repositoryHelper;
 
+    @Reference
+    private transient ConfigService configService;
+
     @Activate
     private void activate() {
         try (ResourceResolver resolver = repositoryHelper.getServiceResourceResolver()) {
@@ -71,6 +78,7 @@ public class ConfigResourceListenerImpl implements ResourceChangeListener {
      */
     @Override
     public void onChange(List<ResourceChange> list) {
+        configService.invalidate();
         try (ResourceResolver resolver = repositoryHelper.getServiceResourceResolver()) {
             for (ResourceChange change : list) {
                 if (change.getPath().equals(ConfigServiceImpl.CONFIG_PATH)) {
@@ -5,19 +5,27 @@ import com.exadel.etoolbox.linkinspector.core.services.helpers.RepositoryHelper;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.sling.api.resource.Resource;
 import org.apache.sling.api.resource.ResourceResolver;
+import org.apache.sling.api.resource.ValueMap;
+import org.apache.sling.api.wrappers.ValueMapDecorator;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Reference;
 
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Implementation of the ConfigService interface that provides configuration settings
  * for the Link Inspector tool. This service retrieves configuration values from the
- * repository and provides default values when configurations are not defined.
+ * repository and provides default values when configurations are not defined. The properties are read once and kept
+ * in memory until {@link ConfigService#invalidate()} is called upon a change of the configuration resource. Every
+ * invalidation increments the version of the properties, and the properties read before the invalidation are not kept,
+ * even if the reading completes afterwards.
  * <p><u>Note</u>: This class is not a part of the public API and is subject to change. Do not use it in your own code</p>
  */
 @Component(service = ConfigService.class)
@@ -33,6 +41,13 @@ public class ConfigServiceImpl implements ConfigService {
     private static final String PN_EXCLUDE_TAGS = "excludeTags";
     private static final String PN_STATUS_CODES = "statusCodes";
     private static final String PN_THREADS_PER_CORE = "threadsPerCore";
+    private static final String PN_PARALLEL_TRAVERSAL = "parallelTraversal";
+    private static final String PN_PIPELINED_VALIDATION = "pipelinedValidation";
+    private static final String PN_INCREMENTAL_GENERATION = "incrementalGeneration";
+    private static final String PN_DATA_FEED_CHUNK_SIZE = "dataFeedChunkSize";
+    private static final String PN_BINARY_DATA_FEED = "binaryDataFeed";
+    private static final String PN_GENERATION_TIMEOUT = "generationTimeout";
+    private static final String PN_VALIDATION_TIMEOUT = "validationTimeout";
     private static final int DEFAULT_THREADS_PER_CORE = 60;
 
     private static final String DEFAULT_PATH = "/content";
@@ -40,6 +55,10 @@ public class ConfigServiceImpl implements ConfigService {
     @Reference
     private RepositoryHelper repositoryHelper;
 
+    private final AtomicLong version = new AtomicLong();
+
+    private volatile CachedProperties cachedProperties;
+
     /**
      * Returns patterns for links that should be excluded from processing
      *
@@ -137,11 +156,118 @@ public class ConfigServiceImpl implements ConfigService {
         return getProperty(PN_THREADS_PER_CORE, Integer.class).orElse(DEFAULT_THREADS_PER_CORE);
     }
 
-    private <T> Optional<T> getProperty(String name, Class<T> clazz){
-        try(ResourceResolver resourceResolver = repositoryHelper.getServiceResourceResolver()){
+    /**
+     * Checks if the content tree should be traversed in parallel
+     *
+     * @return true if the parallel traversal is enabled, false otherwise
+     */
+    @Override
+    public boolean isParallelTraversal() {
+        return getProperty(PN_PARALLEL_TRAVERSAL, Boolean.class).orElse(false);
+    }
+
+    /**
+     * Checks if links should be validated while the content is being traversed
+     *
+     * @return true if the pipelined validation is enabled, false otherwise
+     */
+    @Override
+    public boolean isPipelinedValidation() {
+        return getProperty(PN_PIPELINED_VALIDATION, Boolean.class).orElse(false);
+    }
+
+    /**
+     * Checks if the data feed should be regenerated only for the content changed since the previous generation
+     *
+     * @return true if the incremental generation is enabled, false otherwise
+     */
+    @Override
+    public boolean isIncrementalGeneration() {
+        return getProperty(PN_INCREMENTAL_GENERATION, Boolean.class).orElse(false);
+    }
+
+    /**
+     * Returns the maximum number of rows stored in a single data feed file
+     *
+     * @return The number of rows per data feed file, or 0 if the data feed is not split
+     */
+    @Override
+    public int getDataFeedChunkSize() {
+        return Math.max(0, getProperty(PN_DATA_FEED_CHUNK_SIZE, Integer.class).orElse(0));
+    }
+
+    /**
+     * Checks if the data feed should also be stored in the binary format
+     *
+     * @return true if the binary data feed is enabled, false otherwise
+     */
+    @Override
+    public boolean isBinaryDataFeed() {
+        return getProperty(PN_BINARY_DATA_FEED, Boolean.class).orElse(false);
+    }
+
+    /**
+     * Returns the maximum duration of a data feed generation
+     *
+     * @return The number of minutes, or 0 if the generation is not limited
+     */
+    @Override
+    public int getGenerationTimeout() {
+        return Math.max(0, getProperty(PN_GENERATION_TIMEOUT, Integer.class).orElse(0));
+    }
+
+    /**
+     * Returns the maximum duration of a single link validation task
+     *
+     * @return The number of seconds, or 0 if the validation tasks are not limited
+     */
+    @Override
+    public int getValidationTimeout() {
+        return Math.max(0, getProperty(PN_VALIDATION_TIMEOUT, Integer.class).orElse(0));
+    }
+
+    /**
+     * Discards the configuration properties kept in memory, so that they are read from the repository on next access
+     */
+    @Override
+    public void invalidate() {
+        version.incrementAndGet();
+        cachedProperties = null;
+    }
+
+    private <T> Optional<T> getProperty(String name, Class<T> clazz) {
+        // The version is taken before reading, so that the properties read concurrently with an invalidation are
+        // marked outdated
+        long currentVersion = version.get();
+        CachedProperties current = cachedProperties;
+        if (current == null || current.version != currentVersion) {
+            current = new CachedProperties(currentVersion, readProperties());
+            if (version.get() == currentVersion) {
+                cachedProperties = current;
+            }
+        }
+        return Optional.ofNullable(current.properties.get(name, clazz));
+    }
+
+    private ValueMap readProperties() {
+        try (ResourceResolver resourceResolver = repositoryHelper.getServiceResourceResolver()) {
             return Optional.ofNullable(resourceResolver.getResource(CONFIG_PATH))
                     .map(Resource::getValueMap)
-                    .map(vm->vm.get(name, clazz));
+                    .map(valueMap -> new ValueMapDecorator(Collections.unmodifiableMap(new HashMap<>(valueMap))))
+                    .orElse(ValueMap.EMPTY);
+        }
+    }
+
+    /**
+     * Represents the configuration properties along with the version they were read at
+     */
+    private static final class CachedProperties {
+        private final long version;
+        private final ValueMap properties;
+
+        private CachedProperties(long version, ValueMap properties) {
+            this.version = version;
+            this.properties = properties;
         }
     }
 }
@@ -0,0 +1,169 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exadel.etoolbox.linkinspector.core.services.data.impl;
+
+import com.exadel.etoolbox.linkinspector.api.Result;
+import com.exadel.etoolbox.linkinspector.core.services.data.ConfigService;
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+
+/**
+ * Holds the settings of a single generation run. The settings are read from the {@link ConfigService} once when
+ * the run starts, so that the traversal and the validation do not query the configuration for every resource or
+ * link they check. The exclusion patterns are compiled into {@link ExclusionMatcher}s at the same time.
+ * The snapshot is immutable and can be shared between threads
+ * <p><u>Note</u>: This class is not a part of the public API and is subject to change. Do not use it in your own code</p>
+ */
+@Getter
+final class ConfigSnapshot {
+    private static final String TAGS_LOCATION = "/content/cq:tags";
+    private static final String EXCLUDED_PATHS = "Excluded Paths";
+    private static final String EXCLUDED_PROPERTIES = "Excluded Properties";
+    private static final String EXCLUDED_LINKS = "Excluded Links";
+
+    private final String searchPath;
+    private final boolean skipContentModifiedAfterActivation;
+    private final ZonedDateTime lastModified;
+    private final boolean excludeTagLinks;
+    private final int threadsPerCore;
+    private final boolean parallelTraversal;
+    private final boolean pipelinedValidation;
+    private final int generationTimeout;
+    private final int validationTimeout;
+
+    @Getter(AccessLevel.NONE)
+    private final int[] statusCodes;
+    @Getter(AccessLevel.NONE)
+    private final int[] sortedStatusCodes;
+    @Getter(AccessLevel.NONE)
+    private final ExclusionMatcher excludedPaths;
+    @Getter(AccessLevel.NONE)
+    private final ExclusionMatcher excludedProperties;
+    @Getter(AccessLevel.NONE)
+    private final ExclusionMatcher excludedLinks;
+
+    private ConfigSnapshot(ConfigService configService) {
+        searchPath = configService.getSearchPath();
+        skipContentModifiedAfterActivation = configService.isSkipContentModifiedAfterActivation();
+        lastModified = configService.getLastModified();
+        excludeTagLinks = configService.excludeTagLinks();
+        threadsPerCore = configService.getThreadsPerCore();
+        parallelTraversal = configService.isParallelTraversal();
+        pipelinedValidation = configService.isPipelinedValidation();
+        generationTimeout = configService.getGenerationTimeout();
+        validationTimeout = configService.getValidationTimeout();
+        statusCodes = ArrayUtils.nullToEmpty(configService.getStatusCodes()).clone();
+        sortedStatusCodes = statusCodes.clone();
+        Arrays.sort(sortedStatusCodes);
+        excludedPaths = ExclusionMatcher.compile(configService.getExcludedPaths(), EXCLUDED_PATHS);
+        excludedProperties = ExclusionMatcher.compile(configService.getExcludedProperties(), EXCLUDED_PROPERTIES);
+        excludedLinks = ExclusionMatcher.compile(configService.getExcludedLinksPatterns(), EXCLUDED_LINKS);
+    }
+
+    /**
+     * Reads the current settings of the given {@link ConfigService}
+     *
+     * @param configService {@code ConfigService} instance
+     * @return {@code ConfigSnapshot} instance
+     */
+    static ConfigSnapshot of(ConfigService configService) {
+        return new ConfigSnapshot(configService);
+    }
+
+    /**
+     * Gets the status codes of the links that are reported
+     *
+     * @return Array of status codes; an empty array or a single negative value means that all the codes are reported
+     */
+    int[] getStatusCodes() {
+        return statusCodes.clone();
+    }
+
+    /**
+     * Gets the valid path exclusion patterns
+     *
+     * @return Array of regular expressions
+     */
+    String[] getExcludedPaths() {
+        return excludedPaths.getPatterns();
+    }
+
+    /**
+     * Gets the valid property exclusion patterns
+     *
+     * @return Array of regular expressions
+     */
+    String[] getExcludedProperties() {
+        return excludedProperties.getPatterns();
+    }
+
+    /**
+     * Gets the valid link exclusion patterns
+     *
+     * @return Array of regular expressions
+     */
+    String[] getExcludedLinksPatterns() {
+        return excludedLinks.getPatterns();
+    }
+
+    /**
+     * Checks whether the resource under the given path is excluded from the traversal
+     *
+     * @param path Resource path
+     * @return True or false
+     */
+    boolean isExcludedPath(String path) {
+        return excludedPaths.isExcluded(path);
+    }
+
+    /**
+     * Checks whether links in the property with the given name are ignored
+     *
+     * @param propertyName Property name
+     * @return True or false
+     */
+    boolean isExcludedProperty(String propertyName) {
+        return excludedProperties.isExcluded(propertyName);
+    }
+
+    /**
+     * Checks whether the given link is neither a tag link, nor excluded by a pattern
+     *
+     * @param result {@link Result} representing the link
+     * @return True if the link is to be validated; otherwise, false
+     */
+    boolean isAllowedLink(Result result) {
+        String href = result.getValue();
+        return !(excludeTagLinks && StringUtils.startsWith(href, TAGS_LOCATION)) && !excludedLinks.isExcluded(href);
+    }
+
+    /**
+     * Checks whether a link with the given status code is reported
+     *
+     * @param statusCode Status code of the validated link
+     * @return True or false
+     */
+    boolean isAllowedStatusCode(int statusCode) {
+        if (statusCodes.length == 0 || (statusCodes.length == 1 && statusCodes[0] < 0)) {
+            return true;
+        }
+        return Arrays.binarySearch(sortedStatusCodes, statusCode) >= 0;
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exadel.etoolbox.linkinspector.core.services.data.impl;
+
+import com.day.crx.JcrConstants;
+import com.exadel.etoolbox.linkinspector.core.services.data.ContentChangeTracker;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.sling.api.resource.observation.ExternalResourceChangeListener;
+import org.apache.sling.api.resource.observation.ResourceChange;
+import org.apache.sling.api.resource.observation.ResourceChangeListener;
+import org.osgi.service.component.annotations.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Implements {@link ContentChangeTracker} interface to provide an OSGi service which collects the paths of
+ * the resources added, changed or removed under the content root. A change within the content of a page or an asset
+ * is tracked as the change of its {@code jcr:content} subtree, so that the child pages are not inspected again; a change
+ * of the page or asset node itself, e.g. when it is added, moved or removed, is tracked as the change of its whole subtree.
+ * The changes made on other instances of a cluster are tracked as well, as they are shared by the repository.
+ * The changes are only known after a full generation has been performed by the current instance; a change
+ * of the Link Inspector settings, or too many changes, make a full generation required again.
+ * <p><u>Note</u>: This class is not a part of the public API and is subject to change. Do not use it in your own code</p>
+ */
+@Component(
+        service = {ContentChangeTracker.class, ResourceChangeListener.class},
+        immediate = true,
+        property = {
+                ResourceChangeListener.PATHS + "=" + ContentChangeTrackerImpl.CONTENT_ROOT,
+                ResourceChangeListener.PATHS + "=" + ConfigServiceImpl.CONFIG_PATH,
+                ResourceChangeListener.CHANGES + "=ADDED",
+                ResourceChangeListener.CHANGES + "=CHANGED",
+                ResourceChangeListener.CHANGES + "=REMOVED"
+        }
+)
+@Slf4j
+public class ContentChangeTrackerImpl implements ContentChangeTracker, ResourceChangeListener,
+        ExternalResourceChangeListener {
+
+    static final String CONTENT_ROOT = "/content";
+    private static final String JCR_CONTENT_SEGMENT = "/" + JcrConstants.JCR_CONTENT;
+    private static final int MAX_TRACKED_PATHS = 10_000;
+
+    private Set<String> changedPaths = new HashSet<>();
+    private boolean tracking;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void reset() {
+        changedPaths = new HashSet<>();
+        tracking = true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void invalidate() {
+        changedPaths = new HashSet<>();
+        tracking = false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<Set<String>> pollChangedPaths(String searchPath) {
+        Set<String> polledPaths;
+        synchronized (this) {
+            if (!tracking || !isSameOrDescendant(searchPath, CONTENT_ROOT)) {
+                return Optional.empty();
+            }
+            polledPaths = changedPaths;
+            changedPaths = new HashSet<>();
+        }
+        return Optional.of(getSubtreeRoots(polledPaths, searchPath));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void restoreChangedPaths(Set<String> paths) {
+        if (!tracking) {
+            return;
+        }
+        changedPaths.addAll(paths);
+        invalidateIfTooManyChanges();
+    }
+
+    /**
+     * Handles resource change events
+     *
+     * @param changes List of resource changes to process
+     */
+    @Override
+    public synchronized void onChange(List<ResourceChange> changes) {
+        if (!tracking) {
+            return;
+        }
+        for (ResourceChange change : changes) {
+            String path = change.getPath();
+            if (isSameOrDescendant(path, ConfigServiceImpl.CONFIG_PATH)) {
+                log.debug("Link Inspector settings changed, the next data feed generation will be a full one");
+                invalidate();
+                return;
+            }
+            changedPaths.add(getChangedSubtree(path));
+        }
+        invalidateIfTooManyChanges();
+    }
+
+    private void invalidateIfTooManyChanges() {
+        if (changedPaths.size() > MAX_TRACKED_PATHS) {
+            log.debug("More than {} content changes tracked, the next data feed generation will be a full one",
+                    MAX_TRACKED_PATHS);
+            invalidate();
+        }
+    }
+
+    /**
+     * Gets the root of the subtree affected by a change of the given resource, which is the {@code jcr:content} node
+     * of a page or an asset if the resource is within one, or else the resource itself
+     */
+    private static String getChangedSubtree(String path) {
+        int index = path.indexOf(JCR_CONTENT_SEGMENT);
+        while (index >= 0) {
+            int end = index + JCR_CONTENT_SEGMENT.length();
+            if (end == path.length() || path.charAt(end) == '/') {
+                return path.substring(0, end);
+            }
+            index = path.indexOf(JCR_CONTENT_SEGMENT, end);
+        }
+        return path;
+    }
+
+    private static Set<String> getSubtreeRoots(Set<String> paths, String searchPath) {
+        Set<String> pathsWithinSearchPath = new HashSet<>();
+        for (String path : paths) {
+            if (isSameOrDescendant(searchPath, path)) {
+                pathsWithinSearchPath.add(searchPath);
+            } else if (isSameOrDescendant(path, searchPath)) {
+                pathsWithinSearchPath.add(path);
+            }
+        }
+        Set<String> subtreeRoots = new HashSet<>();
+        for (String path : pathsWithinSearchPath) {
+            if (!hasAncestorIn(path, pathsWithinSearchPath)) {
+                subtreeRoots.add(path);
+            }
+        }
+        return subtreeRoots;
+    }
+
+    private static boolean hasAncestorIn(String path, Set<String> paths) {
+        String ancestor = StringUtils.substringBeforeLast(path, "/");
+        while (!ancestor.isEmpty()) {
+            if (paths.contains(ancestor)) {
+                return true;
+            }
+            ancestor = StringUtils.substringBeforeLast(ancestor, "/");
+        }
+        return false;
+    }
+
+    private static boolean isSameOrDescendant(String path, String ancestorPath) {
+        return path.equals(ancestorPath) || path.startsWith(StringUtils.appendIfMissing(ancestorPath, "/"));
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.exadel.etoolbox.linkinspector.core.services.data.impl;
+
+import com.day.crx.JcrConstants;
+import com.exadel.etoolbox.linkinspector.core.services.data.models.UpdatedItem;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.sling.api.resource.ModifiableValueMap;
+import org.apache.sling.api.resource.PersistenceException;
+import org.apache.sling.api.resource.Resource;
+import org.apache.sling.api.resource.ResourceResolver;
+import org.apache.sling.api.resource.ResourceUtil;
+import org.apache.sling.api.resource.ValueMap;
+import org.apache.sling.jcr.resource.api.JcrResourceConstants;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Represents the append-only log of the edits made to the data feed. The log is stored next to the data feed, so that
+ * an edit is persisted at the cost of the edit itself rather than at the cost of rewriting the whole data feed. Every
+ * appended batch of updated items is stored as a separate node; on reading, the batches are replayed over the data feed
+ * in the order they were appended. The log is removed once the data feed is rewritten, i.e. compacted
+ * <p><u>Note</u>: This class is not a part of the public API and is subject to change. Do not use it in your own code</p>
+ */
+final class DataFeedChangeLog {
+
+    private static final String PN_SEQUENCE = "sequence";
+    private static final String PN_PATHS = "paths";
+    private static final String PN_PROPERTY_NAMES = "propertyNames";
+    private static final String PN_CURRENT_LINKS = "currentLinks";
+    private static final String PN_UPDATED_LINKS = "updatedLinks";
+    private static final String PN_UPDATE_GRID_RESOURCE = "updateGridResource";
+
+    private DataFeedChangeLog() {
+    }
+
+    /**
+     * Appends a batch of updated items to the log. The changes are not committed
+     *
+     * @param updatedItems       The updated items
+     * @param updateGridResource Whether the value of the matching data feed items is replaced with the updated link
+     * @param path               The repository path to the log
+     * @param resourceResolver   ResourceResolver used to store the log
+     * @throws PersistenceException if the batch cannot be stored
+     */
+    static void append(List<UpdatedItem> updatedItems,
+                       boolean updateGridResource,
+                       String path,
+                       ResourceResolver resourceResolver) throws PersistenceException {
+        Map<String, Object> logProperties = Collections.singletonMap(
+                JcrConstants.JCR_PRIMARYTYPE,
+                JcrConstants.NT_UNSTRUCTURED);
+        Resource log = ResourceUtil.getOrCreateResource(
+                resourceResolver,
+                path,
+                logProperties,
+                JcrResourceConstants.NT_SLING_FOLDER,
+                false);
+        ModifiableValueMap logValueMap = log.adaptTo(ModifiableValueMap.class);
+        if (logValueMap == null) {
+            throw new PersistenceException("Failed to modify the data feed change log " + path);
+        }
+        long sequence = logValueMap.get(PN_SEQUENCE, 0L) + 1;
+        logValueMap.put(PN_SEQUENCE, sequence);
+
+        Map<String, Object> batch = new HashMap<>();
+        batch.put(JcrConstants.JCR_PRIMARYTYPE, JcrConstants.NT_UNSTRUCTURED);
+        batch.put(PN_PATHS, toArray(updatedItems, UpdatedItem::getPath));
+        batch.put(PN_PROPERTY_NAMES, toArray(updatedItems, UpdatedItem::getPropertyName));
+        batch.put(PN_CURRENT_LINKS, toArray(updatedItems, UpdatedItem::getCurrentLink));
+        batch.put(PN_UPDATED_LINKS, toArray(updatedItems, UpdatedItem::getUpdatedLink));
+        batch.put(PN_UPDATE_GRID_RESOURCE, updateGridResource);
+        resourceResolver.create(log, String.format("%010d", sequence), batch);
+    }
+
+    /**
+     * Passes the batches stored in the log to the consumer in the order they were appended
+     *
+     * @param path             The repository path to the log
+     * @param resourceResolver ResourceResolver used to read the log
+     * @param consumer         Accepts the updated items of a batch and the flag telling whether the value of
+     *                         the matching data feed items is replaced
+     * @return The number of batches read
+     */
+    static int replay(String path, ResourceResolver resourceResolver, BiConsumer<List<UpdatedItem>, Boolean> consumer) {
+        Resource log = resourceResolver.getResource(path);
+        if (log == null) {
+            return 0;
+        }
+        int count = 0;
+        for (Resource batch : log.getChildren()) {
+            ValueMap valueMap = batch.getValueMap();
+            String[] paths = valueMap.get(PN_PATHS, new String[0]);
+            String[] propertyNames = valueMap.get(PN_PROPERTY_NAMES, new String[0]);
+            String[] currentLinks = valueMap.get(PN_CURRENT_LINKS, new String[0]);
+            String[] updatedLinks = valueMap.get(PN_UPDATED_LINKS, new String[0]);
+            int size = Math.min(Math.min(paths.length, propertyNames.length), Math.min(currentLinks.length, updatedLinks.length));
+            List<UpdatedItem> updatedItems = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                updatedItems.add(new UpdatedItem(currentLinks[i], updatedLinks[i], paths[i], propertyNames[i]));
+            }
+            consumer.accept(updatedItems, valueMap.get(PN_UPDATE_GRID_RESOURCE, false));
+            count++;
+        }
+        return count;
+    }
+
+    private static String[] toArray(List<UpdatedItem> updatedItems, Function<UpdatedItem, String> getter) {
+        return updatedItems.stream()
+                .map(getter)
+                .map(StringUtils::defaultString)
+                .toArray(String[]::new);
+    }
+}
@@ -15,10 +15,17 @@
 package com.exadel.etoolbox.linkinspector.core.services.data.impl;
 
 import com.adobe.granite.ui.components.ds.ValueMapResource;
+import com.day.crx.JcrConstants;
 import com.exadel.etoolbox.linkinspector.core.models.ui.GridViewItem;
 import com.exadel.etoolbox.linkinspector.core.services.cache.GridResourcesCache;
+import com.exadel.etoolbox.linkinspector.core.services.cache.LinkStatusCache;
+import com.exadel.etoolbox.linkinspector.core.services.data.ConfigService;
+import com.exadel.etoolbox.linkinspector.core.services.data.ContentChangeTracker;
 import com.exadel.etoolbox.linkinspector.core.services.data.DataFeedService;
+import com.exadel.etoolbox.linkinspector.core.services.data.GenerationStatsProps;
 import com.exadel.etoolbox.linkinspector.core.services.data.GridResourcesGenerator;
+import com.exadel.etoolbox.linkinspector.core.services.data.models.DataFeedManifest;
+import com.exadel.etoolbox.linkinspector.core.services.data.models.DataFeedPage;
 import com.exadel.etoolbox.linkinspector.core.services.data.models.DataFilter;
 import com.exadel.etoolbox.linkinspector.core.services.data.models.GridResource;
 import com.exadel.etoolbox.linkinspector.core.services.data.models.UpdatedItem;
@@ -28,8 +35,6 @@ import com.exadel.etoolbox.linkinspector.core.services.helpers.RepositoryHelper;
 import com.exadel.etoolbox.linkinspector.core.services.util.CsvUtil;
 import com.exadel.etoolbox.linkinspector.core.services.util.JsonUtil;
 import com.exadel.etoolbox.linkinspector.core.services.util.LinkInspectorResourceUtil;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.node.ArrayNode;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.csv.CSVPrinter;
 import org.apache.commons.lang3.StringUtils;
@@ -39,16 +44,29 @@ import org.apache.sling.api.resource.Resource;
 import org.apache.sling.api.resource.ResourceResolver;
 import org.apache.sling.api.resource.ValueMap;
 import org.apache.sling.api.wrappers.ValueMapDecorator;
-import org.apache.sling.jcr.contentloader.ContentTypeUtil;
+import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicy;
+import org.osgi.service.component.annotations.ReferencePolicyOption;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -75,18 +93,84 @@ public class DataFeedServiceImpl implements DataFeedService {
     @Reference
     private GridResourcesCache gridResourcesCache;
 
+    @Reference
+    private ConfigService configService;
+
+    @Reference
+    private ContentChangeTracker contentChangeTracker;
+
+    @Reference(
+            cardinality = ReferenceCardinality.OPTIONAL,
+            policy = ReferencePolicy.DYNAMIC,
+            policyOption = ReferencePolicyOption.GREEDY
+    )
+    private volatile LinkStatusCache linkStatusCache;
+
+    private BinaryDataFeed binaryDataFeed;
+
+    private ScheduledExecutorService compactionScheduler;
+
+    private ScheduledFuture<?> pendingCompaction;
+
     /**
      * The sling resource type of grid row items
      */
     private static final String GRID_RESOURCE_TYPE = "etoolbox-link-inspector/components/gridConfig";
 
+    /**
+     * The path segment of the content node of a page or an asset
+     */
+    private static final String JCR_CONTENT_SEGMENT = "/" + JcrConstants.JCR_CONTENT;
+
+    /**
+     * The folder holding the data feed and the related files in the repository
+     */
+    private static final String DATA_PATH = "/var/etoolbox/link-inspector/data";
+
     /**
      * The location of the data feed json in the repository
      */
-    private static final String JSON_FEED_PATH = "/var/etoolbox/link-inspector/data/datafeed.json";
+    private static final String JSON_FEED_PATH = DATA_PATH + "/datafeed.json";
+
+    /**
+     * The location of the data feed split into several files (chunks) in the repository
+     */
+    private static final String JSON_FEED_CHUNKS_PATH = DATA_PATH + "/datafeed";
+
+    /**
+     * The location of the manifest listing the data feed chunks
+     */
+    private static final String JSON_FEED_MANIFEST_PATH = JSON_FEED_CHUNKS_PATH + "/manifest.json";
+
+    /**
+     * The location of the data feed stored in the binary format in the repository
+     */
+    private static final String BINARY_FEED_PATH = DATA_PATH + "/datafeed.bin";
+
+    /**
+     * The locations of the files the data feed may be stored in
+     */
+    private static final String[] FEED_PATHS = {JSON_FEED_PATH, JSON_FEED_CHUNKS_PATH, BINARY_FEED_PATH};
+
+    /**
+     * The location the new data feed is written to before it replaces the previous one
+     */
+    private static final String STAGING_PATH = DATA_PATH + "/staging";
+
+    /**
+     * The location of the log of the edits made to the data feed since it was last written
+     */
+    private static final String CHANGE_LOG_PATH = DATA_PATH + "/datafeed-changes";
+
+    /**
+     * The delay after an edit before the change log is merged into the data feed. Edits made meanwhile are merged
+     * together
+     */
+    private static final long COMPACTION_DELAY_SECONDS = 30;
 
     /**
-     * The location of the generated Csv report in the repository
+     * The location of the Csv report stored in the repository by the previous versions. The report is now exported
+     * on demand, so the stored one is removed as stale
      */
     private static final String CSV_REPORT_PATH = "/var/etoolbox/link-inspector/download/report.csv";
 
@@ -110,22 +194,136 @@ public class DataFeedServiceImpl implements DataFeedService {
      */
     @Override
     public void generateDataFeed() {
+        generateDataFeed(() -> false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void generateDataFeed(BooleanSupplier stopRequested) {
         LOG.info("Start link inspector data feed generation");
         try (ResourceResolver resourceResolver = repositoryHelper.getServiceResourceResolver()) {
             if (resourceResolver == null) {
                 LOG.warn("ResourceResolver is null, data feed generation is stopped");
                 return;
             }
-            Optional.ofNullable(gridResourcesGenerator.generateGridResources(GRID_RESOURCE_TYPE, resourceResolver))
-                    .ifPresent(gridResources -> {
-                        gridResourcesCache.setGridResourcesList(gridResources);
-                        gridResourcesToDataFeed(gridResources, resourceResolver);
-                        generateCsvReport(gridResources, resourceResolver);
-                    });
+            Set<String> changedPaths = pollChangedPaths();
+            boolean isSaved = false;
+            try {
+                List<GridResource> gridResources = changedPaths != null
+                        ? generateGridResourcesIncrementally(changedPaths, resourceResolver, stopRequested)
+                        : generateGridResources(resourceResolver, stopRequested);
+                if (gridResources != null) {
+                    gridResourcesCache.setGridResourcesList(gridResources);
+                    isSaved = gridResourcesToDataFeed(gridResources, resourceResolver);
+                }
+            } finally {
+                if (changedPaths != null && !isSaved) {
+                    // The rows of the changed paths may be missing from the stored data feed, so the paths are
+                    // inspected again by the next generation
+                    LOG.info("Link inspector data feed is not saved, the content changes are kept for the next generation");
+                    contentChangeTracker.restoreChangedPaths(changedPaths);
+                }
+            }
+            if (isIncomplete(resourceResolver)) {
+                // An incomplete data feed cannot be the base of an incremental generation, since the subtrees
+                // missing from it would never be traversed again
+                LOG.info("Link inspector data feed is incomplete, the next generation will be a full one");
+                contentChangeTracker.invalidate();
+            }
+            Optional.ofNullable(linkStatusCache).ifPresent(LinkStatusCache::persist);
             LOG.info("Link inspector data feed generation is completed");
         }
     }
 
+    /**
+     * Retrieves the paths changed since the previous generation if the data feed can be generated incrementally
+     *
+     * @return Set of the changed paths, or null if the full data feed is to be generated
+     */
+    private Set<String> pollChangedPaths() {
+        if (!configService.isIncrementalGeneration()) {
+            return null;
+        }
+        Optional<Set<String>> changedPaths = contentChangeTracker.pollChangedPaths(configService.getSearchPath());
+        if (!changedPaths.isPresent()) {
+            LOG.info("Content changes since the previous generation are unknown, the full data feed is generated");
+        }
+        return changedPaths.orElse(null);
+    }
+
+    private List<GridResource> generateGridResources(ResourceResolver resourceResolver, BooleanSupplier stopRequested) {
+        contentChangeTracker.reset();
+        return gridResourcesGenerator.generateGridResources(GRID_RESOURCE_TYPE, resourceResolver, stopRequested);
+    }
+
+    private List<GridResource> generateGridResourcesIncrementally(Set<String> trackedPaths,
+                                                                  ResourceResolver resourceResolver,
+                                                                  BooleanSupplier stopRequested) {
+        Set<String> changedPaths = configService.isSkipContentModifiedAfterActivation() || configService.getLastModified() != null
+                ? toWholeSubtrees(trackedPaths)
+                : trackedPaths;
+        LOG.info("Incremental data feed generation, the number of changed subtrees is {}", changedPaths.size());
+        List<GridResource> previousGridResources = gridResourcesCache.getGridResourcesList();
+        if (CollectionUtils.isEmpty(previousGridResources)) {
+            try {
+                previousGridResources = dataFeedToGridResources(resourceResolver);
+            } catch (IOException e) {
+                LOG.error("Failed to read the previous data feed, the full data feed is generated", e);
+                return generateGridResources(resourceResolver, stopRequested);
+            }
+        }
+        List<GridResource> gridResources = previousGridResources
+                .stream()
+                .filter(gridResource -> !isWithinAnyPath(gridResource.getResourcePath(), changedPaths))
+                .collect(Collectors.toList());
+        if (!changedPaths.isEmpty()) {
+            gridResources.addAll(gridResourcesGenerator.generateGridResources(
+                    GRID_RESOURCE_TYPE,
+                    changedPaths,
+                    resourceResolver,
+                    stopRequested
+            ));
+        }
+        gridResources.sort(Comparator.comparing(GridResource::getValue));
+        return gridResources;
+    }
+
+    /**
+     * Widens the changes within the content of pages and assets to the whole subtrees of the pages and assets. Is
+     * needed when the content is filtered by replication status or modification date, since an edit may change
+     * whether a page and its descendants are inspected at all
+     */
+    private static Set<String> toWholeSubtrees(Set<String> changedPaths) {
+        Set<String> subtrees = changedPaths
+                .stream()
+                .map(path -> StringUtils.removeEnd(path, JCR_CONTENT_SEGMENT))
+                .collect(Collectors.toSet());
+        return subtrees
+                .stream()
+                .filter(path -> !isWithinAnyPath(StringUtils.substringBeforeLast(path, "/"), subtrees))
+                .collect(Collectors.toSet());
+    }
+
+    private static boolean isIncomplete(ResourceResolver resourceResolver) {
+        return Optional.ofNullable(resourceResolver.getResource(STATS_RESOURCE_PATH))
+                .map(Resource::getValueMap)
+                .map(valueMap -> valueMap.containsKey(GenerationStatsProps.PN_INCOMPLETE_REASON))
+                .orElse(false);
+    }
+
+    private static boolean isWithinAnyPath(String path, Set<String> ancestorPaths) {
+        String ancestor = path;
+        while (StringUtils.isNotEmpty(ancestor)) {
+            if (ancestorPaths.contains(ancestor)) {
+                return true;
+            }
+            ancestor = StringUtils.substringBeforeLast(ancestor, "/");
+        }
+        return false;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -137,18 +335,126 @@ public class DataFeedServiceImpl implements DataFeedService {
                 LOG.warn("ResourceResolver is null, data feed to resources conversion is stopped");
                 return Collections.emptyList();
             }
-            if (CollectionUtils.isEmpty(gridResourcesCache.getGridResourcesList())) {
-                gridResourcesCache.setGridResourcesList(dataFeedToGridResources(serviceResourceResolver));
+            if (CollectionUtils.isEmpty(gridResourcesCache.getGridResourcesList()) && !loadCache(serviceResourceResolver)) {
+                return Collections.emptyList();
             }
-            List<Resource> resources = toSlingResourcesStream(
-                    doFiltering(gridResourcesCache.getGridResourcesList(), filter),
-                    repositoryHelper.getThreadResourceResolver())
-                    .collect(Collectors.toList());
+            List<GridResource> gridResources = new ArrayList<>();
+            gridResourcesCache.query(filter, 0, Integer.MAX_VALUE, gridResources::add);
+            List<Resource> resources = toSlingResources(gridResources);
             LOG.info("EToolbox Link Inspector - the number of items shown is {}", resources.size());
             return resources;
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>The items are filtered and counted in a single pass over the cached indexed report, and only the items of
+     * the requested page are converted to Sling resources. If the items are not cached yet, and the data feed is
+     * stored in the binary format, the page is read from the binary data feed without loading the whole data feed
+     * into memory</p>
+     */
+    @Override
+    public DataFeedPage getDataFeedPage(DataFilter filter, int offset, int limit) {
+        List<GridResource> pageItems = new ArrayList<>();
+        int total = findGridResources(filter, offset, limit, pageItems::add);
+        return new DataFeedPage(total, toSlingResources(pageItems));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int writeCsvReport(DataFilter filter, OutputStream outputStream) throws IOException {
+        StopWatch stopWatch = StopWatch.createStarted();
+        ResourceResolver resourceResolver = repositoryHelper.getThreadResourceResolver();
+        CSVPrinter csvPrinter = CsvUtil.createCsvPrinter(outputStream, CSV_COLUMNS);
+        int total;
+        try {
+            total = findGridResources(filter, 0, Integer.MAX_VALUE, gridResource ->
+                    Optional.ofNullable(toSlingResource(gridResource, resourceResolver).adaptTo(GridViewItem.class))
+                            .ifPresent(viewItem -> printViewItemToCsv(csvPrinter, viewItem)));
+        } catch (UncheckedIOException e) {
+            // Writing is stopped at the first failure, e.g. when the client disconnects
+            throw e.getCause();
+        }
+        csvPrinter.flush();
+        LOG.debug("Writing CSV report is completed in {} ms, the number of items is {}",
+                stopWatch.getTime(TimeUnit.MILLISECONDS), total);
+        return total;
+    }
+
+    /**
+     * Passes the data feed items matching the filter within the given range to the consumer. The cached items are
+     * used if present. Otherwise, the items are read from the binary data feed if it exists, or the data feed is
+     * loaded into the cache
+     */
+    private int findGridResources(DataFilter filter, int offset, int limit, Consumer<GridResource> consumer) {
+        if (CollectionUtils.isEmpty(gridResourcesCache.getGridResourcesList())) {
+            try (ResourceResolver serviceResourceResolver = repositoryHelper.getServiceResourceResolver()) {
+                if (serviceResourceResolver == null) {
+                    LOG.warn("ResourceResolver is null, data feed items retrieval is stopped");
+                    return 0;
+                }
+                // The binary data feed does not reflect the edits that are not compacted yet
+                BinaryDataFeed binaryFeed = serviceResourceResolver.getResource(CHANGE_LOG_PATH) == null
+                        ? getBinaryDataFeed(serviceResourceResolver)
+                        : null;
+                if (binaryFeed != null) {
+                    return binaryFeed.find(filter, offset, limit, consumer);
+                }
+                if (!loadCache(serviceResourceResolver)) {
+                    return 0;
+                }
+            }
+        }
+        return gridResourcesCache.query(filter, offset, limit, consumer);
+    }
+
+    private List<Resource> toSlingResources(List<GridResource> gridResources) {
+        return toSlingResourcesStream(gridResources, repositoryHelper.getThreadResourceResolver())
+                .collect(Collectors.toList());
+    }
+
+    private synchronized BinaryDataFeed getBinaryDataFeed(ResourceResolver resourceResolver) {
+        if (binaryDataFeed != null) {
+            return binaryDataFeed;
+        }
+        InputStream input = Optional.ofNullable(resourceResolver.getResource(BINARY_FEED_PATH))
+                .map(resource -> resource.adaptTo(InputStream.class))
+                .orElse(null);
+        if (input == null) {
+            return null;
+        }
+        try (InputStream binaryInput = input) {
+            binaryDataFeed = BinaryDataFeed.open(binaryInput);
+            LOG.debug("Binary data feed is opened, the number of items is {}", binaryDataFeed.size());
+        } catch (IOException e) {
+            LOG.error("Failed to open binary data feed", e);
+        }
+        return binaryDataFeed;
+    }
+
+    private synchronized void closeBinaryDataFeed() {
+        if (binaryDataFeed != null) {
+            binaryDataFeed.close();
+            binaryDataFeed = null;
+        }
+    }
+
+    @Activate
+    protected void activate() {
+        compactionScheduler = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    @Deactivate
+    protected synchronized void deactivate() {
+        if (compactionScheduler != null) {
+            compactionScheduler.shutdownNow();
+            compactionScheduler = null;
+        }
+        closeBinaryDataFeed();
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -160,19 +466,104 @@ public class DataFeedServiceImpl implements DataFeedService {
                 return Collections.emptyList();
             }
             return dataFeedToGridResources(serviceResourceResolver);
+        } catch (IOException e) {
+            LOG.error("Failed to read data feed", e);
+            return Collections.emptyList();
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>The items are looked up in the cached report by their property location, so that the work is proportional to
+     * the number of the requested locations rather than to the size of the data feed</p>
+     */
     @Override
-    public void modifyDataFeed(List<UpdatedItem> updatedItems, boolean updateGridResource) {
-        List<GridResource> gridResources = gridResourcesCache.getGridResourcesList();
+    public List<GridResource> getGridResources(Collection<String> propertyLocations, Collection<String> links) {
+        if (CollectionUtils.isEmpty(propertyLocations) || CollectionUtils.isEmpty(links)) {
+            return Collections.emptyList();
+        }
+        if (CollectionUtils.isEmpty(gridResourcesCache.getGridResourcesList())) {
+            try (ResourceResolver serviceResourceResolver = repositoryHelper.getServiceResourceResolver()) {
+                if (serviceResourceResolver == null) {
+                    LOG.warn("ResourceResolver is null, data feed items retrieval is stopped");
+                    return Collections.emptyList();
+                }
+                if (!loadCache(serviceResourceResolver)) {
+                    return Collections.emptyList();
+                }
+            }
+        }
+        Set<String> linkSet = new HashSet<>(links);
+        List<GridResource> gridResources = new ArrayList<>();
+        for (String propertyLocation : new LinkedHashSet<>(propertyLocations)) {
+            int separatorIndex = StringUtils.lastIndexOf(propertyLocation, CsvUtil.AT_SIGN);
+            if (separatorIndex <= 0) {
+                continue;
+            }
+            String path = propertyLocation.substring(0, separatorIndex);
+            String propertyName = propertyLocation.substring(separatorIndex + 1);
+            gridResourcesCache.getGridResources(path, propertyName)
+                    .stream()
+                    .filter(gridResource -> linkSet.contains(gridResource.getValue()))
+                    .forEach(gridResources::add);
+        }
+        return gridResources;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>The data feed items to update are looked up by their property location in the cached report, and the edit is
+     * appended to the change log stored next to the data feed instead of rewriting the whole data feed. The change log
+     * is merged into the data feed in the background</p>
+     */
+    @Override
+    public synchronized void modifyDataFeed(List<UpdatedItem> updatedItems, boolean updateGridResource) {
+        if (CollectionUtils.isEmpty(updatedItems)) {
+            return;
+        }
         try (ResourceResolver serviceResourceResolver = repositoryHelper.getServiceResourceResolver()) {
-            for (GridResource gridResource : gridResources) {
-                String propertyAddress = CsvUtil.buildLocation(gridResource.getResourcePath(), gridResource.getPropertyName());
-                if (!isUpdated(updatedItems, propertyAddress, gridResource.getValue())) {
+            if (serviceResourceResolver == null) {
+                LOG.warn("ResourceResolver is null, data feed modification is stopped");
+                return;
+            }
+            if (CollectionUtils.isEmpty(gridResourcesCache.getGridResourcesList()) && !loadCache(serviceResourceResolver)) {
+                // The edit is kept in the change log, so that it is applied once the data feed is read successfully
+                appendToChangeLog(updatedItems, updateGridResource, serviceResourceResolver);
+                return;
+            }
+            // The cached items may be read meanwhile, so the updated items are copied and swapped in
+            Map<GridResource, GridResource> replacements = new IdentityHashMap<>();
+            int updatedCount = applyUpdates(
+                    updatedItems,
+                    updateGridResource,
+                    (path, propertyName) -> gridResourcesCache.getGridResources(path, propertyName)
+                            .stream()
+                            .map(gridResource -> replacements.getOrDefault(gridResource, gridResource))
+                            .collect(Collectors.toList()),
+                    copyingInto(replacements));
+            if (updatedCount == 0) {
+                return;
+            }
+            gridResourcesCache.replaceGridResources(replacements);
+            appendToChangeLog(updatedItems, updateGridResource, serviceResourceResolver);
+        }
+    }
+
+    private int applyUpdates(List<UpdatedItem> updatedItems,
+                             boolean updateGridResource,
+                             BiFunction<String, String, List<GridResource>> lookup,
+                             UnaryOperator<GridResource> toModifiable) {
+        int updatedCount = 0;
+        for (UpdatedItem updatedItem : updatedItems) {
+            if (StringUtils.isAnyBlank(updatedItem.getPath(), updatedItem.getPropertyName(), updatedItem.getCurrentLink())) {
+                continue;
+            }
+            String updatedLink = StringUtils.defaultString(updatedItem.getUpdatedLink());
+            for (GridResource foundGridResource : lookup.apply(updatedItem.getPath(), updatedItem.getPropertyName())) {
+                if (!updatedItem.getCurrentLink().equals(foundGridResource.getValue())) {
                     continue;
                 }
-                String updatedLink = getUpdatedLink(updatedItems, propertyAddress);
+                GridResource gridResource = toModifiable.apply(foundGridResource);
                 linkHelper
                         .getLinkStream(updatedLink)
                         .forEach(link -> {
@@ -182,9 +573,71 @@ public class DataFeedServiceImpl implements DataFeedService {
                 if (updateGridResource) {
                     gridResource.setValue(updatedLink);
                 }
+                updatedCount++;
+            }
+        }
+        return updatedCount;
+    }
+
+    /**
+     * Gets the function that copies a cached item before it is modified, and records the copy as its replacement.
+     * An item is copied once, the copy is modified by the further updates
+     */
+    private static UnaryOperator<GridResource> copyingInto(Map<GridResource, GridResource> replacements) {
+        Set<GridResource> copies = Collections.newSetFromMap(new IdentityHashMap<>());
+        return gridResource -> {
+            if (copies.contains(gridResource)) {
+                return gridResource;
+            }
+            GridResource copy = replacements.computeIfAbsent(gridResource, GridResource::copy);
+            copies.add(copy);
+            return copy;
+        };
+    }
+
+    private void appendToChangeLog(List<UpdatedItem> updatedItems,
+                                   boolean updateGridResource,
+                                   ResourceResolver resourceResolver) {
+        try {
+            closeBinaryDataFeed();
+            DataFeedChangeLog.append(updatedItems, updateGridResource, CHANGE_LOG_PATH, resourceResolver);
+            resourceResolver.commit();
+            LOG.debug("Data feed changes are saved to jcr, the number of updated items is {}", updatedItems.size());
+            scheduleCompaction();
+        } catch (PersistenceException e) {
+            LOG.error("Saving data feed changes to jcr failed", e);
+        }
+    }
+
+    private void scheduleCompaction() {
+        if (compactionScheduler == null || (pendingCompaction != null && !pendingCompaction.isDone())) {
+            return;
+        }
+        pendingCompaction = compactionScheduler.schedule(this::compactDataFeed, COMPACTION_DELAY_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Rewrites the data feed from the cached report, so that the edits stored in the change log are merged into
+     * the data feed, and removes the change log
+     */
+    private synchronized void compactDataFeed() {
+        try (ResourceResolver serviceResourceResolver = repositoryHelper.getServiceResourceResolver()) {
+            if (serviceResourceResolver == null) {
+                LOG.warn("ResourceResolver is null, data feed compaction is stopped");
+                return;
+            }
+            if (serviceResourceResolver.getResource(CHANGE_LOG_PATH) == null) {
+                return;
+            }
+            StopWatch stopWatch = StopWatch.createStarted();
+            List<GridResource> gridResources = gridResourcesCache.getGridResourcesList();
+            if (CollectionUtils.isEmpty(gridResources)) {
+                gridResources = dataFeedToGridResources(serviceResourceResolver);
             }
-            gridResourcesCache.setGridResourcesList(gridResources);
             gridResourcesToDataFeed(gridResources, serviceResourceResolver);
+            LOG.debug("Data feed compaction is completed in {} ms", stopWatch.getTime(TimeUnit.MILLISECONDS));
+        } catch (IOException e) {
+            LOG.error("Failed to read data feed, the compaction is skipped", e);
         }
     }
 
@@ -193,9 +646,9 @@ public class DataFeedServiceImpl implements DataFeedService {
         try (ResourceResolver serviceResourceResolver = repositoryHelper.getServiceResourceResolver()) {
             LinkInspectorResourceUtil.removeResource(STATS_RESOURCE_PATH, serviceResourceResolver);
             removePreviousDataFeed(serviceResourceResolver);
-            removeCsvReport(serviceResourceResolver);
             removePendingNode(serviceResourceResolver);
             gridResourcesCache.clearCache();
+            contentChangeTracker.invalidate();
             serviceResourceResolver.commit();
         } catch (PersistenceException e) {
             LOG.error("Failed to delete data feed", e);
@@ -203,52 +656,177 @@ public class DataFeedServiceImpl implements DataFeedService {
         }
     }
 
-    private List<GridResource> dataFeedToGridResources(ResourceResolver resourceResolver) {
+    /**
+     * Loads the data feed into the cache. If the data feed cannot be read, nothing is cached, so that a partially
+     * read data feed is never served or written back
+     *
+     * @return True if the data feed is loaded, false otherwise
+     */
+    private boolean loadCache(ResourceResolver resourceResolver) {
+        try {
+            gridResourcesCache.setGridResourcesList(dataFeedToGridResources(resourceResolver));
+            return true;
+        } catch (IOException e) {
+            LOG.error("Failed to read data feed", e);
+            return false;
+        }
+    }
+
+    private List<GridResource> dataFeedToGridResources(ResourceResolver resourceResolver) throws IOException {
+        StopWatch stopWatch = StopWatch.createStarted();
         List<GridResource> gridResources = new ArrayList<>();
-        ArrayNode jsonArray = JsonUtil.getJsonArrayFromFile(JSON_FEED_PATH, resourceResolver);
-        int allItemsSize = jsonArray.size();
-        if (allItemsSize > 0) {
-            for (int i = 0; i < allItemsSize; i++) {
-                try {
-                    JsonNode jsonNode = jsonArray.get(i);
-                    Optional.ofNullable(JsonUtil.jsonToModel(jsonNode, GridResource.class))
-                            .ifPresent(gridResources::add);
-                } catch (Exception e) {
-                    LOG.error("Failed to convert JSON object to GridResource", e);
-                }
-            }
+        for (String jsonPath : getDataFeedFilePaths(resourceResolver)) {
+            JsonUtil.readJsonArrayFromFile(jsonPath, GridResource.class, resourceResolver, gridResources::add);
         }
+        replayChangeLog(gridResources, resourceResolver);
+        LOG.debug("Reading data feed is completed in {} ms, the number of items is {}",
+                stopWatch.getTime(TimeUnit.MILLISECONDS), gridResources.size());
         return gridResources;
     }
 
-    private synchronized void gridResourcesToDataFeed(Collection<GridResource> gridResources, ResourceResolver resourceResolver) {
+    private void replayChangeLog(List<GridResource> gridResources, ResourceResolver resourceResolver) {
+        if (resourceResolver.getResource(CHANGE_LOG_PATH) == null) {
+            return;
+        }
+        Map<String, List<GridResource>> gridResourcesByLocation = new HashMap<>();
+        for (GridResource gridResource : gridResources) {
+            gridResourcesByLocation
+                    .computeIfAbsent(
+                            CsvUtil.buildLocation(gridResource.getResourcePath(), gridResource.getPropertyName()),
+                            key -> new ArrayList<>(1))
+                    .add(gridResource);
+        }
+        int batchesCount = DataFeedChangeLog.replay(CHANGE_LOG_PATH, resourceResolver, (updatedItems, updateGridResource) ->
+                applyUpdates(
+                        updatedItems,
+                        updateGridResource,
+                        (path, propertyName) -> gridResourcesByLocation.getOrDefault(
+                                CsvUtil.buildLocation(path, propertyName),
+                                Collections.emptyList()),
+                        UnaryOperator.identity()
+                ));
+        LOG.debug("Data feed changes are applied, the number of change batches is {}", batchesCount);
+    }
+
+    private List<String> getDataFeedFilePaths(ResourceResolver resourceResolver) {
+        DataFeedManifest manifest = JsonUtil.getModelFromFile(JSON_FEED_MANIFEST_PATH, DataFeedManifest.class, resourceResolver);
+        if (manifest == null) {
+            return Collections.singletonList(JSON_FEED_PATH);
+        }
+        return manifest.getChunks()
+                .stream()
+                .map(chunk -> JSON_FEED_CHUNKS_PATH + "/" + chunk)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Saves the data feed. The new data feed is written aside first, and then replaces the previous data feed within
+     * a single commit that also removes the change log. Thus, if writing fails, the previous data feed and the edits
+     * stored in the change log are kept intact
+     *
+     * @return True if the data feed is saved, false otherwise
+     */
+    private synchronized boolean gridResourcesToDataFeed(List<GridResource> gridResources, ResourceResolver resourceResolver) {
         try {
-            ArrayNode resourcesJsonArray = JsonUtil.objectsToJsonArray(gridResources);
-            removePreviousDataFeed(resourceResolver);
-            saveGridResourcesToJcr(resourceResolver, resourcesJsonArray);
-            removePendingNode(resourceResolver);
+            LinkInspectorResourceUtil.removeResource(STAGING_PATH, resourceResolver);
+            int chunkSize = configService.getDataFeedChunkSize();
+            if (chunkSize > 0 && gridResources.size() > chunkSize) {
+                saveGridResourcesToJcrInChunks(gridResources, chunkSize, resourceResolver);
+            } else {
+                JsonUtil.saveJsonArrayToFile(gridResources, toStagingPath(JSON_FEED_PATH), resourceResolver);
+            }
+            if (configService.isBinaryDataFeed()) {
+                saveBinaryDataFeed(gridResources, resourceResolver);
+            }
+            replacePreviousDataFeed(resourceResolver);
             resourceResolver.commit();
             LOG.debug("Saving data feed json to jcr completed, path {}", JSON_FEED_PATH);
-        } catch (PersistenceException e) {
+            return true;
+        } catch (IOException e) {
             LOG.error("Saving data feed json to jcr failed", e);
+            resourceResolver.revert();
+            LinkInspectorResourceUtil.removeResource(STAGING_PATH, resourceResolver);
+            return false;
         }
     }
 
+    private void saveGridResourcesToJcrInChunks(List<GridResource> gridResources,
+                                                int chunkSize,
+                                                ResourceResolver resourceResolver) throws IOException {
+        List<String> chunks = new ArrayList<>();
+        for (int i = 0; i < gridResources.size(); i += chunkSize) {
+            String chunk = String.format("chunk-%05d.json", chunks.size());
+            JsonUtil.saveJsonArrayToFile(
+                    gridResources.subList(i, Math.min(i + chunkSize, gridResources.size())),
+                    toStagingPath(JSON_FEED_CHUNKS_PATH + "/" + chunk),
+                    resourceResolver
+            );
+            chunks.add(chunk);
+        }
+        JsonUtil.saveJsonToFile(
+                new DataFeedManifest(chunks, gridResources.size()),
+                toStagingPath(JSON_FEED_MANIFEST_PATH),
+                resourceResolver
+        );
+        LOG.debug("Data feed is split into {} chunks, path {}", chunks.size(), JSON_FEED_CHUNKS_PATH);
+    }
+
+    /**
+     * Saves the binary data feed. Since the json data feed is saved anyway, a failure is not fatal: the data feed
+     * is then read from json
+     */
+    private void saveBinaryDataFeed(List<GridResource> gridResources, ResourceResolver resourceResolver) {
+        try {
+            BinaryDataFeed.save(gridResources, toStagingPath(BINARY_FEED_PATH), resourceResolver);
+            LOG.debug("Saving binary data feed to jcr completed, path {}", BINARY_FEED_PATH);
+        } catch (IOException e) {
+            LOG.error("Saving binary data feed to jcr failed", e);
+            resourceResolver.revert();
+        }
+    }
+
+    /**
+     * Replaces the previous data feed with the one written to the staging location, and removes the change log along
+     * with the other files that are stale once the data feed is rewritten. The changes are not committed
+     */
+    private void replacePreviousDataFeed(ResourceResolver resourceResolver) throws PersistenceException {
+        closeBinaryDataFeed();
+        for (String path : FEED_PATHS) {
+            deleteResource(path, resourceResolver);
+            if (resourceResolver.getResource(toStagingPath(path)) != null) {
+                resourceResolver.move(toStagingPath(path), DATA_PATH);
+            }
+        }
+        deleteResource(STAGING_PATH, resourceResolver);
+        deleteResource(CHANGE_LOG_PATH, resourceResolver);
+        // The CSV report is exported on demand, the one stored along with the data feed is no longer up to date
+        deleteResource(CSV_REPORT_PATH, resourceResolver);
+        deleteResource(DataFeedService.PENDING_GENERATION_NODE, resourceResolver);
+    }
+
     private void removePreviousDataFeed(ResourceResolver resourceResolver) {
+        closeBinaryDataFeed();
+        LinkInspectorResourceUtil.removeResource(STAGING_PATH, resourceResolver);
         LinkInspectorResourceUtil.removeResource(JSON_FEED_PATH, resourceResolver);
+        LinkInspectorResourceUtil.removeResource(JSON_FEED_CHUNKS_PATH, resourceResolver);
+        LinkInspectorResourceUtil.removeResource(BINARY_FEED_PATH, resourceResolver);
+        LinkInspectorResourceUtil.removeResource(CHANGE_LOG_PATH, resourceResolver);
+        removeCsvReport(resourceResolver);
     }
 
-    private void removeCsvReport(ResourceResolver resourceResolver) {
-        LinkInspectorResourceUtil.removeResource(CSV_REPORT_PATH, resourceResolver);
+    private static String toStagingPath(String path) {
+        return STAGING_PATH + StringUtils.removeStart(path, DATA_PATH);
     }
 
-    private void saveGridResourcesToJcr(ResourceResolver resourceResolver, ArrayNode jsonArray) {
-        LinkInspectorResourceUtil.saveFileToJCR(
-                JSON_FEED_PATH,
-                jsonArray.toString().getBytes(StandardCharsets.UTF_8),
-                ContentTypeUtil.TYPE_JSON,
-                resourceResolver
-        );
+    private static void deleteResource(String path, ResourceResolver resourceResolver) throws PersistenceException {
+        Resource resource = resourceResolver.getResource(path);
+        if (resource != null) {
+            resourceResolver.delete(resource);
+        }
+    }
+
+    private void removeCsvReport(ResourceResolver resourceResolver) {
+        LinkInspectorResourceUtil.removeResource(CSV_REPORT_PATH, resourceResolver);
     }
 
     private void removePendingNode(ResourceResolver resourceResolver) {
@@ -265,21 +843,6 @@ public class DataFeedServiceImpl implements DataFeedService {
         return new ValueMapResource(resourceResolver, gridResource.getResourcePath(), gridResource.getResourceType(), valueMap);
     }
 
-    private void generateCsvReport(Collection<GridResource> gridResources, ResourceResolver resourceResolver) {
-        StopWatch stopWatch = StopWatch.createStarted();
-        LOG.debug("Start CSV report generation");
-        List<GridViewItem> gridViewItems = toSlingResourcesStream(gridResources, resourceResolver)
-                .map(resource -> resource.adaptTo(GridViewItem.class))
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
-        byte[] csvContentBytes = CsvUtil.itemsToCsvByteArray(gridViewItems, this::printViewItemToCsv, CSV_COLUMNS);
-        LinkInspectorResourceUtil.removeResource(CSV_REPORT_PATH, resourceResolver);
-        LinkInspectorResourceUtil.saveFileToJCR(CSV_REPORT_PATH, csvContentBytes,
-                CsvUtil.CSV_MIME_TYPE, resourceResolver);
-        stopWatch.stop();
-        LOG.debug("Generation of CSV report is completed in {} ms", stopWatch.getTime(TimeUnit.MILLISECONDS));
-    }
-
     private void printViewItemToCsv(CSVPrinter csvPrinter, GridViewItem viewItem) {
         try {
             csvPrinter.printRecord(
@@ -294,27 +857,7 @@ public class DataFeedServiceImpl implements DataFeedService {
                     CsvUtil.buildLocation(viewItem.getResourcePath(), viewItem.getPropertyName())
             );
         } catch (IOException e) {
-            LOG.error(String.format("Failed to build CSV for the grid resource %s", viewItem.getValue()), e);
-        }
-    }
-
-    private List<GridResource> doFiltering(List<GridResource> resources, DataFilter filter) {
-        return resources.stream().filter(filter::validate).collect(Collectors.toList());
-    }
-
-    private static String getUpdatedLink(List<UpdatedItem> updatedItems, String propertyAddress) {
-        return updatedItems.stream()
-                .filter(item -> item.getPropertyLocation().equals(propertyAddress))
-                .map(UpdatedItem::getUpdatedLink)
-                .findFirst()
-                .orElse(StringUtils.EMPTY);
-    }
-
-    private boolean isUpdated(List<UpdatedItem> updatedItems, String propertyAddress, String currentLink) {
-        if (updatedItems == null || updatedItems.isEmpty() || StringUtils.isAnyBlank(propertyAddress, currentLink)) {
-            return false;
+            throw new UncheckedIOException(String.format("Failed to build CSV for the grid resource %s", viewItem.getValue()), e);
         }
-        return updatedItems.stream()
-                .anyMatch(item -> item.getPropertyLocation().equals(propertyAddress) && item.getCurrentLink().equals(currentLink));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,197 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exadel.etoolbox.linkinspector.core.services.data.impl;
+
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import java.util.stream.Collectors;
+
+/**
+ * Checks whether a string entirely matches any of the configured exclusion patterns, the same way as
+ * {@link String#matches(String)} does, but with the patterns compiled once. The patterns are sorted out as follows:
+ * <ul>
+ *     <li>patterns without regular expression syntax are looked up in a hash set;</li>
+ *     <li>patterns made of a literal prefix followed by {@code .*} or {@code (.*)} are looked up in a prefix trie;</li>
+ *     <li>the rest of the patterns are combined into a single alternation, except for the ones with back references
+ *     or quotations, which would be broken by the combination and are therefore compiled separately.</li>
+ * </ul>
+ * Invalid patterns are skipped with a warning. The check itself does not allocate objects, and the instance is safe
+ * to use from multiple threads, since every thread matches with its own {@link Matcher}s
+ * <p><u>Note</u>: This class is not a part of the public API and is subject to change. Do not use it in your own code</p>
+ */
+final class ExclusionMatcher {
+    private static final Logger LOG = LoggerFactory.getLogger(ExclusionMatcher.class);
+
+    private static final Pattern REGEX_SYNTAX = Pattern.compile("[\\\\.\\[\\]{}()*+?^$|]");
+    private static final Pattern UNCOMBINABLE_SYNTAX = Pattern.compile("\\\\(\\d|k<|Q)");
+    private static final String[] ANY_SUFFIXES = {"(.*)", ".*"};
+
+    private final String[] patterns;
+    private final Set<String> literals = new HashSet<>();
+    private final PrefixTrie prefixes = new PrefixTrie();
+    private final Pattern[] regexes;
+    private final ThreadLocal<Matcher[]> matchers;
+
+    private ExclusionMatcher(String[] patterns, String description) {
+        this.patterns = Arrays.stream(ArrayUtils.nullToEmpty(patterns))
+                .filter(StringUtils::isNotBlank)
+                .filter(pattern -> isValid(pattern, description))
+                .toArray(String[]::new);
+        List<String> combinable = new ArrayList<>();
+        List<Pattern> separate = new ArrayList<>();
+        for (String pattern : this.patterns) {
+            String prefix = getLiteralPrefix(pattern);
+            if (!REGEX_SYNTAX.matcher(pattern).find()) {
+                literals.add(pattern);
+            } else if (prefix != null) {
+                prefixes.add(prefix);
+            } else if (UNCOMBINABLE_SYNTAX.matcher(pattern).find()) {
+                separate.add(Pattern.compile(pattern));
+            } else {
+                combinable.add(pattern);
+            }
+        }
+        if (!combinable.isEmpty()) {
+            separate.add(Pattern.compile(combinable
+                    .stream()
+                    .map(pattern -> "(?:" + pattern + ")")
+                    .collect(Collectors.joining("|"))));
+        }
+        regexes = separate.toArray(new Pattern[0]);
+        matchers = ThreadLocal.withInitial(() -> Arrays.stream(regexes)
+                .map(regex -> regex.matcher(StringUtils.EMPTY))
+                .toArray(Matcher[]::new));
+    }
+
+    /**
+     * Compiles the given patterns
+     *
+     * @param patterns    Regular expressions a string must entirely match to be excluded. Blank entries are ignored
+     * @param description The name of the setting the patterns come from, used for logging
+     * @return {@code ExclusionMatcher} instance
+     */
+    static ExclusionMatcher compile(String[] patterns, String description) {
+        return new ExclusionMatcher(patterns, description);
+    }
+
+    /**
+     * Gets the valid patterns this matcher is built from
+     *
+     * @return Array of patterns in the original order
+     */
+    String[] getPatterns() {
+        return patterns.clone();
+    }
+
+    /**
+     * Checks whether the value entirely matches any of the patterns
+     *
+     * @param value The value to check
+     * @return True if the value is excluded; false otherwise, or if the value is null
+     */
+    boolean isExcluded(String value) {
+        if (value == null || patterns.length == 0) {
+            return false;
+        }
+        if (literals.contains(value) || prefixes.matchesPrefixOf(value)) {
+            return true;
+        }
+        if (regexes.length == 0) {
+            return false;
+        }
+        for (Matcher matcher : matchers.get()) {
+            if (matcher.reset(value).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isValid(String pattern, String description) {
+        try {
+            Pattern.compile(pattern);
+            return true;
+        } catch (PatternSyntaxException exception) {
+            LOG.warn("{} - Configured invalid regular expression: {}", description, pattern);
+            return false;
+        }
+    }
+
+    private static String getLiteralPrefix(String pattern) {
+        for (String suffix : ANY_SUFFIXES) {
+            if (pattern.endsWith(suffix)) {
+                String prefix = pattern.substring(0, pattern.length() - suffix.length());
+                return REGEX_SYNTAX.matcher(prefix).find() ? null : prefix;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Character trie of literal prefixes. Children are kept in arrays sorted by character, so that a lookup walks
+     * the value once and does not allocate objects
+     */
+    private static final class PrefixTrie {
+        private char[] keys = new char[0];
+        private PrefixTrie[] children = new PrefixTrie[0];
+        private boolean terminal;
+
+        void add(String prefix) {
+            PrefixTrie node = this;
+            for (int i = 0; i < prefix.length(); i++) {
+                node = node.getOrAddChild(prefix.charAt(i));
+            }
+            node.terminal = true;
+        }
+
+        boolean matchesPrefixOf(String value) {
+            PrefixTrie node = this;
+            for (int i = 0; !node.terminal; i++) {
+                if (i == value.length()) {
+                    return false;
+                }
+                int index = Arrays.binarySearch(node.keys, value.charAt(i));
+                if (index < 0) {
+                    return false;
+                }
+                node = node.children[index];
+            }
+            return true;
+        }
+
+        private PrefixTrie getOrAddChild(char key) {
+            int index = Arrays.binarySearch(keys, key);
+            if (index >= 0) {
+                return children[index];
+            }
+            int insertion = -index - 1;
+            PrefixTrie child = new PrefixTrie();
+            keys = ArrayUtils.insert(insertion, keys, key);
+            children = ArrayUtils.insert(insertion, children, child);
+            return child;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exadel.etoolbox.linkinspector.core.services.data.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Controls the duration of a single generation run. The run is stopped cooperatively when the caller requests it,
+ * e.g. because the Sling job is stopped, or when the overall deadline is exceeded. The results of validation tasks
+ * running longer than the per-task timeout are discarded. Threads are never interrupted on timeout, since it would
+ * not abort blocking requests; the requests are bounded by the timeouts of the HTTP clients instead. In all these
+ * cases the results collected so far are kept, and the run is considered incomplete. The executors running the tasks
+ * of the run are registered with it, so that they are not shared between the runs and can be shut down on abort
+ * <p><u>Note</u>: This class is not a part of the public API and is subject to change. Do not use it in your own code</p>
+ */
+final class GenerationControl implements AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(GenerationControl.class);
+
+    static final String REASON_STOPPED = "The generation was stopped";
+    static final String REASON_DEADLINE = "The generation timeout was exceeded";
+    static final String REASON_TASK_TIMEOUT = "The validation of some links timed out";
+
+    private final BooleanSupplier stopRequested;
+    private final long deadline;
+    private final long taskTimeout;
+    private final ScheduledThreadPoolExecutor watchdog;
+    private final Set<ExecutorService> executors = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean stopped;
+    private volatile String incompleteReason;
+
+    /**
+     * Creates a new instance
+     *
+     * @param stopRequested      Signals that the caller requested to stop the run; polled during the run
+     * @param generationTimeout  Overall time limit of the run in milliseconds, or 0 if the run is not limited
+     * @param validationTimeout  Time limit of a single validation task in milliseconds, or 0 if tasks are not limited
+     */
+    GenerationControl(BooleanSupplier stopRequested, long generationTimeout, long validationTimeout) {
+        this.stopRequested = stopRequested;
+        this.deadline = generationTimeout > 0 ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(generationTimeout) : 0;
+        this.taskTimeout = validationTimeout;
+        this.watchdog = validationTimeout > 0 ? createWatchdog() : null;
+    }
+
+    /**
+     * Checks whether the run should stop. Once this method returns true, it keeps returning true
+     *
+     * @return True if the run was stopped by the caller or exceeded the deadline; otherwise, false
+     */
+    boolean isStopped() {
+        if (stopped) {
+            return true;
+        }
+        if (stopRequested.getAsBoolean()) {
+            stop(REASON_STOPPED);
+        } else if (deadline != 0 && System.nanoTime() - deadline > 0) {
+            stop(REASON_DEADLINE);
+        }
+        return stopped;
+    }
+
+    /**
+     * Gets the reason why the results of the run are incomplete
+     *
+     * @return A message, or null if the run is complete
+     */
+    String getIncompleteReason() {
+        return incompleteReason;
+    }
+
+    /**
+     * Wraps the given validation task, so that it is skipped if the run is stopped. The task accepts a check telling
+     * whether its results must be discarded, which is the case once the task exceeds the per-task timeout, or once its
+     * thread is interrupted because the validation is stopped. The results must not be reported in that case, since
+     * the validation may have been cut short
+     *
+     * @param task The task to wrap
+     * @return {@code Runnable} instance
+     */
+    Runnable guard(Consumer<BooleanSupplier> task) {
+        return () -> {
+            if (isStopped()) {
+                return;
+            }
+            if (watchdog == null) {
+                task.accept(() -> Thread.currentThread().isInterrupted());
+                return;
+            }
+            AtomicBoolean expired = new AtomicBoolean();
+            ScheduledFuture<?> alarm = watchdog.schedule(() -> {
+                expired.set(true);
+                markIncomplete(REASON_TASK_TIMEOUT);
+                LOG.debug("Validation task exceeded the timeout of {} ms, its results are discarded", taskTimeout);
+            }, taskTimeout, TimeUnit.MILLISECONDS);
+            try {
+                task.accept(() -> expired.get() || Thread.currentThread().isInterrupted());
+            } finally {
+                alarm.cancel(false);
+            }
+        };
+    }
+
+    /**
+     * Registers an executor running the tasks of the run. If the run is aborted, the executor is shut down
+     *
+     * @param executor The executor to register
+     * @param <T>      Type of the executor
+     * @return The same executor
+     */
+    <T extends ExecutorService> T register(T executor) {
+        executors.add(executor);
+        if (stopped) {
+            executor.shutdownNow();
+        }
+        return executor;
+    }
+
+    /**
+     * Stops the run and shuts down the registered executors, so that the pending tasks are dropped and the running
+     * ones are interrupted. Used when the run cannot go on, e.g. because the service is deactivated
+     */
+    void abort() {
+        stop(REASON_STOPPED);
+        executors.forEach(ExecutorService::shutdownNow);
+    }
+
+    /**
+     * Gets the time left until the deadline
+     *
+     * @param unit Time unit of the result
+     * @return The remaining time, or {@link Long#MAX_VALUE} if the run is not limited
+     */
+    long getRemainingTime(TimeUnit unit) {
+        if (deadline == 0) {
+            return Long.MAX_VALUE;
+        }
+        return unit.convert(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void close() {
+        if (watchdog != null) {
+            watchdog.shutdownNow();
+        }
+    }
+
+    /**
+     * Creates the executor raising the timeout alarms of validation tasks. An alarm is removed from the queue as soon
+     * as it is cancelled, so that a run validating many links does not pile up the alarms of the completed tasks
+     */
+    private static ScheduledThreadPoolExecutor createWatchdog() {
+        ScheduledThreadPoolExecutor result = new ScheduledThreadPoolExecutor(1);
+        result.setRemoveOnCancelPolicy(true);
+        return result;
+    }
+
+    private void stop(String reason) {
+        markIncomplete(reason);
+        stopped = true;
+    }
+
+    private void markIncomplete(String reason) {
+        if (incompleteReason == null) {
+            incompleteReason = reason;
+            LOG.warn("Link inspector data feed will be incomplete: {}", reason);
+        }
+    }
+}
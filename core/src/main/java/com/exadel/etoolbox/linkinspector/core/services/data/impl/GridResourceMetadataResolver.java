@@ -0,0 +1,135 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exadel.etoolbox.linkinspector.core.services.data.impl;
+
+import com.day.cq.wcm.api.PageManager;
+import com.day.cq.wcm.api.components.ComponentManager;
+import com.day.crx.JcrConstants;
+import com.exadel.etoolbox.linkinspector.core.services.data.models.GridResource;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.sling.api.resource.Resource;
+import org.apache.sling.api.resource.ResourceResolver;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Resolves the details of the containing page and of the component for the reported items, so that they are stored
+ * with the report, and the UI grid and the CSV report do not look them up for each row. Each distinct resource, page
+ * and component is looked up once, and the results are memoized in bounded LRU caches. An instance is meant to be
+ * used within a single generation run by a single thread
+ * <p><u>Note</u>: This class is not a part of the public API and is subject to change. Do not use it in your own code</p>
+ */
+class GridResourceMetadataResolver {
+
+    private static final int MAX_CACHE_SIZE = 10_000;
+    private static final String JCR_CONTENT_SEGMENT = "/" + JcrConstants.JCR_CONTENT;
+
+    private final ResourceResolver resourceResolver;
+    private final PageManager pageManager;
+    private final ComponentManager componentManager;
+
+    private final Map<String, Optional<String>> resourceTypes = createCache();
+    private final Map<String, Optional<PageDetails>> pages = createCache();
+    private final Map<String, Optional<ComponentDetails>> components = createCache();
+
+    GridResourceMetadataResolver(ResourceResolver resourceResolver) {
+        this.resourceResolver = resourceResolver;
+        this.pageManager = resourceResolver.adaptTo(PageManager.class);
+        this.componentManager = resourceResolver.adaptTo(ComponentManager.class);
+    }
+
+    /**
+     * Sets the page path, page title, component name and component type of the given item. The item is left intact
+     * if its resource does not exist
+     *
+     * @param gridResource The item to enrich
+     */
+    void enrich(GridResource gridResource) {
+        String resourcePath = gridResource.getResourcePath();
+        if (StringUtils.isBlank(resourcePath)) {
+            return;
+        }
+        Optional<String> resourceType = resourceTypes.computeIfAbsent(resourcePath, path ->
+                Optional.ofNullable(resourceResolver.getResource(path)).map(Resource::getResourceType));
+        if (!resourceType.isPresent()) {
+            return;
+        }
+        Optional<ComponentDetails> component = components.computeIfAbsent(resourceType.get(), this::getComponent);
+        gridResource.setComponentName(component
+                .map(details -> details.title)
+                .orElse(StringUtils.substringAfterLast(resourcePath, "/")));
+        gridResource.setComponentType(component
+                .map(details -> details.resourceType)
+                .orElse(resourceType.get()));
+
+        Optional<PageDetails> page = pages.computeIfAbsent(getPageCandidatePath(resourcePath), this::getPage);
+        gridResource.setPagePath(page.map(details -> details.path).orElse(null));
+        gridResource.setPageTitle(page.map(details -> details.title).orElse(StringUtils.EMPTY));
+    }
+
+    private Optional<ComponentDetails> getComponent(String resourceType) {
+        return Optional.ofNullable(componentManager)
+                .map(manager -> manager.getComponent(resourceType))
+                .filter(component -> component.getTitle() != null)
+                .map(component -> new ComponentDetails(component.getTitle(), component.getResourceType()));
+    }
+
+    private Optional<PageDetails> getPage(String path) {
+        return Optional.ofNullable(pageManager)
+                .map(manager -> manager.getContainingPage(path))
+                .map(page -> new PageDetails(page.getPath(), page.getTitle()));
+    }
+
+    /**
+     * Gets the path which has the same containing page as the given resource path. Resources under the same
+     * {@code jcr:content} node share the path, so that the page is looked up once
+     */
+    private static String getPageCandidatePath(String resourcePath) {
+        return resourcePath.contains(JCR_CONTENT_SEGMENT + "/") || resourcePath.endsWith(JCR_CONTENT_SEGMENT)
+                ? StringUtils.substringBefore(resourcePath, JCR_CONTENT_SEGMENT)
+                : resourcePath;
+    }
+
+    private static <T> Map<String, T> createCache() {
+        return new LinkedHashMap<String, T>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, T> eldest) {
+                return size() > MAX_CACHE_SIZE;
+            }
+        };
+    }
+
+    private static final class PageDetails {
+        private final String path;
+        private final String title;
+
+        private PageDetails(String path, String title) {
+            this.path = path;
+            this.title = title;
+        }
+    }
+
+    private static final class ComponentDetails {
+        private final String title;
+        private final String resourceType;
+
+        private ComponentDetails(String title, String resourceType) {
+            this.title = title;
+            this.resourceType = resourceType;
+        }
+    }
+}
@@ -23,15 +23,18 @@ import com.exadel.etoolbox.linkinspector.core.services.data.GenerationStatsProps
 import com.exadel.etoolbox.linkinspector.core.services.data.GridResourcesGenerator;
 import com.exadel.etoolbox.linkinspector.core.services.data.models.GridResource;
 import com.exadel.etoolbox.linkinspector.core.services.helpers.LinkHelper;
+import com.exadel.etoolbox.linkinspector.core.services.helpers.RepositoryHelper;
 import com.exadel.etoolbox.linkinspector.core.services.util.LinkInspectorResourceUtil;
 import com.exadel.etoolbox.linkinspector.core.services.util.LinksCounter;
-import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.time.StopWatch;
+import org.apache.sling.api.resource.ModifiableValueMap;
 import org.apache.sling.api.resource.PersistenceException;
 import org.apache.sling.api.resource.Resource;
 import org.apache.sling.api.resource.ResourceResolver;
 import org.apache.sling.api.resource.ResourceUtil;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
 import org.apache.sling.jcr.resource.api.JcrResourceConstants;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
@@ -39,17 +42,22 @@ import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.net.URI;
+import java.net.URISyntaxException;
 import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
-import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.BooleanSupplier;
 import java.util.function.Function;
-import java.util.regex.Pattern;
-import java.util.regex.PatternSyntaxException;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -62,86 +70,267 @@ import java.util.stream.Stream;
 public class GridResourcesGeneratorImpl implements GridResourcesGenerator {
     private static final Logger LOG = LoggerFactory.getLogger(GridResourcesGeneratorImpl.class);
 
-    private static final String TAGS_LOCATION = "/content/cq:tags";
     public static final String STATS_RESOURCE_PATH = "/var/etoolbox/link-inspector/data/stats";
+    private static final int MAX_SURPLUS_TRAVERSAL_TASKS = 3;
+    private static final int VALIDATION_QUEUE_SIZE_PER_THREAD = 16;
+    private static final int MAX_VALIDATION_BATCH_SIZE = 64;
+    private static final int MAX_STATS_HOSTS = 10;
+    private static final long STOP_POLLING_INTERVAL = TimeUnit.SECONDS.toMillis(1);
+    private static final long STOP_GRACE_PERIOD = TimeUnit.SECONDS.toMillis(30);
 
     @Reference
     private LinkHelper linkHelper;
     @Reference
     private ConfigService configService;
+    @Reference
+    private RepositoryHelper repositoryHelper;
 
-    private ExecutorService executorService;
+    private final Set<GenerationControl> runningGenerations = ConcurrentHashMap.newKeySet();
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public List<GridResource> generateGridResources(String gridResourceType, ResourceResolver resourceResolver) {
-        StopWatch stopWatch = StopWatch.createStarted();
-        String searchPath = configService.getSearchPath();
-        LOG.debug("Start broken links collecting, path: {}", searchPath);
-
-        Resource rootResource = resourceResolver.getResource(searchPath);
+    public List<GridResource> generateGridResources(String gridResourceType,
+                                                    ResourceResolver resourceResolver,
+                                                    BooleanSupplier stopRequested) {
+        ConfigSnapshot config = ConfigSnapshot.of(configService);
+        Resource rootResource = resourceResolver.getResource(config.getSearchPath());
         if (rootResource == null) {
             LOG.warn("Search path resource is null, link inspector report generation is stopped");
             return Collections.emptyList();
         }
+        return generateGridResources(
+                Collections.singletonList(rootResource),
+                gridResourceType,
+                true,
+                config,
+                stopRequested,
+                resourceResolver);
+    }
 
-        Map<Result, List<GridResource>> linkToGridResourcesMap = new HashMap<>();
-        int traversedNodesCounter = getGridResourcesViaTraversing(rootResource, gridResourceType, linkToGridResourcesMap);
-        LOG.debug("Traversal is completed in {} ms, path: {}, traversed nodes count: {}",
-                stopWatch.getTime(TimeUnit.MILLISECONDS), searchPath, traversedNodesCounter);
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<GridResource> generateGridResources(String gridResourceType,
+                                                    Collection<String> paths,
+                                                    ResourceResolver resourceResolver,
+                                                    BooleanSupplier stopRequested) {
+        ConfigSnapshot config = ConfigSnapshot.of(configService);
+        String searchPath = config.getSearchPath();
+        List<Resource> rootResources = paths
+                .stream()
+                .map(resourceResolver::getResource)
+                .filter(Objects::nonNull)
+                .filter(resource -> isAllowedAncestry(resource, searchPath, config))
+                .collect(Collectors.toList());
+        return generateGridResources(rootResources, gridResourceType, false, config, stopRequested, resourceResolver);
+    }
 
-        if (linkToGridResourcesMap.isEmpty()) {
-            LOG.warn("Collecting reported links is completed in {} ms, path: {}. No links reported after traversing",
-                    stopWatch.getTime(TimeUnit.MILLISECONDS), searchPath);
-            LinksCounter emptyCounter = new LinksCounter();
-            saveStatsToJcr(emptyCounter, emptyCounter, resourceResolver);
-            return Collections.emptyList();
+    private List<GridResource> generateGridResources(List<Resource> rootResources,
+                                                     String gridResourceType,
+                                                     boolean isFullRun,
+                                                     ConfigSnapshot config,
+                                                     BooleanSupplier stopRequested,
+                                                     ResourceResolver resourceResolver) {
+        try (GenerationControl control = new GenerationControl(
+                stopRequested,
+                TimeUnit.MINUTES.toMillis(config.getGenerationTimeout()),
+                TimeUnit.SECONDS.toMillis(config.getValidationTimeout()))) {
+            runningGenerations.add(control);
+            try {
+                return generateGridResources(rootResources, gridResourceType, isFullRun, config, control, resourceResolver);
+            } finally {
+                runningGenerations.remove(control);
+            }
         }
+    }
 
-        List<GridResource> sortedGridResources = validateLinksInParallel(linkToGridResourcesMap, resourceResolver)
-                .stream()
-                .sorted(Comparator.comparing(GridResource::getValue))
-                .collect(Collectors.toList());
+    private List<GridResource> generateGridResources(List<Resource> rootResources,
+                                                     String gridResourceType,
+                                                     boolean isFullRun,
+                                                     ConfigSnapshot config,
+                                                     GenerationControl control,
+                                                     ResourceResolver resourceResolver) {
+        StopWatch stopWatch = StopWatch.createStarted();
+        List<String> rootPaths = rootResources.stream().map(Resource::getPath).collect(Collectors.toList());
+        LOG.debug("Start broken links collecting, paths: {}", rootPaths);
+
+        LinksCounter allLinksCounter = new LinksCounter();
+        LinksCounter reportedLinksCounter = new LinksCounter();
+        Set<GridResource> reportedGridResources;
+        if (config.isPipelinedValidation()) {
+            reportedGridResources = validateLinksInPipeline(
+                    rootResources,
+                    gridResourceType,
+                    config,
+                    control,
+                    allLinksCounter,
+                    reportedLinksCounter,
+                    resourceResolver
+            );
+        } else {
+            Map<Result, List<GridResource>> linkToGridResourcesMap = config.isParallelTraversal()
+                    ? new ConcurrentHashMap<>()
+                    : new HashMap<>();
+            int traversedNodesCounter = 0;
+            for (Resource rootResource : rootResources) {
+                traversedNodesCounter += traverse(
+                        rootResource,
+                        gridResourceType,
+                        config,
+                        control,
+                        mergingInto(linkToGridResourcesMap));
+            }
+            LOG.debug("Traversal is completed in {} ms, paths: {}, traversed nodes count: {}",
+                    stopWatch.getTime(TimeUnit.MILLISECONDS), rootPaths, traversedNodesCounter);
+
+            if (linkToGridResourcesMap.isEmpty()) {
+                LOG.warn("Collecting reported links is completed in {} ms, paths: {}. No links reported after traversing",
+                        stopWatch.getTime(TimeUnit.MILLISECONDS), rootPaths);
+                reportedGridResources = Collections.emptySet();
+            } else {
+                reportedGridResources = validateLinksInParallel(
+                        linkToGridResourcesMap,
+                        config,
+                        control,
+                        allLinksCounter,
+                        reportedLinksCounter,
+                        resourceResolver
+                );
+            }
+        }
+        LOG.debug("Statistics for all tested links: {}", allLinksCounter);
+        LOG.debug("Statistics for the broken/reported links: {}", reportedLinksCounter);
+
+        if (isFullRun) {
+            saveStatsToJcr(allLinksCounter, reportedLinksCounter, config, control, resourceResolver);
+        } else {
+            updateLastGeneratedInJcr(control, resourceResolver);
+        }
+
+        List<GridResource> sortedGridResources = new ArrayList<>(reportedGridResources);
+        sortedGridResources.sort(Comparator.comparing(GridResource::getValue));
+        enrichGridResources(sortedGridResources, resourceResolver);
 
         stopWatch.stop();
-        LOG.info("Collecting broken links is completed in {} ms, path: {}, the number of grid items is {}",
-                stopWatch.getTime(TimeUnit.MILLISECONDS), searchPath, sortedGridResources.size());
+        LOG.info("Collecting broken links is completed in {} ms, paths: {}, the number of grid items is {}",
+                stopWatch.getTime(TimeUnit.MILLISECONDS), rootPaths, sortedGridResources.size());
 
         return sortedGridResources;
     }
 
+    private static void enrichGridResources(List<GridResource> gridResources, ResourceResolver resourceResolver) {
+        StopWatch stopWatch = StopWatch.createStarted();
+        GridResourceMetadataResolver metadataResolver = new GridResourceMetadataResolver(resourceResolver);
+        gridResources.forEach(metadataResolver::enrich);
+        LOG.debug("Resolving page and component details is completed in {} ms, the number of grid items is {}",
+                stopWatch.getTime(TimeUnit.MILLISECONDS), gridResources.size());
+    }
+
+    /**
+     * Checks whether the ancestors of the given resource up to the search path would be traversed by a full
+     * generation, i.e. none of them is excluded by path, replication status or modification date
+     */
+    private boolean isAllowedAncestry(Resource resource, String searchPath, ConfigSnapshot config) {
+        if (!isSameOrDescendant(resource.getPath(), searchPath)) {
+            return false;
+        }
+        Resource ancestor = resource.getParent();
+        while (ancestor != null && isSameOrDescendant(ancestor.getPath(), searchPath)) {
+            if (!isAllowedResource(ancestor, config)) {
+                return false;
+            }
+            ancestor = ancestor.getParent();
+        }
+        return true;
+    }
+
+    private static boolean isSameOrDescendant(String path, String ancestorPath) {
+        return path.equals(ancestorPath) || path.startsWith(StringUtils.appendIfMissing(ancestorPath, "/"));
+    }
+
+    private int traverse(Resource rootResource,
+                         String gridResourceType,
+                         ConfigSnapshot config,
+                         GenerationControl control,
+                         BiConsumer<Result, List<GridResource>> linkConsumer) {
+        if (config.isParallelTraversal()) {
+            return getGridResourcesViaParallelTraversing(
+                    rootResource.getPath(),
+                    gridResourceType,
+                    config,
+                    control,
+                    linkConsumer);
+        }
+        return getGridResourcesViaTraversing(rootResource, gridResourceType, config, control, linkConsumer);
+    }
+
     private int getGridResourcesViaTraversing(Resource resource,
                                               String gridResourceType,
-                                              Map<Result, List<GridResource>> allLinkToGridResourcesMap) {
+                                              ConfigSnapshot config,
+                                              GenerationControl control,
+                                              BiConsumer<Result, List<GridResource>> linkConsumer) {
         int traversedNodesCount = 0;
-        if (!isAllowedResource(resource)) {
+        if (control.isStopped() || !isAllowedResource(resource, config)) {
             return traversedNodesCount;
         }
-        getLinkToGridResourcesMap(resource, gridResourceType).forEach((k, v) ->
-                allLinkToGridResourcesMap.merge(k, v,
-                        (existing, newValue) -> {
-                            existing.addAll(newValue);
-                            return existing;
-                        })
-        );
+        getLinkToGridResourcesMap(resource, gridResourceType, config).forEach(linkConsumer);
         traversedNodesCount++;
         Iterator<Resource> children = resource.listChildren();
         while (children.hasNext()) {
             Resource child = children.next();
-            traversedNodesCount += getGridResourcesViaTraversing(child, gridResourceType, allLinkToGridResourcesMap);
+            traversedNodesCount += getGridResourcesViaTraversing(child, gridResourceType, config, control, linkConsumer);
         }
         return traversedNodesCount;
     }
 
-    private Map<Result, List<GridResource>> getLinkToGridResourcesMap(Resource resource, String gridResourceType) {
+    private int getGridResourcesViaParallelTraversing(String searchPath,
+                                                      String gridResourceType,
+                                                      ConfigSnapshot config,
+                                                      GenerationControl control,
+                                                      BiConsumer<Result, List<GridResource>> linkConsumer) {
+        Map<Thread, ResourceResolver> workerResourceResolvers = new ConcurrentHashMap<>();
+        ForkJoinPool traversalPool = control.register(new ForkJoinPool(Runtime.getRuntime().availableProcessors()));
+        try {
+            return traversalPool.invoke(new TraversalTask(
+                    searchPath,
+                    gridResourceType,
+                    config,
+                    control,
+                    linkConsumer,
+                    workerResourceResolvers
+            ));
+        } finally {
+            traversalPool.shutdown();
+            workerResourceResolvers.values().forEach(ResourceResolver::close);
+        }
+    }
+
+    private static BiConsumer<Result, List<GridResource>> mergingInto(
+            Map<Result, List<GridResource>> allLinkToGridResourcesMap) {
+        return (k, v) ->
+                allLinkToGridResourcesMap.merge(k, v,
+                        (existing, newValue) -> {
+                            existing.addAll(newValue);
+                            return existing;
+                        });
+    }
+
+    private Map<Result, List<GridResource>> getLinkToGridResourcesMap(Resource resource,
+                                                                      String gridResourceType,
+                                                                      ConfigSnapshot config) {
         return ResourceUtil.getValueMap(resource)
                 .entrySet()
                 .stream()
-                .filter(valueMapEntry -> !isExcludedProperty(valueMapEntry.getKey()))
-                .flatMap(valueMapEntry ->
-                        getLinkToGridResourceMap(valueMapEntry.getKey(), valueMapEntry.getValue(), resource, gridResourceType))
+                .filter(valueMapEntry -> !config.isExcludedProperty(valueMapEntry.getKey()))
+                .flatMap(valueMapEntry -> getLinkToGridResourceMap(
+                        valueMapEntry.getKey(),
+                        valueMapEntry.getValue(),
+                        resource,
+                        gridResourceType,
+                        config))
                 .collect(Collectors.groupingBy(Map.Entry::getKey,
                         Collectors.mapping(Map.Entry::getValue, Collectors.toList()))
                 );
@@ -150,9 +339,10 @@ public class GridResourcesGeneratorImpl implements GridResourcesGenerator {
     private Stream<Map.Entry<Result, GridResource>> getLinkToGridResourceMap(String property,
                                                                              Object propertyValue,
                                                                              Resource resource,
-                                                                             String gridResourceType) {
+                                                                             String gridResourceType,
+                                                                             ConfigSnapshot config) {
         return linkHelper.getLinkStream(propertyValue)
-                .filter(this::isAllowedLink)
+                .filter(config::isAllowedLink)
                 .collect(Collectors.toMap(
                         Function.identity(),
                         link -> new GridResource(link, resource.getPath(), property, gridResourceType),
@@ -163,59 +353,170 @@ public class GridResourcesGeneratorImpl implements GridResourcesGenerator {
     }
 
     private Set<GridResource> validateLinksInParallel(Map<Result, List<GridResource>> linkToGridResourcesMap,
+                                                      ConfigSnapshot config,
+                                                      GenerationControl control,
+                                                      LinksCounter allLinksCounter,
+                                                      LinksCounter reportedLinksCounter,
                                                       ResourceResolver resourceResolver) {
-        LinksCounter allLinksCounter = new LinksCounter();
-        LinksCounter reportedLinksCounter = new LinksCounter();
-        // TODO: VERY slow
-        Set<GridResource> allReportedLinkResources = new CopyOnWriteArraySet<>();
+        Set<GridResource> allReportedLinkResources = ConcurrentHashMap.newKeySet();
+        int threadsCount = Runtime.getRuntime().availableProcessors() * config.getThreadsPerCore();
+        ExecutorService executorService = control.register(createValidationExecutor(threadsCount));
         try {
-            executorService =
-                    Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * configService.getThreadsPerCore());
-            linkToGridResourcesMap.forEach((link, resources) ->
-                    submitLinkForValidation(
-                            link,
-                            resources,
-                            allReportedLinkResources,
-                            allLinksCounter,
-                            reportedLinksCounter,
-                            resourceResolver
-                    )
-            );
+            List<Map.Entry<Result, List<GridResource>>> links = interleaveByHost(linkToGridResourcesMap);
+            int batchSize = Math.max(1, Math.min(MAX_VALIDATION_BATCH_SIZE, links.size() / threadsCount));
+            for (int i = 0; i < links.size() && !control.isStopped(); i += batchSize) {
+                submitLinksForValidation(
+                        executorService,
+                        links.subList(i, Math.min(i + batchSize, links.size())),
+                        config,
+                        control,
+                        allReportedLinkResources,
+                        allLinksCounter,
+                        reportedLinksCounter,
+                        resourceResolver
+                );
+            }
         } finally {
             executorService.shutdown();
         }
 
-        awaitExecutorServiceTermination();
-        LOG.debug("Statistics for all tested links: {}", allLinksCounter);
-        LOG.debug("Statistics for the broken/reported links: {}", reportedLinksCounter);
+        awaitExecutorServiceTermination(executorService, control);
+        return allReportedLinkResources;
+    }
 
-        saveStatsToJcr(allLinksCounter, reportedLinksCounter, resourceResolver);
+    /**
+     * Orders the links for validation so that links of the same host are spread over the queue instead of being
+     * submitted in a row. This way the validation threads are busy with different hosts at a time rather than
+     * waiting for a single host to respond
+     */
+    private static List<Map.Entry<Result, List<GridResource>>> interleaveByHost(
+            Map<Result, List<GridResource>> linkToGridResourcesMap) {
+        Map<String, Deque<Map.Entry<Result, List<GridResource>>>> linksByHost = new LinkedHashMap<>();
+        linkToGridResourcesMap.entrySet().forEach(entry ->
+                linksByHost.computeIfAbsent(getHost(entry.getKey().getValue()), host -> new ArrayDeque<>()).add(entry)
+        );
+        List<Map.Entry<Result, List<GridResource>>> interleavedLinks = new ArrayList<>(linkToGridResourcesMap.size());
+        while (!linksByHost.isEmpty()) {
+            Iterator<Deque<Map.Entry<Result, List<GridResource>>>> hostQueues = linksByHost.values().iterator();
+            while (hostQueues.hasNext()) {
+                Deque<Map.Entry<Result, List<GridResource>>> hostQueue = hostQueues.next();
+                interleavedLinks.add(hostQueue.poll());
+                if (hostQueue.isEmpty()) {
+                    hostQueues.remove();
+                }
+            }
+        }
+        return interleavedLinks;
+    }
 
-        return allReportedLinkResources;
+    private static String getHost(String link) {
+        try {
+            return StringUtils.defaultString(new URI(link).getHost());
+        } catch (URISyntaxException e) {
+            return StringUtils.EMPTY;
+        }
     }
 
-    private void submitLinkForValidation(Result result,
-                                         List<GridResource> currentLinkResources,
-                                         Set<GridResource> allReportedLinkResources,
-                                         LinksCounter allLinksCounter,
-                                         LinksCounter reportedLinksCounter,
-                                         ResourceResolver resourceResolver) {
-        allLinksCounter.checkIn(result);
-        executorService.submit(() -> {
-                    linkHelper.validateLink(result, resourceResolver);
-                    if (result.isReported() && isAllowedErrorCode(result.getStatus().getCode())) {
-                        currentLinkResources.forEach(gridResource -> gridResource.setStatus(result.getStatus()));
-                        allReportedLinkResources.addAll(currentLinkResources);
-                        reportedLinksCounter.checkIn(result);
+    private Set<GridResource> validateLinksInPipeline(List<Resource> rootResources,
+                                                      String gridResourceType,
+                                                      ConfigSnapshot config,
+                                                      GenerationControl control,
+                                                      LinksCounter allLinksCounter,
+                                                      LinksCounter reportedLinksCounter,
+                                                      ResourceResolver resourceResolver) {
+        StopWatch stopWatch = StopWatch.createStarted();
+        int threadsCount = Runtime.getRuntime().availableProcessors() * config.getThreadsPerCore();
+        ExecutorService executorService = control.register(createValidationExecutor(threadsCount));
+        ValidationPipeline pipeline = new ValidationPipeline(
+                executorService,
+                config,
+                control,
+                allLinksCounter,
+                reportedLinksCounter,
+                resourceResolver);
+        int traversedNodesCounter = 0;
+        try {
+            for (Resource rootResource : rootResources) {
+                traversedNodesCounter += traverse(rootResource, gridResourceType, config, control, pipeline::accept);
+            }
+        } finally {
+            executorService.shutdown();
+        }
+        LOG.debug("Traversal is completed in {} ms, traversed nodes count: {}",
+                stopWatch.getTime(TimeUnit.MILLISECONDS), traversedNodesCounter);
+
+        awaitExecutorServiceTermination(executorService, control);
+        return pipeline.allReportedLinkResources;
+    }
+
+    /**
+     * Creates a pool of validation threads with a bounded queue. When the queue is full, the submitting thread
+     * validates links by itself, which holds back the traversal or the submission of further links
+     */
+    private static ExecutorService createValidationExecutor(int threadsCount) {
+        return new ThreadPoolExecutor(
+                threadsCount,
+                threadsCount,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threadsCount * VALIDATION_QUEUE_SIZE_PER_THREAD),
+                new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+    }
+
+    private void submitLinksForValidation(ExecutorService executorService,
+                                          List<Map.Entry<Result, List<GridResource>>> links,
+                                          ConfigSnapshot config,
+                                          GenerationControl control,
+                                          Set<GridResource> allReportedLinkResources,
+                                          LinksCounter allLinksCounter,
+                                          LinksCounter reportedLinksCounter,
+                                          ResourceResolver resourceResolver) {
+        links.forEach(link -> allLinksCounter.checkIn(link.getKey()));
+        executorService.execute(control.guard(isDiscarded -> {
+                    linkHelper.validateLinks(
+                            links.stream().map(Map.Entry::getKey).collect(Collectors.toList()),
+                            resourceResolver
+                    );
+                    if (isDiscarded.getAsBoolean()) {
+                        LOG.debug("Validation of {} links is cut short, the links are not reported", links.size());
+                        return;
                     }
+                    links.forEach(link -> {
+                        Result result = link.getKey();
+                        List<GridResource> currentLinkResources = link.getValue();
+                        allLinksCounter.checkInStatus(result);
+                        if (result.isReported() && config.isAllowedStatusCode(result.getStatus().getCode())) {
+                            currentLinkResources.forEach(gridResource -> gridResource.setStatus(result.getStatus()));
+                            allReportedLinkResources.addAll(currentLinkResources);
+                            reportedLinksCounter.checkIn(result);
+                            reportedLinksCounter.checkInStatus(result);
+                        }
+                    });
                 }
-        );
+        ));
     }
 
-    private void awaitExecutorServiceTermination() {
+    /**
+     * Waits until the submitted validation tasks are completed. If the generation is stopped or exceeds the deadline
+     * meanwhile, the pending tasks are dropped, and the running ones are interrupted and awaited for a limited time,
+     * so that they do not use the resource resolver after the generation is completed
+     */
+    private static void awaitExecutorServiceTermination(ExecutorService executorService, GenerationControl control) {
         try {
-            // TODO: better add a meaningful maximum
-            boolean terminated = executorService.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            boolean terminated = false;
+            while (!terminated && !control.isStopped()) {
+                long timeout = Math.min(STOP_POLLING_INTERVAL, control.getRemainingTime(TimeUnit.MILLISECONDS));
+                terminated = executorService.awaitTermination(timeout, TimeUnit.MILLISECONDS);
+            }
+            if (!terminated) {
+                List<Runnable> droppedTasks = executorService.shutdownNow();
+                LOG.warn("Links validation is stopped, the number of dropped validation tasks is {}", droppedTasks.size());
+                terminated = executorService.awaitTermination(STOP_GRACE_PERIOD, TimeUnit.MILLISECONDS);
+                if (!terminated) {
+                    LOG.warn("Running validation tasks did not complete within {} ms after the stop", STOP_GRACE_PERIOD);
+                }
+            }
             LOG.trace("ExecutorService terminated: {}", terminated);
         } catch (InterruptedException e) {
             LOG.error("Parallel links validation failed", e);
@@ -224,13 +525,13 @@ public class GridResourcesGeneratorImpl implements GridResourcesGenerator {
         }
     }
 
-    private boolean isAllowedResource(Resource resource) {
-        return !isExcludedPath(resource.getPath()) && isAllowedReplicationStatus(resource)
-                && isAllowedLastModifiedDate(resource);
+    private boolean isAllowedResource(Resource resource, ConfigSnapshot config) {
+        return !config.isExcludedPath(resource.getPath()) && isAllowedReplicationStatus(resource, config)
+                && isAllowedLastModifiedDate(resource, config);
     }
 
-    private boolean isAllowedLastModifiedDate(Resource resource) {
-        ZonedDateTime lastModifiedBoundary = configService.getLastModified();
+    private boolean isAllowedLastModifiedDate(Resource resource, ConfigSnapshot config) {
+        ZonedDateTime lastModifiedBoundary = config.getLastModified();
         if (lastModifiedBoundary == null) {
             return true;
         }
@@ -239,44 +540,8 @@ public class GridResourcesGeneratorImpl implements GridResourcesGenerator {
                 .orElse(true);
     }
 
-    private boolean isAllowedLink(Result result) {
-        return !isExcludedTagLink(result.getValue()) && !isExcludedByPattern(result.getValue());
-    }
-
-    private boolean isExcludedByPattern(String href) {
-        return isStringMatchAnyPattern(href, getExcludedLinksPatterns());
-    }
-
-    private boolean isExcludedTagLink(String href) {
-        return configService.excludeTagLinks() && StringUtils.startsWith(href, TAGS_LOCATION);
-    }
-
-    private boolean isExcludedProperty(String propertyName) {
-        return isStringMatchAnyPattern(propertyName, configService.getExcludedProperties());
-    }
-
-    private boolean isExcludedPath(String path) {
-        return isStringMatchAnyPattern(path, configService.getExcludedPaths());
-    }
-
-    private boolean isAllowedErrorCode(int linkStatusCode) {
-
-        int[] allowedStatusCodes = configService.getStatusCodes();
-
-        if (ArrayUtils.isEmpty(allowedStatusCodes) ||
-                (allowedStatusCodes.length == 1 && allowedStatusCodes[0] < 0)) {
-            return true;
-        }
-        for (int allowedStatusCode : allowedStatusCodes) {
-            if (allowedStatusCode == linkStatusCode) {
-                return true;
-            }
-        }
-        return false;
-    }
-
-    private boolean isAllowedReplicationStatus(Resource resource) {
-        if (configService.isSkipContentModifiedAfterActivation()) {
+    private boolean isAllowedReplicationStatus(Resource resource, ConfigSnapshot config) {
+        if (config.isSkipContentModifiedAfterActivation()) {
             if (LinkInspectorResourceUtil.isPageOrAsset(resource)) {
                 return isActivatedPageOrAsset(resource);
             } else {
@@ -308,25 +573,17 @@ public class GridResourcesGeneratorImpl implements GridResourcesGenerator {
         return LinkInspectorResourceUtil.isModifiedBeforeActivation(lastModified, lastReplicated);
     }
 
-    private boolean isStringMatchAnyPattern(String value, String[] patterns) {
-        if (value == null || ArrayUtils.isEmpty(patterns)) {
-            return false;
-        }
-        for (String pattern : patterns) {
-            if (StringUtils.isNotBlank(pattern) && value.matches(pattern)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
-    private void saveStatsToJcr(LinksCounter allLinksCounter, LinksCounter brokenLinksCounter, ResourceResolver resourceResolver) {
+    private void saveStatsToJcr(LinksCounter allLinksCounter,
+                                LinksCounter brokenLinksCounter,
+                                ConfigSnapshot config,
+                                GenerationControl control,
+                                ResourceResolver resourceResolver) {
         try {
             LinkInspectorResourceUtil.removeResource(STATS_RESOURCE_PATH, resourceResolver);
             ResourceUtil.getOrCreateResource(
                     resourceResolver,
                     STATS_RESOURCE_PATH,
-                    getGenerationStatsMap(allLinksCounter, brokenLinksCounter),
+                    getGenerationStatsMap(allLinksCounter, brokenLinksCounter, config, control),
                     JcrResourceConstants.NT_SLING_FOLDER,
                     true
             );
@@ -335,31 +592,64 @@ public class GridResourcesGeneratorImpl implements GridResourcesGenerator {
         }
     }
 
-    private Map<String, Object> getGenerationStatsMap(LinksCounter allLinksCounter, LinksCounter brokenLinksCounter) {
+    private void updateLastGeneratedInJcr(GenerationControl control, ResourceResolver resourceResolver) {
+        Optional.ofNullable(resourceResolver.getResource(STATS_RESOURCE_PATH))
+                .map(resource -> resource.adaptTo(ModifiableValueMap.class))
+                .ifPresent(valueMap -> {
+                    valueMap.put(GenerationStatsProps.PN_LAST_GENERATED,
+                            ZonedDateTime.now().format(DateTimeFormatter.RFC_1123_DATE_TIME));
+                    if (control.getIncompleteReason() != null) {
+                        valueMap.put(GenerationStatsProps.PN_INCOMPLETE_REASON, control.getIncompleteReason());
+                    } else {
+                        valueMap.remove(GenerationStatsProps.PN_INCOMPLETE_REASON);
+                    }
+                });
+    }
+
+    private Map<String, Object> getGenerationStatsMap(LinksCounter allLinksCounter,
+                                                      LinksCounter brokenLinksCounter,
+                                                      ConfigSnapshot config,
+                                                      GenerationControl control) {
         Map<String, Object> stats = new HashMap<>();
 
         stats.put(JcrResourceConstants.SLING_RESOURCE_TYPE_PROPERTY, JcrConstants.NT_UNSTRUCTURED);
 
         stats.put(GenerationStatsProps.PN_LAST_GENERATED,
                 ZonedDateTime.now().format(DateTimeFormatter.RFC_1123_DATE_TIME));
-        stats.put(GenerationStatsProps.PN_SEARCH_PATH, configService.getSearchPath());
-        stats.put(GenerationStatsProps.PN_EXCLUDED_PATHS, configService.getExcludedPaths());
-        stats.put(GenerationStatsProps.PN_SKIP_MODIFIED_AFTER_ACTIVATION, configService.isSkipContentModifiedAfterActivation());
-        stats.put(GenerationStatsProps.PN_LAST_MODIFIED_BOUNDARY, dateToIsoDateTimeString(configService.getLastModified()));
-        stats.put(GenerationStatsProps.PN_EXCLUDED_PROPERTIES, configService.getExcludedProperties());
+        stats.put(GenerationStatsProps.PN_SEARCH_PATH, config.getSearchPath());
+        stats.put(GenerationStatsProps.PN_EXCLUDED_PATHS, config.getExcludedPaths());
+        stats.put(GenerationStatsProps.PN_SKIP_MODIFIED_AFTER_ACTIVATION, config.isSkipContentModifiedAfterActivation());
+        stats.put(GenerationStatsProps.PN_LAST_MODIFIED_BOUNDARY, dateToIsoDateTimeString(config.getLastModified()));
+        stats.put(GenerationStatsProps.PN_EXCLUDED_PROPERTIES, config.getExcludedProperties());
 
-        stats.put(GenerationStatsProps.PN_EXCLUDED_LINK_PATTERNS, getExcludedLinksPatterns());
+        stats.put(GenerationStatsProps.PN_EXCLUDED_LINK_PATTERNS, config.getExcludedLinksPatterns());
 
-        stats.put(GenerationStatsProps.PN_EXCLUDED_TAGS, configService.excludeTagLinks());
-        stats.put(GenerationStatsProps.PN_ALLOWED_STATUS_CODES, configService.getStatusCodes());
+        stats.put(GenerationStatsProps.PN_EXCLUDED_TAGS, config.isExcludeTagLinks());
+        stats.put(GenerationStatsProps.PN_ALLOWED_STATUS_CODES, config.getStatusCodes());
 
         List<String> perTypeStatistics = new ArrayList<>();
-        for (String type : allLinksCounter.getStatistics().keySet()) {
-            int countAll = allLinksCounter.getStatistics().get(type);
-            int countBroken = brokenLinksCounter.getStatistics().getOrDefault(type, 0);
-            perTypeStatistics.add(String.format("%s: %d/%d", StringUtils.capitalize(type), countBroken, countAll));
+        Map<String, Integer> allStatistics = new TreeMap<>(allLinksCounter.getStatistics());
+        Map<String, Integer> brokenStatistics = brokenLinksCounter.getStatistics();
+        for (Map.Entry<String, Integer> entry : allStatistics.entrySet()) {
+            int countBroken = brokenStatistics.getOrDefault(entry.getKey(), 0);
+            perTypeStatistics.add(String.format("%s: %d/%d",
+                    StringUtils.capitalize(entry.getKey()), countBroken, entry.getValue()));
         }
         stats.put(GenerationStatsProps.PN_STATISTICS, perTypeStatistics.toArray());
+
+        stats.put(GenerationStatsProps.PN_STATUS_CODE_STATISTICS, allLinksCounter.getStatusCodeStatistics()
+                .entrySet()
+                .stream()
+                .map(entry -> String.format("%d: %d", entry.getKey(), entry.getValue()))
+                .toArray(String[]::new));
+        stats.put(GenerationStatsProps.PN_HOST_STATISTICS, brokenLinksCounter.getHostStatistics(MAX_STATS_HOSTS)
+                .entrySet()
+                .stream()
+                .map(entry -> String.format("%s: %d", entry.getKey(), entry.getValue()))
+                .toArray(String[]::new));
+        if (control.getIncompleteReason() != null) {
+            stats.put(GenerationStatsProps.PN_INCOMPLETE_REASON, control.getIncompleteReason());
+        }
         return stats;
     }
 
@@ -370,22 +660,188 @@ public class GridResourcesGeneratorImpl implements GridResourcesGenerator {
     }
 
     public String[] getExcludedLinksPatterns() {
-        return Arrays.stream(configService.getExcludedLinksPatterns()).filter(p -> {
-            try {
-                Pattern.compile(p);
-            } catch (PatternSyntaxException exception) {
-                LOG.warn("Excluded Links - Configured invalid regular expression: {}", p);
-                return false;
-            }
-            return true;
-        }).toArray(String[]::new);
+        return ConfigSnapshot.of(configService).getExcludedLinksPatterns();
     }
 
     @Deactivate
     protected void deactivate() {
-        LOG.debug("Deactivate GridResourcesGenerator (executorService.shutdownNow)");
-        if (executorService != null) {
-            executorService.shutdownNow();
+        LOG.debug("Deactivate GridResourcesGenerator, running generations are aborted: {}", runningGenerations.size());
+        runningGenerations.forEach(GenerationControl::abort);
+    }
+
+    /**
+     * Traverses a subtree of the search path within a {@link ForkJoinPool}. Children of the subtree are split off
+     * as separate tasks while the pool is short of work, and traversed inline otherwise. Every worker thread reads
+     * the content with its own resource resolver; the collected links are passed to a thread-safe consumer
+     */
+    private class TraversalTask extends RecursiveTask<Integer> {
+        private final String path;
+        private final String gridResourceType;
+        private final ConfigSnapshot config;
+        private final GenerationControl control;
+        private final BiConsumer<Result, List<GridResource>> linkConsumer;
+        private final Map<Thread, ResourceResolver> workerResourceResolvers;
+
+        TraversalTask(String path,
+                      String gridResourceType,
+                      ConfigSnapshot config,
+                      GenerationControl control,
+                      BiConsumer<Result, List<GridResource>> linkConsumer,
+                      Map<Thread, ResourceResolver> workerResourceResolvers) {
+            this.path = path;
+            this.gridResourceType = gridResourceType;
+            this.config = config;
+            this.control = control;
+            this.linkConsumer = linkConsumer;
+            this.workerResourceResolvers = workerResourceResolvers;
+        }
+
+        @Override
+        protected Integer compute() {
+            ResourceResolver workerResourceResolver = workerResourceResolvers.computeIfAbsent(
+                    Thread.currentThread(),
+                    thread -> repositoryHelper.getServiceResourceResolver()
+            );
+            if (workerResourceResolver == null) {
+                LOG.error("Failed to obtain a resource resolver, the subtree {} is skipped", path);
+                return 0;
+            }
+            Resource resource = workerResourceResolver.getResource(path);
+            if (resource == null) {
+                return 0;
+            }
+            List<TraversalTask> forkedTasks = new ArrayList<>();
+            int traversedNodesCount = traverse(resource, forkedTasks);
+            for (int i = forkedTasks.size() - 1; i >= 0; i--) {
+                traversedNodesCount += forkedTasks.get(i).join();
+            }
+            return traversedNodesCount;
+        }
+
+        private int traverse(Resource resource, List<TraversalTask> forkedTasks) {
+            int traversedNodesCount = 0;
+            if (control.isStopped() || !isAllowedResource(resource, config)) {
+                return traversedNodesCount;
+            }
+            getLinkToGridResourcesMap(resource, gridResourceType, config).forEach(linkConsumer);
+            traversedNodesCount++;
+            Iterator<Resource> children = resource.listChildren();
+            while (children.hasNext()) {
+                Resource child = children.next();
+                if (getSurplusQueuedTaskCount() < MAX_SURPLUS_TRAVERSAL_TASKS) {
+                    TraversalTask childTask = new TraversalTask(
+                            child.getPath(),
+                            gridResourceType,
+                            config,
+                            control,
+                            linkConsumer,
+                            workerResourceResolvers
+                    );
+                    childTask.fork();
+                    forkedTasks.add(childTask);
+                } else {
+                    traversedNodesCount += traverse(child, forkedTasks);
+                }
+            }
+            return traversedNodesCount;
+        }
+    }
+
+    /**
+     * Sends links to validation as soon as they are first discovered during the traversal. The validation queue is
+     * bounded, so that the traversing thread validates a link by itself when the queue is full. Later occurrences of
+     * the same link are attached to the pending or completed validation; occurrences of valid links are not retained
+     */
+    private class ValidationPipeline {
+        private final Map<LinkKey, PendingLink> pendingLinks = new ConcurrentHashMap<>();
+        private final Set<GridResource> allReportedLinkResources = ConcurrentHashMap.newKeySet();
+        private final ExecutorService executorService;
+        private final ConfigSnapshot config;
+        private final GenerationControl control;
+        private final LinksCounter allLinksCounter;
+        private final LinksCounter reportedLinksCounter;
+        private final ResourceResolver resourceResolver;
+
+        ValidationPipeline(ExecutorService executorService,
+                           ConfigSnapshot config,
+                           GenerationControl control,
+                           LinksCounter allLinksCounter,
+                           LinksCounter reportedLinksCounter,
+                           ResourceResolver resourceResolver) {
+            this.executorService = executorService;
+            this.config = config;
+            this.control = control;
+            this.allLinksCounter = allLinksCounter;
+            this.reportedLinksCounter = reportedLinksCounter;
+            this.resourceResolver = resourceResolver;
+        }
+
+        void accept(Result link, List<GridResource> gridResources) {
+            if (control.isStopped()) {
+                return;
+            }
+            PendingLink newLink = new PendingLink(link);
+            PendingLink pendingLink = pendingLinks.putIfAbsent(new LinkKey(link.getType(), link.getValue(), link.getMatch()), newLink);
+            if (pendingLink != null) {
+                pendingLink.attach(gridResources);
+                return;
+            }
+            newLink.attach(gridResources);
+            allLinksCounter.checkIn(link);
+            executorService.execute(control.guard(newLink::validate));
+        }
+
+        private class PendingLink {
+            private final Result result;
+            private List<GridResource> occurrences = new ArrayList<>();
+            private boolean reported;
+
+            PendingLink(Result result) {
+                this.result = result;
+            }
+
+            synchronized void attach(List<GridResource> gridResources) {
+                if (occurrences != null) {
+                    occurrences.addAll(gridResources);
+                } else if (reported) {
+                    report(gridResources);
+                }
+            }
+
+            void validate(BooleanSupplier isDiscarded) {
+                linkHelper.validateLink(result, resourceResolver);
+                boolean discarded = isDiscarded.getAsBoolean();
+                if (!discarded) {
+                    allLinksCounter.checkInStatus(result);
+                }
+                synchronized (this) {
+                    reported = !discarded
+                            && result.isReported()
+                            && config.isAllowedStatusCode(result.getStatus().getCode());
+                    if (reported) {
+                        report(occurrences);
+                        reportedLinksCounter.checkIn(result);
+                        reportedLinksCounter.checkInStatus(result);
+                    }
+                    occurrences = null;
+                }
+            }
+
+            private void report(List<GridResource> gridResources) {
+                gridResources.forEach(gridResource -> gridResource.setStatus(result.getStatus()));
+                allReportedLinkResources.addAll(gridResources);
+            }
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Identifies a link regardless of its validation status, which is a part of the equality of {@link Result}s
+     */
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static class LinkKey {
+        private final String type;
+        private final String value;
+        private final String match;
+    }
+}
@@ -0,0 +1,23 @@
+package com.exadel.etoolbox.linkinspector.core.services.data.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Describes a data feed split into several files. Lists the names of the files (chunks) in the order the rows
+ * are stored, along with the overall number of rows.
+ * <p><u>Note</u>: This class is not a part of the public API and is subject to change. Do not use it in your own code</p>
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+public class DataFeedManifest {
+
+    private List<String> chunks = new ArrayList<>();
+
+    private int size;
+}
@@ -0,0 +1,21 @@
+package com.exadel.etoolbox.linkinspector.core.services.data.models;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.apache.sling.api.resource.Resource;
+
+import java.util.List;
+
+/**
+ * Represents a single page of the data feed items matching a {@link DataFilter}, along with the overall number
+ * of the matching items.
+ * <p><u>Note</u>: This class is not a part of the public API and is subject to change. Do not use it in your own code</p>
+ */
+@RequiredArgsConstructor
+@Getter
+public class DataFeedPage {
+
+    private final int total;
+
+    private final List<Resource> resources;
+}
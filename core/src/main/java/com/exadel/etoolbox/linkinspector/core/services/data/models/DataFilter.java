@@ -5,13 +5,15 @@ import org.apache.commons.lang3.StringUtils;
 /**
  * Filter model which is used to obtain the final list of data to display.
  * This class provides filtering capabilities for GridResource objects based on
- * link type and substring matching.
+ * link type, substring matching, status code and resource path.
  * <p><u>Note</u>: This class is not a part of the public API and is subject to change. Do not use it in your own code</p>
  */
 public class DataFilter {
 
     private String type;
     private String substring;
+    private int statusCode;
+    private String pathPrefix;
 
     public DataFilter() {}
 
@@ -20,6 +22,38 @@ public class DataFilter {
         this.substring = substring;
     }
 
+    public DataFilter(String type, String substring, int statusCode, String pathPrefix) {
+        this(type, substring);
+        this.statusCode = statusCode;
+        this.pathPrefix = StringUtils.removeEnd(pathPrefix, "/");
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getSubstring() {
+        return substring;
+    }
+
+    /**
+     * Gets the status code the items must have
+     *
+     * @return The status code, or 0 if the filter is not restricted by status code
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * Gets the path of the subtree the items must belong to
+     *
+     * @return The path without the trailing slash, or null if the filter is not restricted by path
+     */
+    public String getPathPrefix() {
+        return pathPrefix;
+    }
+
     /**
      * Validates if a GridResource passes the filter criteria
      *
@@ -27,7 +61,52 @@ public class DataFilter {
      * @return true if the resource matches the filter criteria, false otherwise
      */
     public boolean validate(GridResource gridResource) {
-        return (StringUtils.isBlank(type) || StringUtils.equalsIgnoreCase(gridResource.getType(), this.type))
-                && (StringUtils.isBlank(substring) || StringUtils.contains(gridResource.getValue(), substring));
+        return validateType(gridResource.getType())
+                && validateValue(gridResource.getValue())
+                && validateStatusCode(gridResource.getStatusCode())
+                && validatePath(gridResource.getResourcePath());
+    }
+
+    /**
+     * Validates if a link type passes the filter criteria
+     *
+     * @param linkType The link type to validate
+     * @return true if the filter is not restricted by type, or the type matches; false otherwise
+     */
+    public boolean validateType(String linkType) {
+        return StringUtils.isBlank(type) || StringUtils.equalsIgnoreCase(linkType, this.type);
+    }
+
+    /**
+     * Validates if a link value passes the filter criteria
+     *
+     * @param value The link value to validate
+     * @return true if the filter is not restricted by substring, or the value contains it; false otherwise
+     */
+    public boolean validateValue(String value) {
+        return StringUtils.isBlank(substring) || StringUtils.contains(value, substring);
+    }
+
+    /**
+     * Validates if a status code passes the filter criteria
+     *
+     * @param code The status code to validate
+     * @return true if the filter is not restricted by status code, or the code matches; false otherwise
+     */
+    public boolean validateStatusCode(int code) {
+        return statusCode == 0 || statusCode == code;
+    }
+
+    /**
+     * Validates if a resource path passes the filter criteria
+     *
+     * @param path The resource path to validate
+     * @return true if the filter is not restricted by path, or the path is the same as or descends from the
+     * filter path; false otherwise
+     */
+    public boolean validatePath(String path) {
+        return StringUtils.isEmpty(pathPrefix)
+                || StringUtils.equals(path, pathPrefix)
+                || StringUtils.startsWith(path, pathPrefix + "/");
     }
 }
@@ -57,6 +57,26 @@ public class GridResource implements Result {
 
     private String statusMessage;
 
+    /**
+     * The path of the page containing the resource, or null if the resource is not within a page. This and the
+     * following details are derived from the resource, and therefore do not take part in the comparison
+     */
+    @Setter
+    @EqualsAndHashCode.Exclude
+    private String pagePath;
+
+    @Setter
+    @EqualsAndHashCode.Exclude
+    private String pageTitle;
+
+    @Setter
+    @EqualsAndHashCode.Exclude
+    private String componentName;
+
+    @Setter
+    @EqualsAndHashCode.Exclude
+    private String componentType;
+
     public GridResource(Result result, String resourcePath, String propertyName, String resourceType) {
         this.resourcePath = resourcePath;
         this.propertyName = propertyName;
@@ -87,6 +107,28 @@ public class GridResource implements Result {
         this.statusMessage = status.getMessage();
     }
 
+    /**
+     * Creates a copy of this GridResource, so that the copy can be modified while this object is being read
+     *
+     * @return A new {@code GridResource} instance
+     */
+    public GridResource copy() {
+        return GridResource.builder()
+                .resourcePath(resourcePath)
+                .propertyName(propertyName)
+                .resourceType(resourceType)
+                .type(type)
+                .value(value)
+                .match(match)
+                .statusCode(statusCode)
+                .statusMessage(statusMessage)
+                .pagePath(pagePath)
+                .pageTitle(pageTitle)
+                .componentName(componentName)
+                .componentType(componentType)
+                .build();
+    }
+
     /**
      * Converts this object to a Map representation for easy serialization and storage
      *
@@ -101,6 +143,10 @@ public class GridResource implements Result {
         map.put("match", match);
         map.put("statusCode", statusCode);
         map.put("statusMessage", statusMessage);
+        map.put("pagePath", pagePath);
+        map.put("pageTitle", pageTitle);
+        map.put("componentName", componentName);
+        map.put("componentType", componentType);
         return map;
     }
 
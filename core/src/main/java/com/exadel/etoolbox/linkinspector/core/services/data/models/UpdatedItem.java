@@ -19,7 +19,10 @@ public class UpdatedItem {
     @Getter
     private final String updatedLink;
 
+    @Getter
     private final String path;
+
+    @Getter
     private final String propertyName;
 
     /**
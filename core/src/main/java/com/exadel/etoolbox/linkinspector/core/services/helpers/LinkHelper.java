@@ -17,8 +17,10 @@ package com.exadel.etoolbox.linkinspector.core.services.helpers;
 import com.exadel.etoolbox.linkinspector.api.Result;
 import com.exadel.etoolbox.linkinspector.api.Resolver;
 import com.exadel.etoolbox.linkinspector.api.Status;
+import org.apache.sling.api.resource.ModifiableValueMap;
 import org.apache.sling.api.resource.ResourceResolver;
 
+import java.util.Collection;
 import java.util.stream.Stream;
 
 /**
@@ -36,6 +38,14 @@ public interface LinkHelper {
      */
     void validateLink(Result result, ResourceResolver resourceResolver);
 
+    /**
+     * Checks the given {@link Result}s for validity. The results are grouped by type, and every group is passed
+     * to the matching {@link Resolver} implementation at once
+     * @param results          - the link objects to be checked
+     * @param resourceResolver - {@link ResourceResolver} object
+     */
+    void validateLinks(Collection<Result> results, ResourceResolver resourceResolver);
+
     /**
      * Checks the given link {@code href} for validity using one of the registered {@link Resolver} implementations
      * @param link             - the string reference to be checked
@@ -59,4 +69,16 @@ public interface LinkHelper {
                         String propertyName,
                         String currentLink,
                         String newLink);
+
+    /**
+     * Replaces all the occurrences of the given link stored in the given property of an already adapted resource with
+     * the given replacement. Use this method when several links of the same resource are replaced, so that
+     * the resource is retrieved and adapted once
+     * @param valueMap     - the {@link ModifiableValueMap} of the resource containing the link
+     * @param propertyName - the name of the property containing the link
+     * @param currentLink  - the link to be replaced
+     * @param newLink      - the replacement link
+     * @return True if the replacement was successful, false otherwise
+     */
+    boolean replaceLink(ModifiableValueMap valueMap, String propertyName, String currentLink, String newLink);
 }
@@ -17,6 +17,8 @@ package com.exadel.etoolbox.linkinspector.core.services.helpers;
 import org.apache.sling.api.resource.ResourceResolver;
 
 import javax.jcr.Session;
+import java.util.Collection;
+import java.util.Map;
 
 /**
  * Provides methods for assisting with the repository related operations.
@@ -67,6 +69,31 @@ public interface RepositoryHelper {
      */
     boolean hasReadWritePermissions(Session session, String path);
 
+    /**
+     * Checks if a session has the specified permissions at each of the given paths in a single pass.
+     * <p>
+     * The permissions are evaluated at every path itself, since access control entries and their restrictions
+     * (e.g. {@code rep:glob}) may differ for the nodes of the same page, and the results are memoized per distinct path.
+     *
+     * @param session The JCR session to check permissions for
+     * @param paths The repository paths to check permissions at
+     * @param permissions A comma-separated list of permission names to check
+     * @return Map of the distinct paths, in the order of the input, to the flags indicating whether the session has
+     * all specified permissions at the path
+     */
+    Map<String, Boolean> hasPermissions(Session session, Collection<String> paths, String permissions);
+
+    /**
+     * Checks if a session has both read and write permissions at each of the given paths in a single pass.
+     * The results are memoized the same way as in {@link #hasPermissions(Session, Collection, String)}
+     *
+     * @param session The JCR session to check permissions for
+     * @param paths The repository paths to check permissions at
+     * @return Map of the distinct paths to the flags indicating whether the session has both read and write
+     * permissions at the path
+     */
+    Map<String, Boolean> hasReadWritePermissions(Session session, Collection<String> paths);
+
     /**
      * Creates a resource at the specified path if it doesn't already exist.
      * <p>
@@ -30,9 +30,17 @@ import org.osgi.service.component.annotations.ReferencePolicyOption;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 /**
@@ -53,6 +61,8 @@ public class LinkHelperImpl implements LinkHelper {
     )
     private volatile List<Resolver> linkResolvers;
 
+    private volatile ResolverMarkers resolverMarkers;
+
     /**
      * {@inheritDoc}
      */
@@ -70,11 +80,29 @@ public class LinkHelperImpl implements LinkHelper {
     }
 
     private Stream<Result> getLinkStream(String source) {
-        return linkResolvers
-                .stream()
+        ResolverMarkers markers = getResolverMarkers();
+        BitSet foundMarkers = markers.scanner.scan(source);
+        List<Resolver> resolvers = markers.resolvers;
+        return IntStream.range(0, resolvers.size())
+                .filter(index -> !markers.scanner.isScanned(index) || foundMarkers.get(index))
+                .mapToObj(resolvers::get)
                 .flatMap(linkResolver -> linkResolver.getResults(source).stream());
     }
 
+    /**
+     * Gets the marker scanner for the current set of resolvers. The scanner is rebuilt when the set of resolvers
+     * changes
+     */
+    private ResolverMarkers getResolverMarkers() {
+        List<Resolver> resolvers = linkResolvers;
+        ResolverMarkers markers = resolverMarkers;
+        if (markers == null || markers.source != resolvers || markers.resolvers.size() != resolvers.size()) {
+            markers = new ResolverMarkers(resolvers);
+            resolverMarkers = markers;
+        }
+        return markers;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -91,6 +119,29 @@ public class LinkHelperImpl implements LinkHelper {
         LOG.trace("Completed validation of {}", result.getValue());
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void validateLinks(Collection<Result> results, ResourceResolver resourceResolver) {
+        Map<String, Resolver> linkResolversById = linkResolvers
+                .stream()
+                .collect(Collectors.toMap(Resolver::getId, Function.identity(), (existing, newValue) -> existing));
+        Map<String, List<Result>> resultsByType = results
+                .stream()
+                .collect(Collectors.groupingBy(Result::getType, LinkedHashMap::new, Collectors.toList()));
+        resultsByType.forEach((type, typedResults) -> {
+            Resolver linkResolver = linkResolversById.get(type);
+            if (linkResolver == null) {
+                typedResults.forEach(result -> result.setStatus(HttpStatus.SC_INTERNAL_SERVER_ERROR, "Link resolver not found"));
+                return;
+            }
+            LOG.trace("Started validation of {} links of type {}", typedResults.size(), type);
+            linkResolver.validateAll(typedResults, resourceResolver);
+            LOG.trace("Completed validation of {} links of type {}", typedResults.size(), type);
+        });
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -113,14 +164,16 @@ public class LinkHelperImpl implements LinkHelper {
         return Optional.of(resourcePath)
                 .map(resourceResolver::getResource)
                 .map(resource -> resource.adaptTo(ModifiableValueMap.class))
-                .map(modifiableValueMap ->
-                        updateValueMapWithNewLink(modifiableValueMap, propertyName, currentLink, newLink)
-                )
+                .map(modifiableValueMap -> replaceLink(modifiableValueMap, propertyName, currentLink, newLink))
                 .orElse(false);
     }
 
-    private boolean updateValueMapWithNewLink(ModifiableValueMap modifiableValueMap,
-                                              String propertyName, String currentLink, String newLink) {
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean replaceLink(ModifiableValueMap modifiableValueMap,
+                               String propertyName, String currentLink, String newLink) {
         boolean updated = false;
         Optional<Object> updatedValue = Optional.ofNullable(modifiableValueMap.get(propertyName))
                 .map(value -> LinkInspectorResourceUtil.replaceStringInPropValue(value, currentLink, newLink));
@@ -130,4 +183,20 @@ public class LinkHelperImpl implements LinkHelper {
         }
         return updated;
     }
-}
\ No newline at end of file
+
+    /**
+     * Binds the resolvers to the scanner of their markers, so that the property values can be checked for the links of
+     * all the resolvers in a single pass, and only the resolvers the markers of which are present are invoked
+     */
+    private static class ResolverMarkers {
+        private final List<Resolver> source;
+        private final List<Resolver> resolvers;
+        private final MarkerScanner scanner;
+
+        ResolverMarkers(List<Resolver> source) {
+            this.source = source;
+            this.resolvers = new ArrayList<>(source);
+            this.scanner = new MarkerScanner(resolvers.stream().map(Resolver::getMarkers).collect(Collectors.toList()));
+        }
+    }
+}
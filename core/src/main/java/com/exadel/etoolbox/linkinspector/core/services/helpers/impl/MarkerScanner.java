@@ -0,0 +1,155 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exadel.etoolbox.linkinspector.core.services.helpers.impl;
+
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Finds in a single pass over a string which groups of literal markers occur in it. Every group is identified by its
+ * index in the list the scanner is built from. The markers are matched with an Aho-Corasick automaton, so the time
+ * of a scan depends on the length of the string and not on the number of markers. The scan stops as soon as all the
+ * groups are found. The instance is immutable and can be shared between threads
+ * <p><u>Note</u>: This class is not a part of the public API and is subject to change. Do not use it in your own code</p>
+ */
+final class MarkerScanner {
+
+    private final Node root = new Node();
+    private final BitSet scannedGroups = new BitSet();
+    private final int scannedGroupsCount;
+
+    /**
+     * Creates a new scanner
+     *
+     * @param markerGroups List of marker collections. A group without non-empty markers is not scanned for
+     */
+    MarkerScanner(List<? extends Collection<String>> markerGroups) {
+        for (int group = 0; group < markerGroups.size(); group++) {
+            Collection<String> markers = markerGroups.get(group);
+            if (markers == null) {
+                continue;
+            }
+            for (String marker : markers) {
+                if (StringUtils.isNotEmpty(marker)) {
+                    root.add(marker).output.set(group);
+                    scannedGroups.set(group);
+                }
+            }
+        }
+        scannedGroupsCount = scannedGroups.cardinality();
+        linkFailures();
+    }
+
+    /**
+     * Checks whether the given group is scanned for, i.e. has at least one marker
+     *
+     * @param group Index of the group
+     * @return True or false
+     */
+    boolean isScanned(int group) {
+        return scannedGroups.get(group);
+    }
+
+    /**
+     * Finds the groups the markers of which occur in the given string
+     *
+     * @param value The string to scan
+     * @return {@code BitSet} of the found group indexes
+     */
+    BitSet scan(String value) {
+        BitSet found = new BitSet();
+        if (value == null || scannedGroupsCount == 0) {
+            return found;
+        }
+        Node node = root;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            Node next = node.getChild(c);
+            while (next == null && node != root) {
+                node = node.failure;
+                next = node.getChild(c);
+            }
+            node = next != null ? next : root;
+            if (!node.output.isEmpty()) {
+                found.or(node.output);
+                if (found.cardinality() == scannedGroupsCount) {
+                    break;
+                }
+            }
+        }
+        return found;
+    }
+
+    private void linkFailures() {
+        Deque<Node> queue = new ArrayDeque<>();
+        for (Node child : root.children) {
+            child.failure = root;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            Node node = queue.poll();
+            for (int i = 0; i < node.keys.length; i++) {
+                Node child = node.children[i];
+                Node failure = node.failure;
+                Node target = failure.getChild(node.keys[i]);
+                while (target == null && failure != root) {
+                    failure = failure.failure;
+                    target = failure.getChild(node.keys[i]);
+                }
+                child.failure = target != null ? target : root;
+                child.output.or(child.failure.output);
+                queue.add(child);
+            }
+        }
+    }
+
+    /**
+     * A state of the automaton. Transitions are kept in arrays sorted by character
+     */
+    private static final class Node {
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
+        private final BitSet output = new BitSet();
+        private Node failure;
+
+        Node add(String marker) {
+            Node node = this;
+            for (int i = 0; i < marker.length(); i++) {
+                char key = marker.charAt(i);
+                Node child = node.getChild(key);
+                if (child == null) {
+                    child = new Node();
+                    int insertion = -Arrays.binarySearch(node.keys, key) - 1;
+                    node.keys = ArrayUtils.insert(insertion, node.keys, key);
+                    node.children = ArrayUtils.insert(insertion, node.children, child);
+                }
+                node = child;
+            }
+            return node;
+        }
+
+        Node getChild(char key) {
+            int index = Arrays.binarySearch(keys, key);
+            return index >= 0 ? children[index] : null;
+        }
+    }
+}
@@ -27,7 +27,10 @@ import org.slf4j.LoggerFactory;
 
 import javax.jcr.RepositoryException;
 import javax.jcr.Session;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Implements {@link RepositoryHelper} interface to provide an OSGi service which handles repository related operations.
@@ -87,6 +90,26 @@ public class RepositoryHelperImpl implements RepositoryHelper {
         return hasPermissions(session, path, READ_WRITE_PERMISSIONS);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, Boolean> hasPermissions(Session session, Collection<String> paths, String permissions) {
+        Map<String, Boolean> results = new LinkedHashMap<>();
+        for (String path : paths) {
+            results.computeIfAbsent(path, key -> hasPermissions(session, key, permissions));
+        }
+        return results;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, Boolean> hasReadWritePermissions(Session session, Collection<String> paths) {
+        return hasPermissions(session, paths, READ_WRITE_PERMISSIONS);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -20,6 +20,7 @@ import com.exadel.etoolbox.linkinspector.core.models.ui.PaginationModel;
 import com.exadel.etoolbox.linkinspector.core.services.GridDataSource;
 import com.exadel.etoolbox.linkinspector.core.services.data.DataFeedService;
 import com.exadel.etoolbox.linkinspector.core.services.data.models.DataFilter;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.math.NumberUtils;
 import org.apache.sling.api.resource.Resource;
 import org.osgi.service.component.annotations.Component;
@@ -27,8 +28,8 @@ import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Implementation of the {@link GridDataSource} service interface that provides data sources
@@ -54,21 +55,36 @@ public class GridDataSourceImpl implements GridDataSource {
     public DataSource getDataSource(String page, String limit, String offset, String type, String substring) {
         LOG.debug("GridDataSource initialization");
 
-        int pageNumber = NumberUtils.isNumber(page) ? Integer.parseInt(page) : DEFAULT_PAGE_NUMBER;
+        int pageNumber = toInt(page, DEFAULT_PAGE_NUMBER);
 
-        List<Resource> resources = dataFeedService.dataFeedToResources(new DataFilter(type, substring)).stream()
-                .skip((long) PaginationModel.DEFAULT_PAGE_SIZE * (pageNumber - 1))
-                .limit(PaginationModel.DEFAULT_PAGE_SIZE)
-                .collect(Collectors.toList());
+        int pageOffset = Math.max(0, toInt(offset, 0));
+        int pageLimit = Math.min(PaginationModel.DEFAULT_PAGE_SIZE - pageOffset, toInt(limit, Integer.MAX_VALUE));
+        long start = (long) PaginationModel.DEFAULT_PAGE_SIZE * Math.max(0, pageNumber - 1L) + pageOffset;
 
-        if (NumberUtils.isNumber(offset)) {
-            resources = resources.stream().skip(Long.parseLong(offset)).collect(Collectors.toList());
-        }
-
-        if (NumberUtils.isNumber(limit)) {
-            resources = resources.stream().limit(Long.parseLong(limit)).collect(Collectors.toList());
-        }
+        List<Resource> resources = pageLimit <= 0
+                ? Collections.emptyList()
+                : dataFeedService.getDataFeedPage(
+                        new DataFilter(type, substring),
+                        (int) Math.min(Integer.MAX_VALUE, start),
+                        pageLimit
+                ).getResources();
 
         return new SimpleDataSource(resources.iterator());
     }
+
+    /**
+     * Parses the given request parameter as an integer. A value beyond the {@code int} range is clamped to it,
+     * so that the request does not fail
+     */
+    private static int toInt(String value, int defaultValue) {
+        if (!NumberUtils.isDigits(StringUtils.removeStart(value, "-"))) {
+            return defaultValue;
+        }
+        try {
+            return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, Long.parseLong(value)));
+        } catch (NumberFormatException e) {
+            // The value exceeds the long range
+            return value.startsWith("-") ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+        }
+    }
 }
@@ -53,10 +53,10 @@ public class DataFeedJobExecutor implements JobExecutor {
      * <p>
      * This method is called by the Sling job manager when a job with the
      * {@link #GENERATE_DATA_FEED_TOPIC} topic is ready to be processed. It delegates
-     * the actual work to the {@link DataFeedService#generateDataFeed()} method.
+     * the actual work to the {@link DataFeedService#generateDataFeed(java.util.function.BooleanSupplier)} method.
      * <p>
-     * The method handles job cancellation by checking if the job execution context
-     * has been stopped during processing.
+     * The method handles job cancellation by passing the stop state of the job execution context
+     * to the generation, which then stops early and keeps the links collected so far.
      *
      * @param job The job to process
      * @param jobExecutionContext Context for the job execution
@@ -65,7 +65,7 @@ public class DataFeedJobExecutor implements JobExecutor {
     @Override
     public JobExecutionResult process(Job job, JobExecutionContext jobExecutionContext) {
         LOG.debug("DataFeedJobExecutor - start Data Feed Generation sling job processing");
-        dataFeedService.generateDataFeed();
+        dataFeedService.generateDataFeed(jobExecutionContext::isStopped);
         if (jobExecutionContext.isStopped()) {
             LOG.debug("DataFeedJobExecutor - Data Feed Generation sling job cancelled");
             return jobExecutionContext.result().cancelled();
@@ -16,31 +16,63 @@ package com.exadel.etoolbox.linkinspector.core.services.resolvers;
 
 import com.exadel.etoolbox.linkinspector.api.Resolver;
 import com.exadel.etoolbox.linkinspector.api.Result;
+import com.exadel.etoolbox.linkinspector.api.Status;
 import com.exadel.etoolbox.linkinspector.core.models.LinkResult;
+import com.exadel.etoolbox.linkinspector.core.services.cache.LinkStatusCache;
 import com.exadel.etoolbox.linkinspector.core.services.resolvers.configs.ExternalLinkResolverConfig;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
 import org.apache.http.HttpStatus;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpHead;
 import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.client.utils.DateUtils;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.entity.ContentType;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.ContentDecoder;
+import org.apache.http.nio.IOControl;
+import org.apache.http.nio.client.methods.HttpAsyncMethods;
+import org.apache.http.nio.protocol.AbstractAsyncResponseConsumer;
+import org.apache.http.nio.reactor.IOReactorException;
 import org.apache.http.osgi.services.HttpClientBuilderFactory;
+import org.apache.http.protocol.HttpContext;
 import org.apache.http.util.EntityUtils;
 import org.apache.sling.api.resource.ResourceResolver;
 import org.osgi.service.component.annotations.*;
 import org.osgi.service.metatype.annotations.Designate;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.net.SocketTimeoutException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.UnknownHostException;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -55,22 +87,56 @@ public class ExternalLinkResolverImpl implements Resolver {
 
     private static final int DEFAULT_CONNECTION_TIMEOUT = 5000;
     private static final int DEFAULT_MAX_TOTAL = 1000;
-    private static final int DEFAULT_MAX_PER_ROUTE = 1000;
+    private static final int HTTP_TOO_MANY_REQUESTS = 429;
+    private static final long DEFAULT_RETRY_DELAY = TimeUnit.SECONDS.toMillis(1);
+    private static final int MAX_TRACKED_HOSTS = 1000;
+    private static final int DISCARD_BUFFER_SIZE = 8192;
 
+    private static final Collection<String> MARKERS = Arrays.asList("http://", "https://", "www");
     private static final Pattern PATTERN_EXTERNAL_LINK = Pattern.compile("https?://[\\w\\d-]+\\.[^\\s\"'<]{2," +
             "}|www\\d*\\.[\\w\\d-]+\\.[^\\s\"'<]{2,}");
 
     @Reference
     private HttpClientBuilderFactory httpClientBuilderFactory;
 
+    @Reference(
+            cardinality = ReferenceCardinality.OPTIONAL,
+            policy = ReferencePolicy.DYNAMIC,
+            policyOption = ReferencePolicyOption.GREEDY
+    )
+    private volatile LinkStatusCache linkStatusCache;
+
     private CloseableHttpClient httpClient;
     private PoolingHttpClientConnectionManager connectionManager;
+    private CloseableHttpAsyncClient httpAsyncClient;
+    private ScheduledThreadPoolExecutor scheduler;
 
     private int connectionTimeout;
     private int socketTimeout;
     private String userAgent;
     private boolean redirectsEnabled;
     private boolean enabled;
+    private int maxConnectionsPerHost;
+    private int maxRetries;
+    private long maxRetryDelay;
+    private long requestTimeout;
+    private long checkTimeout;
+    private boolean asyncEngine;
+
+    private final Map<String, HostThrottle> hostThrottles = Collections.synchronizedMap(
+            new LinkedHashMap<String, HostThrottle>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, HostThrottle> eldest) {
+                    // Only the idle throttles are evicted, so that the hosts being requested or paused keep their limits
+                    Iterator<HostThrottle> iterator = values().iterator();
+                    while (size() > MAX_TRACKED_HOSTS && iterator.hasNext()) {
+                        if (iterator.next().isIdle()) {
+                            iterator.remove();
+                        }
+                    }
+                    return false;
+                }
+            });
 
     /**
      * {@inheritDoc}
@@ -97,6 +163,14 @@ public class ExternalLinkResolverImpl implements Resolver {
         return results;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Collection<String> getMarkers() {
+        return MARKERS;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -105,19 +179,135 @@ public class ExternalLinkResolverImpl implements Resolver {
         if (result == null) {
             return;
         }
+        LinkStatusCache statusCache = linkStatusCache;
+        if (applyCachedStatus(result, statusCache)) {
+            return;
+        }
+        CompletableFuture<Integer> check = httpAsyncClient != null ? checkLinkAsync(result.getValue()) : null;
         try {
-            int statusCode = checkLink(result.getValue());
+            int statusCode = check != null
+                    ? check.get()
+                    : checkLink(result.getValue());
             result.setStatus(statusCode);
-        } catch (SocketTimeoutException e) {
+        } catch (InterruptedException e) {
+            // The status is left intact, so that the link is not reported as broken because of the interruption
+            log.info("Validation of link {} is interrupted", result.getValue());
+            Optional.ofNullable(check).ifPresent(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            return;
+        } catch (ExecutionException e) {
+            setFailureStatus(result, e.getCause());
+        } catch (CancellationException e) {
+            setFailureStatus(result, getAbortedException());
+        } catch (Exception e) {
+            setFailureStatus(result, e);
+        }
+        if (statusCache != null) {
+            statusCache.put(result.getValue(), result.getStatus());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>When the non-blocking engine is enabled, the validation of all the links of the batch is started
+     * simultaneously, and every distinct link is requested once. The requests to a host are sent in turns of the max
+     * connections per host, shared with the other validations in progress, and every request is timed from when it is
+     * sent, so that the time spent waiting for the turn does not make the link time out</p>
+     */
+    @Override
+    public void validateAll(Collection<Result> results, ResourceResolver resourceResolver) {
+        if (httpAsyncClient == null) {
+            Resolver.super.validateAll(results, resourceResolver);
+            return;
+        }
+        LinkStatusCache statusCache = linkStatusCache;
+        Map<String, CompletableFuture<Integer>> checks = new HashMap<>();
+        List<Result> checkedResults = new ArrayList<>();
+        for (Result result : results) {
+            if (result == null || applyCachedStatus(result, statusCache)) {
+                continue;
+            }
+            checks.computeIfAbsent(result.getValue(), this::checkLinkAsync);
+            checkedResults.add(result);
+        }
+        for (int i = 0; i < checkedResults.size(); i++) {
+            Result result = checkedResults.get(i);
+            CompletableFuture<Integer> check = checks.get(result.getValue());
+            try {
+                result.setStatus(check.get());
+            } catch (InterruptedException e) {
+                // The statuses are left intact, so that the links are not reported as broken because of the interruption
+                log.info("Validation of {} links is interrupted", checkedResults.size() - i);
+                checks.values().forEach(future -> future.cancel(true));
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                setFailureStatus(result, e.getCause());
+            } catch (CancellationException e) {
+                setFailureStatus(result, getAbortedException());
+            }
+            if (statusCache != null) {
+                statusCache.put(result.getValue(), result.getStatus());
+            }
+        }
+    }
+
+    /**
+     * Starts the validation of the given link with the non-blocking engine. The returned future is completed
+     * with the HTTP status code of the link, or exceptionally if the link could not be requested. Cancelling the future
+     * aborts the HTTP exchange in progress, and no further requests are made for the link
+     *
+     * @param url The link to validate
+     * @return {@code CompletableFuture} instance; completed exceptionally if the non-blocking engine is disabled
+     */
+    CompletableFuture<Integer> checkLinkAsync(String url) {
+        AsyncCheck check = new AsyncCheck();
+        if (httpAsyncClient == null) {
+            check.completeExceptionally(new IllegalStateException("Non-blocking engine is disabled"));
+            return check;
+        }
+        try {
+            URI uri = new URI(url);
+            HostThrottle hostThrottle = getHostThrottle(uri);
+            checkLinkAsync(url, uri, hostThrottle, 0, check).whenComplete((statusCode, e) -> {
+                hostThrottle.unretain();
+                if (e != null) {
+                    check.completeExceptionally(e);
+                } else {
+                    check.complete(statusCode);
+                }
+            });
+        } catch (URISyntaxException e) {
+            check.completeExceptionally(e);
+        }
+        return check;
+    }
+
+    private static SocketTimeoutException getAbortedException() {
+        return new SocketTimeoutException("The validation was aborted");
+    }
+
+    private static boolean applyCachedStatus(Result result, LinkStatusCache statusCache) {
+        Status cachedStatus = statusCache != null ? statusCache.get(result.getValue()) : null;
+        if (cachedStatus == null) {
+            return false;
+        }
+        log.trace("Reusing the cached status {} of link {}", cachedStatus, result.getValue());
+        result.setStatus(cachedStatus);
+        return true;
+    }
+
+    private void setFailureStatus(Result result, Throwable e) {
+        if (e instanceof SocketTimeoutException) {
             log.info("Timeout occurred while validating link {}", result.getValue(), e);
             result.setStatus(HttpStatus.SC_REQUEST_TIMEOUT, "Request Timeout");
-        } catch (UnknownHostException e) {
+        } else if (e instanceof UnknownHostException) {
             log.info("Unknown host detected when validating {}", result.getValue(), e);
             result.setStatus(HttpStatus.SC_NOT_FOUND, "Unknown host");
-        } catch (URISyntaxException e) {
+        } else if (e instanceof URISyntaxException) {
             log.info("Invalid URI syntax when validating link {}", result.getValue(), e);
             result.setStatus(HttpStatus.SC_BAD_REQUEST, "Invalid URI syntax");
-        } catch (Exception e) {
+        } else {
             log.info("Failed to validate link {}", result.getValue(), e);
             result.setStatus(HttpStatus.SC_INTERNAL_SERVER_ERROR, StringUtils.defaultIfEmpty(e.getMessage(), e.toString()));
         }
@@ -139,7 +329,31 @@ public class ExternalLinkResolverImpl implements Resolver {
         socketTimeout = config.socketTimeout();
         userAgent = config.userAgent();
         redirectsEnabled = config.redirectsEnabled();
+        maxConnectionsPerHost = Math.max(1, config.maxConnectionsPerHost());
+        maxRetries = Math.max(0, config.maxRetries());
+        maxRetryDelay = TimeUnit.SECONDS.toMillis(config.maxRetryDelay());
+        asyncEngine = config.asyncEngine();
+        // Bounds a request that keeps receiving data slower than the socket timeout would detect
+        requestTimeout = (long) Math.max(0, connectionTimeout) + Math.max(0, socketTimeout);
+        // Bounds the wait of the blocking engine for a free connection to the host, so that the links to a single
+        // busy host do not hold all the validation threads: as long as a HEAD and a GET request per attempt,
+        // and the pauses between the attempts take
+        checkTimeout = requestTimeout > 0 ? (maxRetries + 1L) * (2 * requestTimeout + maxRetryDelay) : 0;
+        hostThrottles.clear();
+        if (scheduler == null) {
+            scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+                Thread thread = new Thread(runnable, "link-inspector-external-links-scheduler");
+                thread.setDaemon(true);
+                return thread;
+            });
+            // A timer is scheduled for every request, and most of them are cancelled well before they expire
+            scheduler.setRemoveOnCancelPolicy(true);
+        }
         buildCloseableHttpClient();
+        closeHttpAsyncClient();
+        if (asyncEngine) {
+            buildHttpAsyncClient();
+        }
     }
 
     @Deactivate
@@ -153,37 +367,281 @@ public class ExternalLinkResolverImpl implements Resolver {
         }
         Optional.ofNullable(connectionManager)
                 .ifPresent(PoolingHttpClientConnectionManager::close);
+        closeHttpAsyncClient();
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
     }
 
-    private int checkLink(String url) throws URISyntaxException, IOException {
+    private int checkLink(String url) throws URISyntaxException, IOException, InterruptedException {
         URI uri = new URI(url);
-        int statusCode = checkLink(url, new HttpHead(uri));
-        if (statusCode != HttpStatus.SC_OK) {
-            statusCode = checkLink(url, new HttpGet(uri));
+        HostThrottle hostThrottle = getHostThrottle(uri);
+        try {
+            int statusCode;
+            int attempt = 0;
+            do {
+                if (!hostThrottle.tryAcquire(checkTimeout > 0 ? checkTimeout : Long.MAX_VALUE)) {
+                    throw new SocketTimeoutException(
+                            String.format("No connection to the host was available within %d ms", checkTimeout));
+                }
+                try {
+                    statusCode = checkLink(url, new HttpHead(uri), hostThrottle);
+                    if (statusCode != HttpStatus.SC_OK && !isThrottled(statusCode)) {
+                        statusCode = checkLink(url, new HttpGet(uri), hostThrottle);
+                    }
+                } finally {
+                    hostThrottle.release();
+                }
+            } while (isThrottled(statusCode) && hostThrottle.isRetryAllowed() && attempt++ < maxRetries);
+            return statusCode;
+        } finally {
+            hostThrottle.unretain();
         }
-        return statusCode;
     }
 
-    private int checkLink(String url, HttpRequestBase method) throws IOException {
+    private CompletableFuture<Integer> checkLinkAsync(String url,
+                                                      URI uri,
+                                                      HostThrottle hostThrottle,
+                                                      int attempt,
+                                                      AsyncCheck check) {
+        return acquireAsync(hostThrottle)
+                .thenCompose(ignored -> requestAsync(url, uri, hostThrottle, check))
+                .thenCompose(statusCode ->
+                        isThrottled(statusCode) && hostThrottle.isRetryAllowed() && attempt < maxRetries
+                                ? checkLinkAsync(url, uri, hostThrottle, attempt + 1, check)
+                                : CompletableFuture.completedFuture(statusCode));
+    }
+
+    /**
+     * Waits without blocking until the host is not paused and one of its connections is free for the current link
+     */
+    private CompletableFuture<Void> acquireAsync(HostThrottle hostThrottle) {
+        return whenAllowed(hostThrottle)
+                .thenCompose(ignored -> hostThrottle.acquireAsync())
+                .thenCompose(ignored -> {
+                    if (hostThrottle.getWaitDelay() <= 0) {
+                        return CompletableFuture.completedFuture(null);
+                    }
+                    // Another request has postponed the host in the meantime, so the permit is not held while waiting
+                    hostThrottle.release();
+                    return acquireAsync(hostThrottle);
+                });
+    }
+
+    /**
+     * Requests the given link with {@code HEAD}, and then with {@code GET} if needed. The permit of the host acquired
+     * for the link is released once the requests are over
+     */
+    private CompletableFuture<Integer> requestAsync(String url, URI uri, HostThrottle hostThrottle, AsyncCheck check) {
+        CompletableFuture<Integer> request = executeAsync(url, new HttpHead(uri), hostThrottle, check)
+                .thenCompose(statusCode -> statusCode != HttpStatus.SC_OK && !isThrottled(statusCode)
+                        ? executeAsync(url, new HttpGet(uri), hostThrottle, check)
+                        : CompletableFuture.completedFuture(statusCode));
+        request.whenComplete((statusCode, e) -> hostThrottle.release());
+        return request;
+    }
+
+    private CompletableFuture<Void> whenAllowed(HostThrottle hostThrottle) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        long delay = hostThrottle.getWaitDelay();
+        if (delay > 0) {
+            scheduler.schedule(() -> future.complete(null), delay, TimeUnit.MILLISECONDS);
+        } else {
+            future.complete(null);
+        }
+        return future;
+    }
+
+    private CompletableFuture<Integer> executeAsync(String url,
+                                                    HttpRequestBase method,
+                                                    HostThrottle hostThrottle,
+                                                    AsyncCheck check) {
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+        if (check.isDone()) {
+            // The check has been cancelled, so no more requests are made
+            future.cancel(false);
+            return future;
+        }
+        Future<HttpResponse> exchange;
+        try {
+            exchange = httpAsyncClient.execute(HttpAsyncMethods.create(method),
+                    new DiscardingResponseConsumer(),
+                    new FutureCallback<HttpResponse>() {
+                        @Override
+                        public void completed(HttpResponse response) {
+                            int statusCode = response.getStatusLine().getStatusCode();
+                            if (isThrottled(statusCode)) {
+                                postpone(hostThrottle, url, statusCode, response.getFirstHeader(HttpHeaders.RETRY_AFTER));
+                            }
+                            future.complete(statusCode);
+                        }
+    
+                        @Override
+                        public void failed(Exception e) {
+                            future.completeExceptionally(e);
+                        }
+    
+                        @Override
+                        public void cancelled() {
+                            future.cancel(false);
+                        }
+                    });
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            return future;
+        }
+        check.setExchange(exchange);
+        ScheduledThreadPoolExecutor timer = scheduler;
+        if (requestTimeout > 0 && timer != null) {
+            // The request holds a permit of the host, and the connection pool allows as many connections per host,
+            // so the request is timed from now rather than from the start of the validation
+            ScheduledFuture<?> abort = timer.schedule(() -> {
+                SocketTimeoutException e = new SocketTimeoutException(
+                        String.format("The request was aborted after %d ms", requestTimeout));
+                if (future.completeExceptionally(e)) {
+                    exchange.cancel(true);
+                }
+            }, requestTimeout, TimeUnit.MILLISECONDS);
+            future.whenComplete((statusCode, e) -> abort.cancel(false));
+        }
+        return future;
+    }
+
+    /**
+     * Gets the throttle of the host of the given link. The throttle is retained, so that it is not evicted while
+     * the link is validated; it must be unretained once the validation is over
+     */
+    private HostThrottle getHostThrottle(URI uri) {
+        String host = getHost(uri);
+        synchronized (hostThrottles) {
+            HostThrottle hostThrottle = hostThrottles.get(host);
+            if (hostThrottle == null) {
+                hostThrottle = new HostThrottle(maxConnectionsPerHost, maxRetryDelay);
+                hostThrottle.retain();
+                hostThrottles.put(host, hostThrottle);
+            } else {
+                hostThrottle.retain();
+            }
+            return hostThrottle;
+        }
+    }
+
+    private static String getHost(URI uri) {
+        return StringUtils.defaultString(uri.getHost()).toLowerCase(Locale.ROOT);
+    }
+
+    private static void postpone(HostThrottle hostThrottle, String url, int statusCode, Header retryAfterHeader) {
+        long retryDelay = getRetryDelay(retryAfterHeader);
+        hostThrottle.postpone(retryDelay);
+        if (hostThrottle.isRetryAllowed()) {
+            log.debug("Host of link {} responded with {}, requests to the host are paused for {} ms",
+                    url, statusCode, retryDelay);
+        } else {
+            log.debug("Host of link {} responded with {} and asked to wait for {} ms, which exceeds the max retry delay. " +
+                    "The link is not retried", url, statusCode, retryDelay);
+        }
+    }
+
+    private int checkLink(String url, HttpRequestBase method, HostThrottle hostThrottle) throws IOException {
+        ScheduledFuture<?> abort = requestTimeout > 0 && scheduler != null
+                ? scheduler.schedule(method::abort, requestTimeout, TimeUnit.MILLISECONDS)
+                : null;
         try (CloseableHttpResponse httpResp = this.httpClient.execute(method)) {
             if (httpResp == null) {
                 log.info("Failed to get response from server while performing request, url: {}", url);
                 return HttpStatus.SC_BAD_REQUEST;
             }
             int statusCode = httpResp.getStatusLine().getStatusCode();
+            if (isThrottled(statusCode)) {
+                postpone(hostThrottle, url, statusCode, httpResp.getFirstHeader(HttpHeaders.RETRY_AFTER));
+            }
             EntityUtils.consumeQuietly(httpResp.getEntity());
             log.trace("PoolingHttpClientConnectionManager leased: {}, link: {}",
                     connectionManager.getTotalStats().getLeased(), url);
             return statusCode;
+        } catch (IOException e) {
+            if (method.isAborted()) {
+                throw new SocketTimeoutException(String.format("The request was aborted after %d ms", requestTimeout));
+            }
+            throw e;
         } finally {
+            Optional.ofNullable(abort).ifPresent(future -> future.cancel(false));
             Optional.ofNullable(method).ifPresent(HttpRequestBase::releaseConnection);
         }
     }
 
+    private static boolean isThrottled(int statusCode) {
+        return statusCode == HTTP_TOO_MANY_REQUESTS || statusCode == HttpStatus.SC_SERVICE_UNAVAILABLE;
+    }
+
+    /**
+     * Gets the delay requested by the {@code Retry-After} header, which contains either a number of seconds
+     * or an HTTP date
+     *
+     * @param retryAfterHeader The header; may be null
+     * @return The delay in milliseconds; the default delay if the header is missing or cannot be parsed
+     */
+    static long getRetryDelay(Header retryAfterHeader) {
+        String retryAfter = Optional.ofNullable(retryAfterHeader)
+                .map(Header::getValue)
+                .map(String::trim)
+                .orElse(StringUtils.EMPTY);
+        if (StringUtils.isNumeric(retryAfter) && retryAfter.length() < 10) {
+            return TimeUnit.SECONDS.toMillis(Long.parseLong(retryAfter));
+        }
+        Date retryAfterDate = StringUtils.isNotEmpty(retryAfter) ? DateUtils.parseDate(retryAfter) : null;
+        if (retryAfterDate != null) {
+            return Math.max(0, retryAfterDate.getTime() - System.currentTimeMillis());
+        }
+        return DEFAULT_RETRY_DELAY;
+    }
+
+    private void buildHttpAsyncClient() {
+        try {
+            IOReactorConfig ioReactorConfig = IOReactorConfig.custom()
+                    .setIoThreadCount(Runtime.getRuntime().availableProcessors())
+                    .setConnectTimeout(connectionTimeout)
+                    .setSoTimeout(socketTimeout)
+                    .build();
+            PoolingNHttpClientConnectionManager asyncConnectionManager =
+                    new PoolingNHttpClientConnectionManager(new DefaultConnectingIOReactor(ioReactorConfig));
+            asyncConnectionManager.setMaxTotal(DEFAULT_MAX_TOTAL);
+            asyncConnectionManager.setDefaultMaxPerRoute(maxConnectionsPerHost);
+            RequestConfig config = RequestConfig.custom()
+                    .setConnectTimeout(connectionTimeout)
+                    .setSocketTimeout(socketTimeout)
+                    .setRedirectsEnabled(redirectsEnabled)
+                    .build();
+            HttpAsyncClientBuilder clientBuilder = HttpAsyncClients.custom()
+                    .setConnectionManager(asyncConnectionManager)
+                    .setDefaultRequestConfig(config);
+            Optional.ofNullable(userAgent)
+                    .filter(StringUtils::isNotBlank)
+                    .ifPresent(clientBuilder::setUserAgent);
+            httpAsyncClient = clientBuilder.build();
+            httpAsyncClient.start();
+        } catch (IOReactorException e) {
+            log.error("Failed to start the non-blocking HTTP client, the blocking client is used instead", e);
+            closeHttpAsyncClient();
+        }
+    }
+
+    private void closeHttpAsyncClient() {
+        if (httpAsyncClient != null) {
+            try {
+                httpAsyncClient.close();
+            } catch (IOException e) {
+                log.info("Failed to close httpAsyncClient", e);
+            }
+            httpAsyncClient = null;
+        }
+    }
+
     private void buildCloseableHttpClient() {
         connectionManager = new PoolingHttpClientConnectionManager();
         connectionManager.setMaxTotal(DEFAULT_MAX_TOTAL);
-        connectionManager.setDefaultMaxPerRoute(DEFAULT_MAX_PER_ROUTE);
+        connectionManager.setDefaultMaxPerRoute(maxConnectionsPerHost);
         HttpClientBuilder clientBuilder = this.httpClientBuilderFactory.newBuilder();
         if (clientBuilder == null) {
             return;
@@ -206,4 +664,173 @@ public class ExternalLinkResolverImpl implements Resolver {
             this.httpClient = clientBuilder.build();
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Reads the status line and the headers of a response and skips its content, so that responses to {@code GET}
+     * requests are not buffered in memory
+     */
+    private static class DiscardingResponseConsumer extends AbstractAsyncResponseConsumer<HttpResponse> {
+        private final ByteBuffer buffer = ByteBuffer.allocate(DISCARD_BUFFER_SIZE);
+        private HttpResponse response;
+
+        @Override
+        protected void onResponseReceived(HttpResponse response) {
+            this.response = response;
+        }
+
+        @Override
+        protected void onEntityEnclosed(HttpEntity entity, ContentType contentType) {
+            // The content is not needed for the validation
+        }
+
+        @Override
+        protected void onContentReceived(ContentDecoder decoder, IOControl ioControl) throws IOException {
+            int read;
+            do {
+                buffer.clear();
+                read = decoder.read(buffer);
+            } while (read > 0);
+        }
+
+        @Override
+        protected HttpResponse buildResult(HttpContext context) {
+            return response;
+        }
+
+        @Override
+        protected void releaseResources() {
+            response = null;
+        }
+    }
+
+    /**
+     * Represents the validation of a link with the non-blocking engine. Cancelling the validation also cancels
+     * the HTTP exchange in progress, which closes its connection
+     */
+    private static class AsyncCheck extends CompletableFuture<Integer> {
+        private volatile Future<?> exchange;
+
+        void setExchange(Future<?> exchange) {
+            this.exchange = exchange;
+            if (isCancelled()) {
+                exchange.cancel(true);
+            }
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean isCancelled = super.cancel(mayInterruptIfRunning);
+            Optional.ofNullable(exchange).ifPresent(future -> future.cancel(true));
+            return isCancelled;
+        }
+    }
+
+    /**
+     * Limits the number of simultaneous requests to a single host and pauses the requests to the host when
+     * it asks to slow down via the {@code Retry-After} header. The pause never exceeds the max retry delay;
+     * if the host asks for a longer one, the throttled requests are not retried until the requested time passes.
+     * The throttle is idle, and can be evicted, when no link to the host is being validated and the host is not paused
+     */
+    static class HostThrottle {
+        private final Semaphore permits;
+        private final long maxDelay;
+        private final AtomicLong notBefore = new AtomicLong();
+        private final AtomicLong retryNotBefore = new AtomicLong();
+        private final AtomicInteger users = new AtomicInteger();
+        private final Queue<CompletableFuture<Void>> waiters = new ArrayDeque<>();
+
+        HostThrottle(int maxConcurrentRequests, long maxDelay) {
+            this.permits = new Semaphore(maxConcurrentRequests, true);
+            this.maxDelay = Math.max(0, maxDelay);
+        }
+
+        void acquire() throws InterruptedException {
+            tryAcquire(Long.MAX_VALUE);
+        }
+
+        /**
+         * Acquires a permit without blocking. The returned future is completed once the permit is handed over
+         * by the request releasing it
+         *
+         * @return {@code CompletableFuture} instance
+         */
+        CompletableFuture<Void> acquireAsync() {
+            CompletableFuture<Void> future = new CompletableFuture<>();
+            synchronized (waiters) {
+                if (!permits.tryAcquire()) {
+                    waiters.add(future);
+                    return future;
+                }
+            }
+            future.complete(null);
+            return future;
+        }
+
+        /**
+         * Waits until the host is not paused and a permit is available, but not longer than the given timeout
+         *
+         * @param timeout The max time to wait in milliseconds
+         * @return True if the permit is acquired; otherwise, false
+         * @throws InterruptedException If the current thread is interrupted while waiting
+         */
+        boolean tryAcquire(long timeout) throws InterruptedException {
+            long start = System.currentTimeMillis();
+            while (true) {
+                long delay;
+                while ((delay = getWaitDelay()) > 0) {
+                    if (delay >= timeout - (System.currentTimeMillis() - start)) {
+                        return false;
+                    }
+                    Thread.sleep(delay);
+                }
+                long remaining = timeout - (System.currentTimeMillis() - start);
+                if (remaining <= 0 || !permits.tryAcquire(remaining, TimeUnit.MILLISECONDS)) {
+                    return false;
+                }
+                if (getWaitDelay() <= 0) {
+                    return true;
+                }
+                // Another request has postponed the host in the meantime, so the permit is not held while waiting
+                release();
+            }
+        }
+
+        void release() {
+            CompletableFuture<Void> waiter;
+            synchronized (waiters) {
+                waiter = waiters.poll();
+                if (waiter == null) {
+                    permits.release();
+                    return;
+                }
+            }
+            waiter.complete(null);
+        }
+
+        void postpone(long delay) {
+            long now = System.currentTimeMillis();
+            notBefore.accumulateAndGet(now + Math.min(delay, maxDelay), Math::max);
+            retryNotBefore.accumulateAndGet(now + delay, Math::max);
+        }
+
+        long getWaitDelay() {
+            return notBefore.get() - System.currentTimeMillis();
+        }
+
+        boolean isRetryAllowed() {
+            return retryNotBefore.get() - System.currentTimeMillis() <= maxDelay;
+        }
+
+        void retain() {
+            users.incrementAndGet();
+        }
+
+        void unretain() {
+            users.decrementAndGet();
+        }
+
+        boolean isIdle() {
+            return users.get() == 0 && retryNotBefore.get() - System.currentTimeMillis() <= 0;
+        }
+    }
+}
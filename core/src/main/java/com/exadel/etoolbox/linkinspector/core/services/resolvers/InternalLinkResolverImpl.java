@@ -53,6 +53,7 @@ public class InternalLinkResolverImpl implements Resolver {
 
     private static final String HTTP_SCHEMA = "http://";
     private static final String HTTPS_SCHEMA = "https://";
+    private static final Collection<String> MARKERS = Collections.singletonList("/content/");
     private static final Pattern PATTERN_INTERNAL_LINK = Pattern.compile("(^|(?<=\"))/content/([-\\w\\d():%'_+.~#?&/=\\s]*)", Pattern.UNICODE_CHARACTER_CLASS);
 
     private String internalLinksHost;
@@ -93,6 +94,14 @@ public class InternalLinkResolverImpl implements Resolver {
         return results;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Collection<String> getMarkers() {
+        return MARKERS;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -102,13 +111,8 @@ public class InternalLinkResolverImpl implements Resolver {
             return;
         }
         Status status = checkLink(result.getValue(), resourceResolver);
-        if (status.getCode() == HttpStatus.SC_NOT_FOUND && StringUtils.isNotBlank(internalLinksHost)) {
-            String prefix = StringUtils.startsWithAny(internalLinksHost, HTTP_SCHEMA, HTTPS_SCHEMA) ? EMPTY : HTTPS_SCHEMA;
-            String origin = StringUtils.stripEnd(internalLinksHost, "/");
-            SlingUriBuilder slingUri = SlingUriBuilder.parse(result.getValue(), resourceResolver);
-            String extension = StringUtils.isNotBlank(slingUri.getExtension()) ? slingUri.getExtension() : ".html";
-            String parameters = StringUtils.isNotBlank(slingUri.getQuery()) ? QUESTION_MARK + slingUri.getQuery() : StringUtils.EMPTY;
-            LinkResult linkResult = new LinkResult(result.getType(), prefix + origin + slingUri.getPath() + extension + parameters);
+        if (isCheckedOnHost(status)) {
+            Result linkResult = toHostLinkResult(result, resourceResolver);
             externalLinkResolver.validate(linkResult, resourceResolver);
             result.setStatus(linkResult.getStatus());
         } else {
@@ -116,6 +120,33 @@ public class InternalLinkResolverImpl implements Resolver {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>Every distinct link of the batch is resolved once, and the links missing in the repository are then checked
+     * against the configured host in a single batch</p>
+     */
+    @Override
+    public void validateAll(Collection<Result> results, ResourceResolver resourceResolver) {
+        Map<String, Status> statusesByLink = new HashMap<>();
+        Map<Result, Result> hostLinkResults = new IdentityHashMap<>();
+        for (Result result : results) {
+            if (result == null || !StringUtils.equalsIgnoreCase(getId(), result.getType())) {
+                continue;
+            }
+            Status status = statusesByLink.computeIfAbsent(result.getValue(), href -> checkLink(href, resourceResolver));
+            if (isCheckedOnHost(status)) {
+                hostLinkResults.put(result, toHostLinkResult(result, resourceResolver));
+            } else {
+                result.setStatus(status.getCode(), status.getMessage());
+            }
+        }
+        if (hostLinkResults.isEmpty()) {
+            return;
+        }
+        externalLinkResolver.validateAll(new ArrayList<>(hostLinkResults.values()), resourceResolver);
+        hostLinkResults.forEach((result, linkResult) -> result.setStatus(linkResult.getStatus()));
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -124,6 +155,19 @@ public class InternalLinkResolverImpl implements Resolver {
         return enabled;
     }
 
+    private boolean isCheckedOnHost(Status status) {
+        return status.getCode() == HttpStatus.SC_NOT_FOUND && StringUtils.isNotBlank(internalLinksHost);
+    }
+
+    private Result toHostLinkResult(Result result, ResourceResolver resourceResolver) {
+        String prefix = StringUtils.startsWithAny(internalLinksHost, HTTP_SCHEMA, HTTPS_SCHEMA) ? EMPTY : HTTPS_SCHEMA;
+        String origin = StringUtils.stripEnd(internalLinksHost, "/");
+        SlingUriBuilder slingUri = SlingUriBuilder.parse(result.getValue(), resourceResolver);
+        String extension = StringUtils.isNotBlank(slingUri.getExtension()) ? slingUri.getExtension() : ".html";
+        String parameters = StringUtils.isNotBlank(slingUri.getQuery()) ? QUESTION_MARK + slingUri.getQuery() : StringUtils.EMPTY;
+        return new LinkResult(result.getType(), prefix + origin + slingUri.getPath() + extension + parameters);
+    }
+
     private Status checkLink(String href, ResourceResolver resourceResolver) {
         Status status = checkLinkInternal(href, resourceResolver);
         if (!status.isValid()) {
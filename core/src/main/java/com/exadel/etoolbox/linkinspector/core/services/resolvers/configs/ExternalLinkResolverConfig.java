@@ -25,6 +25,9 @@ import org.osgi.service.metatype.annotations.ObjectClassDefinition;
 public @interface ExternalLinkResolverConfig {
     int DEFAULT_CONNECTION_TIMEOUT = 5000;
     int DEFAULT_SOCKET_TIMEOUT = 15000;
+    int DEFAULT_MAX_CONNECTIONS_PER_HOST = 8;
+    int DEFAULT_MAX_RETRIES = 2;
+    int DEFAULT_MAX_RETRY_DELAY = 120;
 
     @AttributeDefinition(
             name = "Enabled",
@@ -56,4 +59,30 @@ public @interface ExternalLinkResolverConfig {
             description = "Is redirects enabled?"
     )
     boolean redirectsEnabled() default true;
+
+    @AttributeDefinition(
+            name = "Max connections per host",
+            description = "The maximum number of requests sent to the same host simultaneously"
+    )
+    int maxConnectionsPerHost() default DEFAULT_MAX_CONNECTIONS_PER_HOST;
+
+    @AttributeDefinition(
+            name = "Max retries",
+            description = "The number of times a request is repeated when the host responds with 429 or 503 status"
+    )
+    int maxRetries() default DEFAULT_MAX_RETRIES;
+
+    @AttributeDefinition(
+            name = "Max retry delay",
+            description = "The maximum delay (in seconds) honoured from the Retry-After header. " +
+                    "Requests asked to wait longer are not retried"
+    )
+    int maxRetryDelay() default DEFAULT_MAX_RETRY_DELAY;
+
+    @AttributeDefinition(
+            name = "Non-blocking engine",
+            description = "Whether links are requested with the non-blocking HTTP client, which keeps many requests " +
+                    "in flight on a few I/O threads"
+    )
+    boolean asyncEngine() default false;
 }
@@ -94,10 +94,7 @@ public class CsvUtil {
             return ArrayUtils.EMPTY_BYTE_ARRAY;
         }
         try (ByteArrayOutputStream out = new ByteArrayOutputStream();
-             CSVPrinter csvPrinter = new CSVPrinter(
-                     new OutputStreamWriter(out, StandardCharsets.UTF_8),
-                     columnHeaders != null ? CSVFormat.DEFAULT.withHeader(columnHeaders) : CSVFormat.DEFAULT.withSkipHeaderRecord()
-             )
+             CSVPrinter csvPrinter = new CSVPrinter(new OutputStreamWriter(out, StandardCharsets.UTF_8), getCsvFormat(columnHeaders))
         ) {
             items.forEach(item -> printRecord.accept(csvPrinter, item));
             csvPrinter.flush();
@@ -107,4 +104,27 @@ public class CsvUtil {
             return ArrayUtils.EMPTY_BYTE_ARRAY;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Creates a CSV printer which writes to the given output stream as the records are printed, so that the CSV
+     * content is never held in memory as a whole.
+     * <p>
+     * The caller is responsible for flushing the printer after the last record. Closing the printer closes
+     * the underlying output stream as well.
+     *
+     * @param out The output stream to write the CSV data to
+     * @param columnHeaders Optional array of column headers (null for no headers)
+     * @return {@link CSVPrinter} instance
+     * @throws IOException if writing the headers fails
+     */
+    public static CSVPrinter createCsvPrinter(OutputStream out, String[] columnHeaders) throws IOException {
+        return new CSVPrinter(
+                new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)),
+                getCsvFormat(columnHeaders)
+        );
+    }
+
+    private static CSVFormat getCsvFormat(String[] columnHeaders) {
+        return columnHeaders != null ? CSVFormat.DEFAULT.withHeader(columnHeaders) : CSVFormat.DEFAULT.withSkipHeaderRecord();
+    }
+}
@@ -14,21 +14,32 @@
 
 package com.exadel.etoolbox.linkinspector.core.services.util;
 
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
+import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
 import org.apache.sling.api.resource.ResourceResolver;
+import org.apache.sling.jcr.contentloader.ContentTypeUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Utility class providing helper methods for JSON manipulation and conversion.
@@ -105,4 +116,126 @@ public class JsonUtil {
         }
         return OBJECT_MAPPER.createArrayNode();
     }
+
+    /**
+     * Reads a JSON array from a file in the JCR repository and passes its elements, converted to typed model objects,
+     * to the given consumer. The elements are mapped one by one straight from the binary stream, so that neither
+     * the file content nor a JSON tree are held in memory.
+     *
+     * @param <T> The target model type
+     * @param jsonPath The repository path to the JSON file
+     * @param modelClass The class of the models to create
+     * @param resourceResolver ResourceResolver used to access the file
+     * @param consumer The consumer of the models
+     * @return The number of models read, which is 0 if the file is missing
+     * @throws IOException if reading fails; the models passed to the consumer before the failure are then incomplete
+     * and should be discarded
+     */
+    public static <T> int readJsonArrayFromFile(String jsonPath,
+                                                Class<T> modelClass,
+                                                ResourceResolver resourceResolver,
+                                                Consumer<T> consumer) throws IOException {
+        Optional<InputStream> streamOptional = Optional.ofNullable(resourceResolver.getResource(jsonPath))
+                .map(resource -> resource.adaptTo(InputStream.class));
+        if (!streamOptional.isPresent()) {
+            LOG.debug("Failed to get json array from {}", jsonPath);
+            return 0;
+        }
+        int count = 0;
+        try (InputStream is = streamOptional.get();
+             MappingIterator<T> iterator = OBJECT_MAPPER.readerFor(modelClass).readValues(is)) {
+            while (iterator.hasNextValue()) {
+                T model = iterator.nextValue();
+                if (model != null) {
+                    consumer.accept(model);
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Reads a JSON file from the JCR repository and converts it to a typed model object.
+     *
+     * @param <T> The target model type
+     * @param jsonPath The repository path to the JSON file
+     * @param modelClass The class of the model to create
+     * @param resourceResolver ResourceResolver used to access the file
+     * @return An instance of the model class populated with data from the file, or null if the file is missing
+     * or reading fails
+     */
+    public static <T> T getModelFromFile(String jsonPath, Class<T> modelClass, ResourceResolver resourceResolver) {
+        Optional<InputStream> streamOptional = Optional.ofNullable(resourceResolver.getResource(jsonPath))
+                .map(resource -> resource.adaptTo(InputStream.class));
+        if (!streamOptional.isPresent()) {
+            LOG.debug("Failed to get json model from {}", jsonPath);
+            return null;
+        }
+        try (InputStream is = streamOptional.get()) {
+            return OBJECT_MAPPER.readValue(is, modelClass);
+        } catch (IOException e) {
+            LOG.error("Failed to map json file to model", e);
+        }
+        return null;
+    }
+
+    /**
+     * Saves a collection of objects as a JSON array to a file in the JCR repository. The objects are serialized one
+     * by one with a {@link JsonGenerator}, so that neither a JSON tree nor the whole JSON string are built in memory.
+     * The file must not exist before saving.
+     *
+     * @param objects The objects to save
+     * @param jsonPath The repository path to the JSON file
+     * @param resourceResolver ResourceResolver used to save the file
+     * @throws IOException if writing or saving the file fails
+     */
+    public static void saveJsonArrayToFile(Iterable<?> objects, String jsonPath, ResourceResolver resourceResolver)
+            throws IOException {
+        saveToFile(jsonPath, resourceResolver, generator -> {
+            generator.writeStartArray();
+            for (Object object : objects) {
+                generator.writeObject(object);
+            }
+            generator.writeEndArray();
+        });
+    }
+
+    /**
+     * Saves an object as JSON to a file in the JCR repository. The file must not exist before saving.
+     *
+     * @param object The object to save
+     * @param jsonPath The repository path to the JSON file
+     * @param resourceResolver ResourceResolver used to save the file
+     * @throws IOException if writing or saving the file fails
+     */
+    public static void saveJsonToFile(Object object, String jsonPath, ResourceResolver resourceResolver)
+            throws IOException {
+        saveToFile(jsonPath, resourceResolver, generator -> generator.writeObject(object));
+    }
+
+    /**
+     * Writes JSON to a temporary file first, and then streams the file to the repository. This way, the memory
+     * consumption does not depend on the size of the JSON
+     */
+    private static void saveToFile(String jsonPath, ResourceResolver resourceResolver, JsonWriter jsonWriter)
+            throws IOException {
+        File tempFile = File.createTempFile("etoolbox-link-inspector", ".json");
+        try {
+            try (JsonGenerator generator = OBJECT_MAPPER.getFactory().createGenerator(
+                    new BufferedOutputStream(new FileOutputStream(tempFile)), JsonEncoding.UTF8)) {
+                jsonWriter.write(generator);
+            }
+            try (InputStream inputStream = new BufferedInputStream(new FileInputStream(tempFile))) {
+                LinkInspectorResourceUtil.saveFileToJCR(jsonPath, inputStream, ContentTypeUtil.TYPE_JSON, resourceResolver);
+            }
+        } finally {
+            FileUtils.deleteQuietly(tempFile);
+        }
+    }
+
+    @FunctionalInterface
+    private interface JsonWriter {
+        void write(JsonGenerator generator) throws IOException;
+    }
 }
\ No newline at end of file
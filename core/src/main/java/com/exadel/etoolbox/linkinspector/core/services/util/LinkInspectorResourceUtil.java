@@ -128,13 +128,32 @@ public class LinkInspectorResourceUtil {
             LOG.warn("File is null, saving to JCR is interrupted");
             return;
         }
+        try (InputStream inputData = new ByteArrayInputStream(contentBytes)) {
+            saveFileToJCR(path, inputData, mimeType, resolver);
+        } catch (IOException e) {
+            LOG.error(String.format("Failed to create file node %s", path), e);
+        }
+    }
+
+    /**
+     * Saves a file to the JCR repository at the specified path reading its content from the given stream.
+     * Unlike {@link #saveFileToJCR(String, byte[], String, ResourceResolver)}, does not require the whole content
+     * to be held in memory, and reports a failure to the caller instead of logging it. The stream is not closed
+     * by this method.
+     *
+     * @param path Path where the file should be created
+     * @param inputData Stream providing the file content
+     * @param mimeType MIME type of the file
+     * @param resolver ResourceResolver to use for the operation
+     * @throws IOException if the file cannot be saved
+     */
+    public static void saveFileToJCR(String path, InputStream inputData, String mimeType, ResourceResolver resolver)
+            throws IOException {
         Session session = resolver.adaptTo(Session.class);
         if (session == null) {
-            LOG.warn("Session is null, saving to JCR is interrupted");
-            return;
+            throw new IOException(String.format("Session is null, failed to create file node %s", path));
         }
-        try (InputStream inputData = new ByteArrayInputStream(contentBytes)) {
-
+        try {
             Node fileNode = JcrUtil.createPath(path, JcrConstants.NT_FOLDER, JcrConstants.NT_FILE, session, false);
 
             Node metadataNode = fileNode.addNode(JcrConstants.JCR_CONTENT, JcrConstants.NT_RESOURCE);
@@ -148,8 +167,8 @@ public class LinkInspectorResourceUtil {
             metadataNode.setProperty(JcrConstants.JCR_LASTMODIFIED, lastModified);
 
             session.save();
-        } catch (RepositoryException | IOException e) {
-            LOG.error(String.format("Failed to create file node %s", path), e);
+        } catch (RepositoryException e) {
+            throw new IOException(String.format("Failed to create file node %s", path), e);
         }
     }
 
@@ -15,35 +15,45 @@
 package com.exadel.etoolbox.linkinspector.core.services.util;
 
 import com.exadel.etoolbox.linkinspector.api.Result;
+import com.exadel.etoolbox.linkinspector.api.Status;
 import com.exadel.etoolbox.linkinspector.core.models.LinkResult;
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.AbstractMap;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.TreeMap;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 
 /**
- * Utility class for counting and accumulating statistics about links by their types.
+ * Utility class for counting and accumulating statistics about links by their types, validation status codes,
+ * and hosts.
  * <p>
  * This class is used to track the frequency of different link types during
- * link inspection and validation processes. It provides thread-safe counting operations
- * and methods to retrieve statistics about the processed links.
+ * link inspection and validation processes. The counters are {@link LongAdder}s kept in concurrent maps, so that
+ * the validation threads can check links in simultaneously without locking each other.
  * <p><u>Note</u>: This class is not a part of the public API and is subject to change. Do not use it in your own code</p>
  */
 public class LinksCounter {
     public static final LinksCounter EMPTY = new LinksCounter();
 
-    private final Map<String, AtomicInteger> statistics;
+    static final String OTHER_HOSTS = "(other)";
+    private static final int MAX_HOSTS = 1000;
+    private static final String SCHEME_SEPARATOR = "://";
+    private static final String WWW_PREFIX = "www";
 
-    public LinksCounter() {
-        statistics = new TreeMap<>();
-    }
+    private final ConcurrentMap<String, LongAdder> statistics = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Integer, LongAdder> statusCodeStatistics = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LongAdder> hostStatistics = new ConcurrentHashMap<>();
 
     /**
      * Retrieves a copy of the accumulated statistics as a simple Map.
-     * Converts the AtomicInteger values to plain Integer values.
+     * Converts the counter values to plain Integer values.
      *
      * @return Map containing link types as keys and their counts as values
      */
@@ -51,24 +61,73 @@ public class LinksCounter {
         return statistics
                 .entrySet()
                 .stream()
-                .collect(HashMap::new, (m, v) -> m.put(v.getKey(), v.getValue().get()), HashMap::putAll);
+                .collect(HashMap::new, (m, v) -> m.put(v.getKey(), v.getValue().intValue()), HashMap::putAll);
+    }
+
+    /**
+     * Retrieves a copy of the accumulated numbers of links by validation status code
+     *
+     * @return Map containing status codes in ascending order as keys and the numbers of links as values
+     */
+    public Map<Integer, Long> getStatusCodeStatistics() {
+        return statusCodeStatistics
+                .entrySet()
+                .stream()
+                .collect(TreeMap::new, (m, v) -> m.put(v.getKey(), v.getValue().sum()), TreeMap::putAll);
     }
 
     /**
-     * Increments the counter for the specified link result type.
+     * Retrieves the hosts with the greatest numbers of links. The links of the hosts that did not fit into the
+     * counter's capacity are accounted under a common "(other)" key
+     *
+     * @param limit Maximum number of hosts to retrieve
+     * @return Map containing host names as keys and the numbers of links as values, ordered by the number of links
+     * descending
+     */
+    public Map<String, Long> getHostStatistics(int limit) {
+        return hostStatistics
+                .entrySet()
+                .stream()
+                .map(entry -> new AbstractMap.SimpleEntry<>(entry.getKey(), entry.getValue().sum()))
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .collect(Collectors.toMap(
+                        Map.Entry::getKey,
+                        Map.Entry::getValue,
+                        (first, second) -> first,
+                        LinkedHashMap::new));
+    }
+
+    /**
+     * Increments the counters for the type and the host of the specified link result.
      * If the link type is blank, uses the default link type.
-     * Creates a new counter for the type if it doesn't exist yet.
+     * Creates new counters for the type and the host if they don't exist yet.
      *
      * @param result The link validation result to be counted
      */
     public void checkIn(Result result) {
         String type = StringUtils.defaultIfBlank(result.getType(), LinkResult.DEFAULT_TYPE);
-        AtomicInteger count = statistics.get(type);
-        if (count == null) {
-            count = new AtomicInteger(0);
-            statistics.put(type, count);
+        increment(statistics, type);
+        String host = getHost(result.getValue());
+        if (host != null) {
+            increment(hostStatistics, hostStatistics.size() < MAX_HOSTS || hostStatistics.containsKey(host)
+                    ? host
+                    : OTHER_HOSTS);
+        }
+    }
+
+    /**
+     * Increments the counter for the validation status code of the specified link result. Expected to be called
+     * after the link is validated
+     *
+     * @param result The link validation result to be counted
+     */
+    public void checkInStatus(Result result) {
+        Status status = result.getStatus();
+        if (status != null) {
+            increment(statusCodeStatistics, status.getCode());
         }
-        count.incrementAndGet();
     }
 
     /**
@@ -79,8 +138,39 @@ public class LinksCounter {
      */
     @Override
     public String toString() {
-        Map<String, Integer> stats = getStatistics();
+        Map<String, Integer> stats = new TreeMap<>(getStatistics());
         return "Total: " + stats.values().stream().mapToInt(i -> i).sum()
-                + ". By type: " + stats.entrySet().stream().map(entry -> entry.getKey() + ": " + entry.getValue()).collect(Collectors.joining(", "));
+                + ". By type: " + stats.entrySet().stream().map(entry -> entry.getKey() + ": " + entry.getValue()).collect(Collectors.joining(", "))
+                + ". By status: " + getStatusCodeStatistics().entrySet().stream().map(entry -> entry.getKey() + ": " + entry.getValue()).collect(Collectors.joining(", "));
+    }
+
+    private static <K> void increment(ConcurrentMap<K, LongAdder> counters, K key) {
+        LongAdder counter = counters.get(key);
+        if (counter == null) {
+            counter = counters.computeIfAbsent(key, k -> new LongAdder());
+        }
+        counter.increment();
+    }
+
+    /**
+     * Retrieves the host of an absolute or a schema-less ("www...") link without parsing it as a URI
+     */
+    private static String getHost(String link) {
+        if (link == null) {
+            return null;
+        }
+        int start = link.indexOf(SCHEME_SEPARATOR);
+        if (start >= 0) {
+            start += SCHEME_SEPARATOR.length();
+        } else if (StringUtils.startsWithIgnoreCase(link, WWW_PREFIX)) {
+            start = 0;
+        } else {
+            return null;
+        }
+        int end = start;
+        while (end < link.length() && "/?#:".indexOf(link.charAt(end)) < 0) {
+            end++;
+        }
+        return end > start ? StringUtils.lowerCase(link.substring(start, end)) : null;
     }
-}
\ No newline at end of file
+}
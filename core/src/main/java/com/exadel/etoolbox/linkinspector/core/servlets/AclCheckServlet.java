@@ -31,7 +31,10 @@ import org.slf4j.LoggerFactory;
 
 import javax.jcr.Session;
 import javax.json.Json;
+import javax.json.JsonObjectBuilder;
 import javax.servlet.Servlet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -44,6 +47,9 @@ import java.util.Optional;
  * The servlet is registered at the path "/bin/etoolbox/link-inspector/acl-check" and is used
  * by the Link Inspector UI to verify access rights before attempting operations that require
  * specific permissions.
+ * <p>
+ * Several paths can be checked at once by passing the {@code paths} parameter multiple times. In this case, the
+ * response contains the result for each of the paths along with the overall result.
  * <p><u>Note</u>: This class is not a part of the public API and is subject to change. Do not use it in your own code</p>
  */
 @Component(service = {Servlet.class})
@@ -56,14 +62,21 @@ public class AclCheckServlet extends SlingAllMethodsServlet {
     private static final Logger LOG = LoggerFactory.getLogger(AclCheckServlet.class);
 
     private static final String PATH_PARAM = "path";
+    private static final String PATHS_PARAM = "paths";
     private static final String PERMISSIONS_PARAM = "permissions";
     private static final String HAS_PERMISSIONS_RESPONSE_PARAM = "hasPermissions";
+    private static final String PERMISSIONS_BY_PATH_RESPONSE_PARAM = "permissionsByPath";
 
     @Reference
     private transient RepositoryHelper repositoryHelper;
 
     @Override
     protected void doPost(final SlingHttpServletRequest request, final SlingHttpServletResponse response) {
+        List<String> paths = ServletUtil.getRequestParamStringList(request, PATHS_PARAM);
+        if (!paths.isEmpty()) {
+            checkPaths(paths, request, response);
+            return;
+        }
         String path = ServletUtil.getRequestParamString(request, PATH_PARAM);
         String permissions = ServletUtil.getRequestParamString(request, PERMISSIONS_PARAM);
         if (StringUtils.isAnyBlank(path, permissions)) {
@@ -85,4 +98,29 @@ public class AclCheckServlet extends SlingAllMethodsServlet {
                 .toString();
         ServletUtil.writeJsonResponse(response, jsonResponse);
     }
+
+    private void checkPaths(List<String> paths, SlingHttpServletRequest request, SlingHttpServletResponse response) {
+        String permissions = ServletUtil.getRequestParamString(request, PERMISSIONS_PARAM);
+        if (StringUtils.isBlank(permissions) || paths.stream().anyMatch(StringUtils::isBlank)) {
+            response.setStatus(HttpStatus.SC_BAD_REQUEST);
+            LOG.warn("Paths or permissions are blank, ACL check failed");
+            return;
+        }
+        Optional<Session> session = Optional.ofNullable(request.getResourceResolver().adaptTo(Session.class));
+        if (!session.isPresent()) {
+            response.setStatus(HttpStatus.SC_BAD_REQUEST);
+            LOG.warn("ACL check failed, session is null. The number of paths: {}", paths.size());
+            return;
+        }
+
+        Map<String, Boolean> permissionsByPath = repositoryHelper.hasPermissions(session.get(), paths, permissions);
+        JsonObjectBuilder permissionsByPathBuilder = Json.createObjectBuilder();
+        permissionsByPath.forEach((path, hasPermissions) -> permissionsByPathBuilder.add(path, hasPermissions.booleanValue()));
+        String jsonResponse = Json.createObjectBuilder()
+                .add(HAS_PERMISSIONS_RESPONSE_PARAM, permissionsByPath.values().stream().allMatch(Boolean::booleanValue))
+                .add(PERMISSIONS_BY_PATH_RESPONSE_PARAM, permissionsByPathBuilder)
+                .build()
+                .toString();
+        ServletUtil.writeJsonResponse(response, jsonResponse);
+    }
 }
\ No newline at end of file
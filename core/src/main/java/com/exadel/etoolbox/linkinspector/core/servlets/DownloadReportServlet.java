@@ -0,0 +1,122 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exadel.etoolbox.linkinspector.core.servlets;
+
+import com.exadel.etoolbox.linkinspector.core.services.data.DataFeedService;
+import com.exadel.etoolbox.linkinspector.core.services.data.models.DataFilter;
+import com.exadel.etoolbox.linkinspector.core.services.util.CsvUtil;
+import com.exadel.etoolbox.linkinspector.core.services.util.ServletUtil;
+import org.apache.commons.fileupload.FileUploadBase;
+import org.apache.commons.httpclient.HttpStatus;
+import org.apache.commons.lang3.CharEncoding;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.time.StopWatch;
+import org.apache.sling.api.SlingHttpServletRequest;
+import org.apache.sling.api.SlingHttpServletResponse;
+import org.apache.sling.api.servlets.HttpConstants;
+import org.apache.sling.api.servlets.SlingAllMethodsServlet;
+import org.apache.sling.servlets.annotations.SlingServletResourceTypes;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.propertytypes.ServiceDescription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.servlet.Servlet;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exports the link inspection report as a CSV file. The rows are written to the response as they are read from
+ * the report, so that the CSV content is never built in memory or stored in the repository. The report can be
+ * narrowed down with the same {@code type} and {@code substring} parameters as the grid, and is compressed with gzip
+ * if the client accepts it.
+ * <p>
+ * A HEAD request checks whether the report is present without exporting it. If there is no report,
+ * the servlet responds with 404.
+ * <p><u>Note</u>: This class is not a part of the public API and is subject to change. Do not use it in your own code</p>
+ */
+@Component(service = {Servlet.class})
+@SlingServletResourceTypes(
+        resourceTypes = "/bin/etoolbox/link-inspector/download",
+        methods = {HttpConstants.METHOD_GET, HttpConstants.METHOD_HEAD}
+)
+@ServiceDescription("The servlet for downloading the report as CSV")
+public class DownloadReportServlet extends SlingAllMethodsServlet {
+    private static final Logger LOG = LoggerFactory.getLogger(DownloadReportServlet.class);
+
+    private static final String TYPE_PARAM = "type";
+    private static final String SUBSTRING_PARAM = "substring";
+
+    private static final String REPORT_FILE_NAME = "report.csv";
+    private static final String ACCEPT_ENCODING_HEADER = "Accept-Encoding";
+    private static final String CONTENT_ENCODING_HEADER = "Content-Encoding";
+    private static final String VARY_HEADER = "Vary";
+    private static final String GZIP_ENCODING = "gzip";
+    private static final int GZIP_BUFFER_SIZE = 8192;
+
+    @Reference
+    private transient DataFeedService dataFeedService;
+
+    @Override
+    protected void doHead(final SlingHttpServletRequest request, final SlingHttpServletResponse response) {
+        response.setStatus(isReportPresent() ? HttpStatus.SC_OK : HttpStatus.SC_NOT_FOUND);
+    }
+
+    @Override
+    protected void doGet(final SlingHttpServletRequest request, final SlingHttpServletResponse response) {
+        if (!isReportPresent()) {
+            response.setStatus(HttpStatus.SC_NOT_FOUND);
+            return;
+        }
+        DataFilter filter = new DataFilter(
+                ServletUtil.getRequestParamString(request, TYPE_PARAM),
+                ServletUtil.getRequestParamString(request, SUBSTRING_PARAM)
+        );
+        boolean isGzip = StringUtils.containsIgnoreCase(request.getHeader(ACCEPT_ENCODING_HEADER), GZIP_ENCODING);
+
+        response.setContentType(CsvUtil.CSV_MIME_TYPE);
+        response.setCharacterEncoding(CharEncoding.UTF_8);
+        response.setHeader(FileUploadBase.CONTENT_DISPOSITION,
+                FileUploadBase.ATTACHMENT + "; filename=\"" + REPORT_FILE_NAME + "\"");
+        response.setHeader(VARY_HEADER, ACCEPT_ENCODING_HEADER);
+        if (isGzip) {
+            response.setHeader(CONTENT_ENCODING_HEADER, GZIP_ENCODING);
+        }
+
+        StopWatch stopWatch = StopWatch.createStarted();
+        try {
+            int total;
+            if (isGzip) {
+                try (GZIPOutputStream outputStream = new GZIPOutputStream(response.getOutputStream(), GZIP_BUFFER_SIZE)) {
+                    total = dataFeedService.writeCsvReport(filter, outputStream);
+                }
+            } else {
+                OutputStream outputStream = response.getOutputStream();
+                total = dataFeedService.writeCsvReport(filter, outputStream);
+            }
+            LOG.debug("CSV report export is completed in {} ms, the number of items: {}, compressed: {}",
+                    stopWatch.getTime(TimeUnit.MILLISECONDS), total, isGzip);
+        } catch (IOException e) {
+            LOG.error("Failed to export CSV report", e);
+        }
+    }
+
+    private boolean isReportPresent() {
+        return dataFeedService.getDataFeedPage(new DataFilter(), 0, 0).getTotal() > 0;
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exadel.etoolbox.linkinspector.core.servlets;
+
+import com.exadel.etoolbox.linkinspector.core.services.data.models.GridResource;
+import com.exadel.etoolbox.linkinspector.core.services.data.models.UpdatedItem;
+import com.exadel.etoolbox.linkinspector.core.services.helpers.LinkHelper;
+import org.apache.sling.api.resource.ModifiableValueMap;
+import org.apache.sling.api.resource.PersistenceException;
+import org.apache.sling.api.resource.Resource;
+import org.apache.sling.api.resource.ResourceResolver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntConsumer;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Replaces links within the given data feed items in bulk. The pattern is compiled once per replacement by the caller,
+ * the items are grouped by resource, so that every resource is retrieved and adapted once, and the changes are committed in chunks.
+ * If a {@link ReplacementJournal} is specified, the original and the replaced values of the modified properties, along
+ * with the replaced links, are appended to it before every chunk is committed
+ * <p><u>Note</u>: This class is not a part of the public API and is subject to change. Do not use it in your own code</p>
+ */
+final class LinkReplacer {
+    private static final Logger LOG = LoggerFactory.getLogger(LinkReplacer.class);
+
+    private final LinkHelper linkHelper;
+    private final Pattern pattern;
+    private final String replacement;
+    private final boolean isDryRun;
+    private final int commitThreshold;
+    private final ReplacementJournal journal;
+
+    /**
+     * Creates a new instance
+     *
+     * @param linkHelper      {@link LinkHelper} used to replace links within property values
+     * @param pattern         The compiled regex pattern to be replaced, or null if the whole links are replaced
+     * @param replacement     The replacement; may contain group references if the pattern is specified
+     * @param isDryRun        If true, the changes are not committed
+     * @param commitThreshold The number of updated items committed at once
+     * @param journal         The journal to record the property values to, or null if no backup is needed
+     */
+    LinkReplacer(LinkHelper linkHelper,
+                 Pattern pattern,
+                 String replacement,
+                 boolean isDryRun,
+                 int commitThreshold,
+                 ReplacementJournal journal) {
+        this.linkHelper = linkHelper;
+        this.pattern = pattern;
+        this.replacement = replacement;
+        this.isDryRun = isDryRun;
+        this.commitThreshold = Math.max(1, commitThreshold);
+        this.journal = isDryRun ? null : journal;
+    }
+
+    /**
+     * Replaces the links of the given items
+     *
+     * @param gridResources    The items to process
+     * @param resourceResolver ResourceResolver used to modify the resources
+     * @param stopRequested    Polled before processing every resource; returns true when the replacement should stop
+     * @param progress         Accepts the number of items processed so far
+     * @return The list of updated items
+     * @throws PersistenceException if committing the changes or the journal fails
+     */
+    List<UpdatedItem> replace(Collection<GridResource> gridResources,
+                              ResourceResolver resourceResolver,
+                              BooleanSupplier stopRequested,
+                              IntConsumer progress) throws PersistenceException {
+        Map<String, List<GridResource>> gridResourcesByPath = gridResources
+                .stream()
+                .collect(Collectors.groupingBy(GridResource::getResourcePath, LinkedHashMap::new, Collectors.toList()));
+        List<UpdatedItem> updatedItems = new ArrayList<>();
+        List<ReplacementJournal.Entry> journalEntries = new ArrayList<>();
+        int processedCount = 0;
+        int uncommittedCount = 0;
+        for (Map.Entry<String, List<GridResource>> entry : gridResourcesByPath.entrySet()) {
+            if (stopRequested.getAsBoolean()) {
+                break;
+            }
+            ModifiableValueMap valueMap = getValueMap(entry.getKey(), resourceResolver);
+            if (valueMap != null) {
+                Map<String, Object> originalValues = new LinkedHashMap<>();
+                Map<String, List<UpdatedItem>> propertyUpdates = new HashMap<>();
+                for (GridResource gridResource : entry.getValue()) {
+                    Object originalValue = journal != null ? valueMap.get(gridResource.getPropertyName()) : null;
+                    UpdatedItem updatedItem = replace(gridResource, valueMap);
+                    if (updatedItem != null) {
+                        updatedItems.add(updatedItem);
+                        originalValues.putIfAbsent(gridResource.getPropertyName(), originalValue);
+                        propertyUpdates.computeIfAbsent(gridResource.getPropertyName(), key -> new ArrayList<>())
+                                .add(updatedItem);
+                        uncommittedCount++;
+                    }
+                }
+                if (journal != null) {
+                    originalValues.forEach((propertyName, originalValue) -> journalEntries.add(new ReplacementJournal.Entry(
+                            entry.getKey(),
+                            propertyName,
+                            originalValue,
+                            valueMap.get(propertyName),
+                            propertyUpdates.get(propertyName))));
+                }
+            }
+            processedCount += entry.getValue().size();
+            if (!isDryRun && uncommittedCount >= commitThreshold) {
+                appendToJournal(journalEntries);
+                resourceResolver.commit();
+                uncommittedCount = 0;
+            }
+            progress.accept(processedCount);
+        }
+        // The remaining changes are committed by the caller, so the journal is completed beforehand
+        appendToJournal(journalEntries);
+        return updatedItems;
+    }
+
+    private void appendToJournal(List<ReplacementJournal.Entry> journalEntries) throws PersistenceException {
+        if (journal != null && !journalEntries.isEmpty()) {
+            journal.append(new ArrayList<>(journalEntries));
+            journalEntries.clear();
+        }
+    }
+
+    private UpdatedItem replace(GridResource gridResource, ModifiableValueMap valueMap) {
+        String currentLink = gridResource.getValue();
+        String path = gridResource.getResourcePath();
+        String propertyName = gridResource.getPropertyName();
+        String updatedLink = pattern != null ? pattern.matcher(currentLink).replaceAll(replacement) : replacement;
+        if (!linkHelper.replaceLink(valueMap, propertyName, currentLink, updatedLink)) {
+            return null;
+        }
+        LOG.trace("The link was updated: location - {}@{}, currentLink - {}, updatedLink - {}",
+                path, propertyName, currentLink, updatedLink);
+        return new UpdatedItem(currentLink, updatedLink, path, propertyName);
+    }
+
+    private static ModifiableValueMap getValueMap(String path, ResourceResolver resourceResolver) {
+        Resource resource = resourceResolver.getResource(path);
+        return resource != null ? resource.adaptTo(ModifiableValueMap.class) : null;
+    }
+}
@@ -33,6 +33,7 @@ import org.apache.commons.lang3.time.StopWatch;
 import org.apache.jackrabbit.vault.packaging.PackageException;
 import org.apache.sling.api.SlingHttpServletRequest;
 import org.apache.sling.api.SlingHttpServletResponse;
+import org.apache.sling.api.resource.LoginException;
 import org.apache.sling.api.resource.PersistenceException;
 import org.apache.sling.api.resource.ResourceResolver;
 import org.apache.sling.api.servlets.HttpConstants;
@@ -53,10 +54,14 @@ import org.slf4j.LoggerFactory;
 import javax.jcr.RepositoryException;
 import javax.jcr.Session;
 import javax.json.Json;
+import javax.json.JsonObjectBuilder;
 import javax.servlet.Servlet;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -64,12 +69,18 @@ import java.util.stream.Collectors;
 /**
  * Performs replacement by pattern within the detected broken links scope.
  * The link pattern and replacement are retrieved from the UI dialog and passed to the servlet via an ajax call.
+ * If the {@code async} parameter is set, the replacement runs in the background on behalf of the requesting user, and
+ * the servlet responds with the id of the task at once. The progress and the outcome of the task are then retrieved
+ * with GET requests carrying the {@code jobId} parameter.
+ * Besides the backup package, a lightweight backup can be requested with the {@code isJournalBackup} parameter: the
+ * original values of the modified properties are recorded to a journal which can be undone with
+ * {@link UndoReplacementServlet}. The journals which are not undone are removed after the configured retention period
  * <p><u>Note</u>: This class is not a part of the public API and is subject to change. Do not use it in your own code</p>
  */
 @Component(service = {Servlet.class})
 @SlingServletResourceTypes(
         resourceTypes = "/bin/etoolbox/link-inspector/replace-links-by-pattern",
-        methods = HttpConstants.METHOD_POST
+        methods = {HttpConstants.METHOD_POST, HttpConstants.METHOD_GET}
 )
 @Designate(ocd = ReplaceByPatternServlet.Configuration.class)
 public class ReplaceByPatternServlet extends SlingAllMethodsServlet {
@@ -84,15 +95,24 @@ public class ReplaceByPatternServlet extends SlingAllMethodsServlet {
                 name = "Commit Threshold",
                 description = "The size of updated items chunks saved via resourceResolver.commit()"
         ) int commitThreshold() default DEFAULT_COMMIT_THRESHOLD;
+
+        @AttributeDefinition(
+                name = "Journal Retention Period",
+                description = "The number of days the undo journals of replacements are kept for. The expired journals "
+                        + "are removed when a replacement with the journal backup starts. Set to 0 to keep the journals "
+                        + "until they are undone"
+        ) int journalRetentionDays() default DEFAULT_JOURNAL_RETENTION_DAYS;
     }
 
     private static final Logger LOG = LoggerFactory.getLogger(ReplaceByPatternServlet.class);
 
     private static final int DEFAULT_COMMIT_THRESHOLD = 1000;
+    private static final int DEFAULT_JOURNAL_RETENTION_DAYS = 30;
     private static final String LINK_PATTERN_PARAM = "pattern";
     private static final String REPLACEMENT_PARAM = "replacement";
     private static final String DRY_RUN_PARAM = "isDryRun";
     private static final String BACKUP_PARAM = "isBackup";
+    private static final String JOURNAL_BACKUP_PARAM = "isJournalBackup";
     private static final String OUTPUT_AS_CSV_PARAM = "isOutputAsCsv";
     private static final String ADVANCED_MODE_PARAM = "advancedMode";
     private static final String ITEMS_COUNT_RESP_PARAM = "updatedItemsCount";
@@ -101,6 +121,14 @@ public class ReplaceByPatternServlet extends SlingAllMethodsServlet {
     private static final String BACKUP_PACKAGE_VERSION = "1.0";
     private static final String SELECTED_PARAM = "selected";
     private static final String LINKS_PARAM = "links";
+    private static final String ASYNC_PARAM = "async";
+    private static final String JOB_ID_PARAM = "jobId";
+    private static final String STATUS_RESP_PARAM = "status";
+    private static final String TOTAL_RESP_PARAM = "total";
+    private static final String PROCESSED_RESP_PARAM = "processed";
+    private static final String ERROR_STATUS_RESP_PARAM = "errorStatus";
+    private static final String BACKUP_ID_RESP_PARAM = "backupId";
+    private static final int MAX_TRACKED_TASKS = 16;
 
     private static final String[] CSV_COLUMNS = {
             "Link",
@@ -124,10 +152,53 @@ public class ReplaceByPatternServlet extends SlingAllMethodsServlet {
 
     private int commitThreshold;
 
+    private int journalRetentionDays;
+
+    private transient volatile ExecutorService replacementExecutor;
+
+    private final transient Map<String, ReplacementTask> replacementTasks = Collections.synchronizedMap(new LinkedHashMap<>());
+
     @Activate
     @Modified
     void activate(Configuration configuration) {
         commitThreshold = configuration.commitThreshold();
+        journalRetentionDays = configuration.journalRetentionDays();
+        if (replacementExecutor == null) {
+            replacementExecutor = Executors.newSingleThreadExecutor();
+            finishAbandonedJournals();
+        }
+    }
+
+    @Override
+    protected void doGet(SlingHttpServletRequest request, SlingHttpServletResponse response) {
+        String jobId = ServletUtil.getRequestParamString(request, JOB_ID_PARAM);
+        ReplacementTask task = replacementTasks.get(jobId);
+        if (task == null || !StringUtils.equals(task.getUserId(), request.getResourceResolver().getUserID())) {
+            response.setStatus(HttpStatus.SC_NOT_FOUND);
+            LOG.debug("Replacement task {} is not found", jobId);
+            return;
+        }
+        if (task.isFinished()
+                && ServletUtil.getRequestParamBoolean(request, OUTPUT_AS_CSV_PARAM)
+                && !task.getUpdatedItems().isEmpty()) {
+            generateCsvOutput(task.getUpdatedItems(), response);
+            return;
+        }
+        JsonObjectBuilder jsonBuilder = Json.createObjectBuilder()
+                .add(JOB_ID_PARAM, task.getId())
+                .add(STATUS_RESP_PARAM, task.getState().toString())
+                .add(TOTAL_RESP_PARAM, task.getTotal())
+                .add(PROCESSED_RESP_PARAM, task.getProcessed());
+        if (task.isFinished()) {
+            jsonBuilder
+                    .add(ITEMS_COUNT_RESP_PARAM, task.getUpdatedItems().size())
+                    .add("updatedItems", updatedItemsToHtml(task.getUpdatedItems()))
+                    .add(ERROR_STATUS_RESP_PARAM, task.getErrorStatus());
+            if (task.getBackupId() != null) {
+                jsonBuilder.add(BACKUP_ID_RESP_PARAM, task.getBackupId());
+            }
+        }
+        ServletUtil.writeJsonResponse(response, jsonBuilder.build().toString());
     }
 
     @Override
@@ -137,9 +208,11 @@ public class ReplaceByPatternServlet extends SlingAllMethodsServlet {
         boolean isAdvancedMode = ServletUtil.getRequestParamBoolean(request, ADVANCED_MODE_PARAM);
         boolean isDryRun = ServletUtil.getRequestParamBoolean(request, DRY_RUN_PARAM);
         boolean isBackup = ServletUtil.getRequestParamBoolean(request, BACKUP_PARAM);
+        boolean isJournalBackup = ServletUtil.getRequestParamBoolean(request, JOURNAL_BACKUP_PARAM);
         boolean isOutputAsCsv = ServletUtil.getRequestParamBoolean(request, OUTPUT_AS_CSV_PARAM);
         List<String> selectedItemsProperties = ServletUtil.getRequestParamStringList(request, SELECTED_PARAM);
         List<String> selectedItemsLinks = ServletUtil.getRequestParamStringList(request, LINKS_PARAM);
+        boolean isAsync = ServletUtil.getRequestParamBoolean(request, ASYNC_PARAM);
 
         if (StringUtils.isBlank(replacement)) {
             response.setStatus(HttpStatus.SC_BAD_REQUEST);
@@ -158,120 +231,227 @@ public class ReplaceByPatternServlet extends SlingAllMethodsServlet {
             return;
         }
 
+        if (isAsync) {
+            submitReplacement(selectedItemsProperties, selectedItemsLinks, isDryRun, isBackup, isJournalBackup,
+                    isAdvancedMode, linkPattern, replacement, request, response);
+            return;
+        }
+
         StopWatch stopWatch = StopWatch.createStarted();
         LOG.info("Starting replacement by pattern, linkPattern: {}, replacement: {}", linkPattern, replacement);
+        ResourceResolver resourceResolver = request.getResourceResolver();
+        ReplacementTask task = new ReplacementTask(resourceResolver.getUserID(), isDryRun);
+        List<UpdatedItem> updatedItems;
         try {
-            ResourceResolver resourceResolver = request.getResourceResolver();
             List<GridResource> filteredGridResources = getFilteredGridResources(selectedItemsProperties, selectedItemsLinks);
-            List<UpdatedItem> updatedItems =
-                    processResources(filteredGridResources, isDryRun, isBackup, isAdvancedMode, linkPattern, replacement, resourceResolver);
-            if (CollectionUtils.isEmpty(updatedItems)) {
-                LOG.info("No links were updated, linkPattern: {}, replacement: {}", linkPattern, replacement);
-                response.setStatus(HttpStatus.SC_OK);
-                return;
-            }
-            if (!isDryRun) {
+            updatedItems = processResources(filteredGridResources, isDryRun, isBackup, isJournalBackup,
+                    isAdvancedMode, linkPattern, replacement, resourceResolver, task);
+            if (!isDryRun && CollectionUtils.isNotEmpty(updatedItems)) {
                 dataFeedService.modifyDataFeed(updatedItems, true);
+                if (!isDeactivated) {
+                    commitUpdatedItems(resourceResolver);
+                }
             }
-            outputUpdatedItems(updatedItems, isDryRun, isOutputAsCsv, linkPattern, replacement, resourceResolver, response);
-            stopWatch.stop();
-            LOG.info("Replacement by pattern is finished in {} ms", stopWatch.getTime(TimeUnit.MILLISECONDS));
         } catch (PersistenceException e) {
             LOG.error(String.format("Replacement failed, pattern: %s, replacement: %s", linkPattern, replacement), e);
             response.setStatus(HttpStatus.SC_INTERNAL_SERVER_ERROR);
+            return;
         } catch (IOException | RepositoryException | PackageException e) {
             LOG.error("Failed to create backup package, replacement by pattern was not applied", e);
             response.setStatus(HttpStatus.SC_FORBIDDEN);
+            return;
+        } finally {
+            finishJournal(task.getBackupId());
+        }
+        if (CollectionUtils.isEmpty(updatedItems)) {
+            LOG.info("No links were updated, linkPattern: {}, replacement: {}", linkPattern, replacement);
+            response.setStatus(HttpStatus.SC_OK);
+            return;
+        }
+        outputUpdatedItems(updatedItems, task.getBackupId(), isOutputAsCsv, linkPattern, replacement, response);
+        stopWatch.stop();
+        LOG.info("Replacement by pattern is finished in {} ms", stopWatch.getTime(TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * Starts tracking the task. Once the limit is reached, the finished tasks are evicted starting from the eldest one,
+     * while the queued and running tasks are never evicted, so that their progress can be polled till the end
+     *
+     * @return True if the task is tracked, or false if the limit is reached by the unfinished tasks
+     */
+    private boolean trackTask(ReplacementTask task) {
+        synchronized (replacementTasks) {
+            Iterator<ReplacementTask> iterator = replacementTasks.values().iterator();
+            while (replacementTasks.size() >= MAX_TRACKED_TASKS && iterator.hasNext()) {
+                if (iterator.next().isFinished()) {
+                    iterator.remove();
+                }
+            }
+            if (replacementTasks.size() >= MAX_TRACKED_TASKS) {
+                return false;
+            }
+            replacementTasks.put(task.getId(), task);
+            return true;
+        }
+    }
+
+    private void submitReplacement(List<String> selectedItemsProperties,
+                                   List<String> selectedItemsLinks,
+                                   boolean isDryRun,
+                                   boolean isBackup,
+                                   boolean isJournalBackup,
+                                   boolean isAdvancedMode,
+                                   String linkPattern,
+                                   String replacement,
+                                   SlingHttpServletRequest request,
+                                   SlingHttpServletResponse response) {
+        ResourceResolver resourceResolver;
+        try {
+            resourceResolver = request.getResourceResolver().clone(null);
+        } catch (LoginException e) {
+            LOG.error("Failed to obtain a resource resolver for the replacement by pattern", e);
+            response.setStatus(HttpStatus.SC_INTERNAL_SERVER_ERROR);
+            return;
+        }
+        ReplacementTask task = new ReplacementTask(resourceResolver.getUserID(), isDryRun);
+        if (!trackTask(task)) {
+            LOG.warn("The replacement by pattern was rejected, {} replacements are queued or running", MAX_TRACKED_TASKS);
+            resourceResolver.close();
+            response.setStatus(HttpStatus.SC_SERVICE_UNAVAILABLE);
+            return;
+        }
+        try {
+            replacementExecutor.execute(() -> runReplacement(task, selectedItemsProperties, selectedItemsLinks,
+                    isBackup, isJournalBackup, isAdvancedMode, linkPattern, replacement, resourceResolver));
+        } catch (RejectedExecutionException e) {
+            LOG.warn("The replacement by pattern was rejected, the service is being deactivated");
+            replacementTasks.remove(task.getId());
+            resourceResolver.close();
+            response.setStatus(HttpStatus.SC_SERVICE_UNAVAILABLE);
+            return;
+        }
+        String jsonResponse = Json.createObjectBuilder()
+                .add(JOB_ID_PARAM, task.getId())
+                .add(STATUS_RESP_PARAM, task.getState().toString())
+                .build()
+                .toString();
+        response.setStatus(HttpStatus.SC_ACCEPTED);
+        ServletUtil.writeJsonResponse(response, jsonResponse);
+    }
+
+    private void runReplacement(ReplacementTask task,
+                                List<String> selectedItemsProperties,
+                                List<String> selectedItemsLinks,
+                                boolean isBackup,
+                                boolean isJournalBackup,
+                                boolean isAdvancedMode,
+                                String linkPattern,
+                                String replacement,
+                                ResourceResolver resourceResolver) {
+        StopWatch stopWatch = StopWatch.createStarted();
+        LOG.info("Starting replacement by pattern {}, linkPattern: {}, replacement: {}", task.getId(), linkPattern, replacement);
+        List<UpdatedItem> updatedItems = null;
+        int errorStatus = HttpStatus.SC_INTERNAL_SERVER_ERROR;
+        try {
+            List<GridResource> filteredGridResources = getFilteredGridResources(selectedItemsProperties, selectedItemsLinks);
+            List<UpdatedItem> processedItems = processResources(filteredGridResources, task.isDryRun(), isBackup,
+                    isJournalBackup, isAdvancedMode, linkPattern, replacement, resourceResolver, task);
+            if (task.isDryRun()) {
+                resourceResolver.revert();
+            } else if (!processedItems.isEmpty()) {
+                dataFeedService.modifyDataFeed(processedItems, true);
+                commitUpdatedItems(resourceResolver);
+            }
+            updatedItems = processedItems;
+            stopWatch.stop();
+            LOG.info("Replacement by pattern {} is finished in {} ms, {} link(s) were updated",
+                    task.getId(), stopWatch.getTime(TimeUnit.MILLISECONDS), updatedItems.size());
+        } catch (PersistenceException | RuntimeException e) {
+            LOG.error(String.format("Replacement failed, pattern: %s, replacement: %s", linkPattern, replacement), e);
+        } catch (IOException | RepositoryException | PackageException e) {
+            LOG.error("Failed to create backup package, replacement by pattern was not applied", e);
+            errorStatus = HttpStatus.SC_FORBIDDEN;
+        } finally {
+            resourceResolver.close();
+        }
+        // The journal is finished before the task, so that the replacement can be undone as soon as it is reported
+        finishJournal(task.getBackupId());
+        if (updatedItems != null) {
+            task.complete(updatedItems, isDeactivated);
+        } else {
+            task.fail(errorStatus);
         }
     }
 
     private List<UpdatedItem> processResources(Collection<GridResource> gridResources,
                                            boolean isDryRun,
                                            boolean isBackup,
+                                           boolean isJournalBackup,
                                            boolean isAdvancedMode,
                                            String linkPattern,
                                            String replacement,
-                                           ResourceResolver resourceResolver)
+                                           ResourceResolver resourceResolver,
+                                           ReplacementTask task)
             throws IOException, RepositoryException, PackageException {
         Optional<Session> session = Optional.ofNullable(resourceResolver.adaptTo(Session.class));
         if (!session.isPresent()) {
             LOG.warn("Replacement failed, session is null. Pattern: {}, replacement: {}", linkPattern, replacement);
             return Collections.emptyList();
         }
-        List<GridResource> filteredGridResources = filterGridResources(gridResources, linkPattern, session.get());
+        Pattern pattern = Pattern.compile(linkPattern);
+        List<GridResource> filteredGridResources = filterGridResources(gridResources, pattern, session.get());
+        task.start(filteredGridResources.size());
         if (isBackup && !isDeactivated) {
             createBackupPackage(filteredGridResources, session.get());
         }
-        return replaceByPattern(filteredGridResources, isDryRun, isAdvancedMode, linkPattern, replacement, resourceResolver);
+        ReplacementJournal journal = null;
+        if (isJournalBackup && !isDryRun) {
+            removeExpiredJournals();
+            journal = new ReplacementJournal(task.getId(), task.getUserId(), linkPattern, replacement, repositoryHelper);
+        }
+        LinkReplacer linkReplacer = new LinkReplacer(linkHelper, isAdvancedMode ? pattern : null, replacement, isDryRun,
+                commitThreshold, journal);
+        try {
+            return linkReplacer.replace(filteredGridResources, resourceResolver, () -> isDeactivated, task::setProcessed);
+        } finally {
+            // The journal covers the committed chunks even if the replacement fails midway
+            if (journal != null && journal.isWritten()) {
+                task.setBackupId(journal.getId());
+            }
+        }
     }
 
     private List<GridResource> filterGridResources(Collection<GridResource> gridResources,
-                                                   String linkPattern,
+                                                   Pattern pattern,
                                                    Session session) {
-        Pattern pattern = Pattern.compile(linkPattern);
-        return gridResources.stream()
+        List<GridResource> matchingGridResources = gridResources.stream()
                 .filter(gridResource ->
                         StringUtils.isNoneBlank(gridResource.getValue(), gridResource.getResourcePath(), gridResource.getPropertyName())
                 )
                 .filter(gridResource -> pattern.matcher(gridResource.getValue()).find())
-                .filter(gridResource ->
-                        repositoryHelper.hasReadWritePermissions(session, gridResource.getResourcePath()))
                 .collect(Collectors.toList());
-    }
-
-    private List<UpdatedItem> replaceByPattern(Collection<GridResource> gridResources,
-                                           boolean isDryRun,
-                                           boolean isAdvancedMode,
-                                           String linkPattern,
-                                           String replacement,
-                                           ResourceResolver resourceResolver) throws PersistenceException {
-        List<UpdatedItem> updatedItems = new ArrayList<>();
-        for (GridResource gridResource : gridResources) {
-            if (isDeactivated) {
-                break;
-            }
-            String currentLink = gridResource.getValue();
-            String path = gridResource.getResourcePath();
-            String propertyName = gridResource.getPropertyName();
-            Optional<String> updated = Optional.of(isAdvancedMode ? currentLink.replaceAll(linkPattern, replacement) : replacement)
-                    .filter(updatedLink ->
-                            linkHelper.replaceLink(resourceResolver, path, propertyName, currentLink, updatedLink)
-                    );
-            if (updated.isPresent()) {
-                updatedItems.add(new UpdatedItem(currentLink, updated.get(), path, propertyName));
-                LOG.trace("The link was updated: location - {}@{}, currentLink - {}, updatedLink - {}",
-                        path, propertyName, currentLink, updated.get());
-                if (!isDryRun && updatedItems.size() % commitThreshold == 0) {
-                    resourceResolver.commit();
-                }
-            }
-        }
-        return updatedItems;
+        Map<String, Boolean> permissionsByPath = repositoryHelper.hasReadWritePermissions(session,
+                matchingGridResources.stream().map(GridResource::getResourcePath).collect(Collectors.toList()));
+        return matchingGridResources.stream()
+                .filter(gridResource -> permissionsByPath.getOrDefault(gridResource.getResourcePath(), false))
+                .collect(Collectors.toList());
     }
 
     private void outputUpdatedItems(List<UpdatedItem> updatedItems,
-                                    boolean isDryRun,
+                                    String backupId,
                                     boolean isOutputAsCsv,
                                     String linkPattern,
                                     String replacement,
-                                    ResourceResolver resourceResolver,
-                                    SlingHttpServletResponse response) throws PersistenceException {
+                                    SlingHttpServletResponse response) {
         if (isDeactivated) {
             LOG.info("The service has been deactivated, replacement by pattern might have been completed partially");
             response.setStatus(HttpStatus.SC_NO_CONTENT);
             return;
         }
-        if (!isDryRun) {
-            repositoryHelper.createResourceIfNotExist(DataFeedService.PENDING_GENERATION_NODE,
-                    JcrConstants.NT_UNSTRUCTURED, JcrResourceConstants.NT_SLING_FOLDER);
-            if (resourceResolver.hasChanges()) {
-                resourceResolver.commit();
-            }
-        }
         if (isOutputAsCsv) {
             generateCsvOutput(updatedItems, response);
         } else {
-            updatedItemsToResponse(updatedItems, response);
+            updatedItemsToResponse(updatedItems, backupId, response);
         }
         LOG.info("{} link(s) were updated, linkPattern: {}, replacement: {}",
                 updatedItems.size(),
@@ -279,6 +459,50 @@ public class ReplaceByPatternServlet extends SlingAllMethodsServlet {
                 replacement);
     }
 
+    private void commitUpdatedItems(ResourceResolver resourceResolver) throws PersistenceException {
+        repositoryHelper.createResourceIfNotExist(DataFeedService.PENDING_GENERATION_NODE,
+                JcrConstants.NT_UNSTRUCTURED, JcrResourceConstants.NT_SLING_FOLDER);
+        if (resourceResolver.hasChanges()) {
+            resourceResolver.commit();
+        }
+    }
+
+    private void finishJournal(String backupId) {
+        if (backupId == null) {
+            return;
+        }
+        try {
+            ReplacementJournal.finish(backupId, repositoryHelper);
+        } catch (PersistenceException e) {
+            LOG.error(String.format("Failed to finish the replacement journal %s", backupId), e);
+        }
+    }
+
+    private void finishAbandonedJournals() {
+        try {
+            int count = ReplacementJournal.finishAbandoned(repositoryHelper);
+            if (count > 0) {
+                LOG.info("{} replacement journal(s) left by the interrupted replacements are finished", count);
+            }
+        } catch (PersistenceException e) {
+            LOG.error("Failed to finish the replacement journals left by the interrupted replacements", e);
+        }
+    }
+
+    private void removeExpiredJournals() {
+        if (journalRetentionDays <= 0) {
+            return;
+        }
+        Calendar threshold = Calendar.getInstance();
+        threshold.add(Calendar.DAY_OF_MONTH, -journalRetentionDays);
+        try {
+            int count = ReplacementJournal.removeExpired(threshold, repositoryHelper);
+            LOG.debug("{} expired replacement journal(s) are removed", count);
+        } catch (PersistenceException e) {
+            LOG.error("Failed to remove the expired replacement journals", e);
+        }
+    }
+
     private void generateCsvOutput(List<UpdatedItem> linkDtos, SlingHttpServletResponse response) {
         StopWatch stopWatch = StopWatch.createStarted();
         LOG.debug("Starting CSV output generation, the number of updated items: {}", linkDtos.size());
@@ -344,7 +568,19 @@ public class ReplaceByPatternServlet extends SlingAllMethodsServlet {
         }
     }
 
-    private void updatedItemsToResponse(List<UpdatedItem> updatedItems, SlingHttpServletResponse response) {
+    private void updatedItemsToResponse(List<UpdatedItem> updatedItems,
+                                        String backupId,
+                                        SlingHttpServletResponse response) {
+        JsonObjectBuilder jsonBuilder = Json.createObjectBuilder()
+                .add(ITEMS_COUNT_RESP_PARAM, updatedItems.size())
+                .add("updatedItems", updatedItemsToHtml(updatedItems));
+        if (backupId != null) {
+            jsonBuilder.add(BACKUP_ID_RESP_PARAM, backupId);
+        }
+        ServletUtil.writeJsonResponse(response, jsonBuilder.build().toString());
+    }
+
+    private static String updatedItemsToHtml(List<UpdatedItem> updatedItems) {
         StringBuilder htmlListBuilder = new StringBuilder();
         htmlListBuilder.append("<ul>");
         for (UpdatedItem item : updatedItems) {
@@ -353,25 +589,19 @@ public class ReplaceByPatternServlet extends SlingAllMethodsServlet {
                     .append("</li>");
         }
         htmlListBuilder.append("</ul>");
-        String jsonResponse = Json.createObjectBuilder()
-                .add(ITEMS_COUNT_RESP_PARAM, updatedItems.size())
-                .add("updatedItems", htmlListBuilder.toString())
-                .build()
-                .toString();
-        ServletUtil.writeJsonResponse(response, jsonResponse);
+        return htmlListBuilder.toString();
     }
 
     private List<GridResource> getFilteredGridResources(List<String> selectedItemsProperties, List<String> selectedItemsLinks) {
-        return dataFeedService.dataFeedToGridResources()
-                .stream().filter(gridResource -> selectedItemsProperties.contains(String
-                        .format("%s@%s", gridResource.getResourcePath(), gridResource.getPropertyName())))
-                .filter(gridResource -> selectedItemsLinks.contains(gridResource.getValue()))
-                .collect(Collectors.toList());
+        return dataFeedService.getGridResources(selectedItemsProperties, selectedItemsLinks);
     }
 
     @Deactivate
     protected void deactivate() {
         isDeactivated = true;
+        if (replacementExecutor != null) {
+            replacementExecutor.shutdown();
+        }
         LOG.debug("ReplaceByPatternServlet - deactivated");
     }
 }
\ No newline at end of file
@@ -0,0 +1,346 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exadel.etoolbox.linkinspector.core.servlets;
+
+import com.day.crx.JcrConstants;
+import com.exadel.etoolbox.linkinspector.core.services.data.models.UpdatedItem;
+import com.exadel.etoolbox.linkinspector.core.services.helpers.RepositoryHelper;
+import lombok.Getter;
+import org.apache.sling.api.resource.ModifiableValueMap;
+import org.apache.sling.api.resource.PersistenceException;
+import org.apache.sling.api.resource.Resource;
+import org.apache.sling.api.resource.ResourceResolver;
+import org.apache.sling.api.resource.ResourceUtil;
+import org.apache.sling.api.resource.ValueMap;
+import org.apache.sling.jcr.resource.api.JcrResourceConstants;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Represents the lightweight backup of a replacement by pattern. Only the original and the replaced values of the
+ * modified properties, along with the links replaced within them, are recorded. The journal is stored under {@code /var} on behalf of the service user. Every chunk
+ * of the edits is appended to the journal as a separate node before the chunk is committed, so that the journal covers
+ * all the committed edits. The journal is marked as finished once the replacement is over, and only the finished
+ * journals can be undone. Undoing the replacement replays the journal and restores the recorded values of the properties
+ * which still hold the replaced values. The journals which are not undone are removed after the retention period
+ * <p><u>Note</u>: This class is not a part of the public API and is subject to change. Do not use it in your own code</p>
+ */
+final class ReplacementJournal {
+
+    static final String ROOT_PATH = "/var/etoolbox/link-inspector/backup";
+
+    private static final String PN_USER_ID = "userId";
+    private static final String PN_PATTERN = "pattern";
+    private static final String PN_REPLACEMENT = "replacement";
+    private static final String PN_CREATED = "created";
+    private static final String PN_PATHS = "paths";
+    private static final String PN_PROPERTY_NAMES = "propertyNames";
+    private static final String PN_VALUE_PREFIX = "value";
+    private static final String PN_REPLACED_VALUE_PREFIX = "replacedValue";
+    private static final String PN_CURRENT_LINKS_PREFIX = "currentLinks";
+    private static final String PN_UPDATED_LINKS_PREFIX = "updatedLinks";
+    private static final String PN_FINISHED = "finished";
+    private static final String CHUNK_NAME_FORMAT = "%010d";
+
+    @Getter
+    private final String id;
+    private final String userId;
+    private final String pattern;
+    private final String replacement;
+    private final RepositoryHelper repositoryHelper;
+
+    private int chunkCount;
+
+    /**
+     * Creates a new instance. The journal is stored in the repository once the first chunk is appended
+     *
+     * @param id               The id of the journal
+     * @param userId           The id of the user performing the replacement
+     * @param pattern          The pattern to be replaced
+     * @param replacement      The replacement
+     * @param repositoryHelper {@link RepositoryHelper} used to obtain the service resource resolver
+     */
+    ReplacementJournal(String id, String userId, String pattern, String replacement, RepositoryHelper repositoryHelper) {
+        this.id = id;
+        this.userId = userId;
+        this.pattern = pattern;
+        this.replacement = replacement;
+        this.repositoryHelper = repositoryHelper;
+    }
+
+    /**
+     * Gets whether at least one chunk is stored in the journal
+     */
+    boolean isWritten() {
+        return chunkCount > 0;
+    }
+
+    /**
+     * Appends a chunk of the original and replaced property values to the journal and commits it
+     *
+     * @param entries The values of the properties to be modified
+     * @throws PersistenceException if the chunk cannot be stored
+     */
+    void append(List<Entry> entries) throws PersistenceException {
+        if (entries.isEmpty()) {
+            return;
+        }
+        try (ResourceResolver serviceResourceResolver = getServiceResourceResolver(repositoryHelper)) {
+            Map<String, Object> chunk = new HashMap<>();
+            chunk.put(JcrConstants.JCR_PRIMARYTYPE, JcrConstants.NT_UNSTRUCTURED);
+            chunk.put(PN_PATHS, entries.stream().map(Entry::getPath).toArray(String[]::new));
+            chunk.put(PN_PROPERTY_NAMES, entries.stream().map(Entry::getPropertyName).toArray(String[]::new));
+            for (int i = 0; i < entries.size(); i++) {
+                Entry entry = entries.get(i);
+                chunk.put(PN_VALUE_PREFIX + i, entry.getOriginalValue());
+                chunk.put(PN_REPLACED_VALUE_PREFIX + i, entry.getReplacedValue());
+                if (!entry.getUpdatedItems().isEmpty()) {
+                    chunk.put(PN_CURRENT_LINKS_PREFIX + i,
+                            entry.getUpdatedItems().stream().map(UpdatedItem::getCurrentLink).toArray(String[]::new));
+                    chunk.put(PN_UPDATED_LINKS_PREFIX + i,
+                            entry.getUpdatedItems().stream().map(UpdatedItem::getUpdatedLink).toArray(String[]::new));
+                }
+            }
+            Resource journal = getOrCreateJournal(serviceResourceResolver);
+            serviceResourceResolver.create(journal, String.format(CHUNK_NAME_FORMAT, chunkCount + 1), chunk);
+            serviceResourceResolver.commit();
+            chunkCount++;
+        }
+    }
+
+    private Resource getOrCreateJournal(ResourceResolver resourceResolver) throws PersistenceException {
+        Resource journal = resourceResolver.getResource(ROOT_PATH + "/" + id);
+        if (journal != null) {
+            return journal;
+        }
+        Resource root = ResourceUtil.getOrCreateResource(
+                resourceResolver,
+                ROOT_PATH,
+                JcrResourceConstants.NT_SLING_FOLDER,
+                JcrResourceConstants.NT_SLING_FOLDER,
+                false);
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(JcrConstants.JCR_PRIMARYTYPE, JcrConstants.NT_UNSTRUCTURED);
+        properties.put(PN_USER_ID, userId);
+        properties.put(PN_PATTERN, pattern);
+        properties.put(PN_REPLACEMENT, replacement);
+        properties.put(PN_CREATED, Calendar.getInstance());
+        return resourceResolver.create(root, id, properties);
+    }
+
+    /**
+     * Marks the journal as finished, so that it can be undone. Does nothing if the journal does not exist
+     *
+     * @param id               The id of the journal
+     * @param repositoryHelper {@link RepositoryHelper} used to obtain the service resource resolver
+     * @throws PersistenceException if the journal cannot be updated
+     */
+    static void finish(String id, RepositoryHelper repositoryHelper) throws PersistenceException {
+        try (ResourceResolver serviceResourceResolver = getServiceResourceResolver(repositoryHelper)) {
+            Resource journal = serviceResourceResolver.getResource(ROOT_PATH + "/" + id);
+            ModifiableValueMap valueMap = journal != null ? journal.adaptTo(ModifiableValueMap.class) : null;
+            if (valueMap != null) {
+                valueMap.put(PN_FINISHED, true);
+                serviceResourceResolver.commit();
+            }
+        }
+    }
+
+    /**
+     * Marks all the unfinished journals as finished. Meant to be called when no replacement can be running, so that
+     * the journals of the replacements interrupted by a restart can be undone
+     *
+     * @param repositoryHelper {@link RepositoryHelper} used to obtain the service resource resolver
+     * @return The number of journals marked as finished
+     * @throws PersistenceException if the journals cannot be updated
+     */
+    static int finishAbandoned(RepositoryHelper repositoryHelper) throws PersistenceException {
+        try (ResourceResolver serviceResourceResolver = getServiceResourceResolver(repositoryHelper)) {
+            Resource root = serviceResourceResolver.getResource(ROOT_PATH);
+            if (root == null) {
+                return 0;
+            }
+            int count = 0;
+            for (Resource journal : root.getChildren()) {
+                ModifiableValueMap valueMap = journal.adaptTo(ModifiableValueMap.class);
+                if (valueMap != null && !valueMap.get(PN_FINISHED, false)) {
+                    valueMap.put(PN_FINISHED, true);
+                    count++;
+                }
+            }
+            if (serviceResourceResolver.hasChanges()) {
+                serviceResourceResolver.commit();
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Removes the journals created before the given moment
+     *
+     * @param threshold        The moment the journals created before are removed
+     * @param repositoryHelper {@link RepositoryHelper} used to obtain the service resource resolver
+     * @return The number of journals removed
+     * @throws PersistenceException if the journals cannot be removed
+     */
+    static int removeExpired(Calendar threshold, RepositoryHelper repositoryHelper) throws PersistenceException {
+        try (ResourceResolver serviceResourceResolver = getServiceResourceResolver(repositoryHelper)) {
+            Resource root = serviceResourceResolver.getResource(ROOT_PATH);
+            if (root == null) {
+                return 0;
+            }
+            List<Resource> expiredJournals = new ArrayList<>();
+            for (Resource journal : root.getChildren()) {
+                Calendar created = journal.getValueMap().get(PN_CREATED, Calendar.class);
+                if (created != null && created.before(threshold)) {
+                    expiredJournals.add(journal);
+                }
+            }
+            for (Resource journal : expiredJournals) {
+                serviceResourceResolver.delete(journal);
+            }
+            if (serviceResourceResolver.hasChanges()) {
+                serviceResourceResolver.commit();
+            }
+            return expiredJournals.size();
+        }
+    }
+
+    /**
+     * Gets whether the replacement recorded in the journal is over
+     *
+     * @param id               The id of the journal
+     * @param resourceResolver ResourceResolver used to read the journal
+     * @return True if the journal is marked as finished, false otherwise
+     */
+    static boolean isFinished(String id, ResourceResolver resourceResolver) {
+        Resource journal = resourceResolver.getResource(ROOT_PATH + "/" + id);
+        return journal != null && journal.getValueMap().get(PN_FINISHED, false);
+    }
+
+    /**
+     * Gets the id of the user who performed the replacement recorded in the journal
+     *
+     * @param id               The id of the journal
+     * @param resourceResolver ResourceResolver used to read the journal
+     * @return The user id, or null if the journal does not exist
+     */
+    static String getUserId(String id, ResourceResolver resourceResolver) {
+        Resource journal = resourceResolver.getResource(ROOT_PATH + "/" + id);
+        return journal != null ? journal.getValueMap().get(PN_USER_ID, String.class) : null;
+    }
+
+    /**
+     * Passes the chunks stored in the journal to the consumer in the order they were appended
+     *
+     * @param id               The id of the journal
+     * @param resourceResolver ResourceResolver used to read the journal
+     * @param consumer         Accepts the original and replaced property values of a chunk
+     * @return The number of chunks read
+     */
+    static int replay(String id, ResourceResolver resourceResolver, Consumer<List<Entry>> consumer) {
+        Resource journal = resourceResolver.getResource(ROOT_PATH + "/" + id);
+        if (journal == null) {
+            return 0;
+        }
+        int count = 0;
+        for (Resource chunk : journal.getChildren()) {
+            ValueMap valueMap = chunk.getValueMap();
+            String[] paths = valueMap.get(PN_PATHS, new String[0]);
+            String[] propertyNames = valueMap.get(PN_PROPERTY_NAMES, new String[0]);
+            int size = Math.min(paths.length, propertyNames.length);
+            List<Entry> entries = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                Object originalValue = valueMap.get(PN_VALUE_PREFIX + i);
+                if (originalValue != null) {
+                    entries.add(new Entry(paths[i], propertyNames[i], originalValue,
+                            valueMap.get(PN_REPLACED_VALUE_PREFIX + i),
+                            toUpdatedItems(paths[i], propertyNames[i], valueMap, i)));
+                }
+            }
+            consumer.accept(entries);
+            count++;
+        }
+        return count;
+    }
+
+    private static List<UpdatedItem> toUpdatedItems(String path, String propertyName, ValueMap valueMap, int index) {
+        String[] currentLinks = valueMap.get(PN_CURRENT_LINKS_PREFIX + index, new String[0]);
+        String[] updatedLinks = valueMap.get(PN_UPDATED_LINKS_PREFIX + index, new String[0]);
+        int size = Math.min(currentLinks.length, updatedLinks.length);
+        List<UpdatedItem> updatedItems = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            updatedItems.add(new UpdatedItem(currentLinks[i], updatedLinks[i], path, propertyName));
+        }
+        return updatedItems;
+    }
+
+    /**
+     * Removes the journal. The changes are not committed
+     *
+     * @param id               The id of the journal
+     * @param resourceResolver ResourceResolver used to remove the journal
+     * @throws PersistenceException if the journal cannot be removed
+     */
+    static void remove(String id, ResourceResolver resourceResolver) throws PersistenceException {
+        Resource journal = resourceResolver.getResource(ROOT_PATH + "/" + id);
+        if (journal != null) {
+            resourceResolver.delete(journal);
+        }
+    }
+
+    static ResourceResolver getServiceResourceResolver(RepositoryHelper repositoryHelper) throws PersistenceException {
+        ResourceResolver serviceResourceResolver = repositoryHelper.getServiceResourceResolver();
+        if (serviceResourceResolver == null) {
+            throw new PersistenceException("Failed to obtain the service resource resolver for the replacement journal");
+        }
+        return serviceResourceResolver;
+    }
+
+    /**
+     * Represents the original and the replaced values of a property modified by the replacement, and the links
+     * replaced within the property
+     */
+    @Getter
+    static final class Entry {
+        private final String path;
+        private final String propertyName;
+        private final Object originalValue;
+        private final Object replacedValue;
+        private final List<UpdatedItem> updatedItems;
+
+        Entry(String path, String propertyName, Object originalValue, Object replacedValue) {
+            this(path, propertyName, originalValue, replacedValue, Collections.emptyList());
+        }
+
+        Entry(String path,
+              String propertyName,
+              Object originalValue,
+              Object replacedValue,
+              List<UpdatedItem> updatedItems) {
+            this.path = path;
+            this.propertyName = propertyName;
+            this.originalValue = originalValue;
+            this.replacedValue = replacedValue;
+            this.updatedItems = updatedItems;
+        }
+    }
+}
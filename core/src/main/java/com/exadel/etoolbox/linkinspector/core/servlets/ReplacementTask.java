@@ -0,0 +1,81 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exadel.etoolbox.linkinspector.core.servlets;
+
+import com.exadel.etoolbox.linkinspector.core.services.data.models.UpdatedItem;
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Tracks a replacement by pattern running in the background, so that its progress and outcome can be requested
+ * while and after it runs
+ * <p><u>Note</u>: This class is not a part of the public API and is subject to change. Do not use it in your own code</p>
+ */
+@Getter
+final class ReplacementTask {
+
+    /**
+     * The states of a replacement task
+     */
+    enum State {
+        QUEUED, RUNNING, SUCCEEDED, FAILED, STOPPED
+    }
+
+    private final String id = UUID.randomUUID().toString();
+    private final String userId;
+    private final boolean isDryRun;
+
+    private volatile State state = State.QUEUED;
+    private volatile int total;
+    private volatile int processed;
+    private volatile int errorStatus;
+    private volatile String backupId;
+    private volatile List<UpdatedItem> updatedItems = Collections.emptyList();
+
+    ReplacementTask(String userId, boolean isDryRun) {
+        this.userId = userId;
+        this.isDryRun = isDryRun;
+    }
+
+    void start(int total) {
+        this.total = total;
+        this.state = State.RUNNING;
+    }
+
+    void setProcessed(int processed) {
+        this.processed = processed;
+    }
+
+    void setBackupId(String backupId) {
+        this.backupId = backupId;
+    }
+
+    void complete(List<UpdatedItem> updatedItems, boolean isStopped) {
+        this.updatedItems = Collections.unmodifiableList(updatedItems);
+        this.state = isStopped ? State.STOPPED : State.SUCCEEDED;
+    }
+
+    void fail(int errorStatus) {
+        this.errorStatus = errorStatus;
+        this.state = State.FAILED;
+    }
+
+    boolean isFinished() {
+        return state != State.QUEUED && state != State.RUNNING;
+    }
+}
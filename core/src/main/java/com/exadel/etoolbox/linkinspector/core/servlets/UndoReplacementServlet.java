@@ -0,0 +1,158 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exadel.etoolbox.linkinspector.core.servlets;
+
+import com.day.crx.JcrConstants;
+import com.exadel.etoolbox.linkinspector.core.services.data.DataFeedService;
+import com.exadel.etoolbox.linkinspector.core.services.data.models.UpdatedItem;
+import com.exadel.etoolbox.linkinspector.core.services.helpers.RepositoryHelper;
+import com.exadel.etoolbox.linkinspector.core.services.util.ServletUtil;
+import org.apache.commons.httpclient.HttpStatus;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.sling.api.SlingHttpServletRequest;
+import org.apache.sling.api.SlingHttpServletResponse;
+import org.apache.sling.api.resource.ModifiableValueMap;
+import org.apache.sling.api.resource.PersistenceException;
+import org.apache.sling.api.resource.ResourceResolver;
+import org.apache.sling.api.servlets.HttpConstants;
+import org.apache.sling.api.servlets.SlingAllMethodsServlet;
+import org.apache.sling.jcr.resource.api.JcrResourceConstants;
+import org.apache.sling.servlets.annotations.SlingServletResourceTypes;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.json.Json;
+import javax.json.JsonArrayBuilder;
+import javax.servlet.Servlet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Undoes a replacement by pattern performed with the lightweight backup. The journal of the property values is replayed
+ * on behalf of the requesting user, the restored values are committed in the same chunks they were recorded in, and
+ * the journal is removed afterwards. The links restored are reverted in the data feed the same way the replacement
+ * updated them. A property is restored only if it still holds the replaced value, otherwise it is
+ * reported as a conflict, so that the later edits are not overwritten. Only the user who performed the replacement is
+ * allowed to undo it, and only once the replacement is over.
+ * <p><u>Note</u>: This class is not a part of the public API and is subject to change. Do not use it in your own code</p>
+ */
+@Component(service = {Servlet.class})
+@SlingServletResourceTypes(
+        resourceTypes = "/bin/etoolbox/link-inspector/undo-replacement",
+        methods = HttpConstants.METHOD_POST
+)
+public class UndoReplacementServlet extends SlingAllMethodsServlet {
+    private static final Logger LOG = LoggerFactory.getLogger(UndoReplacementServlet.class);
+
+    private static final String BACKUP_ID_PARAM = "backupId";
+    private static final String RESTORED_ITEMS_COUNT_RESP_PARAM = "restoredItemsCount";
+    private static final String CONFLICTS_COUNT_RESP_PARAM = "conflictsCount";
+    private static final String CONFLICTS_RESP_PARAM = "conflicts";
+
+    @Reference
+    private transient RepositoryHelper repositoryHelper;
+
+    @Reference
+    private transient DataFeedService dataFeedService;
+
+    @Override
+    protected void doPost(SlingHttpServletRequest request, SlingHttpServletResponse response) {
+        String backupId = ServletUtil.getRequestParamString(request, BACKUP_ID_PARAM);
+        if (StringUtils.isBlank(backupId) || StringUtils.contains(backupId, "/")) {
+            response.setStatus(HttpStatus.SC_BAD_REQUEST);
+            LOG.warn("Request param is not valid: backupId - {}", backupId);
+            return;
+        }
+        ResourceResolver resourceResolver = request.getResourceResolver();
+        try (ResourceResolver serviceResourceResolver = ReplacementJournal.getServiceResourceResolver(repositoryHelper)) {
+            String userId = ReplacementJournal.getUserId(backupId, serviceResourceResolver);
+            if (userId == null || !userId.equals(resourceResolver.getUserID())) {
+                response.setStatus(HttpStatus.SC_NOT_FOUND);
+                LOG.warn("The replacement journal {} is not found", backupId);
+                return;
+            }
+            if (!ReplacementJournal.isFinished(backupId, serviceResourceResolver)) {
+                response.setStatus(HttpStatus.SC_CONFLICT);
+                LOG.warn("The replacement {} is still running and cannot be undone", backupId);
+                return;
+            }
+            List<List<ReplacementJournal.Entry>> chunks = new ArrayList<>();
+            ReplacementJournal.replay(backupId, serviceResourceResolver, chunks::add);
+            int restoredCount = 0;
+            List<ReplacementJournal.Entry> conflicts = new ArrayList<>();
+            List<UpdatedItem> revertedItems = new ArrayList<>();
+            for (List<ReplacementJournal.Entry> chunk : chunks) {
+                List<ReplacementJournal.Entry> restored = restore(chunk, resourceResolver, conflicts);
+                if (resourceResolver.hasChanges()) {
+                    resourceResolver.commit();
+                }
+                restoredCount += restored.size();
+                restored.forEach(entry -> entry.getUpdatedItems().forEach(updatedItem -> revertedItems.add(new UpdatedItem(
+                        updatedItem.getUpdatedLink(),
+                        updatedItem.getCurrentLink(),
+                        updatedItem.getPath(),
+                        updatedItem.getPropertyName()))));
+            }
+            dataFeedService.modifyDataFeed(revertedItems, true);
+            repositoryHelper.createResourceIfNotExist(DataFeedService.PENDING_GENERATION_NODE,
+                    JcrConstants.NT_UNSTRUCTURED, JcrResourceConstants.NT_SLING_FOLDER);
+            ReplacementJournal.remove(backupId, serviceResourceResolver);
+            serviceResourceResolver.commit();
+            LOG.info("The replacement {} is undone, {} value(s) were restored, {} value(s) were modified afterwards",
+                    backupId, restoredCount, conflicts.size());
+
+            JsonArrayBuilder conflictsBuilder = Json.createArrayBuilder();
+            conflicts.forEach(entry -> conflictsBuilder.add(entry.getPath() + "@" + entry.getPropertyName()));
+            String jsonResponse = Json.createObjectBuilder()
+                    .add(RESTORED_ITEMS_COUNT_RESP_PARAM, restoredCount)
+                    .add(CONFLICTS_COUNT_RESP_PARAM, conflicts.size())
+                    .add(CONFLICTS_RESP_PARAM, conflictsBuilder)
+                    .build()
+                    .toString();
+            ServletUtil.writeJsonResponse(response, jsonResponse);
+        } catch (PersistenceException e) {
+            LOG.error(String.format("Failed to undo the replacement %s", backupId), e);
+            response.setStatus(HttpStatus.SC_INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    private static List<ReplacementJournal.Entry> restore(List<ReplacementJournal.Entry> entries,
+                                                          ResourceResolver resourceResolver,
+                                                          List<ReplacementJournal.Entry> conflicts) {
+        List<ReplacementJournal.Entry> restored = new ArrayList<>();
+        for (ReplacementJournal.Entry entry : entries) {
+            Optional<ModifiableValueMap> valueMap = Optional.ofNullable(resourceResolver.getResource(entry.getPath()))
+                    .map(resource -> resource.adaptTo(ModifiableValueMap.class));
+            if (!valueMap.isPresent()) {
+                LOG.warn("The resource {} cannot be modified, the value of {} is not restored",
+                        entry.getPath(), entry.getPropertyName());
+                continue;
+            }
+            if (!Objects.deepEquals(valueMap.get().get(entry.getPropertyName()), entry.getReplacedValue())) {
+                LOG.warn("The value of {}@{} was modified after the replacement and is not restored",
+                        entry.getPath(), entry.getPropertyName());
+                conflicts.add(entry);
+                continue;
+            }
+            valueMap.get().put(entry.getPropertyName(), entry.getOriginalValue());
+            restored.add(entry);
+        }
+        return restored;
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exadel.etoolbox.linkinspector.api;
+
+import com.exadel.etoolbox.linkinspector.core.models.LinkResult;
+import org.apache.sling.api.resource.ResourceResolver;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class ResolverTest {
+
+    @Test
+    void testValidateAll() {
+        Resolver resolver = mock(Resolver.class, CALLS_REAL_METHODS);
+        ResourceResolver resourceResolver = mock(ResourceResolver.class);
+        Result first = new LinkResult("Test", "/content/first");
+        Result second = new LinkResult("Test", "/content/second");
+
+        resolver.validateAll(Arrays.asList(first, second), resourceResolver);
+
+        verify(resolver).validate(first, resourceResolver);
+        verify(resolver).validate(second, resourceResolver);
+        verify(resolver, times(2)).validate(any(), any());
+    }
+}
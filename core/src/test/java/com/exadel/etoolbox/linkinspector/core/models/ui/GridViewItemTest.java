@@ -193,6 +193,35 @@ public class GridViewItemTest {
         assertNull(context.resourceResolver().getResource(viewItem.getResourcePath()));
     }
 
+    @Test
+    void testStoredDetails() {
+        GridResource gridResourceModel = GridResource
+                .builder()
+                .resourcePath(TEST_RESOURCE_PATH)
+                .propertyName(TEST_PROPERTY)
+                .value(TEST_BROKEN_LINK_HREF)
+                .type(TEST_BROKEN_LINK_TYPE)
+                .statusCode(HttpStatus.SC_NOT_FOUND)
+                .pagePath(TEST_PAGE_PATH)
+                .pageTitle(TEST_PAGE_NAME)
+                .componentName(TEST_COMPONENT_NAME)
+                .componentType(TEST_COMPONENT_TYPE)
+                .build();
+        viewItem = context
+                .create()
+                .resource(TEST_GRID_RESOURCE_PATH, gridResourceModel.toMap())
+                .adaptTo(GridViewItem.class);
+
+        assertNotNull(viewItem);
+        assertNull(context.resourceResolver().getResource(TEST_RESOURCE_PATH));
+        assertTrue(viewItem.isValidPage());
+        assertEquals(EDITOR_LINK + TEST_PAGE_PATH + HTML_EXTENSION, viewItem.getPagePath());
+        assertEquals(TEST_PAGE_NAME, viewItem.getPageTitle());
+        assertEquals(TEST_COMPONENT_NAME, viewItem.getComponentName());
+        assertEquals(TEST_COMPONENT_TYPE, viewItem.getComponentType());
+        assertEquals(TEST_RESOURCE_PATH_ENCODED, viewItem.getComponentPath());
+    }
+
     private void setupFullParamSet() {
         createComponentResource();
         setupPageAndResource();
@@ -54,6 +54,8 @@ class StatsModalTest {
     private static final String EXPECTED_STATUS_CODES = "400, 404";
 
     private static final String[] TEST_STATISTICS = new String[] {"External: 100/1", "Internal: 20/8"};
+    private static final String[] TEST_STATUS_CODE_STATISTICS = new String[] {"200: 112", "404: 8"};
+    private static final String[] TEST_HOST_STATISTICS = new String[] {"example.com: 5", "example.org: 3"};
 
     private static final String ALL_STATUS_CODES_MSG = "All error codes outside the range '200-207'";
 
@@ -82,6 +84,8 @@ class StatsModalTest {
         assertNull(model.getExcludeTags());
         assertEquals(StringUtils.EMPTY, model.getAllowedStatusCodes());
         assertTrue(MapUtils.isEmpty(model.getStatistics()));
+        assertTrue(MapUtils.isEmpty(model.getStatusCodeStatistics()));
+        assertTrue(MapUtils.isEmpty(model.getHostStatistics()));
     }
 
     @Test
@@ -102,6 +106,8 @@ class StatsModalTest {
         stats.put(GenerationStatsProps.PN_ALLOWED_STATUS_CODES, TEST_STATUS_CODES);
 
         stats.put(GenerationStatsProps.PN_STATISTICS, TEST_STATISTICS);
+        stats.put(GenerationStatsProps.PN_STATUS_CODE_STATISTICS, TEST_STATUS_CODE_STATISTICS);
+        stats.put(GenerationStatsProps.PN_HOST_STATISTICS, TEST_HOST_STATISTICS);
 
         Resource statsResource = context.create().resource(TEST_RESOURCE_PATH, stats);
 
@@ -117,6 +123,8 @@ class StatsModalTest {
         assertEquals(TEST_EXCLUDE_TAGS, model.getExcludeTags());
         assertEquals(EXPECTED_STATUS_CODES, model.getAllowedStatusCodes());
         assertEquals(2, model.getStatistics().size());
+        assertEquals(" 8", model.getStatusCodeStatistics().get("404"));
+        assertEquals(" 5", model.getHostStatistics().get("example.com"));
     }
 
     @Test
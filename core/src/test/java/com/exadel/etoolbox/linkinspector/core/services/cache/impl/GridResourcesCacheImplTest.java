@@ -0,0 +1,198 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exadel.etoolbox.linkinspector.core.services.cache.impl;
+
+import com.exadel.etoolbox.linkinspector.api.Status;
+import com.exadel.etoolbox.linkinspector.core.models.LinkResult;
+import com.exadel.etoolbox.linkinspector.core.services.data.models.DataFilter;
+import com.exadel.etoolbox.linkinspector.core.services.data.models.GridResource;
+import org.apache.http.HttpStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GridResourcesCacheImplTest {
+
+    private final GridResourcesCacheImpl fixture = new GridResourcesCacheImpl();
+
+    @BeforeEach
+    void setup() {
+        fixture.setGridResourcesList(Arrays.asList(
+                buildGridResource("external", "https://example.com/page", HttpStatus.SC_NOT_FOUND, "/content/site/page1"),
+                buildGridResource("internal", "/content/site/missing", HttpStatus.SC_NOT_FOUND, "/content/site/page2"),
+                buildGridResource("external", "https://example.org/page", HttpStatus.SC_BAD_GATEWAY, "/content/site-2/page"),
+                buildGridResource("external", "https://example.com/page", HttpStatus.SC_NOT_FOUND, "/content/site")
+        ));
+    }
+
+    @Test
+    void testQuery_noFilter() {
+        List<GridResource> page = new ArrayList<>();
+        assertEquals(4, fixture.query(new DataFilter(), 1, 2, page::add));
+        assertEquals(Arrays.asList("/content/site/page2", "/content/site-2/page"), toPaths(page));
+    }
+
+    @Test
+    void testQuery_byTypeAndSubstring() {
+        List<GridResource> page = new ArrayList<>();
+        assertEquals(2, fixture.query(new DataFilter("EXTERNAL", "example.com"), 0, 10, page::add));
+        assertEquals(Arrays.asList("/content/site/page1", "/content/site"), toPaths(page));
+
+        page.clear();
+        assertEquals(3, fixture.query(new DataFilter(null, "/p"), 0, 10, page::add));
+        assertEquals(0, fixture.query(new DataFilter(null, "example.net"), 0, 10, page::add));
+    }
+
+    @Test
+    void testQuery_byStatusCodeAndPath() {
+        List<GridResource> page = new ArrayList<>();
+        assertEquals(1, fixture.query(new DataFilter(null, null, HttpStatus.SC_BAD_GATEWAY, null), 0, 10, page::add));
+        assertEquals(Arrays.asList("/content/site-2/page"), toPaths(page));
+
+        page.clear();
+        assertEquals(3, fixture.query(new DataFilter(null, null, 0, "/content/site/"), 0, 10, page::add));
+        assertEquals(Arrays.asList("/content/site/page1", "/content/site/page2", "/content/site"), toPaths(page));
+
+        page.clear();
+        assertEquals(3, fixture.query(new DataFilter(null, null, HttpStatus.SC_NOT_FOUND, "/content/site"), 1, 0, page::add));
+        assertTrue(page.isEmpty());
+    }
+
+    @Test
+    void testQuery_matchesFilterValidation() {
+        List<DataFilter> filters = Arrays.asList(
+                new DataFilter("internal", null),
+                new DataFilter(null, "com/"),
+                new DataFilter("external", "org", HttpStatus.SC_BAD_GATEWAY, "/content"),
+                new DataFilter(null, "e", HttpStatus.SC_NOT_FOUND, "/content/site/page1")
+        );
+        for (DataFilter filter : filters) {
+            List<GridResource> page = new ArrayList<>();
+            int total = fixture.query(filter, 0, Integer.MAX_VALUE, page::add);
+            List<GridResource> expected = fixture.getGridResourcesList()
+                    .stream()
+                    .filter(filter::validate)
+                    .collect(Collectors.toList());
+            assertEquals(expected.size(), total);
+            assertEquals(expected, page);
+        }
+    }
+
+    @Test
+    void testQuery_updatedReport() {
+        DataFilter filter = new DataFilter("internal", null);
+        assertEquals(1, fixture.query(filter, 0, 10, item -> {}));
+        assertEquals(1, fixture.query(filter, 0, 10, item -> {}));
+
+        fixture.setGridResourcesList(Arrays.asList(
+                buildGridResource("internal", "/content/site/page3", HttpStatus.SC_NOT_FOUND, "/content/site/page1"),
+                buildGridResource("internal", "/content/site/page4", HttpStatus.SC_NOT_FOUND, "/content/site/page2")
+        ));
+        List<GridResource> page = new ArrayList<>();
+        assertEquals(2, fixture.query(filter, 1, 10, page::add));
+        assertEquals(Arrays.asList("/content/site/page2"), toPaths(page));
+    }
+
+    @Test
+    void testGetGridResources() {
+        assertEquals(Arrays.asList("/content/site"), toPaths(fixture.getGridResources("/content/site", "link")));
+        assertEquals(Arrays.asList("/content/site/page2"), toPaths(fixture.getGridResources("/content/site/page2", "link")));
+        assertTrue(fixture.getGridResources("/content/site", "text").isEmpty());
+        assertTrue(fixture.getGridResources("/content/site/page3", "link").isEmpty());
+    }
+
+    @Test
+    void testReplaceGridResources() {
+        List<GridResource> gridResources = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            gridResources.add(buildGridResource("external", "https://example.com/page" + i, HttpStatus.SC_NOT_FOUND, "/content/site/page" + i));
+        }
+        fixture.setGridResourcesList(gridResources);
+        DataFilter filter = new DataFilter("external", "example.com/page1", HttpStatus.SC_NOT_FOUND, "/content/site");
+        assertEquals(11, fixture.query(filter, 0, Integer.MAX_VALUE, item -> {}));
+
+        GridResource original = fixture.getGridResources("/content/site/page1", "link").get(0);
+        GridResource replacement = original.copy();
+        replacement.setResult(new LinkResult("internal", "/content/site/page1", new Status(0, "Modified")));
+        List<GridResource> snapshot = fixture.getGridResourcesList();
+        fixture.replaceGridResources(Collections.singletonMap(original, replacement));
+
+        assertSame(original, snapshot.get(1));
+        assertSame(replacement, fixture.getGridResourcesList().get(1));
+        assertEquals(Collections.singletonList(replacement), fixture.getGridResources("/content/site/page1", "link"));
+        assertQueryMatchesValidation(Arrays.asList(
+                filter,
+                new DataFilter("internal", null),
+                new DataFilter(null, "/content/site/page1", 0, "/content/site/page1"),
+                new DataFilter(null, null, HttpStatus.SC_NOT_FOUND, null)));
+
+        Map<GridResource, GridResource> replacements = new IdentityHashMap<>();
+        for (int i = 10; i < 13; i++) {
+            GridResource gridResource = fixture.getGridResourcesList().get(i);
+            GridResource copy = gridResource.copy();
+            copy.setValue("https://example.org/page" + i);
+            replacements.put(gridResource, copy);
+        }
+        replacements.put(buildGridResource("external", "https://example.com/page1", HttpStatus.SC_NOT_FOUND, "/content/site/page1"), replacement);
+        fixture.replaceGridResources(replacements);
+
+        assertEquals(20, fixture.getGridResourcesList().size());
+        assertEquals("https://example.org/page11", fixture.getGridResourcesList().get(11).getValue());
+        assertQueryMatchesValidation(Arrays.asList(
+                filter,
+                new DataFilter(null, "example.org"),
+                new DataFilter("internal", null)));
+    }
+
+    @Test
+    void testClearCache() {
+        fixture.clearCache();
+
+        assertTrue(fixture.getGridResourcesList().isEmpty());
+        assertEquals(0, fixture.query(new DataFilter(), 0, 10, item -> {}));
+    }
+
+    private void assertQueryMatchesValidation(List<DataFilter> filters) {
+        for (DataFilter filter : filters) {
+            List<GridResource> page = new ArrayList<>();
+            int total = fixture.query(filter, 0, Integer.MAX_VALUE, page::add);
+            List<GridResource> expected = fixture.getGridResourcesList()
+                    .stream()
+                    .filter(filter::validate)
+                    .collect(Collectors.toList());
+            assertEquals(expected.size(), total);
+            assertEquals(expected, page);
+        }
+    }
+
+    private static GridResource buildGridResource(String type, String link, int statusCode, String path) {
+        return new GridResource(new LinkResult(type, link, new Status(statusCode, "Test")), path, "link", "test/grid");
+    }
+
+    private static List<String> toPaths(List<GridResource> gridResources) {
+        return gridResources.stream().map(GridResource::getResourcePath).collect(Collectors.toList());
+    }
+}
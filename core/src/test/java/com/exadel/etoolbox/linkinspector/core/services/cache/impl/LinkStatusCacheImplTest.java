@@ -0,0 +1,116 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exadel.etoolbox.linkinspector.core.services.cache.impl;
+
+import com.exadel.etoolbox.linkinspector.api.Status;
+import com.exadel.etoolbox.linkinspector.core.services.helpers.RepositoryHelper;
+import com.exadel.etoolbox.linkinspector.core.services.mocks.MockRepositoryHelper;
+import io.wcm.testing.mock.aem.junit5.AemContext;
+import io.wcm.testing.mock.aem.junit5.AemContextExtension;
+import junitx.util.PrivateAccessor;
+import org.apache.http.HttpStatus;
+import org.apache.sling.testing.mock.sling.ResourceResolverType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.Collections;
+import java.util.HashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(AemContextExtension.class)
+class LinkStatusCacheImplTest {
+    private static final String CACHE_PATH = "/var/etoolbox/link-inspector/data/link-status-cache.json";
+    private static final String TEST_URL = "HTTPS://Example.com:443/path?query=1#fragment";
+    private static final String TEST_NORMALIZED_URL = "https://example.com/path?query=1";
+
+    private final AemContext context = new AemContext(ResourceResolverType.JCR_MOCK);
+
+    private LinkStatusCacheImpl fixture;
+
+    @BeforeEach
+    void setup() {
+        context.registerInjectActivateService(new MockRepositoryHelper(context.resourceResolver()));
+        fixture = context.registerInjectActivateService(
+                new LinkStatusCacheImpl(),
+                new HashMap<String, Object>() {{
+                    put("enabled", true);
+                }}
+        );
+    }
+
+    @Test
+    void testNormalize() {
+        assertEquals(TEST_NORMALIZED_URL, LinkStatusCacheImpl.normalize(TEST_URL));
+        assertEquals("http://example.com/", LinkStatusCacheImpl.normalize("http://EXAMPLE.com"));
+        assertEquals("www.example.com", LinkStatusCacheImpl.normalize(" www.example.com "));
+    }
+
+    @Test
+    void testGet_cachedStatus() {
+        fixture.put(TEST_URL, new Status(HttpStatus.SC_NOT_FOUND, "Not Found"));
+
+        Status cachedStatus = fixture.get(TEST_NORMALIZED_URL);
+        assertNotNull(cachedStatus);
+        assertEquals(HttpStatus.SC_NOT_FOUND, cachedStatus.getCode());
+    }
+
+    @Test
+    void testPut_timeoutNotCached() {
+        fixture.put(TEST_URL, new Status(HttpStatus.SC_REQUEST_TIMEOUT, "Request Timeout"));
+        fixture.put(TEST_URL, new Status(HttpStatus.SC_SERVICE_UNAVAILABLE, "Service Unavailable"));
+
+        assertNull(fixture.get(TEST_URL));
+    }
+
+    @Test
+    void testGet_disabled() {
+        fixture = context.registerInjectActivateService(new LinkStatusCacheImpl(), Collections.emptyMap());
+        fixture.put(TEST_URL, Status.OK);
+
+        assertNull(fixture.get(TEST_URL));
+    }
+
+    @Test
+    void testGet_nullResourceResolverNotRetried() throws NoSuchFieldException {
+        RepositoryHelper repositoryHelper = mock(RepositoryHelper.class);
+        PrivateAccessor.setField(fixture, "repositoryHelper", repositoryHelper);
+
+        assertNull(fixture.get(TEST_URL));
+        assertNull(fixture.get(TEST_URL));
+        fixture.persist();
+
+        verify(repositoryHelper, times(1)).getServiceResourceResolver();
+    }
+
+    @Test
+    void testPersist() {
+        fixture.put(TEST_URL, Status.OK);
+        fixture.persist();
+        assertNotNull(context.resourceResolver().getResource(CACHE_PATH));
+
+        LinkStatusCacheImpl reloaded = context.registerInjectActivateService(
+                new LinkStatusCacheImpl(),
+                Collections.singletonMap("enabled", true)
+        );
+        assertEquals(Status.OK, reloaded.get(TEST_URL));
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exadel.etoolbox.linkinspector.core.services.data.impl;
+
+import com.exadel.etoolbox.linkinspector.core.services.data.ConfigService;
+import com.exadel.etoolbox.linkinspector.core.services.helpers.RepositoryHelper;
+import com.exadel.etoolbox.linkinspector.core.services.mocks.MockRepositoryHelper;
+import io.wcm.testing.mock.aem.junit5.AemContext;
+import io.wcm.testing.mock.aem.junit5.AemContextExtension;
+import org.apache.sling.api.resource.ModifiableValueMap;
+import org.apache.sling.api.resource.PersistenceException;
+import org.apache.sling.api.resource.observation.ResourceChange;
+import org.apache.sling.testing.mock.sling.ResourceResolverType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.osgi.service.cm.ConfigurationAdmin;
+
+import java.io.IOException;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@ExtendWith(AemContextExtension.class)
+class ConfigResourceListenerImplTest {
+    private static final String PN_THREADS_PER_CORE = "threadsPerCore";
+    private static final String TEST_PID = "com.exadel.etoolbox.linkinspector.test";
+    private static final String TEST_PROPERTY = "enabled";
+
+    private final AemContext context = new AemContext(ResourceResolverType.JCR_MOCK);
+
+    private ConfigService configService;
+
+    private ConfigResourceListenerImpl fixture;
+
+    @BeforeEach
+    void setup() {
+        context.create().resource(ConfigServiceImpl.CONFIG_PATH, PN_THREADS_PER_CORE, 10);
+        context.registerService(RepositoryHelper.class, new MockRepositoryHelper(context.resourceResolver()));
+        configService = context.registerInjectActivateService(new ConfigServiceImpl());
+        fixture = context.registerInjectActivateService(new ConfigResourceListenerImpl());
+    }
+
+    @Test
+    void testSettingsChanged() throws PersistenceException {
+        assertEquals(10, configService.getThreadsPerCore());
+        context.resourceResolver()
+                .getResource(ConfigServiceImpl.CONFIG_PATH)
+                .adaptTo(ModifiableValueMap.class)
+                .put(PN_THREADS_PER_CORE, 20);
+        context.resourceResolver().commit();
+
+        fixture.onChange(Collections.singletonList(
+                new ResourceChange(ResourceChange.ChangeType.CHANGED, ConfigServiceImpl.CONFIG_PATH, false)));
+
+        assertEquals(20, configService.getThreadsPerCore());
+    }
+
+    @Test
+    void testOsgiConfigurationChanged() throws IOException {
+        String path = ConfigServiceImpl.CONFIG_PATH + "/" + TEST_PID;
+        context.create().resource(path, TEST_PROPERTY, true);
+
+        fixture.onChange(Collections.singletonList(
+                new ResourceChange(ResourceChange.ChangeType.ADDED, path, false)));
+
+        ConfigurationAdmin configurationAdmin = context.getService(ConfigurationAdmin.class);
+        assertEquals(true, configurationAdmin.getConfiguration(TEST_PID).getProperties().get(TEST_PROPERTY));
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exadel.etoolbox.linkinspector.core.services.data.impl;
+
+import com.exadel.etoolbox.linkinspector.core.services.helpers.RepositoryHelper;
+import com.exadel.etoolbox.linkinspector.core.services.mocks.MockRepositoryHelper;
+import io.wcm.testing.mock.aem.junit5.AemContext;
+import io.wcm.testing.mock.aem.junit5.AemContextExtension;
+import org.apache.sling.api.resource.ModifiableValueMap;
+import org.apache.sling.api.resource.PersistenceException;
+import org.apache.sling.testing.mock.sling.ResourceResolverType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(AemContextExtension.class)
+class ConfigServiceImplTest {
+    private static final String PN_THREADS_PER_CORE = "threadsPerCore";
+
+    private final AemContext context = new AemContext(ResourceResolverType.JCR_MOCK);
+
+    private RepositoryHelper repositoryHelper;
+
+    private ConfigServiceImpl fixture;
+
+    @BeforeEach
+    void setup() {
+        context.create().resource(ConfigServiceImpl.CONFIG_PATH, PN_THREADS_PER_CORE, 10);
+        repositoryHelper = spy(new MockRepositoryHelper(context.resourceResolver()));
+        context.registerService(RepositoryHelper.class, repositoryHelper);
+        fixture = context.registerInjectActivateService(new ConfigServiceImpl());
+    }
+
+    @Test
+    void testPropertiesCached() throws PersistenceException {
+        assertEquals(10, fixture.getThreadsPerCore());
+        setThreadsPerCore(20);
+
+        assertEquals(10, fixture.getThreadsPerCore());
+        assertEquals(10, fixture.getThreadsPerCore());
+        verify(repositoryHelper, times(1)).getServiceResourceResolver();
+    }
+
+    @Test
+    void testInvalidate() throws PersistenceException {
+        assertEquals(10, fixture.getThreadsPerCore());
+        setThreadsPerCore(20);
+
+        fixture.invalidate();
+
+        assertEquals(20, fixture.getThreadsPerCore());
+        assertEquals(20, fixture.getThreadsPerCore());
+        verify(repositoryHelper, times(2)).getServiceResourceResolver();
+    }
+
+    @Test
+    void testInvalidateWhileReading() throws PersistenceException {
+        doAnswer(invocation -> {
+            // The configuration changes after the reading has started
+            Object resourceResolver = invocation.callRealMethod();
+            fixture.invalidate();
+            return resourceResolver;
+        }).doCallRealMethod().when(repositoryHelper).getServiceResourceResolver();
+
+        assertEquals(10, fixture.getThreadsPerCore());
+        setThreadsPerCore(20);
+
+        assertEquals(20, fixture.getThreadsPerCore());
+        verify(repositoryHelper, times(2)).getServiceResourceResolver();
+    }
+
+    private void setThreadsPerCore(int value) throws PersistenceException {
+        context.resourceResolver()
+                .getResource(ConfigServiceImpl.CONFIG_PATH)
+                .adaptTo(ModifiableValueMap.class)
+                .put(PN_THREADS_PER_CORE, value);
+        context.resourceResolver().commit();
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exadel.etoolbox.linkinspector.core.services.data.impl;
+
+import org.apache.sling.api.resource.observation.ResourceChange;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class ContentChangeTrackerImplTest {
+
+    private static final String SEARCH_PATH = "/content/site";
+
+    private final ContentChangeTrackerImpl fixture = new ContentChangeTrackerImpl();
+
+    @BeforeEach
+    void setup() {
+        fixture.reset();
+    }
+
+    @Test
+    void testPollChangedPaths() {
+        fixture.onChange(Arrays.asList(
+                change(ResourceChange.ChangeType.CHANGED, "/content/site/en/jcr:content/root/text"),
+                change(ResourceChange.ChangeType.CHANGED, "/content/site/en/jcr:content"),
+                change(ResourceChange.ChangeType.ADDED, "/content/site/de"),
+                change(ResourceChange.ChangeType.ADDED, "/content/site/de/jcr:content"),
+                change(ResourceChange.ChangeType.REMOVED, "/content/other/page")
+        ));
+
+        Set<String> expected = new HashSet<>(Arrays.asList("/content/site/en/jcr:content", "/content/site/de"));
+        assertEquals(Optional.of(expected), fixture.pollChangedPaths(SEARCH_PATH));
+        assertEquals(Optional.of(Collections.emptySet()), fixture.pollChangedPaths(SEARCH_PATH));
+    }
+
+    @Test
+    void testRestoreChangedPaths() {
+        fixture.onChange(Collections.singletonList(
+                change(ResourceChange.ChangeType.CHANGED, "/content/site/en/jcr:content/root/text")));
+        Set<String> polledPaths = fixture.pollChangedPaths(SEARCH_PATH).orElseThrow(IllegalStateException::new);
+        fixture.onChange(Collections.singletonList(
+                change(ResourceChange.ChangeType.CHANGED, "/content/site/fr/jcr:content/root/text")));
+
+        fixture.restoreChangedPaths(polledPaths);
+
+        Set<String> expected = new HashSet<>(Arrays.asList("/content/site/en/jcr:content", "/content/site/fr/jcr:content"));
+        assertEquals(Optional.of(expected), fixture.pollChangedPaths(SEARCH_PATH));
+    }
+
+    @Test
+    void testRestoreChangedPaths_invalidated() {
+        fixture.onChange(Collections.singletonList(
+                change(ResourceChange.ChangeType.CHANGED, "/content/site/en/jcr:content/root/text")));
+        Set<String> polledPaths = fixture.pollChangedPaths(SEARCH_PATH).orElseThrow(IllegalStateException::new);
+        fixture.invalidate();
+
+        fixture.restoreChangedPaths(polledPaths);
+
+        assertFalse(fixture.pollChangedPaths(SEARCH_PATH).isPresent());
+    }
+
+    @Test
+    void testSettingsChanged() {
+        fixture.onChange(Collections.singletonList(
+                change(ResourceChange.ChangeType.CHANGED, ConfigServiceImpl.CONFIG_PATH)));
+
+        assertFalse(fixture.pollChangedPaths(SEARCH_PATH).isPresent());
+    }
+
+    @Test
+    void testPollChangedPaths_externalChange() {
+        fixture.onChange(Collections.singletonList(
+                new ResourceChange(ResourceChange.ChangeType.CHANGED, "/content/site/en/jcr:content/root/text", true)));
+
+        Set<String> expected = Collections.singleton("/content/site/en/jcr:content");
+        assertEquals(Optional.of(expected), fixture.pollChangedPaths(SEARCH_PATH));
+    }
+
+    private static ResourceChange change(ResourceChange.ChangeType changeType, String path) {
+        return new ResourceChange(changeType, path, false);
+    }
+}
@@ -15,12 +15,17 @@
 package com.exadel.etoolbox.linkinspector.core.services.data.impl;
 
 import com.exadel.etoolbox.linkinspector.api.Resolver;
+import com.exadel.etoolbox.linkinspector.api.Status;
+import com.exadel.etoolbox.linkinspector.core.models.LinkResult;
+import com.exadel.etoolbox.linkinspector.core.models.ui.GridViewItem;
 import com.exadel.etoolbox.linkinspector.core.services.cache.GridResourcesCache;
 import com.exadel.etoolbox.linkinspector.core.services.cache.impl.GridResourcesCacheImpl;
 import com.exadel.etoolbox.linkinspector.core.services.data.ConfigService;
 import com.exadel.etoolbox.linkinspector.core.services.data.GridResourcesGenerator;
+import com.exadel.etoolbox.linkinspector.core.services.data.models.DataFeedPage;
 import com.exadel.etoolbox.linkinspector.core.services.data.models.DataFilter;
 import com.exadel.etoolbox.linkinspector.core.services.data.models.GridResource;
+import com.exadel.etoolbox.linkinspector.core.services.data.models.UpdatedItem;
 import com.exadel.etoolbox.linkinspector.core.services.helpers.LinkHelper;
 import com.exadel.etoolbox.linkinspector.core.services.helpers.RepositoryHelper;
 import com.exadel.etoolbox.linkinspector.core.services.helpers.impl.LinkHelperImpl;
@@ -28,14 +33,21 @@ import com.exadel.etoolbox.linkinspector.core.services.helpers.impl.RepositoryHe
 import com.exadel.etoolbox.linkinspector.core.services.resolvers.ExternalLinkResolverImpl;
 import com.exadel.etoolbox.linkinspector.core.services.resolvers.InternalLinkResolverImpl;
 import com.exadel.etoolbox.linkinspector.core.services.util.CsvUtil;
+import com.exadel.etoolbox.linkinspector.core.services.util.JsonUtil;
 import com.exadel.etoolbox.linkinspector.core.services.util.LinkInspectorResourceUtil;
 import io.wcm.testing.mock.aem.junit5.AemContext;
 import io.wcm.testing.mock.aem.junit5.AemContextExtension;
 import junitx.util.PrivateAccessor;
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.collections4.IteratorUtils;
 import org.apache.commons.httpclient.HttpStatus;
+import org.apache.commons.io.IOUtils;
+import org.apache.sling.api.resource.PersistenceException;
 import org.apache.sling.api.resource.Resource;
 import org.apache.sling.api.resource.ResourceResolver;
 import org.apache.sling.api.resource.ResourceResolverFactory;
+import org.apache.sling.api.resource.observation.ResourceChange;
+import org.apache.sling.jcr.contentloader.ContentTypeUtil;
 import org.apache.sling.testing.mock.sling.ResourceResolverType;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -43,15 +55,24 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.MockedStatic;
 import org.mockito.stubbing.Answer;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.function.BiConsumer;
+import java.util.Optional;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -64,23 +85,38 @@ class DataFeedServiceImplTest {
     private static final String REPOSITORY_HELPER_FIELD = "repositoryHelper";
     private static final String LINK_HELPER_FIELD = "linkHelper";
     private static final String CONFIG_FIELD = "configService";
+    private static final String CONTENT_CHANGE_TRACKER_FIELD = "contentChangeTracker";
 
     private static final String DATAFEED_PATH = "/var/etoolbox/link-inspector/data/datafeed.json";
+    private static final String DATAFEED_MANIFEST_PATH = "/var/etoolbox/link-inspector/data/datafeed/manifest.json";
+    private static final String DATAFEED_BINARY_PATH = "/var/etoolbox/link-inspector/data/datafeed.bin";
     private static final String CSV_REPORT_PATH = "/var/etoolbox/link-inspector/download/report.csv";
+    private static final String CHANGE_LOG_PATH = "/var/etoolbox/link-inspector/data/datafeed-changes";
+    private static final String STAGING_PATH = "/var/etoolbox/link-inspector/data/staging";
+    private static final String UPDATED_LINK = "/content/test-link-updated";
 
     private static final String TEST_RESOURCES_TREE_PATH = "/com/exadel/etoolbox/linkinspector/core/services/data/impl/resources.json";
     private static final String TEST_FOLDER_PATH = "/content/test-folder";
+    private static final String TEST_RESOURCE_PATH = TEST_FOLDER_PATH + "/test-resource2";
 
     private final AemContext context = new AemContext(ResourceResolverType.JCR_MOCK);
 
     private final DataFeedServiceImpl fixture = new DataFeedServiceImpl();
 
+    private ConfigService configService;
+    private ContentChangeTrackerImpl contentChangeTracker;
+
     @BeforeEach
     void setup() throws NoSuchFieldException, IOException, URISyntaxException {
         PrivateAccessor.setField(fixture, REPOSITORY_HELPER_FIELD, getRepositoryHelperFromContext());
         PrivateAccessor.setField(fixture, GRID_RESOURCES_CACHE_FIELD, getGridResourcesCacheFromContext());
         GridResourcesGeneratorImpl gridResourcesGenerator = getGridResourcesGenerator();
         PrivateAccessor.setField(fixture, GRID_RESOURCES_GENERATOR_FIELD, gridResourcesGenerator);
+        configService = mock(ConfigServiceImpl.class);
+        when(configService.getSearchPath()).thenReturn(TEST_FOLDER_PATH);
+        PrivateAccessor.setField(fixture, CONFIG_FIELD, configService);
+        contentChangeTracker = new ContentChangeTrackerImpl();
+        PrivateAccessor.setField(fixture, CONTENT_CHANGE_TRACKER_FIELD, contentChangeTracker);
     }
 
     @Test
@@ -93,6 +129,163 @@ class DataFeedServiceImplTest {
         assertNotNull(resource);
     }
 
+    @Test
+    void testGenerateDataFeed_incremental() throws NoSuchFieldException, PersistenceException {
+        context.load().json(TEST_RESOURCES_TREE_PATH, TEST_FOLDER_PATH);
+        when(configService.isIncrementalGeneration()).thenReturn(true);
+        GridResourcesGenerator gridResourcesGenerator = spy(getGridResourcesGenerator());
+        PrivateAccessor.setField(fixture, GRID_RESOURCES_GENERATOR_FIELD, gridResourcesGenerator);
+
+        fixture.generateDataFeed();
+        List<String> expectedRows = fixture.dataFeedToGridResources()
+                .stream()
+                .filter(gridResource -> !gridResource.getResourcePath().equals(TEST_RESOURCE_PATH))
+                .map(DataFeedServiceImplTest::toRow)
+                .sorted()
+                .collect(Collectors.toList());
+
+        context.resourceResolver().delete(context.resourceResolver().getResource(TEST_RESOURCE_PATH));
+        context.resourceResolver().commit();
+        contentChangeTracker.onChange(Collections.singletonList(
+                new ResourceChange(ResourceChange.ChangeType.REMOVED, TEST_RESOURCE_PATH, false)));
+        fixture.generateDataFeed();
+
+        verify(gridResourcesGenerator, times(1))
+                .generateGridResources(anyString(), any(ResourceResolver.class), any(BooleanSupplier.class));
+        verify(gridResourcesGenerator).generateGridResources(
+                anyString(),
+                eq(Collections.singleton(TEST_RESOURCE_PATH)),
+                any(ResourceResolver.class),
+                any(BooleanSupplier.class));
+        List<String> actualRows = fixture.dataFeedToGridResources()
+                .stream()
+                .map(DataFeedServiceImplTest::toRow)
+                .sorted()
+                .collect(Collectors.toList());
+        assertEquals(expectedRows, actualRows);
+    }
+
+    @Test
+    void testGenerateDataFeed_incrementalFailure() throws NoSuchFieldException {
+        context.load().json(TEST_RESOURCES_TREE_PATH, TEST_FOLDER_PATH);
+        when(configService.isIncrementalGeneration()).thenReturn(true);
+        GridResourcesGenerator gridResourcesGenerator = spy(getGridResourcesGenerator());
+        PrivateAccessor.setField(fixture, GRID_RESOURCES_GENERATOR_FIELD, gridResourcesGenerator);
+        fixture.generateDataFeed();
+
+        contentChangeTracker.onChange(Collections.singletonList(
+                new ResourceChange(ResourceChange.ChangeType.CHANGED, TEST_RESOURCE_PATH, false)));
+        doThrow(new IllegalStateException("Test")).when(gridResourcesGenerator).generateGridResources(
+                anyString(),
+                anyCollection(),
+                any(ResourceResolver.class),
+                any(BooleanSupplier.class));
+
+        assertThrows(IllegalStateException.class, fixture::generateDataFeed);
+        assertEquals(
+                Optional.of(Collections.singleton(TEST_RESOURCE_PATH)),
+                contentChangeTracker.pollChangedPaths(TEST_FOLDER_PATH));
+    }
+
+    @Test
+    void testGenerateDataFeed_incompleteRunRequiresFullGeneration() {
+        context.load().json(TEST_RESOURCES_TREE_PATH, TEST_FOLDER_PATH);
+        when(configService.isIncrementalGeneration()).thenReturn(true);
+
+        fixture.generateDataFeed(() -> true);
+
+        assertFalse(contentChangeTracker.pollChangedPaths(TEST_FOLDER_PATH).isPresent());
+
+        fixture.generateDataFeed();
+
+        assertTrue(contentChangeTracker.pollChangedPaths(TEST_FOLDER_PATH).isPresent());
+    }
+
+    @Test
+    void testGenerateDataFeed_chunks() throws NoSuchFieldException {
+        List<GridResource> gridResources = Arrays.asList(
+                buildGridResource("/content/test-link-1"),
+                buildGridResource("/content/test-link-2"),
+                buildGridResource("/content/test-link-3")
+        );
+        GridResourcesGenerator gridResourcesGenerator = mock(GridResourcesGenerator.class);
+        when(gridResourcesGenerator.generateGridResources(anyString(), any(ResourceResolver.class), any(BooleanSupplier.class)))
+                .thenReturn(gridResources);
+        PrivateAccessor.setField(fixture, GRID_RESOURCES_GENERATOR_FIELD, gridResourcesGenerator);
+        when(configService.getDataFeedChunkSize()).thenReturn(2);
+
+        fixture.generateDataFeed();
+
+        assertNull(context.resourceResolver().getResource(DATAFEED_PATH));
+        assertNotNull(context.resourceResolver().getResource(DATAFEED_MANIFEST_PATH));
+        List<String> actualRows = fixture.dataFeedToGridResources()
+                .stream()
+                .map(DataFeedServiceImplTest::toRow)
+                .collect(Collectors.toList());
+        List<String> expectedRows = gridResources
+                .stream()
+                .map(DataFeedServiceImplTest::toRow)
+                .collect(Collectors.toList());
+        assertEquals(expectedRows, actualRows);
+    }
+
+    @Test
+    void testGetDataFeedPage_binary() throws NoSuchFieldException {
+        List<GridResource> gridResources = Arrays.asList(
+                buildGridResource("/content/test-link-1"),
+                buildGridResource("/content/test-link-2"),
+                buildGridResource("/content/test-link-3")
+        );
+        GridResourcesGenerator gridResourcesGenerator = mock(GridResourcesGenerator.class);
+        when(gridResourcesGenerator.generateGridResources(anyString(), any(ResourceResolver.class), any(BooleanSupplier.class)))
+                .thenReturn(gridResources);
+        PrivateAccessor.setField(fixture, GRID_RESOURCES_GENERATOR_FIELD, gridResourcesGenerator);
+        when(configService.isBinaryDataFeed()).thenReturn(true);
+
+        fixture.generateDataFeed();
+        assertNotNull(context.resourceResolver().getResource(DATAFEED_BINARY_PATH));
+        ((GridResourcesCache) PrivateAccessor.getField(fixture, GRID_RESOURCES_CACHE_FIELD)).clearCache();
+
+        DataFeedPage page = fixture.getDataFeedPage(new DataFilter(null, "link-2"), 0, 10);
+        assertEquals(1, page.getTotal());
+        assertEquals("/content/test-link-2", page.getResources().get(0).getValueMap().get("value", String.class));
+
+        page = fixture.getDataFeedPage(new DataFilter("internal", null), 2, 10);
+        assertEquals(3, page.getTotal());
+        assertEquals(1, page.getResources().size());
+        assertEquals("/content/test-link-3", page.getResources().get(0).getValueMap().get("value", String.class));
+
+        page = fixture.getDataFeedPage(new DataFilter("internal", null), 1, 1);
+        assertEquals(3, page.getTotal());
+        assertEquals("/content/test-link-2", page.getResources().get(0).getValueMap().get("value", String.class));
+
+        page = fixture.getDataFeedPage(new DataFilter(), 0, 2);
+        assertEquals(3, page.getTotal());
+        assertEquals(2, page.getResources().size());
+        assertEquals("/content/test-link-1", page.getResources().get(0).getValueMap().get("value", String.class));
+        assertTrue(((GridResourcesCache) PrivateAccessor.getField(fixture, GRID_RESOURCES_CACHE_FIELD))
+                .getGridResourcesList()
+                .isEmpty());
+    }
+
+    @Test
+    void testGetDataFeedPage_cached() throws NoSuchFieldException {
+        ((GridResourcesCache) PrivateAccessor.getField(fixture, GRID_RESOURCES_CACHE_FIELD)).setGridResourcesList(Arrays.asList(
+                buildGridResource("/content/test-link-1"),
+                buildGridResource("/content/test-link-2"),
+                buildGridResource("/content/test-link-3")
+        ));
+        RepositoryHelper repositoryHelperMock = mock(RepositoryHelper.class);
+        when(repositoryHelperMock.getThreadResourceResolver()).thenReturn(context.resourceResolver());
+        PrivateAccessor.setField(fixture, REPOSITORY_HELPER_FIELD, repositoryHelperMock);
+
+        DataFeedPage page = fixture.getDataFeedPage(new DataFilter("internal", "test-link"), 1, 1);
+        assertEquals(3, page.getTotal());
+        assertEquals(1, page.getResources().size());
+        assertEquals("/content/test-link-2", page.getResources().get(0).getValueMap().get("value", String.class));
+        verify(repositoryHelperMock, never()).getServiceResourceResolver();
+    }
+
     @Test
     void testGenerateDataFeed_nullResourceResolver() throws NoSuchFieldException {
         RepositoryHelper repositoryHelperMock = mock(RepositoryHelper.class);
@@ -144,6 +337,127 @@ class DataFeedServiceImplTest {
         assertNotNull(gridResources);
     }
 
+    @Test
+    void testGetGridResources() {
+        context.load().json(TEST_RESOURCES_TREE_PATH, TEST_FOLDER_PATH);
+        fixture.generateDataFeed();
+        List<GridResource> allGridResources = fixture.dataFeedToGridResources();
+        GridResource selected = allGridResources.get(0);
+        String location = CsvUtil.buildLocation(selected.getResourcePath(), selected.getPropertyName());
+        long expectedCount = allGridResources
+                .stream()
+                .filter(gridResource -> location.equals(
+                        CsvUtil.buildLocation(gridResource.getResourcePath(), gridResource.getPropertyName())))
+                .filter(gridResource -> selected.getValue().equals(gridResource.getValue()))
+                .count();
+
+        List<GridResource> gridResources = fixture.getGridResources(
+                Arrays.asList(location, location, TEST_FOLDER_PATH + "@missing"),
+                Collections.singletonList(selected.getValue()));
+
+        assertEquals(expectedCount, gridResources.size());
+        assertTrue(gridResources
+                .stream()
+                .allMatch(gridResource -> selected.getResourcePath().equals(gridResource.getResourcePath())
+                        && selected.getValue().equals(gridResource.getValue())));
+        assertTrue(fixture.getGridResources(Collections.singletonList(location), Collections.singletonList(UPDATED_LINK))
+                .isEmpty());
+    }
+
+    @Test
+    void testModifyDataFeed() throws NoSuchFieldException {
+        context.load().json(TEST_RESOURCES_TREE_PATH, TEST_FOLDER_PATH);
+        PrivateAccessor.setField(fixture, LINK_HELPER_FIELD, getLinkHelper());
+        fixture.generateDataFeed();
+        GridResource original = fixture.dataFeedToGridResources().get(0);
+        UpdatedItem updatedItem = new UpdatedItem(
+                original.getValue(),
+                UPDATED_LINK,
+                original.getResourcePath(),
+                original.getPropertyName());
+
+        fixture.modifyDataFeed(Collections.singletonList(updatedItem), true);
+
+        Resource changeLog = context.resourceResolver().getResource(CHANGE_LOG_PATH);
+        assertNotNull(changeLog);
+        assertEquals(1, IteratorUtils.size(changeLog.listChildren()));
+        GridResourcesCache gridResourcesCache = (GridResourcesCache) PrivateAccessor.getField(fixture, GRID_RESOURCES_CACHE_FIELD);
+        assertEquals(1, gridResourcesCache.getGridResources(original.getResourcePath(), original.getPropertyName())
+                .stream()
+                .filter(gridResource -> UPDATED_LINK.equals(gridResource.getValue()))
+                .count());
+    }
+
+    @Test
+    void testModifyDataFeed_changeLogReplayed() throws NoSuchFieldException {
+        context.load().json(TEST_RESOURCES_TREE_PATH, TEST_FOLDER_PATH);
+        PrivateAccessor.setField(fixture, LINK_HELPER_FIELD, getLinkHelper());
+        fixture.generateDataFeed();
+        GridResource original = fixture.dataFeedToGridResources().get(0);
+        UpdatedItem updatedItem = new UpdatedItem(
+                original.getValue(),
+                UPDATED_LINK,
+                original.getResourcePath(),
+                original.getPropertyName());
+        fixture.modifyDataFeed(Collections.singletonList(updatedItem), true);
+
+        List<GridResource> gridResources = fixture.dataFeedToGridResources();
+
+        GridResource updated = gridResources
+                .stream()
+                .filter(gridResource -> UPDATED_LINK.equals(gridResource.getValue()))
+                .findFirst()
+                .orElse(null);
+        assertNotNull(updated);
+        assertEquals(original.getResourcePath(), updated.getResourcePath());
+        assertEquals("Modified", updated.getStatusMessage());
+    }
+
+    @Test
+    void testGenerateDataFeed_changeLogRemoved() throws NoSuchFieldException {
+        context.load().json(TEST_RESOURCES_TREE_PATH, TEST_FOLDER_PATH);
+        PrivateAccessor.setField(fixture, LINK_HELPER_FIELD, getLinkHelper());
+        fixture.generateDataFeed();
+        GridResource original = fixture.dataFeedToGridResources().get(0);
+        fixture.modifyDataFeed(Collections.singletonList(new UpdatedItem(
+                original.getValue(),
+                UPDATED_LINK,
+                original.getResourcePath(),
+                original.getPropertyName())), false);
+        assertNotNull(context.resourceResolver().getResource(CHANGE_LOG_PATH));
+
+        fixture.generateDataFeed();
+
+        assertNull(context.resourceResolver().getResource(CHANGE_LOG_PATH));
+    }
+
+    @Test
+    void testGenerateDataFeed_saveFailureKeepsPreviousDataFeed() throws NoSuchFieldException {
+        context.load().json(TEST_RESOURCES_TREE_PATH, TEST_FOLDER_PATH);
+        PrivateAccessor.setField(fixture, LINK_HELPER_FIELD, getLinkHelper());
+        fixture.generateDataFeed();
+        GridResource original = fixture.dataFeedToGridResources().get(0);
+        fixture.modifyDataFeed(Collections.singletonList(new UpdatedItem(
+                original.getValue(),
+                UPDATED_LINK,
+                original.getResourcePath(),
+                original.getPropertyName())), true);
+
+        try (MockedStatic<JsonUtil> jsonUtil = mockStatic(JsonUtil.class, CALLS_REAL_METHODS)) {
+            jsonUtil.when(() -> JsonUtil.saveJsonArrayToFile(any(), anyString(), any(ResourceResolver.class)))
+                    .thenThrow(new IOException());
+
+            fixture.generateDataFeed();
+        }
+
+        assertNotNull(context.resourceResolver().getResource(DATAFEED_PATH));
+        assertNotNull(context.resourceResolver().getResource(CHANGE_LOG_PATH));
+        assertNull(context.resourceResolver().getResource(STAGING_PATH));
+        assertTrue(fixture.dataFeedToGridResources()
+                .stream()
+                .anyMatch(gridResource -> UPDATED_LINK.equals(gridResource.getValue())));
+    }
+
     @Test
     void testDataFeedToResources() {
         context.load().json(TEST_RESOURCES_TREE_PATH, TEST_FOLDER_PATH);
@@ -153,39 +467,103 @@ class DataFeedServiceImplTest {
     }
 
     @Test
-    void testGenerateCsv_printItemException() {
+    void testDataFeedToResources_truncatedDataFeedNotCached() throws NoSuchFieldException, IOException {
+        context.load().json(TEST_RESOURCES_TREE_PATH, TEST_FOLDER_PATH);
+        fixture.generateDataFeed();
+        GridResourcesCache gridResourcesCache = (GridResourcesCache) PrivateAccessor.getField(fixture, GRID_RESOURCES_CACHE_FIELD);
+        gridResourcesCache.clearCache();
+        truncateDataFeed();
+
+        assertTrue(fixture.dataFeedToResources(new DataFilter()).isEmpty());
+        assertTrue(fixture.dataFeedToGridResources().isEmpty());
+        assertTrue(CollectionUtils.isEmpty(gridResourcesCache.getGridResourcesList()));
+    }
+
+    @Test
+    void testGenerateDataFeed_staleCsvReportRemoved() throws PersistenceException {
         context.load().json(TEST_RESOURCES_TREE_PATH, TEST_FOLDER_PATH);
+        context.create().resource(CSV_REPORT_PATH);
+        context.resourceResolver().commit();
+
+        fixture.generateDataFeed();
+
+        assertNull(context.resourceResolver().getResource(CSV_REPORT_PATH));
+    }
+
+    @Test
+    void testWriteCsvReport() throws NoSuchFieldException, IOException {
+        setUpCachedGridResources();
 
-        try (MockedStatic<CsvUtil> csvUtil = mockStatic(CsvUtil.class);
-             MockedStatic<LinkInspectorResourceUtil> resourceUtil = mockStatic(LinkInspectorResourceUtil.class)) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        int total = fixture.writeCsvReport(new DataFilter(null, "link-2"), outputStream);
+
+        assertEquals(1, total);
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8.name()).split("\\r?\\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("Link,Type,Code"));
+        assertTrue(lines[1].startsWith("/content/test-link-2,internal,HTTP 404"));
+    }
+
+    @Test
+    void testWriteCsvReport_printItemException() throws NoSuchFieldException, IOException {
+        setUpCachedGridResources();
+
+        try (MockedStatic<CsvUtil> csvUtil = mockStatic(CsvUtil.class)) {
             Answer<Object> answer = invocationOnMock -> {
                 throw new IOException();
             };
-            csvUtil.when(() -> CsvUtil.itemsToCsvByteArray(anyCollection(), any(BiConsumer.class), any(String[].class)))
+            csvUtil.when(() -> CsvUtil.createCsvPrinter(any(OutputStream.class), any(String[].class)))
                     .thenCallRealMethod();
             csvUtil.when(() -> CsvUtil.wrapIfContainsSemicolon(anyString()))
                     .then(answer);
 
-            fixture.generateDataFeed();
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+            assertThrows(IOException.class, () -> fixture.writeCsvReport(new DataFilter(), outputStream));
+            csvUtil.verify(() -> CsvUtil.wrapIfContainsSemicolon(anyString()), times(1));
+        }
+    }
+
+    private void setUpCachedGridResources() throws NoSuchFieldException {
+        ((GridResourcesCache) PrivateAccessor.getField(fixture, GRID_RESOURCES_CACHE_FIELD)).setGridResourcesList(Arrays.asList(
+                buildGridResource("/content/test-link-1"),
+                buildGridResource("/content/test-link-2"),
+                buildGridResource("/content/test-link-3")
+        ));
+        context.addModelsForClasses(GridViewItem.class);
+        RepositoryHelper repositoryHelperMock = mock(RepositoryHelper.class);
+        when(repositoryHelperMock.getThreadResourceResolver()).thenReturn(context.resourceResolver());
+        PrivateAccessor.setField(fixture, REPOSITORY_HELPER_FIELD, repositoryHelperMock);
+    }
 
-            resourceUtil.verify(() ->
-                    LinkInspectorResourceUtil.removeResource(eq(CSV_REPORT_PATH), any(ResourceResolver.class)));
-            resourceUtil.verify(() ->
-                    LinkInspectorResourceUtil.saveFileToJCR(eq(CSV_REPORT_PATH), any(byte[].class), anyString(), any(ResourceResolver.class))
-            );
+    private void truncateDataFeed() throws IOException {
+        ResourceResolver resourceResolver = context.resourceResolver();
+        byte[] content;
+        try (InputStream input = resourceResolver.getResource(DATAFEED_PATH).adaptTo(InputStream.class)) {
+            content = IOUtils.toByteArray(input);
         }
+        LinkInspectorResourceUtil.removeResource(DATAFEED_PATH, resourceResolver);
+        // Cutting off the closing brackets leaves all the items but the last one readable
+        LinkInspectorResourceUtil.saveFileToJCR(
+                DATAFEED_PATH,
+                Arrays.copyOf(content, content.length - 2),
+                ContentTypeUtil.TYPE_JSON,
+                resourceResolver);
+    }
+
+    private static GridResource buildGridResource(String link) {
+        Status status = new Status(HttpStatus.SC_NOT_FOUND, "Not Found");
+        return new GridResource(new LinkResult("internal", link, status), TEST_FOLDER_PATH, "link", "test/grid");
+    }
+
+    private static String toRow(GridResource gridResource) {
+        return CsvUtil.buildLocation(gridResource.getResourcePath(), gridResource.getPropertyName())
+                + " " + gridResource.getValue();
     }
 
     private GridResourcesGeneratorImpl getGridResourcesGenerator() throws NoSuchFieldException {
         GridResourcesGeneratorImpl gridResourcesGenerator = new GridResourcesGeneratorImpl();
-
-        List<Resolver> linkResolvers = Arrays.asList(
-                new ExternalLinkResolverImpl(),
-                new InternalLinkResolverImpl()
-        );
-        LinkHelper linkHelper = new LinkHelperImpl();
-        PrivateAccessor.setField(linkHelper, "linkResolvers", linkResolvers);
-        PrivateAccessor.setField(gridResourcesGenerator, LINK_HELPER_FIELD, linkHelper);
+        PrivateAccessor.setField(gridResourcesGenerator, LINK_HELPER_FIELD, getLinkHelper());
 
         ConfigService configService = mock(ConfigServiceImpl.class);
         when(configService.getExcludedLinksPatterns()).thenReturn(new String[0]);
@@ -199,6 +577,16 @@ class DataFeedServiceImplTest {
         return gridResourcesGenerator;
     }
 
+    private static LinkHelper getLinkHelper() throws NoSuchFieldException {
+        List<Resolver> linkResolvers = Arrays.asList(
+                new ExternalLinkResolverImpl(),
+                new InternalLinkResolverImpl()
+        );
+        LinkHelper linkHelper = new LinkHelperImpl();
+        PrivateAccessor.setField(linkHelper, "linkResolvers", linkResolvers);
+        return linkHelper;
+    }
+
     private RepositoryHelper getRepositoryHelperFromContext() throws NoSuchFieldException {
         ResourceResolverFactory resourceResolverFactory = context.getService(ResourceResolverFactory.class);
         RepositoryHelper repositoryHelper = new RepositoryHelperImpl();
@@ -206,10 +594,8 @@ class DataFeedServiceImplTest {
         return repositoryHelper;
     }
 
-    private GridResourcesCache getGridResourcesCacheFromContext() throws NoSuchFieldException {
+    private GridResourcesCache getGridResourcesCacheFromContext() {
         GridResourcesCache gridResourcesCache = new GridResourcesCacheImpl();
-        ConcurrentHashMap<String, CopyOnWriteArrayList<GridResource>> cache = new ConcurrentHashMap<>();
-        PrivateAccessor.setField(gridResourcesCache, GRID_RESOURCES_CACHE_FIELD, cache);
         return gridResourcesCache;
     }
 }
\ No newline at end of file
@@ -0,0 +1,78 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exadel.etoolbox.linkinspector.core.services.data.impl;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExclusionMatcherTest {
+
+    private static final String[] PATTERNS = {
+            "/content/site/excluded",
+            "/content/site/archive/.*",
+            "https://example\\.(com|org)/.*",
+            "(a+)\\1",
+            "",
+            "[invalid",
+            "sling:.*|cq:.*"
+    };
+
+    private final ExclusionMatcher fixture = ExclusionMatcher.compile(PATTERNS, "Test");
+
+    @Test
+    void testGetPatterns() {
+        assertArrayEquals(new String[]{
+                "/content/site/excluded",
+                "/content/site/archive/.*",
+                "https://example\\.(com|org)/.*",
+                "(a+)\\1",
+                "sling:.*|cq:.*"
+        }, fixture.getPatterns());
+    }
+
+    @Test
+    void testIsExcluded_sameAsStringMatches() {
+        String[] values = {
+                "/content/site/excluded",
+                "/content/site/excluded/child",
+                "/content/site/archive/page",
+                "/content/site/archive",
+                "https://example.com/page",
+                "https://example.net/page",
+                "aaaa",
+                "aaa",
+                "sling:resourceType",
+                "jcr:title",
+                ""
+        };
+        for (String value : values) {
+            boolean expected = false;
+            for (String pattern : fixture.getPatterns()) {
+                expected |= value.matches(pattern);
+            }
+            assertTrue(expected == fixture.isExcluded(value), value);
+        }
+    }
+
+    @Test
+    void testIsExcluded_noPatterns() {
+        assertFalse(ExclusionMatcher.compile(null, "Test").isExcluded("/content"));
+        assertFalse(ExclusionMatcher.compile(new String[]{" "}, "Test").isExcluded(" "));
+        assertFalse(fixture.isExcluded(null));
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.exadel.etoolbox.linkinspector.core.services.data.impl;
+
+import junitx.util.PrivateAccessor;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GenerationControlTest {
+
+    @Test
+    void testUnlimitedRun() {
+        try (GenerationControl control = new GenerationControl(() -> false, 0, 0)) {
+            assertFalse(control.isStopped());
+            assertNull(control.getIncompleteReason());
+            assertEquals(Long.MAX_VALUE, control.getRemainingTime(TimeUnit.MILLISECONDS));
+        }
+    }
+
+    @Test
+    void testStopRequested() {
+        AtomicBoolean stopRequested = new AtomicBoolean();
+        try (GenerationControl control = new GenerationControl(stopRequested::get, 0, 0)) {
+            AtomicBoolean executed = new AtomicBoolean();
+            control.guard(isDiscarded -> executed.set(!isDiscarded.getAsBoolean())).run();
+            assertTrue(executed.get());
+
+            stopRequested.set(true);
+            executed.set(false);
+            control.guard(isDiscarded -> executed.set(true)).run();
+            assertFalse(executed.get());
+
+            stopRequested.set(false);
+            assertTrue(control.isStopped());
+            assertEquals(GenerationControl.REASON_STOPPED, control.getIncompleteReason());
+        }
+    }
+
+    @Test
+    void testDeadline() throws InterruptedException {
+        try (GenerationControl control = new GenerationControl(() -> false, 1, 0)) {
+            Thread.sleep(10);
+            assertTrue(control.isStopped());
+            assertEquals(0, control.getRemainingTime(TimeUnit.MILLISECONDS));
+            assertEquals(GenerationControl.REASON_DEADLINE, control.getIncompleteReason());
+        }
+    }
+
+    @Test
+    void testAbort() {
+        try (GenerationControl control = new GenerationControl(() -> false, 0, 0)) {
+            ExecutorService executorService = control.register(Executors.newSingleThreadExecutor());
+
+            control.abort();
+
+            assertTrue(executorService.isShutdown());
+            assertTrue(control.isStopped());
+            assertEquals(GenerationControl.REASON_STOPPED, control.getIncompleteReason());
+            assertTrue(control.register(Executors.newSingleThreadExecutor()).isShutdown());
+        }
+    }
+
+    @Test
+    void testTaskWithinTimeout() {
+        try (GenerationControl control = new GenerationControl(() -> false, 0, TimeUnit.SECONDS.toMillis(10))) {
+            AtomicBoolean discarded = new AtomicBoolean(true);
+            control.guard(isDiscarded -> discarded.set(isDiscarded.getAsBoolean())).run();
+
+            assertFalse(discarded.get());
+            assertNull(control.getIncompleteReason());
+        }
+    }
+
+    @Test
+    void testTaskWithinTimeout_alarmRemoved() throws NoSuchFieldException {
+        try (GenerationControl control = new GenerationControl(() -> false, 0, TimeUnit.MINUTES.toMillis(10))) {
+            for (int i = 0; i < 100; i++) {
+                control.guard(isDiscarded -> {}).run();
+            }
+
+            ScheduledThreadPoolExecutor watchdog = (ScheduledThreadPoolExecutor) PrivateAccessor.getField(control, "watchdog");
+            assertTrue(watchdog.getQueue().isEmpty());
+        }
+    }
+
+    @Test
+    void testTaskTimeout() {
+        try (GenerationControl control = new GenerationControl(() -> false, 0, 50)) {
+            AtomicBoolean interrupted = new AtomicBoolean();
+            AtomicBoolean discarded = new AtomicBoolean();
+            control.guard(isDiscarded -> {
+                try {
+                    Thread.sleep(500);
+                } catch (InterruptedException e) {
+                    interrupted.set(true);
+                    Thread.currentThread().interrupt();
+                }
+                discarded.set(isDiscarded.getAsBoolean());
+            }).run();
+
+            assertFalse(interrupted.get());
+            assertTrue(discarded.get());
+            assertFalse(control.isStopped());
+            assertEquals(GenerationControl.REASON_TASK_TIMEOUT, control.getIncompleteReason());
+        }
+    }
+}
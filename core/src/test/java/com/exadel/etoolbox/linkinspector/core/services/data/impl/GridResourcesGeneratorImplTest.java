@@ -17,6 +17,7 @@ package com.exadel.etoolbox.linkinspector.core.services.data.impl;
 import com.day.cq.replication.ReplicationStatus;
 import com.exadel.etoolbox.linkinspector.core.services.data.ConfigService;
 import com.exadel.etoolbox.linkinspector.core.services.data.DataFeedService;
+import com.exadel.etoolbox.linkinspector.core.services.data.GenerationStatsProps;
 import com.exadel.etoolbox.linkinspector.core.services.data.models.GridResource;
 import com.exadel.etoolbox.linkinspector.core.services.helpers.RepositoryHelper;
 import com.exadel.etoolbox.linkinspector.core.services.helpers.impl.LinkHelperImpl;
@@ -40,7 +41,6 @@ import org.apache.sling.testing.mock.sling.ResourceResolverType;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.MockedStatic;
 
 import javax.jcr.Node;
 import javax.jcr.RepositoryException;
@@ -56,13 +56,13 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.*;
@@ -73,7 +73,7 @@ class GridResourcesGeneratorImplTest {
     private static final String RESOURCE_RESOLVER_FACTORY_FIELD = "resourceResolverFactory";
     private static final String REPOSITORY_HELPER_FIELD = "repositoryHelper";
     private static final String REAL_DATAFEED_PATH = "/var/etoolbox/link-inspector/data/datafeed.json";
-    private static final String EXECUTOR_SERVICE_FIELD = "executorService";
+    private static final String RUNNING_GENERATIONS_FIELD = "runningGenerations";
     private static final String GRID_RESOURCE_TYPE = "etoolbox-link-inspector/components/gridConfig";
     private static final String TEST_RESOURCES_TREE_PATH = "/com/exadel/etoolbox/linkinspector/core/services/data/impl/resources.json";
     private static final String TEST_DATAFEED_PATH = "/com/exadel/etoolbox/linkinspector/core/services/data/impl/expectedResources.json";
@@ -171,6 +171,50 @@ class GridResourcesGeneratorImplTest {
         assertTrue(CollectionUtils.isEqualCollection(buildExpectedGridResources(), gridResources));
     }
 
+    @Test
+    void testGenerateGridResources_parallelTraversal() throws NoSuchFieldException, RepositoryException {
+        context.load().json(TEST_RESOURCES_TREE_PATH, TEST_FOLDER_PATH);
+        when(configService.isParallelTraversal()).thenReturn(true);
+
+        List<GridResource> gridResources = fixture.generateGridResources(GRID_RESOURCE_TYPE, context.resourceResolver());
+        assertTrue(CollectionUtils.isEqualCollection(buildExpectedGridResources(), gridResources));
+    }
+
+    @Test
+    void testGenerateGridResources_pipelinedValidation() throws NoSuchFieldException, RepositoryException {
+        context.load().json(TEST_RESOURCES_TREE_PATH, TEST_FOLDER_PATH);
+        when(configService.isPipelinedValidation()).thenReturn(true);
+
+        List<GridResource> gridResources = fixture.generateGridResources(GRID_RESOURCE_TYPE, context.resourceResolver());
+        assertTrue(CollectionUtils.isEqualCollection(buildExpectedGridResources(), gridResources));
+    }
+
+    @Test
+    void testGenerateGridResources_changedPaths() throws NoSuchFieldException, RepositoryException {
+        context.load().json(TEST_RESOURCES_TREE_PATH, TEST_FOLDER_PATH);
+        String changedPath = TEST_FOLDER_PATH + "/test-resource1";
+        List<String> changedPaths = Arrays.asList(changedPath, TEST_EXCLUDED_PATH + "/excluded_child");
+
+        List<GridResource> gridResources = fixture.generateGridResources(GRID_RESOURCE_TYPE, changedPaths, context.resourceResolver());
+
+        List<GridResource> expectedGridResources = buildExpectedGridResources().stream()
+                .filter(gr -> gr.getResourcePath().equals(changedPath))
+                .collect(Collectors.toList());
+        assertTrue(CollectionUtils.isEqualCollection(expectedGridResources, gridResources));
+    }
+
+    @Test
+    void testGenerateGridResources_metadata() {
+        context.load().json(TEST_RESOURCES_TREE_PATH, TEST_FOLDER_PATH);
+
+        List<GridResource> gridResources = fixture.generateGridResources(GRID_RESOURCE_TYPE, context.resourceResolver());
+        assertTrue(gridResources.stream().allMatch(gridResource ->
+                "nt:unstructured".equals(gridResource.getComponentType())
+                        && gridResource.getResourcePath().endsWith("/" + gridResource.getComponentName())
+                        && gridResource.getPagePath() == null
+                        && gridResource.getPageTitle().isEmpty()));
+    }
+
     @Test
     void testGenerateFilteredGridResources() throws NoSuchFieldException, RepositoryException {
         context.load().json(TEST_RESOURCES_TREE_PATH, TEST_FOLDER_PATH);
@@ -298,31 +342,53 @@ class GridResourcesGeneratorImplTest {
     }
 
     @Test
+    @SuppressWarnings("unchecked")
     void testDeactivate() throws NoSuchFieldException {
         ExecutorService executorService = mock(ExecutorService.class);
-        PrivateAccessor.setField(fixture, EXECUTOR_SERVICE_FIELD, executorService);
+        try (GenerationControl control = new GenerationControl(() -> false, 0, 0)) {
+            control.register(executorService);
+            ((Set<GenerationControl>) PrivateAccessor.getField(fixture, RUNNING_GENERATIONS_FIELD)).add(control);
 
-        fixture.deactivate();
+            fixture.deactivate();
 
-        verify(executorService).shutdownNow();
+            verify(executorService).shutdownNow();
+            assertTrue(control.isStopped());
+        }
     }
 
     @Test
-    void testGenerateGridResources_interruptionException() throws InterruptedException {
+    void testGenerateGridResources_interruptionException() throws NoSuchFieldException {
         context.load().json(TEST_RESOURCES_TREE_PATH, TEST_FOLDER_PATH);
 
-        try (MockedStatic<Executors> executors = mockStatic(Executors.class)) {
-            ExecutorService executorService = mock(ExecutorService.class);
-            executors.when(() -> Executors.newFixedThreadPool(anyInt())).thenReturn(executorService);
-            when(executorService.submit(any(Runnable.class))).thenReturn(null);
-            when(executorService.awaitTermination(eq(Long.MAX_VALUE), eq(TimeUnit.NANOSECONDS))).thenThrow(new InterruptedException());
-
-            fixture.generateGridResources(GRID_RESOURCE_TYPE, context.resourceResolver());
+        Thread.currentThread().interrupt();
+        try {
+            List<GridResource> gridResources = fixture.generateGridResources(GRID_RESOURCE_TYPE, context.resourceResolver());
 
-            verify(executorService).shutdownNow();
+            assertNotNull(gridResources);
+            assertTrue(Thread.currentThread().isInterrupted());
+            assertTrue(((Set<?>) PrivateAccessor.getField(fixture, RUNNING_GENERATIONS_FIELD)).isEmpty());
+        } finally {
+            Thread.interrupted();
         }
     }
 
+    @Test
+    void testGenerateGridResources_stopRequested() {
+        context.load().json(TEST_RESOURCES_TREE_PATH, TEST_FOLDER_PATH);
+
+        List<GridResource> gridResources = fixture.generateGridResources(
+                GRID_RESOURCE_TYPE,
+                context.resourceResolver(),
+                () -> true);
+
+        assertTrue(gridResources.isEmpty());
+        Resource statsResource = context.resourceResolver().getResource(GridResourcesGeneratorImpl.STATS_RESOURCE_PATH);
+        assertNotNull(statsResource);
+        assertEquals(
+                GenerationControl.REASON_STOPPED,
+                statsResource.getValueMap().get(GenerationStatsProps.PN_INCOMPLETE_REASON, String.class));
+    }
+
     private List<GridResource> buildExpectedGridResources() throws NoSuchFieldException, RepositoryException {
         Session session = context.resourceResolver().adaptTo(Session.class);
         if (session != null) {
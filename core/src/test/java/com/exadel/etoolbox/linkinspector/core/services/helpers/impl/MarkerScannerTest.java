@@ -0,0 +1,72 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exadel.etoolbox.linkinspector.core.services.helpers.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MarkerScannerTest {
+
+    private static final int EXTERNAL = 0;
+    private static final int INTERNAL = 1;
+    private static final int CUSTOM = 2;
+
+    private final MarkerScanner fixture = new MarkerScanner(Arrays.asList(
+            Arrays.asList("http://", "https://", "www"),
+            Collections.singletonList("/content/"),
+            Collections.emptyList()
+    ));
+
+    @Test
+    void testIsScanned() {
+        assertTrue(fixture.isScanned(EXTERNAL));
+        assertTrue(fixture.isScanned(INTERNAL));
+        assertFalse(fixture.isScanned(CUSTOM));
+    }
+
+    @Test
+    void testScan() {
+        assertEquals(bits(), fixture.scan("<p>Plain text with http and content</p>"));
+        assertEquals(bits(EXTERNAL), fixture.scan("<a href=\"https://example.com\">link</a>"));
+        assertEquals(bits(EXTERNAL), fixture.scan("See wwwww.example.com"));
+        assertEquals(bits(INTERNAL), fixture.scan("/content/site/page"));
+        assertEquals(bits(EXTERNAL, INTERNAL), fixture.scan("<a href=\"/content/a\">a</a> <a href=\"http://b.com\">b</a>"));
+        assertEquals(bits(), fixture.scan(null));
+    }
+
+    @Test
+    void testScan_overlappingMarkers() {
+        MarkerScanner scanner = new MarkerScanner(Arrays.asList(
+                Collections.singletonList("abcd"),
+                Collections.singletonList("bc")
+        ));
+        assertEquals(bits(1), scanner.scan("xabcx"));
+        assertEquals(bits(0, 1), scanner.scan("xabcdx"));
+        assertEquals(bits(), scanner.scan("abdc"));
+    }
+
+    private static BitSet bits(int... indexes) {
+        BitSet result = new BitSet();
+        Arrays.stream(indexes).forEach(result::set);
+        return result;
+    }
+}
@@ -27,6 +27,8 @@ import org.mockito.MockedStatic;
 
 import javax.jcr.RepositoryException;
 import javax.jcr.Session;
+import java.util.Arrays;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -38,6 +40,8 @@ class RepositoryHelperImplTest {
 
     private static final String TEST_RESOURCE_PATH = "/content/test-resource";
     private static final String TEST_PERMISSIONS = "testPermissions";
+    private static final String TEST_PAGE_CONTENT_PATH = "/content/test-page/jcr:content";
+    private static final String TEST_OTHER_PAGE_CONTENT_PATH = "/content/test-page/child/jcr:content";
 
     private final AemContext context = new AemContext();
 
@@ -100,6 +104,36 @@ class RepositoryHelperImplTest {
         assertTrue(repositoryHelper.hasPermissions(session, TEST_RESOURCE_PATH, TEST_PERMISSIONS));
     }
 
+    @Test
+    void testHasPermissions_batch() throws RepositoryException {
+        Session session = mock(Session.class);
+        when(session.hasPermission(anyString(), eq(TEST_PERMISSIONS))).thenReturn(true);
+        when(session.hasPermission(eq(TEST_PAGE_CONTENT_PATH + "/root/image"), eq(TEST_PERMISSIONS))).thenReturn(false);
+        when(session.hasPermission(eq(TEST_RESOURCE_PATH), eq(TEST_PERMISSIONS))).thenReturn(false);
+
+        Map<String, Boolean> results = repositoryHelper.hasPermissions(session, Arrays.asList(
+                TEST_PAGE_CONTENT_PATH + "/root/text",
+                TEST_PAGE_CONTENT_PATH + "/root/image",
+                TEST_PAGE_CONTENT_PATH,
+                TEST_OTHER_PAGE_CONTENT_PATH + "/root",
+                TEST_RESOURCE_PATH,
+                TEST_RESOURCE_PATH
+        ), TEST_PERMISSIONS);
+
+        assertEquals(5, results.size());
+        assertTrue(results.get(TEST_PAGE_CONTENT_PATH + "/root/text"));
+        assertFalse(results.get(TEST_PAGE_CONTENT_PATH + "/root/image"));
+        assertTrue(results.get(TEST_PAGE_CONTENT_PATH));
+        assertTrue(results.get(TEST_OTHER_PAGE_CONTENT_PATH + "/root"));
+        assertFalse(results.get(TEST_RESOURCE_PATH));
+        verify(session).hasPermission(TEST_PAGE_CONTENT_PATH + "/root/text", TEST_PERMISSIONS);
+        verify(session).hasPermission(TEST_PAGE_CONTENT_PATH + "/root/image", TEST_PERMISSIONS);
+        verify(session).hasPermission(TEST_PAGE_CONTENT_PATH, TEST_PERMISSIONS);
+        verify(session).hasPermission(TEST_OTHER_PAGE_CONTENT_PATH + "/root", TEST_PERMISSIONS);
+        verify(session).hasPermission(TEST_RESOURCE_PATH, TEST_PERMISSIONS);
+        verifyNoMoreInteractions(session);
+    }
+
     @Test
     void testHasPermissions_exception() throws RepositoryException {
         Session session = mock(Session.class);
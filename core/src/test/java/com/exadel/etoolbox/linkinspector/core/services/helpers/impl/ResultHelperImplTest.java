@@ -61,6 +61,7 @@ class ResultHelperImplTest {
     private static final String VALID_INTERNAL_SPACES = "/content/test with spaces";
     private static final String VALID_INTERNAL_SPACES_EXTENSION = "/content/test with spaces.png";
     private static final String INVALID_INTERNAL = "/test";
+    private static final String MISSING_INTERNAL = "/content/missing";
     private static final String VALID_INTERNAL_ENCODED = "/content/test%20link";
     private static final String VALID_INTERNAL_DECODED = "/content/test link";
 
@@ -285,6 +286,69 @@ class ResultHelperImplTest {
         testLinkStatus(HttpStatus.SC_BAD_REQUEST, INVALID_SYNTAX_MESSAGE, linkStatus);
     }
 
+    @Test
+    void testValidateLinks_groupedByType() throws IOException {
+        context.create().resource(VALID_INTERNAL);
+        Result validInternal = new LinkResult("Internal", VALID_INTERNAL);
+        Result missingInternal = new LinkResult("Internal", MISSING_INTERNAL);
+        Result external = new LinkResult("External", VALID_EXTERNAL);
+        Result unknownType = new LinkResult(LinkResult.DEFAULT_TYPE, VALID_EXTERNAL);
+
+        fixture.validateLinks(Arrays.asList(validInternal, external, unknownType, missingInternal), context.resourceResolver());
+
+        testLinkStatus(HttpStatus.SC_OK, validInternal.getStatus());
+        testLinkStatus(HttpStatus.SC_NOT_FOUND, missingInternal.getStatus());
+        testLinkStatus(HttpStatus.SC_NOT_FOUND, external.getStatus());
+        testLinkStatus(HttpStatus.SC_INTERNAL_SERVER_ERROR, "Link resolver not found", unknownType.getStatus());
+        // The external link is requested with HEAD and then with GET, the internal links are not requested
+        verify(httpClient, times(2)).execute(any());
+    }
+
+    @Test
+    void testValidateLinks_internalCheckedOnHost() throws IOException {
+        CloseableHttpResponse response = mock(CloseableHttpResponse.class);
+        when(response.getStatusLine()).thenReturn(new BasicStatusLine(HttpVersion.HTTP_1_0, HttpStatus.SC_OK, "OK"));
+        when(httpClient.execute(any())).thenReturn(response);
+        MockOsgi.deactivate(internalLinkResolver, context.bundleContext());
+        MockOsgi.activate(
+                internalLinkResolver,
+                context.bundleContext(),
+                Collections.singletonMap(INTERNAL_LINKS_HOST_FIELD, INTERNAL_LINKS_HOST_FIELD_VALUE));
+        context.create().resource(VALID_INTERNAL);
+        Result validInternal = new LinkResult("Internal", VALID_INTERNAL);
+        Result missingInternal = new LinkResult("Internal", MISSING_INTERNAL);
+        Result otherMissingInternal = new LinkResult("Internal", INVALID_INTERNAL);
+
+        fixture.validateLinks(Arrays.asList(validInternal, missingInternal, otherMissingInternal), context.resourceResolver());
+
+        testLinkStatus(HttpStatus.SC_OK, validInternal.getStatus());
+        testLinkStatus(HttpStatus.SC_OK, missingInternal.getStatus());
+        testLinkStatus(HttpStatus.SC_OK, otherMissingInternal.getStatus());
+        // Only the links missing in the repository are requested from the host
+        verify(httpClient, times(2)).execute(any());
+    }
+
+    @Test
+    void testValidateAll_internal() throws IOException {
+        context.create().resource(VALID_INTERNAL);
+        Result validInternal = new LinkResult("Internal", VALID_INTERNAL);
+        Result sameValidInternal = new LinkResult("Internal", VALID_INTERNAL);
+        Result missingInternal = new LinkResult("Internal", MISSING_INTERNAL);
+        Status externalStatus = new Status(HttpStatus.SC_ACCEPTED, "Accepted");
+        Result external = new LinkResult("External", VALID_EXTERNAL, externalStatus);
+
+        internalLinkResolver.validateAll(
+                Arrays.asList(validInternal, sameValidInternal, null, missingInternal, external),
+                context.resourceResolver());
+
+        testLinkStatus(HttpStatus.SC_OK, validInternal.getStatus());
+        testLinkStatus(HttpStatus.SC_OK, sameValidInternal.getStatus());
+        testLinkStatus(HttpStatus.SC_NOT_FOUND, missingInternal.getStatus());
+        // The results of other types are left intact
+        assertSame(externalStatus, external.getStatus());
+        verify(httpClient, never()).execute(any());
+    }
+
     @Test
     void testReplaceLink_singleValue() {
         Resource resource = context.create().resource(RESOURCE_PATH, PROPERTY_NAME, CURRENT_LINK);
@@ -14,7 +14,9 @@
 
 package com.exadel.etoolbox.linkinspector.core.services.impl;
 
+import com.exadel.etoolbox.linkinspector.core.models.ui.PaginationModel;
 import com.exadel.etoolbox.linkinspector.core.services.data.DataFeedService;
+import com.exadel.etoolbox.linkinspector.core.services.data.models.DataFeedPage;
 import com.exadel.etoolbox.linkinspector.core.services.data.models.DataFilter;
 import io.wcm.testing.mock.aem.junit5.AemContextExtension;
 import junitx.util.PrivateAccessor;
@@ -26,7 +28,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import java.util.Collections;
 
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(AemContextExtension.class)
@@ -45,8 +52,24 @@ class GridDataSourceImplTest {
 
     @Test
     void testGetDataSource() {
-        when(dataFeedService.dataFeedToResources(new DataFilter())).thenReturn(Collections.emptyList());
+        when(dataFeedService.getDataFeedPage(any(DataFilter.class), anyInt(), anyInt()))
+                .thenReturn(new DataFeedPage(0, Collections.emptyList()));
 
         assertNotNull(gridDataSource.getDataSource("1", "10", "10", "internal", StringUtils.EMPTY));
     }
+
+    @Test
+    void testGetDataSource_valuesBeyondIntRange() {
+        when(dataFeedService.getDataFeedPage(any(DataFilter.class), anyInt(), anyInt()))
+                .thenReturn(new DataFeedPage(0, Collections.emptyList()));
+
+        assertNotNull(gridDataSource.getDataSource("1", "99999999999", "-99999999999999999999", null, null));
+        verify(dataFeedService).getDataFeedPage(any(DataFilter.class), eq(0), eq(PaginationModel.DEFAULT_PAGE_SIZE));
+
+        assertNotNull(gridDataSource.getDataSource("99999999999", "10", "0", null, null));
+        verify(dataFeedService).getDataFeedPage(any(DataFilter.class), eq(Integer.MAX_VALUE), eq(10));
+
+        assertNotNull(gridDataSource.getDataSource("1", "10", "99999999999", null, null));
+        verifyNoMoreInteractions(dataFeedService);
+    }
 }
\ No newline at end of file
@@ -22,7 +22,12 @@ import org.apache.sling.event.jobs.consumer.JobExecutionContext;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(AemContextExtension.class)
@@ -50,7 +55,7 @@ class DataFeedJobExecutorTest {
         when(jobExecutionContext.result()).thenReturn(result);
 
         fixture.process(job, jobExecutionContext);
-        verify(dataFeedService).generateDataFeed();
+        verify(dataFeedService).generateDataFeed(any(BooleanSupplier.class));
         verify(result).succeeded();
     }
 
@@ -62,4 +67,16 @@ class DataFeedJobExecutorTest {
         fixture.process(job, jobExecutionContext);
         verify(result).cancelled();
     }
+
+    @Test
+    void testProcess_stopStatePassed() {
+        when(jobExecutionContext.result()).thenReturn(result);
+        ArgumentCaptor<BooleanSupplier> stopRequested = ArgumentCaptor.forClass(BooleanSupplier.class);
+
+        fixture.process(job, jobExecutionContext);
+        verify(dataFeedService).generateDataFeed(stopRequested.capture());
+        assertFalse(stopRequested.getValue().getAsBoolean());
+        when(jobExecutionContext.isStopped()).thenReturn(true);
+        assertTrue(stopRequested.getValue().getAsBoolean());
+    }
 }
\ No newline at end of file
@@ -6,6 +6,7 @@ import com.exadel.etoolbox.linkinspector.core.services.data.models.DataFilter;
 import com.exadel.etoolbox.linkinspector.core.services.data.models.GridResource;
 import org.apache.sling.api.resource.Resource;
 
+import java.io.OutputStream;
 import java.util.Collections;
 import java.util.List;
 
@@ -20,6 +21,11 @@ public class MockDataFeedService implements DataFeedService {
         return Collections.emptyList();
     }
 
+    @Override
+    public int writeCsvReport(DataFilter filter, OutputStream outputStream) {
+        return 0;
+    }
+
     @Override
     public List<GridResource> dataFeedToGridResources() {
         return Collections.emptyList();
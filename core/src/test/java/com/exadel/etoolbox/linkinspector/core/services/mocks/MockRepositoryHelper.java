@@ -5,6 +5,9 @@ import org.apache.sling.api.resource.ResourceResolver;
 import org.apache.sling.api.wrappers.ResourceResolverWrapper;
 
 import javax.jcr.Session;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 public class MockRepositoryHelper implements RepositoryHelper {
 
@@ -35,6 +38,18 @@ public class MockRepositoryHelper implements RepositoryHelper {
         return true;
     }
 
+    @Override
+    public Map<String, Boolean> hasPermissions(Session session, Collection<String> paths, String permissions) {
+        Map<String, Boolean> results = new LinkedHashMap<>();
+        paths.forEach(path -> results.put(path, true));
+        return results;
+    }
+
+    @Override
+    public Map<String, Boolean> hasReadWritePermissions(Session session, Collection<String> paths) {
+        return hasPermissions(session, paths, null);
+    }
+
     @Override
     public void createResourceIfNotExist(String path, String resourceType, String intermediateResourceType) {
         resourceCounter++;
@@ -20,22 +20,43 @@ import com.exadel.etoolbox.linkinspector.core.services.mocks.MockHttpClientBuild
 import com.exadel.etoolbox.linkinspector.core.services.mocks.MockRepositoryHelper;
 import io.wcm.testing.mock.aem.junit5.AemContext;
 import io.wcm.testing.mock.aem.junit5.AemContextExtension;
+import junitx.util.PrivateAccessor;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
 import org.apache.http.HttpStatus;
 import org.apache.http.HttpVersion;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpHead;
+import org.apache.http.client.utils.DateUtils;
+import org.apache.http.concurrent.FutureCallback;
 import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.message.BasicHeader;
+import org.apache.http.message.BasicHttpResponse;
 import org.apache.http.message.BasicStatusLine;
+import org.apache.http.nio.protocol.HttpAsyncRequestProducer;
+import org.apache.http.nio.protocol.HttpAsyncResponseConsumer;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -43,6 +64,7 @@ import static org.mockito.Mockito.*;
 class ExternalResultResolverImplTest {
 
     private static final Map<String, Object> HTTP_PARAMS;
+    private static final int HTTP_TOO_MANY_REQUESTS = 429;
 
     static {
         Map<String, Object> params = new HashMap<>();
@@ -122,6 +144,159 @@ class ExternalResultResolverImplTest {
         assertEquals(HttpStatus.SC_OK, testResult.getStatus().getCode());
     }
 
+    @Test
+    void testCheckLink_retryAfterWithinMaxDelay() throws IOException {
+        CloseableHttpClient client = getThrottlingClient("0");
+        context.registerInjectActivateService(
+                new MockHttpClientBuilderFactory(),
+                Collections.singletonMap(MockHttpClientBuilderFactory.PN_CLIENT, client));
+
+        Result testResult = getTestLink();
+        context.registerInjectActivateService(new MockRepositoryHelper(context.resourceResolver()));
+        context.registerInjectActivateService(new ExternalLinkResolverImpl(), HTTP_PARAMS).validate(testResult, context.resourceResolver());
+        assertEquals(HTTP_TOO_MANY_REQUESTS, testResult.getStatus().getCode());
+        verify(client, times(3)).execute(any());
+    }
+
+    @Test
+    void testCheckLink_retryAfterExceedsMaxDelay() throws IOException {
+        CloseableHttpClient client = getThrottlingClient("86400");
+        context.registerInjectActivateService(
+                new MockHttpClientBuilderFactory(),
+                Collections.singletonMap(MockHttpClientBuilderFactory.PN_CLIENT, client));
+
+        Map<String, Object> params = new HashMap<>(HTTP_PARAMS);
+        params.put("maxRetryDelay", 1);
+        Result testResult = getTestLink();
+        context.registerInjectActivateService(new MockRepositoryHelper(context.resourceResolver()));
+        long start = System.currentTimeMillis();
+        context.registerInjectActivateService(new ExternalLinkResolverImpl(), params).validate(testResult, context.resourceResolver());
+        assertEquals(HTTP_TOO_MANY_REQUESTS, testResult.getStatus().getCode());
+        assertTrue(System.currentTimeMillis() - start < TimeUnit.SECONDS.toMillis(1));
+        verify(client, times(1)).execute(any());
+    }
+
+    @Test
+    void testValidate_interrupted() throws IOException {
+        CloseableHttpClient client = mock(CloseableHttpClient.class);
+        context.registerInjectActivateService(
+                new MockHttpClientBuilderFactory(),
+                Collections.singletonMap(MockHttpClientBuilderFactory.PN_CLIENT, client));
+        context.registerInjectActivateService(new MockRepositoryHelper(context.resourceResolver()));
+        ExternalLinkResolverImpl fixture = context.registerInjectActivateService(new ExternalLinkResolverImpl(), HTTP_PARAMS);
+
+        Result testResult = getTestLink();
+        Thread.currentThread().interrupt();
+        try {
+            fixture.validate(testResult, context.resourceResolver());
+            assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            Thread.interrupted();
+        }
+        assertFalse(testResult.isReported());
+        verify(client, never()).execute(any());
+    }
+
+    @Test
+    void testGetRetryDelay_seconds() {
+        assertEquals(TimeUnit.SECONDS.toMillis(120),
+                ExternalLinkResolverImpl.getRetryDelay(new BasicHeader(HttpHeaders.RETRY_AFTER, " 120 ")));
+    }
+
+    @Test
+    void testGetRetryDelay_httpDate() {
+        long expected = TimeUnit.MINUTES.toMillis(10);
+        String date = DateUtils.formatDate(new Date(System.currentTimeMillis() + expected));
+        long retryDelay = ExternalLinkResolverImpl.getRetryDelay(new BasicHeader(HttpHeaders.RETRY_AFTER, date));
+        // HTTP dates are precise to a second
+        assertTrue(retryDelay > expected - TimeUnit.SECONDS.toMillis(2) && retryDelay <= expected);
+
+        String pastDate = DateUtils.formatDate(new Date(System.currentTimeMillis() - expected));
+        assertEquals(0, ExternalLinkResolverImpl.getRetryDelay(new BasicHeader(HttpHeaders.RETRY_AFTER, pastDate)));
+    }
+
+    @Test
+    void testGetRetryDelay_invalidValue() {
+        long defaultDelay = TimeUnit.SECONDS.toMillis(1);
+        assertEquals(defaultDelay, ExternalLinkResolverImpl.getRetryDelay(null));
+        assertEquals(defaultDelay, ExternalLinkResolverImpl.getRetryDelay(new BasicHeader(HttpHeaders.RETRY_AFTER, "soon")));
+        assertEquals(defaultDelay, ExternalLinkResolverImpl.getRetryDelay(new BasicHeader(HttpHeaders.RETRY_AFTER, "-5")));
+        assertEquals(defaultDelay, ExternalLinkResolverImpl.getRetryDelay(new BasicHeader(HttpHeaders.RETRY_AFTER, "99999999999")));
+    }
+
+    @Test
+    void testHostThrottle_delayWithinMax() throws InterruptedException {
+        ExternalLinkResolverImpl.HostThrottle hostThrottle = new ExternalLinkResolverImpl.HostThrottle(1, 1000);
+        hostThrottle.postpone(100);
+        assertTrue(hostThrottle.getWaitDelay() > 0);
+        assertTrue(hostThrottle.isRetryAllowed());
+
+        long start = System.currentTimeMillis();
+        hostThrottle.acquire();
+        hostThrottle.release();
+        assertTrue(System.currentTimeMillis() - start >= 90);
+        assertTrue(hostThrottle.getWaitDelay() <= 0);
+    }
+
+    @Test
+    void testHostThrottle_delayExceedsMax() throws InterruptedException {
+        ExternalLinkResolverImpl.HostThrottle hostThrottle = new ExternalLinkResolverImpl.HostThrottle(1, 50);
+        hostThrottle.postpone(TimeUnit.DAYS.toMillis(1));
+        assertTrue(hostThrottle.getWaitDelay() <= 50);
+        assertFalse(hostThrottle.isRetryAllowed());
+
+        long start = System.currentTimeMillis();
+        hostThrottle.acquire();
+        hostThrottle.release();
+        assertTrue(System.currentTimeMillis() - start < TimeUnit.SECONDS.toMillis(1));
+        assertFalse(hostThrottle.isRetryAllowed());
+    }
+
+    @Test
+    void testHostThrottle_tryAcquireTimeout() throws InterruptedException {
+        ExternalLinkResolverImpl.HostThrottle hostThrottle = new ExternalLinkResolverImpl.HostThrottle(1, 1000);
+        assertTrue(hostThrottle.tryAcquire(100));
+
+        long start = System.currentTimeMillis();
+        assertFalse(hostThrottle.tryAcquire(50));
+        assertTrue(System.currentTimeMillis() - start < TimeUnit.SECONDS.toMillis(1));
+
+        hostThrottle.release();
+        assertTrue(hostThrottle.tryAcquire(50));
+        hostThrottle.release();
+
+        hostThrottle.postpone(TimeUnit.SECONDS.toMillis(10));
+        assertFalse(hostThrottle.tryAcquire(50));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testHostThrottles_busyNotEvicted() throws IOException, NoSuchFieldException {
+        context.registerInjectActivateService(
+                new MockHttpClientBuilderFactory(),
+                Collections.singletonMap(MockHttpClientBuilderFactory.PN_CLIENT, mock(CloseableHttpClient.class)));
+        context.registerInjectActivateService(new MockRepositoryHelper(context.resourceResolver()));
+        ExternalLinkResolverImpl fixture = context.registerInjectActivateService(new ExternalLinkResolverImpl(), HTTP_PARAMS);
+        Map<String, ExternalLinkResolverImpl.HostThrottle> hostThrottles =
+                (Map<String, ExternalLinkResolverImpl.HostThrottle>) PrivateAccessor.getField(fixture, "hostThrottles");
+
+        ExternalLinkResolverImpl.HostThrottle busyThrottle = new ExternalLinkResolverImpl.HostThrottle(1, 1000);
+        busyThrottle.retain();
+        hostThrottles.put("busy.com", busyThrottle);
+        ExternalLinkResolverImpl.HostThrottle pausedThrottle = new ExternalLinkResolverImpl.HostThrottle(1, 1000);
+        pausedThrottle.postpone(TimeUnit.MINUTES.toMillis(1));
+        hostThrottles.put("paused.com", pausedThrottle);
+        for (int i = 0; i < 1000; i++) {
+            hostThrottles.put("host" + i + ".com", new ExternalLinkResolverImpl.HostThrottle(1, 1000));
+        }
+
+        assertEquals(1000, hostThrottles.size());
+        assertSame(busyThrottle, hostThrottles.get("busy.com"));
+        assertSame(pausedThrottle, hostThrottles.get("paused.com"));
+        assertFalse(hostThrottles.containsKey("host0.com"));
+        assertFalse(hostThrottles.containsKey("host1.com"));
+    }
+
     @Test
     void testDeactivate() throws IOException {
         CloseableHttpClient client = mock(CloseableHttpClient.class);
@@ -134,6 +309,197 @@ class ExternalResultResolverImplTest {
         verify(client).close();
     }
 
+    @Test
+    void testValidateAll_blockingEngine() throws IOException {
+        CloseableHttpResponse response200 = mock(CloseableHttpResponse.class);
+        when(response200.getStatusLine()).thenReturn(new BasicStatusLine(HttpVersion.HTTP_1_1, HttpStatus.SC_OK, "OK"));
+        CloseableHttpClient client = mock(CloseableHttpClient.class);
+        when(client.execute(any())).thenReturn(response200);
+        context.registerInjectActivateService(
+                new MockHttpClientBuilderFactory(),
+                Collections.singletonMap(MockHttpClientBuilderFactory.PN_CLIENT, client));
+        context.registerInjectActivateService(new MockRepositoryHelper(context.resourceResolver()));
+        ExternalLinkResolverImpl fixture = context.registerInjectActivateService(new ExternalLinkResolverImpl(), HTTP_PARAMS);
+
+        List<Result> results = Arrays.asList(getTestLink(), new LinkResult("External", "https://www.google.com/other.html"));
+        fixture.validateAll(results, context.resourceResolver());
+
+        results.forEach(result -> assertEquals(HttpStatus.SC_OK, result.getStatus().getCode()));
+        verify(client, times(2)).execute(any());
+    }
+
+    @Test
+    void testValidate_asyncEngine() throws IOException, NoSuchFieldException {
+        CloseableHttpAsyncClient asyncClient = getAsyncClient(HttpStatus.SC_OK, HttpStatus.SC_OK);
+        ExternalLinkResolverImpl fixture = getAsyncFixture(HTTP_PARAMS, asyncClient);
+
+        Result testResult = getTestLink();
+        fixture.validate(testResult, context.resourceResolver());
+
+        assertEquals(HttpStatus.SC_OK, testResult.getStatus().getCode());
+        verify(asyncClient, times(1)).execute(any(HttpAsyncRequestProducer.class), any(HttpAsyncResponseConsumer.class),
+                any(FutureCallback.class));
+    }
+
+    @Test
+    void testValidate_asyncEngineGetAfterHead() throws IOException, NoSuchFieldException {
+        CloseableHttpAsyncClient asyncClient = getAsyncClient(HttpStatus.SC_METHOD_NOT_ALLOWED, HttpStatus.SC_OK);
+        ExternalLinkResolverImpl fixture = getAsyncFixture(HTTP_PARAMS, asyncClient);
+
+        Result testResult = getTestLink();
+        fixture.validate(testResult, context.resourceResolver());
+
+        assertEquals(HttpStatus.SC_OK, testResult.getStatus().getCode());
+        verify(asyncClient, times(2)).execute(any(HttpAsyncRequestProducer.class), any(HttpAsyncResponseConsumer.class),
+                any(FutureCallback.class));
+    }
+
+    @Test
+    void testValidateAll_asyncEngine() throws IOException, NoSuchFieldException {
+        CloseableHttpAsyncClient asyncClient = getAsyncClient(HttpStatus.SC_NOT_FOUND, HttpStatus.SC_NOT_FOUND);
+        ExternalLinkResolverImpl fixture = getAsyncFixture(HTTP_PARAMS, asyncClient);
+
+        List<Result> results = Arrays.asList(
+                getTestLink(),
+                getTestLink(),
+                new LinkResult("External", "https://www.google.com/other.html"));
+        fixture.validateAll(results, context.resourceResolver());
+
+        results.forEach(result -> assertEquals(HttpStatus.SC_NOT_FOUND, result.getStatus().getCode()));
+        // Every distinct link is requested with HEAD and then with GET
+        verify(asyncClient, times(4)).execute(any(HttpAsyncRequestProducer.class), any(HttpAsyncResponseConsumer.class),
+                any(FutureCallback.class));
+    }
+
+    @Test
+    void testValidate_asyncEngineTimeout() throws IOException, NoSuchFieldException {
+        Future<HttpResponse> exchange = mock(Future.class);
+        CloseableHttpAsyncClient asyncClient = getHangingAsyncClient(exchange);
+        Map<String, Object> params = new HashMap<>(HTTP_PARAMS);
+        params.put("connectionTimeout", 50);
+        params.put("socketTimeout", 50);
+        params.put("maxRetries", 0);
+        params.put("maxRetryDelay", 0);
+        ExternalLinkResolverImpl fixture = getAsyncFixture(params, asyncClient);
+
+        Result testResult = getTestLink();
+        long start = System.currentTimeMillis();
+        fixture.validate(testResult, context.resourceResolver());
+
+        assertEquals(HttpStatus.SC_REQUEST_TIMEOUT, testResult.getStatus().getCode());
+        assertTrue(System.currentTimeMillis() - start < TimeUnit.SECONDS.toMillis(5));
+        verify(exchange).cancel(true);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testValidateAll_asyncEngineRequestsInTurns() throws IOException, NoSuchFieldException {
+        ScheduledExecutorService server = Executors.newSingleThreadScheduledExecutor();
+        AtomicInteger activeRequests = new AtomicInteger();
+        AtomicInteger maxActiveRequests = new AtomicInteger();
+        CloseableHttpAsyncClient asyncClient = mock(CloseableHttpAsyncClient.class);
+        when(asyncClient.execute(any(HttpAsyncRequestProducer.class), any(HttpAsyncResponseConsumer.class),
+                any(FutureCallback.class))).thenAnswer(invocation -> {
+            FutureCallback<HttpResponse> callback = invocation.getArgument(2);
+            maxActiveRequests.accumulateAndGet(activeRequests.incrementAndGet(), Math::max);
+            server.schedule(() -> {
+                activeRequests.decrementAndGet();
+                callback.completed(new BasicHttpResponse(new BasicStatusLine(HttpVersion.HTTP_1_1, HttpStatus.SC_OK, null)));
+            }, 40, TimeUnit.MILLISECONDS);
+            return mock(Future.class);
+        });
+        Map<String, Object> params = new HashMap<>(HTTP_PARAMS);
+        params.put("connectionTimeout", 50);
+        params.put("socketTimeout", 50);
+        params.put("maxConnectionsPerHost", 1);
+        params.put("maxRetries", 0);
+        params.put("maxRetryDelay", 0);
+        ExternalLinkResolverImpl fixture = getAsyncFixture(params, asyncClient);
+
+        List<Result> results = Arrays.asList(
+                new LinkResult("External", "https://www.google.com/1.html"),
+                new LinkResult("External", "https://www.google.com/2.html"),
+                new LinkResult("External", "https://www.google.com/3.html"),
+                new LinkResult("External", "https://www.google.com/4.html"));
+        try {
+            fixture.validateAll(results, context.resourceResolver());
+        } finally {
+            server.shutdownNow();
+        }
+
+        // The links take longer than the request timeout altogether, but none of them times out waiting for its turn
+        results.forEach(result -> assertEquals(HttpStatus.SC_OK, result.getStatus().getCode()));
+        assertEquals(1, maxActiveRequests.get());
+    }
+
+    @Test
+    void testValidateAll_asyncEngineInterrupted() throws IOException, NoSuchFieldException {
+        Future<HttpResponse> exchange = mock(Future.class);
+        CloseableHttpAsyncClient asyncClient = getHangingAsyncClient(exchange);
+        ExternalLinkResolverImpl fixture = getAsyncFixture(HTTP_PARAMS, asyncClient);
+
+        Result testResult = getTestLink();
+        Thread.currentThread().interrupt();
+        try {
+            fixture.validateAll(Collections.singletonList(testResult), context.resourceResolver());
+            assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            Thread.interrupted();
+        }
+        assertFalse(testResult.isReported());
+        verify(exchange).cancel(true);
+    }
+
+    private ExternalLinkResolverImpl getAsyncFixture(Map<String, Object> params, CloseableHttpAsyncClient asyncClient)
+            throws IOException, NoSuchFieldException {
+        context.registerInjectActivateService(
+                new MockHttpClientBuilderFactory(),
+                Collections.singletonMap(MockHttpClientBuilderFactory.PN_CLIENT, mock(CloseableHttpClient.class)));
+        context.registerInjectActivateService(new MockRepositoryHelper(context.resourceResolver()));
+        Map<String, Object> asyncParams = new HashMap<>(params);
+        asyncParams.put("asyncEngine", true);
+        ExternalLinkResolverImpl fixture = context.registerInjectActivateService(new ExternalLinkResolverImpl(), asyncParams);
+        CloseableHttpAsyncClient startedClient = (CloseableHttpAsyncClient) PrivateAccessor.getField(fixture, "httpAsyncClient");
+        if (startedClient != null) {
+            startedClient.close();
+        }
+        PrivateAccessor.setField(fixture, "httpAsyncClient", asyncClient);
+        return fixture;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static CloseableHttpAsyncClient getAsyncClient(int headStatusCode, int getStatusCode) {
+        CloseableHttpAsyncClient asyncClient = mock(CloseableHttpAsyncClient.class);
+        when(asyncClient.execute(any(HttpAsyncRequestProducer.class), any(HttpAsyncResponseConsumer.class),
+                any(FutureCallback.class))).thenAnswer(invocation -> {
+            HttpAsyncRequestProducer producer = invocation.getArgument(0);
+            FutureCallback<HttpResponse> callback = invocation.getArgument(2);
+            boolean isHead = HttpHead.METHOD_NAME.equals(producer.generateRequest().getRequestLine().getMethod());
+            callback.completed(new BasicHttpResponse(
+                    new BasicStatusLine(HttpVersion.HTTP_1_1, isHead ? headStatusCode : getStatusCode, null)));
+            return mock(Future.class);
+        });
+        return asyncClient;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static CloseableHttpAsyncClient getHangingAsyncClient(Future<HttpResponse> exchange) {
+        CloseableHttpAsyncClient asyncClient = mock(CloseableHttpAsyncClient.class);
+        when(asyncClient.execute(any(HttpAsyncRequestProducer.class), any(HttpAsyncResponseConsumer.class),
+                any(FutureCallback.class))).thenReturn((Future) exchange);
+        return asyncClient;
+    }
+
+    private static CloseableHttpClient getThrottlingClient(String retryAfter) throws IOException {
+        CloseableHttpResponse response429 = mock(CloseableHttpResponse.class);
+        when(response429.getStatusLine()).thenReturn(new BasicStatusLine(HttpVersion.HTTP_1_1, HTTP_TOO_MANY_REQUESTS, "Too Many Requests"));
+        when(response429.getFirstHeader(HttpHeaders.RETRY_AFTER)).thenReturn(new BasicHeader(HttpHeaders.RETRY_AFTER, retryAfter));
+
+        CloseableHttpClient client = mock(CloseableHttpClient.class);
+        when(client.execute(any())).thenReturn(response429);
+        return client;
+    }
+
     private static Result getTestLink() {
         return new LinkResult("External", "https://www.google.com/test.html");
     }
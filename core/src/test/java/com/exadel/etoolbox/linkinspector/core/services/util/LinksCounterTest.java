@@ -0,0 +1,79 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exadel.etoolbox.linkinspector.core.services.util;
+
+import com.exadel.etoolbox.linkinspector.api.Status;
+import com.exadel.etoolbox.linkinspector.core.models.LinkResult;
+import org.apache.http.HttpStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LinksCounterTest {
+
+    @Test
+    void testCheckIn() {
+        LinksCounter counter = new LinksCounter();
+        counter.checkIn(new LinkResult("external", "https://Example.com/page"));
+        counter.checkIn(new LinkResult("external", "http://example.com:8080/other"));
+        counter.checkIn(new LinkResult("external", "www.example.org"));
+        counter.checkIn(new LinkResult("internal", "/content/site/page"));
+        counter.checkIn(new LinkResult("", "https://example.org?query"));
+
+        Map<String, Integer> statistics = counter.getStatistics();
+        assertEquals(3, statistics.size());
+        assertEquals(3, statistics.get("external"));
+        assertEquals(1, statistics.get("internal"));
+        assertEquals(1, statistics.get(LinkResult.DEFAULT_TYPE));
+
+        Map<String, Long> hosts = counter.getHostStatistics(10);
+        assertEquals(Arrays.asList("example.com", "example.org", "www.example.org"), new ArrayList<>(hosts.keySet()));
+        assertEquals(2L, hosts.get("example.com"));
+        assertEquals(1, counter.getHostStatistics(1).size());
+    }
+
+    @Test
+    void testCheckInStatus() {
+        LinksCounter counter = new LinksCounter();
+        counter.checkInStatus(new LinkResult("external", "https://example.com", new Status(HttpStatus.SC_NOT_FOUND, "Not Found")));
+        counter.checkInStatus(new LinkResult("external", "https://example.org", new Status(HttpStatus.SC_NOT_FOUND, "Not Found")));
+        counter.checkInStatus(new LinkResult("internal", "/content/page"));
+
+        Map<Integer, Long> statusCodes = counter.getStatusCodeStatistics();
+        assertEquals(Arrays.asList(HttpStatus.SC_OK, HttpStatus.SC_NOT_FOUND), new ArrayList<>(statusCodes.keySet()));
+        assertEquals(2L, statusCodes.get(HttpStatus.SC_NOT_FOUND));
+        assertEquals(0, counter.getStatistics().size());
+    }
+
+    @Test
+    void testCheckIn_concurrent() {
+        LinksCounter counter = new LinksCounter();
+        List<String> hosts = Arrays.asList("a.com", "b.com", "c.com");
+        IntStream.range(0, 30_000).parallel().forEach(i -> {
+            LinkResult result = new LinkResult("external", "https://" + hosts.get(i % hosts.size()) + "/" + i);
+            counter.checkIn(result);
+            counter.checkInStatus(result);
+        });
+        assertEquals(30_000, counter.getStatistics().get("external"));
+        assertEquals(30_000L, counter.getStatusCodeStatistics().get(HttpStatus.SC_OK));
+        counter.getHostStatistics(10).values().forEach(count -> assertEquals(10_000L, count));
+    }
+}
@@ -32,9 +32,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 
 import javax.jcr.Session;
 import javax.json.Json;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -43,10 +47,13 @@ class AclCheckServletTest {
     private static final String REPOSITORY_HELPER_FIELD = "repositoryHelper";
 
     private static final String PATH_REQUEST_PARAM = "path";
+    private static final String PATHS_REQUEST_PARAM = "paths";
     private static final String PERMISSIONS_REQUEST_PARAM = "permissions";
     private static final String HAS_PERMISSIONS_RESPONSE_PARAM = "hasPermissions";
+    private static final String PERMISSIONS_BY_PATH_RESPONSE_PARAM = "permissionsByPath";
 
     private static final String TEST_PATH = "/content/test";
+    private static final String TEST_OTHER_PATH = "/content/test-other";
     private static final String TEST_PERMISSIONS = "testPermissions";
 
     private final AemContext context = new AemContext(ResourceResolverType.JCR_MOCK);
@@ -84,6 +91,40 @@ class AclCheckServletTest {
         assertEquals(expectedJsonResponse, jsonResponse);
     }
 
+    @Test
+    void testHasPermissions_multiplePaths() {
+        request.addRequestParameter(PATHS_REQUEST_PARAM, TEST_PATH);
+        request.addRequestParameter(PATHS_REQUEST_PARAM, TEST_OTHER_PATH);
+        request.addRequestParameter(PERMISSIONS_REQUEST_PARAM, TEST_PERMISSIONS);
+        Map<String, Boolean> permissionsByPath = new LinkedHashMap<>();
+        permissionsByPath.put(TEST_PATH, true);
+        permissionsByPath.put(TEST_OTHER_PATH, false);
+
+        when(repositoryHelper.hasPermissions(any(Session.class), eq(Arrays.asList(TEST_PATH, TEST_OTHER_PATH)), eq(TEST_PERMISSIONS)))
+                .thenReturn(permissionsByPath);
+
+        fixture.doPost(request, response);
+        String expectedJsonResponse = Json.createObjectBuilder()
+                .add(HAS_PERMISSIONS_RESPONSE_PARAM, false)
+                .add(PERMISSIONS_BY_PATH_RESPONSE_PARAM, Json.createObjectBuilder()
+                        .add(TEST_PATH, true)
+                        .add(TEST_OTHER_PATH, false))
+                .build()
+                .toString();
+
+        assertEquals(expectedJsonResponse, response.getOutputAsString());
+    }
+
+    @Test
+    void testHasPermissions_multiplePathsEmptyPermissions() {
+        request.addRequestParameter(PATHS_REQUEST_PARAM, TEST_PATH);
+
+        fixture.doPost(request, response);
+
+        assertEquals(HttpStatus.SC_BAD_REQUEST, response.getStatus());
+        verify(repositoryHelper, never()).hasPermissions(any(Session.class), anyCollection(), any());
+    }
+
     @Test
     void testEmptyParams() {
         fixture.doPost(request, response);
@@ -0,0 +1,122 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exadel.etoolbox.linkinspector.core.servlets;
+
+import com.exadel.etoolbox.linkinspector.core.services.data.DataFeedService;
+import com.exadel.etoolbox.linkinspector.core.services.data.models.DataFeedPage;
+import com.exadel.etoolbox.linkinspector.core.services.data.models.DataFilter;
+import io.wcm.testing.mock.aem.junit5.AemContext;
+import io.wcm.testing.mock.aem.junit5.AemContextExtension;
+import junitx.util.PrivateAccessor;
+import org.apache.commons.httpclient.HttpStatus;
+import org.apache.commons.io.IOUtils;
+import org.apache.sling.testing.mock.sling.servlet.MockSlingHttpServletRequest;
+import org.apache.sling.testing.mock.sling.servlet.MockSlingHttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(AemContextExtension.class)
+class DownloadReportServletTest {
+    private static final String DATAFEED_SERVICE_FIELD = "dataFeedService";
+    private static final String TEST_CSV = "Link,Type\n/content/test-link,internal\n";
+
+    private final AemContext context = new AemContext();
+
+    private final DownloadReportServlet fixture = new DownloadReportServlet();
+
+    private DataFeedService dataFeedService;
+    private MockSlingHttpServletRequest request;
+    private MockSlingHttpServletResponse response;
+
+    @BeforeEach
+    void setup() throws NoSuchFieldException, IOException {
+        dataFeedService = mock(DataFeedService.class);
+        PrivateAccessor.setField(fixture, DATAFEED_SERVICE_FIELD, dataFeedService);
+        when(dataFeedService.getDataFeedPage(any(DataFilter.class), anyInt(), anyInt()))
+                .thenReturn(new DataFeedPage(1, Collections.emptyList()));
+        when(dataFeedService.writeCsvReport(any(DataFilter.class), any(OutputStream.class))).thenAnswer(invocation -> {
+            invocation.getArgument(1, OutputStream.class).write(TEST_CSV.getBytes(StandardCharsets.UTF_8));
+            return 1;
+        });
+
+        request = context.request();
+        response = context.response();
+    }
+
+    @Test
+    void testDoGet() throws IOException {
+        request.setParameterMap(new HashMap<String, Object>() {{
+            put("type", "internal");
+            put("substring", "test");
+        }});
+
+        fixture.doGet(request, response);
+
+        assertEquals(HttpStatus.SC_OK, response.getStatus());
+        assertEquals(TEST_CSV, response.getOutputAsString());
+        assertNull(response.getHeader("Content-Encoding"));
+        ArgumentCaptor<DataFilter> filterCaptor = ArgumentCaptor.forClass(DataFilter.class);
+        verify(dataFeedService).writeCsvReport(filterCaptor.capture(), any(OutputStream.class));
+        assertEquals("internal", filterCaptor.getValue().getType());
+        assertEquals("test", filterCaptor.getValue().getSubstring());
+    }
+
+    @Test
+    void testDoGet_gzip() throws IOException {
+        request.addHeader("Accept-Encoding", "gzip, deflate");
+
+        fixture.doGet(request, response);
+
+        assertEquals("gzip", response.getHeader("Content-Encoding"));
+        try (GZIPInputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(response.getOutput()))) {
+            assertEquals(TEST_CSV, IOUtils.toString(inputStream, StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void testDoGet_noReport() throws IOException {
+        when(dataFeedService.getDataFeedPage(any(DataFilter.class), anyInt(), anyInt()))
+                .thenReturn(new DataFeedPage(0, Collections.emptyList()));
+
+        fixture.doGet(request, response);
+
+        assertEquals(HttpStatus.SC_NOT_FOUND, response.getStatus());
+        verify(dataFeedService, never()).writeCsvReport(any(DataFilter.class), any(OutputStream.class));
+    }
+
+    @Test
+    void testDoHead() throws IOException {
+        fixture.doHead(request, response);
+
+        assertEquals(HttpStatus.SC_OK, response.getStatus());
+        verify(dataFeedService, never()).writeCsvReport(any(DataFilter.class), any(OutputStream.class));
+    }
+}
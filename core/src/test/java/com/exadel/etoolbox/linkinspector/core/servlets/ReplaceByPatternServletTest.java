@@ -17,8 +17,8 @@ package com.exadel.etoolbox.linkinspector.core.servlets;
 import com.exadel.etoolbox.linkinspector.core.services.cache.GridResourcesCache;
 import com.exadel.etoolbox.linkinspector.core.services.cache.impl.GridResourcesCacheImpl;
 import com.exadel.etoolbox.linkinspector.core.services.data.DataFeedService;
+import com.exadel.etoolbox.linkinspector.core.services.data.impl.ConfigServiceImpl;
 import com.exadel.etoolbox.linkinspector.core.services.data.impl.DataFeedServiceImpl;
-import com.exadel.etoolbox.linkinspector.core.services.data.models.GridResource;
 import com.exadel.etoolbox.linkinspector.core.services.helpers.LinkHelper;
 import com.exadel.etoolbox.linkinspector.core.services.helpers.PackageHelper;
 import com.exadel.etoolbox.linkinspector.core.services.helpers.RepositoryHelper;
@@ -30,6 +30,7 @@ import com.exadel.etoolbox.linkinspector.core.services.mocks.MockRepositoryHelpe
 import com.exadel.etoolbox.linkinspector.core.services.resolvers.ExternalLinkResolverImpl;
 import com.exadel.etoolbox.linkinspector.core.services.resolvers.InternalLinkResolverImpl;
 import com.exadel.etoolbox.linkinspector.core.services.util.CsvUtil;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.wcm.testing.mock.aem.junit5.AemContext;
 import io.wcm.testing.mock.aem.junit5.AemContextExtension;
@@ -40,6 +41,8 @@ import org.apache.jackrabbit.vault.packaging.PackageException;
 import org.apache.sling.api.SlingHttpServletRequest;
 import org.apache.sling.api.SlingHttpServletResponse;
 import org.apache.sling.api.request.RequestParameter;
+import org.apache.sling.api.resource.ModifiableValueMap;
+import org.apache.sling.api.resource.LoginException;
 import org.apache.sling.api.resource.PersistenceException;
 import org.apache.sling.api.resource.Resource;
 import org.apache.sling.api.resource.ResourceResolver;
@@ -62,8 +65,6 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.net.URL;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.BiConsumer;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -83,10 +84,17 @@ class ReplaceByPatternServletTest {
     private static final String REPLACEMENT_PARAM = "replacement";
     private static final String DRY_RUN_PARAM = "isDryRun";
     private static final String BACKUP_PARAM = "isBackup";
+    private static final String JOURNAL_BACKUP_PARAM = "isJournalBackup";
+    private static final String BACKUP_ID_RESP_PARAM = "backupId";
     private static final String OUTPUT_AS_CSV_PARAM = "isOutputAsCsv";
 
     private static final String SELECTED_PARAM = "selected";
     private static final String LINKS_PARAM = "links";
+    private static final String ASYNC_PARAM = "async";
+    private static final int MAX_TRACKED_TASKS = 16;
+    private static final String JOB_ID_PARAM = "jobId";
+    private static final String STATUS_RESP_PARAM = "status";
+    private static final String ITEMS_COUNT_RESP_PARAM = "updatedItemsCount";
 
     private static final String TEST_LINK_PATTERN = "test-pattern";
     private static final String TEST_REPLACEMENT = "test-replacement";
@@ -102,6 +110,10 @@ class ReplaceByPatternServletTest {
     private static final String TEST_FOLDER_PATH = "/content/test-folder";
     private static final String TEST_EXCEPTION_MSG = "Test exception message";
     private static final String ADVANCED_MODE = "advancedMode";
+    private static final String TEST_USER_ID = "test-user";
+    private static final int TEST_JOURNAL_RETENTION_DAYS = 30;
+    private static final int STATUS_POLLING_ATTEMPTS = 100;
+    private static final long STATUS_POLLING_INTERVAL = 50;
 
     private final AemContext context = new AemContext(ResourceResolverType.JCR_MOCK);
 
@@ -266,6 +278,73 @@ class ReplaceByPatternServletTest {
         assertEquals(HttpStatus.SC_FORBIDDEN, response.getStatus());
     }
 
+    @Test
+    void testJournalBackup() throws NoSuchFieldException, IOException {
+        setUpHelpersResources();
+        setUpRequestParamsLinks();
+        request.addRequestParameter(JOURNAL_BACKUP_PARAM, Boolean.TRUE.toString());
+
+        fixture.doPost(request, response);
+
+        assertEquals(HttpStatus.SC_OK, response.getStatus());
+        JsonNode jsonResponse = new ObjectMapper().readTree(response.getOutputAsString());
+        assertTrue(jsonResponse.has(BACKUP_ID_RESP_PARAM));
+        Resource journal = context.resourceResolver().getResource(
+                ReplacementJournal.ROOT_PATH + "/" + jsonResponse.get(BACKUP_ID_RESP_PARAM).asText());
+        assertNotNull(journal);
+        assertTrue(journal.hasChildren());
+        assertTrue(ReplacementJournal.isFinished(journal.getName(), context.resourceResolver()));
+        verifyNoInteractions(packageHelper);
+        assertTrue(isReplacementDone(TEST_RESOURCE_PATH_1, TEST_PROPERTY_1, TEST_REPLACEMENT));
+    }
+
+    @Test
+    void testJournalBackup_removeExpired() throws NoSuchFieldException, IOException {
+        setUpHelpersResources();
+        ReplaceByPatternServlet.Configuration config = mock(ReplaceByPatternServlet.Configuration.class);
+        when(config.commitThreshold()).thenReturn(DEFAULT_COMMIT_THRESHOLD);
+        when(config.journalRetentionDays()).thenReturn(TEST_JOURNAL_RETENTION_DAYS);
+        fixture.activate(config);
+        Calendar expired = Calendar.getInstance();
+        expired.add(Calendar.DAY_OF_MONTH, -TEST_JOURNAL_RETENTION_DAYS - 1);
+        context.create().resource(ReplacementJournal.ROOT_PATH + "/expired", "created", expired);
+        context.create().resource(ReplacementJournal.ROOT_PATH + "/recent", "created", Calendar.getInstance());
+        setUpRequestParamsLinks();
+        request.addRequestParameter(JOURNAL_BACKUP_PARAM, Boolean.TRUE.toString());
+
+        fixture.doPost(request, response);
+
+        JsonNode jsonResponse = new ObjectMapper().readTree(response.getOutputAsString());
+        assertNotNull(context.resourceResolver().getResource(
+                ReplacementJournal.ROOT_PATH + "/" + jsonResponse.get(BACKUP_ID_RESP_PARAM).asText()));
+        assertNull(context.resourceResolver().getResource(ReplacementJournal.ROOT_PATH + "/expired"));
+        assertNotNull(context.resourceResolver().getResource(ReplacementJournal.ROOT_PATH + "/recent"));
+    }
+
+    @Test
+    void testActivate_finishAbandonedJournals() {
+        context.create().resource(ReplacementJournal.ROOT_PATH + "/abandoned", "created", Calendar.getInstance());
+        ReplaceByPatternServlet servlet = new ReplaceByPatternServlet();
+        context.registerInjectActivateService(servlet);
+
+        assertTrue(ReplacementJournal.isFinished("abandoned", context.resourceResolver()));
+        servlet.deactivate();
+    }
+
+    @Test
+    void testJournalBackup_dryRun() throws NoSuchFieldException, IOException {
+        setUpHelpersResources();
+        setUpRequestParamsLinks();
+        request.addRequestParameter(JOURNAL_BACKUP_PARAM, Boolean.TRUE.toString());
+        request.addRequestParameter(DRY_RUN_PARAM, Boolean.TRUE.toString());
+
+        fixture.doPost(request, response);
+
+        JsonNode jsonResponse = new ObjectMapper().readTree(response.getOutputAsString());
+        assertFalse(jsonResponse.has(BACKUP_ID_RESP_PARAM));
+        assertNull(context.resourceResolver().getResource(ReplacementJournal.ROOT_PATH));
+    }
+
     @Test
     void testCsvOutput() throws NoSuchFieldException, IOException {
         setUpHelpersResources();
@@ -386,6 +465,109 @@ class ReplaceByPatternServletTest {
         }
     }
 
+    @Test
+    void testReplacementAsync() throws NoSuchFieldException, IOException, InterruptedException {
+        setUpDataFeedService(getRepositoryHelperFromContext());
+        setUpCommitThreshold();
+        setUpResources();
+
+        SlingHttpServletRequest requestMock = mockSlingRequest();
+        mockRequestParam(ASYNC_PARAM, Boolean.TRUE.toString(), requestMock);
+        ResourceResolver resourceResolverMock = mockResourceResolver(requestMock);
+        ResourceResolver taskResourceResolverMock = mockTaskResourceResolver(resourceResolverMock);
+        mockLinkHelper(taskResourceResolverMock);
+        mockSession(taskResourceResolverMock);
+
+        when(taskResourceResolverMock.hasChanges()).thenReturn(true);
+
+        fixture.doPost(requestMock, response);
+
+        assertEquals(HttpStatus.SC_ACCEPTED, response.getStatus());
+        String jobId = new ObjectMapper().readTree(response.getOutputAsString()).get(JOB_ID_PARAM).asText();
+        JsonNode status = awaitReplacement(jobId, requestMock);
+
+        assertEquals(ReplacementTask.State.SUCCEEDED.toString(), status.get(STATUS_RESP_PARAM).asText());
+        assertTrue(status.get(ITEMS_COUNT_RESP_PARAM).asInt() > 0);
+        assertEquals(1, ((MockRepositoryHelper) repositoryHelper).getCreationsCount());
+        verify(taskResourceResolverMock).commit();
+        verify(taskResourceResolverMock).close();
+        verify(resourceResolverMock, never()).commit();
+    }
+
+    @Test
+    void testReplacementAsync_persistenceException() throws NoSuchFieldException, IOException, InterruptedException {
+        setUpDataFeedService(getRepositoryHelperFromContext());
+        setUpCommitThreshold();
+        setUpResources();
+
+        SlingHttpServletRequest requestMock = mockSlingRequest();
+        mockRequestParam(ASYNC_PARAM, Boolean.TRUE.toString(), requestMock);
+        ResourceResolver taskResourceResolverMock = mockTaskResourceResolver(mockResourceResolver(requestMock));
+        mockLinkHelper(taskResourceResolverMock);
+        mockSession(taskResourceResolverMock);
+
+        when(taskResourceResolverMock.hasChanges()).thenReturn(true);
+        doThrow(new PersistenceException(TEST_EXCEPTION_MSG)).when(taskResourceResolverMock).commit();
+
+        fixture.doPost(requestMock, response);
+
+        String jobId = new ObjectMapper().readTree(response.getOutputAsString()).get(JOB_ID_PARAM).asText();
+        JsonNode status = awaitReplacement(jobId, requestMock);
+
+        assertEquals(ReplacementTask.State.FAILED.toString(), status.get(STATUS_RESP_PARAM).asText());
+        assertEquals(HttpStatus.SC_INTERNAL_SERVER_ERROR, status.get("errorStatus").asInt());
+        verify(taskResourceResolverMock).close();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testReplacementAsync_unfinishedTasksNotEvicted() throws NoSuchFieldException, IOException, InterruptedException {
+        setUpDataFeedService(getRepositoryHelperFromContext());
+        setUpCommitThreshold();
+        setUpResources();
+        Map<String, ReplacementTask> replacementTasks =
+                (Map<String, ReplacementTask>) PrivateAccessor.getField(fixture, "replacementTasks");
+        List<ReplacementTask> unfinishedTasks = new ArrayList<>();
+        for (int i = 0; i < MAX_TRACKED_TASKS; i++) {
+            ReplacementTask task = new ReplacementTask(TEST_USER_ID, false);
+            replacementTasks.put(task.getId(), task);
+            unfinishedTasks.add(task);
+        }
+
+        SlingHttpServletRequest requestMock = mockSlingRequest();
+        mockRequestParam(ASYNC_PARAM, Boolean.TRUE.toString(), requestMock);
+        ResourceResolver taskResourceResolverMock = mockTaskResourceResolver(mockResourceResolver(requestMock));
+        mockLinkHelper(taskResourceResolverMock);
+        mockSession(taskResourceResolverMock);
+
+        fixture.doPost(requestMock, response);
+
+        assertEquals(HttpStatus.SC_SERVICE_UNAVAILABLE, response.getStatus());
+        assertEquals(MAX_TRACKED_TASKS, replacementTasks.size());
+        assertTrue(unfinishedTasks.stream().allMatch(task -> replacementTasks.containsKey(task.getId())));
+
+        ReplacementTask finishedTask = unfinishedTasks.get(1);
+        finishedTask.fail(HttpStatus.SC_INTERNAL_SERVER_ERROR);
+        fixture.doPost(requestMock, response);
+
+        assertEquals(HttpStatus.SC_ACCEPTED, response.getStatus());
+        assertFalse(replacementTasks.containsKey(finishedTask.getId()));
+        assertEquals(MAX_TRACKED_TASKS, replacementTasks.size());
+        String jobId = new ObjectMapper().readTree(response.getOutputAsString()).get(JOB_ID_PARAM).asText();
+        awaitReplacement(jobId, requestMock);
+    }
+
+    @Test
+    void testReplacementStatus_unknownJob() throws IOException {
+        SlingHttpServletRequest requestMock = mockSlingRequest();
+        mockRequestParam(JOB_ID_PARAM, UUID.randomUUID().toString(), requestMock);
+        when(mockResourceResolver(requestMock).getUserID()).thenReturn(TEST_USER_ID);
+
+        fixture.doGet(requestMock, response);
+
+        assertEquals(HttpStatus.SC_NOT_FOUND, response.getStatus());
+    }
+
     private void setUpHelpersResources() throws NoSuchFieldException {
         setUpDataFeedService(getRepositoryHelperFromContext());
         setUpCommitThreshold();
@@ -402,10 +584,9 @@ class ReplaceByPatternServletTest {
     private void setUpDataFeedService(RepositoryHelper repositoryHelper) throws NoSuchFieldException {
         DataFeedService dataFeedService = new DataFeedServiceImpl();
         GridResourcesCache gridResourcesCache = new GridResourcesCacheImpl();
-        ConcurrentHashMap<String, CopyOnWriteArrayList<GridResource>> cache = new ConcurrentHashMap<>();
-        PrivateAccessor.setField(gridResourcesCache, "gridResourcesCache", cache);
         PrivateAccessor.setField(dataFeedService, "gridResourcesCache", gridResourcesCache);
         PrivateAccessor.setField(dataFeedService, REPOSITORY_HELPER_FIELD, repositoryHelper);
+        PrivateAccessor.setField(dataFeedService, "configService", mock(ConfigServiceImpl.class));
         PrivateAccessor.setField(fixture, DATAFEED_SERVICE_FIELD, dataFeedService);
     }
 
@@ -467,10 +648,40 @@ class ReplaceByPatternServletTest {
         return resourceResolverMock;
     }
 
+    private ResourceResolver mockTaskResourceResolver(ResourceResolver resourceResolverMock) {
+        ResourceResolver taskResourceResolverMock = mock(ResourceResolver.class);
+        try {
+            when(resourceResolverMock.clone(null)).thenReturn(taskResourceResolverMock);
+        } catch (LoginException e) {
+            fail(e);
+        }
+        when(resourceResolverMock.getUserID()).thenReturn(TEST_USER_ID);
+        when(taskResourceResolverMock.getUserID()).thenReturn(TEST_USER_ID);
+        return taskResourceResolverMock;
+    }
+
+    private JsonNode awaitReplacement(String jobId, SlingHttpServletRequest requestMock)
+            throws IOException, InterruptedException {
+        mockRequestParam(JOB_ID_PARAM, jobId, requestMock);
+        for (int attempt = 0; attempt < STATUS_POLLING_ATTEMPTS; attempt++) {
+            MockSlingHttpServletResponse statusResponse = new MockSlingHttpServletResponse();
+            fixture.doGet(requestMock, statusResponse);
+            JsonNode status = new ObjectMapper().readTree(statusResponse.getOutputAsString());
+            if (status.has(ITEMS_COUNT_RESP_PARAM)) {
+                return status;
+            }
+            Thread.sleep(STATUS_POLLING_INTERVAL);
+        }
+        return fail("The replacement task is not finished in time");
+    }
+
     private void mockLinkHelper(ResourceResolver resourceResolverMock) throws NoSuchFieldException {
         LinkHelper helper = mock(LinkHelper.class);
         PrivateAccessor.setField(fixture, LINK_HELPER_FIELD, helper);
-        when(helper.replaceLink(eq(resourceResolverMock), anyString(), anyString(), anyString(), anyString()))
+        Resource resourceMock = mock(Resource.class);
+        when(resourceResolverMock.getResource(anyString())).thenReturn(resourceMock);
+        when(resourceMock.adaptTo(ModifiableValueMap.class)).thenReturn(mock(ModifiableValueMap.class));
+        when(helper.replaceLink(any(ModifiableValueMap.class), anyString(), anyString(), anyString()))
                 .thenReturn(true);
     }
 
@@ -0,0 +1,228 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exadel.etoolbox.linkinspector.core.servlets;
+
+import com.exadel.etoolbox.linkinspector.core.services.data.DataFeedService;
+import com.exadel.etoolbox.linkinspector.core.services.data.models.UpdatedItem;
+import com.exadel.etoolbox.linkinspector.core.services.mocks.MockRepositoryHelper;
+import io.wcm.testing.mock.aem.junit5.AemContext;
+import io.wcm.testing.mock.aem.junit5.AemContextExtension;
+import org.apache.commons.httpclient.HttpStatus;
+import org.apache.sling.api.resource.ModifiableValueMap;
+import org.apache.sling.api.resource.PersistenceException;
+import org.apache.sling.api.resource.Resource;
+import org.apache.sling.testing.mock.sling.ResourceResolverType;
+import org.apache.sling.testing.mock.sling.servlet.MockSlingHttpServletRequest;
+import org.apache.sling.testing.mock.sling.servlet.MockSlingHttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+
+import javax.json.Json;
+import javax.json.JsonObject;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(AemContextExtension.class)
+class UndoReplacementServletTest {
+    private static final String BACKUP_ID_PARAM = "backupId";
+    private static final String RESTORED_ITEMS_COUNT_RESP_PARAM = "restoredItemsCount";
+    private static final String CONFLICTS_COUNT_RESP_PARAM = "conflictsCount";
+    private static final String CONFLICTS_RESP_PARAM = "conflicts";
+
+    private static final String TEST_BACKUP_ID = "test-backup";
+    private static final String TEST_RESOURCE_PATH = "/content/test-folder/test-resource";
+    private static final String TEST_PROPERTY = "link";
+    private static final String TEST_MULTI_PROPERTY = "links";
+    private static final String TEST_ORIGINAL_LINK = "/content/original";
+    private static final String TEST_UPDATED_LINK = "/content/updated";
+    private static final String TEST_EDITED_LINK = "/content/edited";
+
+    private final AemContext context = new AemContext(ResourceResolverType.JCR_MOCK);
+
+    private UndoReplacementServlet fixture;
+
+    private MockRepositoryHelper repositoryHelper;
+
+    private DataFeedService dataFeedService;
+
+    private MockSlingHttpServletRequest request;
+    private MockSlingHttpServletResponse response;
+
+    @BeforeEach
+    void setup() {
+        repositoryHelper = context.registerInjectActivateService(new MockRepositoryHelper(context.resourceResolver()));
+        dataFeedService = context.registerService(DataFeedService.class, mock(DataFeedService.class));
+        fixture = context.registerInjectActivateService(new UndoReplacementServlet());
+        request = context.request();
+        response = context.response();
+    }
+
+    @Test
+    void testUndo() throws PersistenceException {
+        context.create().resource(TEST_RESOURCE_PATH,
+                TEST_PROPERTY, TEST_UPDATED_LINK,
+                TEST_MULTI_PROPERTY, new String[]{TEST_UPDATED_LINK, TEST_ORIGINAL_LINK});
+        ReplacementJournal journal = new ReplacementJournal(TEST_BACKUP_ID, context.resourceResolver().getUserID(),
+                TEST_ORIGINAL_LINK, TEST_UPDATED_LINK, repositoryHelper);
+        journal.append(Collections.singletonList(
+                new ReplacementJournal.Entry(TEST_RESOURCE_PATH, TEST_PROPERTY, TEST_ORIGINAL_LINK, TEST_UPDATED_LINK,
+                        Collections.singletonList(
+                                new UpdatedItem(TEST_ORIGINAL_LINK, TEST_UPDATED_LINK, TEST_RESOURCE_PATH, TEST_PROPERTY)))));
+        journal.append(Collections.singletonList(
+                new ReplacementJournal.Entry(TEST_RESOURCE_PATH, TEST_MULTI_PROPERTY,
+                        new String[]{TEST_ORIGINAL_LINK, TEST_ORIGINAL_LINK},
+                        new String[]{TEST_UPDATED_LINK, TEST_ORIGINAL_LINK},
+                        Collections.singletonList(
+                                new UpdatedItem(TEST_ORIGINAL_LINK, TEST_UPDATED_LINK, TEST_RESOURCE_PATH, TEST_MULTI_PROPERTY)))));
+        ReplacementJournal.finish(TEST_BACKUP_ID, repositoryHelper);
+        request.addRequestParameter(BACKUP_ID_PARAM, TEST_BACKUP_ID);
+
+        fixture.doPost(request, response);
+
+        String expectedJsonResponse = Json.createObjectBuilder()
+                .add(RESTORED_ITEMS_COUNT_RESP_PARAM, 2)
+                .add(CONFLICTS_COUNT_RESP_PARAM, 0)
+                .add(CONFLICTS_RESP_PARAM, Json.createArrayBuilder())
+                .build()
+                .toString();
+        assertEquals(expectedJsonResponse, response.getOutputAsString());
+        Resource resource = context.resourceResolver().getResource(TEST_RESOURCE_PATH);
+        assertEquals(TEST_ORIGINAL_LINK, resource.getValueMap().get(TEST_PROPERTY, String.class));
+        assertArrayEquals(new String[]{TEST_ORIGINAL_LINK, TEST_ORIGINAL_LINK},
+                resource.getValueMap().get(TEST_MULTI_PROPERTY, String[].class));
+        assertNull(context.resourceResolver().getResource(ReplacementJournal.ROOT_PATH + "/" + TEST_BACKUP_ID));
+        assertEquals(1, repositoryHelper.getCreationsCount());
+
+        ArgumentCaptor<List<UpdatedItem>> revertedItems = ArgumentCaptor.forClass(List.class);
+        verify(dataFeedService).modifyDataFeed(revertedItems.capture(), eq(true));
+        assertEquals(Arrays.asList(TEST_RESOURCE_PATH + "@" + TEST_PROPERTY, TEST_RESOURCE_PATH + "@" + TEST_MULTI_PROPERTY),
+                revertedItems.getValue().stream().map(UpdatedItem::getPropertyLocation).collect(Collectors.toList()));
+        assertTrue(revertedItems.getValue()
+                .stream()
+                .allMatch(item -> TEST_UPDATED_LINK.equals(item.getCurrentLink())
+                        && TEST_ORIGINAL_LINK.equals(item.getUpdatedLink())));
+    }
+
+    @Test
+    void testUndo_missingResource() throws PersistenceException {
+        ReplacementJournal journal = new ReplacementJournal(TEST_BACKUP_ID, context.resourceResolver().getUserID(),
+                TEST_ORIGINAL_LINK, TEST_UPDATED_LINK, repositoryHelper);
+        journal.append(Arrays.asList(
+                new ReplacementJournal.Entry(TEST_RESOURCE_PATH, TEST_PROPERTY, TEST_ORIGINAL_LINK, TEST_UPDATED_LINK),
+                new ReplacementJournal.Entry(TEST_RESOURCE_PATH, TEST_MULTI_PROPERTY, TEST_ORIGINAL_LINK, TEST_UPDATED_LINK)));
+        ReplacementJournal.finish(TEST_BACKUP_ID, repositoryHelper);
+        request.addRequestParameter(BACKUP_ID_PARAM, TEST_BACKUP_ID);
+
+        fixture.doPost(request, response);
+
+        assertEquals(HttpStatus.SC_OK, response.getStatus());
+        assertEquals(0, Json.createReader(new StringReader(response.getOutputAsString()))
+                .readObject()
+                .getInt(RESTORED_ITEMS_COUNT_RESP_PARAM));
+    }
+
+    @Test
+    void testUndo_conflict() throws PersistenceException {
+        context.create().resource(TEST_RESOURCE_PATH,
+                TEST_PROPERTY, TEST_EDITED_LINK,
+                TEST_MULTI_PROPERTY, new String[]{TEST_UPDATED_LINK});
+        ReplacementJournal journal = new ReplacementJournal(TEST_BACKUP_ID, context.resourceResolver().getUserID(),
+                TEST_ORIGINAL_LINK, TEST_UPDATED_LINK, repositoryHelper);
+        journal.append(Arrays.asList(
+                new ReplacementJournal.Entry(TEST_RESOURCE_PATH, TEST_PROPERTY, TEST_ORIGINAL_LINK, TEST_UPDATED_LINK),
+                new ReplacementJournal.Entry(TEST_RESOURCE_PATH, TEST_MULTI_PROPERTY,
+                        new String[]{TEST_ORIGINAL_LINK}, new String[]{TEST_UPDATED_LINK})));
+        ReplacementJournal.finish(TEST_BACKUP_ID, repositoryHelper);
+        request.addRequestParameter(BACKUP_ID_PARAM, TEST_BACKUP_ID);
+
+        fixture.doPost(request, response);
+
+        JsonObject jsonResponse = Json.createReader(new StringReader(response.getOutputAsString())).readObject();
+        assertEquals(1, jsonResponse.getInt(RESTORED_ITEMS_COUNT_RESP_PARAM));
+        assertEquals(1, jsonResponse.getInt(CONFLICTS_COUNT_RESP_PARAM));
+        assertEquals(TEST_RESOURCE_PATH + "@" + TEST_PROPERTY, jsonResponse.getJsonArray(CONFLICTS_RESP_PARAM).getString(0));
+        Resource resource = context.resourceResolver().getResource(TEST_RESOURCE_PATH);
+        assertEquals(TEST_EDITED_LINK, resource.getValueMap().get(TEST_PROPERTY, String.class));
+        assertArrayEquals(new String[]{TEST_ORIGINAL_LINK}, resource.getValueMap().get(TEST_MULTI_PROPERTY, String[].class));
+    }
+
+    @Test
+    void testUndo_running() throws PersistenceException {
+        context.create().resource(TEST_RESOURCE_PATH, TEST_PROPERTY, TEST_UPDATED_LINK);
+        ReplacementJournal journal = new ReplacementJournal(TEST_BACKUP_ID, context.resourceResolver().getUserID(),
+                TEST_ORIGINAL_LINK, TEST_UPDATED_LINK, repositoryHelper);
+        journal.append(Collections.singletonList(
+                new ReplacementJournal.Entry(TEST_RESOURCE_PATH, TEST_PROPERTY, TEST_ORIGINAL_LINK, TEST_UPDATED_LINK)));
+        request.addRequestParameter(BACKUP_ID_PARAM, TEST_BACKUP_ID);
+
+        fixture.doPost(request, response);
+
+        assertEquals(HttpStatus.SC_CONFLICT, response.getStatus());
+        assertEquals(TEST_UPDATED_LINK, context.resourceResolver().getResource(TEST_RESOURCE_PATH)
+                .getValueMap()
+                .get(TEST_PROPERTY, String.class));
+        assertNotNull(context.resourceResolver().getResource(ReplacementJournal.ROOT_PATH + "/" + TEST_BACKUP_ID));
+    }
+
+    @Test
+    void testUndo_anotherUser() throws PersistenceException {
+        context.create().resource(TEST_RESOURCE_PATH, TEST_PROPERTY, TEST_UPDATED_LINK);
+        ReplacementJournal journal = new ReplacementJournal(TEST_BACKUP_ID, "another-user",
+                TEST_ORIGINAL_LINK, TEST_UPDATED_LINK, repositoryHelper);
+        journal.append(Collections.singletonList(
+                new ReplacementJournal.Entry(TEST_RESOURCE_PATH, TEST_PROPERTY, TEST_ORIGINAL_LINK, TEST_UPDATED_LINK)));
+        ReplacementJournal.finish(TEST_BACKUP_ID, repositoryHelper);
+        request.addRequestParameter(BACKUP_ID_PARAM, TEST_BACKUP_ID);
+
+        fixture.doPost(request, response);
+
+        assertEquals(HttpStatus.SC_NOT_FOUND, response.getStatus());
+        assertEquals(TEST_UPDATED_LINK, context.resourceResolver().getResource(TEST_RESOURCE_PATH)
+                .adaptTo(ModifiableValueMap.class)
+                .get(TEST_PROPERTY, String.class));
+    }
+
+    @Test
+    void testUndo_unknownBackup() {
+        request.addRequestParameter(BACKUP_ID_PARAM, TEST_BACKUP_ID);
+
+        fixture.doPost(request, response);
+
+        assertEquals(HttpStatus.SC_NOT_FOUND, response.getStatus());
+    }
+
+    @Test
+    void testUndo_invalidBackupId() {
+        request.addRequestParameter(BACKUP_ID_PARAM, "../" + TEST_BACKUP_ID);
+
+        fixture.doPost(request, response);
+
+        assertEquals(HttpStatus.SC_BAD_REQUEST, response.getStatus());
+    }
+}
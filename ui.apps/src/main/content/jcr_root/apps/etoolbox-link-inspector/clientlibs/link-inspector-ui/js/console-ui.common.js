@@ -65,6 +65,7 @@
      * @typedef ProcessLogger
      * @method finished
      * @method log
+     * @method progress
      */
     function createLoggerDialog(title, processingMsg) {
         var el = getDialog();
@@ -101,6 +102,9 @@
                 logItem.className = 'elc-log-item';
                 logItem[safe ? 'textContent' : 'innerHTML'] = message;
                 el.content.insertAdjacentElement('beforeend', logItem);
+            },
+            progress: function (message) {
+                processingLabel.textContent = message;
             }
         };
     }
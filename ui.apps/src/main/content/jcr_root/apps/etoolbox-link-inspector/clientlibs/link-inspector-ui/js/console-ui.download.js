@@ -20,14 +20,34 @@
     'use strict';
 
     const NO_REPORT_MSG = Granite.I18n.get('No report found');
-    const REPORT_URL = '/var/etoolbox/link-inspector/download/report.csv';
+    const REPORT_URL = '/content/etoolbox/link-inspector/servlet/download';
+    const FILTER_PARAMS = ['type', 'substring'];
 
     function onDownloadAction() {
-        if (ELC.resourceExistCheck(REPORT_URL)) {
-            window.location = REPORT_URL;
-        } else {
-            showWarningPopup();
-        }
+        const reportUrl = buildReportUrl();
+        $.ajax({
+            url: reportUrl,
+            type: 'HEAD'
+        }).done(function () {
+            window.location = reportUrl;
+        }).fail(showWarningPopup);
+    }
+
+    /**
+     * Builds the report URL which applies the filter currently set for the grid
+     *
+     * @returns {string}
+     */
+    function buildReportUrl() {
+        const currentParams = new URL(document.location).searchParams;
+        const reportParams = new URLSearchParams();
+        FILTER_PARAMS.forEach(function (param) {
+            if (currentParams.get(param)) {
+                reportParams.append(param, currentParams.get(param));
+            }
+        });
+        const query = reportParams.toString();
+        return query ? REPORT_URL + '?' + query : REPORT_URL;
     }
 
     function showWarningPopup() {
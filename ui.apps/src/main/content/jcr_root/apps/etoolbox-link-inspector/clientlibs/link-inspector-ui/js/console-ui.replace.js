@@ -27,6 +27,8 @@
     var REPLACEMENT_LINK_LABEL = Granite.I18n.get('Please enter the replacement');
     var DRY_RUN_CHECKBOX_LABEL = Granite.I18n.get('Dry run');
     var BACKUP_CHECKBOX_LABEL = Granite.I18n.get('Backup before replacement');
+    var JOURNAL_BACKUP_CHECKBOX_LABEL = Granite.I18n.get('Record original values to allow undo');
+    var UNDO_LABEL = Granite.I18n.get('Undo replacement');
     var CSV_OUT_CHECKBOX_LABEL = Granite.I18n.get('Download CSV with updated items');
     var DRY_RUN_TOOLTIP = Granite.I18n.get("If checked, no changes will be stored in the repository");
     var REPLACEMENT_DESCRIPTION = Granite.I18n.get('* Replacement will be applied within the selected scope');
@@ -37,14 +39,23 @@
     var PROCESSING_ERROR_MSG = 'Failed to replace by pattern<br/>Pattern: <b>{{pattern}}</b><br/>Replacement: <b>{{replacement}}</b>';
     var PERSISTENCE_ERROR_MSG = 'Replacement was interrupted due to the <b>error</b> occurred during persisting changes. Please see logs for more details';
     var FORBIDDEN_ERROR_MSG = 'Failed to build the backup package. Possible reasons: lack of permissions, please see logs for more details.<br/><b>No replacement was applied</b>';
+    var UNAVAILABLE_ERROR_MSG = 'Too many replacements are queued or running, please try again later.<br/><b>No replacement was applied</b>';
     var processingSuccessMsg = 'Replacement completed. %s<br/><br/>Pattern: <b>{{pattern}}</b><br/>Replacement: <b>{{replacement}}</b>';
     var DRY_RUN_PREFIX_MSG = '(Dry run) ';
     var DOWNLOADED_CSV_MSG = 'Please see the downloaded CSV for more details.';
     var PROCESSING_NOT_FOUND_MSG = 'Properties matching the pattern <b>{{pattern}}</b> were not found, or user has insufficient permissions to process them';
     var PROCESSING_IDENTICAL_MSG = 'The pattern <b>{{pattern}}</b> is equal to the replacement value, no processing was done';
+    var PROCESSING_STOPPED_MSG = 'Replacement was stopped before completion and might have been applied partially<br/>Pattern: <b>{{pattern}}</b><br/>Replacement: <b>{{replacement}}</b>';
+    var UNDO_SUCCESS_MSG = 'Replacement was undone. The number of restored values: <b>{{restoredItemsCount}}</b>';
+    var UNDO_CONFLICTS_MSG = 'The values modified after the replacement were not restored: <b>{{conflictsCount}}</b>';
+    var UNDO_RUNNING_MSG = 'The replacement is still running and cannot be undone yet';
+    var UNDO_ERROR_MSG = 'Failed to undo the replacement. Please see logs for more details';
+    var PROGRESS_LABEL = Granite.I18n.get('Links update is in progress: {{processed}} of {{total}} item(s) processed');
 
     var REPLACE_BY_PATTERN_COMMAND = '/content/etoolbox/link-inspector/servlet/replaceByPattern';
+    var UNDO_REPLACEMENT_COMMAND = '/content/etoolbox/link-inspector/servlet/undoReplacement';
     var READ_PERMISSIONS = 'read';
+    var STATUS_POLLING_INTERVAL = 1000;
 
     var currentDate = Date.now();
     var CSV_OUTPUT_FILENAME = `replace_by_pattern_${currentDate}.csv`;
@@ -59,6 +70,7 @@
                 replacement: data.replacement,
                 isDryRun: data.isDryRun,
                 isBackup: data.isBackup,
+                isJournalBackup: data.isJournalBackup,
                 isOutputAsCsv: data.isOutputAsCsv,
                 advancedMode: data.advancedMode,
                 selected: data.selected,
@@ -72,23 +84,24 @@
 
     function buildReplaceRequest(item, logger) {
         return function () {
-            return $.ajax({
+            var deferred = $.Deferred();
+            $.ajax({
                 url: REPLACE_BY_PATTERN_COMMAND,
                 type: "POST",
                 data: $.extend({
                     _charset_: "UTF-8",
                     cmd: "replaceByPattern",
+                    async: true,
                     page: new URL(window.location.href).searchParams.get('page') || 1
                 }, item)
             }).fail(function (xhr, status, error) {
-                if (xhr.status === 500) {
-                    logger.log(ELC.format(PERSISTENCE_ERROR_MSG, item), false);
-                } else if (xhr.status === 403) {
-                    logger.log(ELC.format(FORBIDDEN_ERROR_MSG, item), false);
-                } else {
-                    logger.log(ELC.format(PROCESSING_ERROR_MSG, item), false);
-                }
+                logReplacementError(xhr.status, logger, item);
+                deferred.resolve();
             }).done(function (data, textStatus, xhr) {
+                if (xhr.status === 202 && data && data.jobId) {
+                    pollReplacementStatus(data.jobId, logger, item, deferred);
+                    return;
+                }
                 if (xhr.status === 202) {
                     logger.log(ELC.format(PROCESSING_IDENTICAL_MSG, item), false);
                 } else if (xhr.status === 204) {
@@ -96,10 +109,98 @@
                 } else {
                     handleSuccessRequest(xhr, data, logger, item);
                 }
+                deferred.resolve();
             });
+            return deferred.promise();
         };
     }
 
+    /** Polls the status of the replacement running in the background until it is finished */
+    function pollReplacementStatus(jobId, logger, item, deferred) {
+        $.ajax({
+            url: REPLACE_BY_PATTERN_COMMAND,
+            type: "GET",
+            data: {jobId: jobId}
+        }).fail(function (xhr, status, error) {
+            logger.log(ELC.format(PROCESSING_ERROR_MSG, item), false);
+            deferred.resolve();
+        }).done(function (data, textStatus, xhr) {
+            if (data.status === 'QUEUED' || data.status === 'RUNNING') {
+                logger.progress(ELC.format(PROGRESS_LABEL, data));
+                setTimeout(function () {
+                    pollReplacementStatus(jobId, logger, item, deferred);
+                }, STATUS_POLLING_INTERVAL);
+                return;
+            }
+            if (data.backupId) {
+                addUndoButton(data.backupId, logger);
+            }
+            if (data.status === 'FAILED') {
+                logReplacementError(data.errorStatus, logger, item);
+            } else if (data.status === 'STOPPED') {
+                logger.log(ELC.format(PROCESSING_STOPPED_MSG, item), false);
+            } else if (item.isOutputAsCsv && data.updatedItemsCount) {
+                $.ajax({
+                    url: REPLACE_BY_PATTERN_COMMAND,
+                    type: "GET",
+                    data: {jobId: jobId, isOutputAsCsv: true}
+                }).fail(function () {
+                    logger.log(ELC.format(PROCESSING_ERROR_MSG, item), false);
+                }).done(function (csvData, csvTextStatus, csvXhr) {
+                    handleSuccessRequest(csvXhr, csvData, logger, item);
+                }).always(function () {
+                    deferred.resolve();
+                });
+                return;
+            } else {
+                handleSuccessRequest(xhr, data, logger, item);
+            }
+            deferred.resolve();
+        });
+    }
+
+    /** Adds the button undoing the replacement recorded to the journal with the given id */
+    function addUndoButton(backupId, logger) {
+        var undoBtn = new Coral.Button();
+        undoBtn.label.textContent = UNDO_LABEL;
+        undoBtn.on('click', function () {
+            undoBtn.disabled = true;
+            $.ajax({
+                url: UNDO_REPLACEMENT_COMMAND,
+                type: "POST",
+                data: {
+                    _charset_: "UTF-8",
+                    backupId: backupId
+                }
+            }).fail(function (xhr) {
+                logger.log(xhr.status === 409 ? UNDO_RUNNING_MSG : UNDO_ERROR_MSG, false);
+                undoBtn.disabled = false;
+            }).done(function (data) {
+                logger.log(ELC.format(UNDO_SUCCESS_MSG, data), false);
+                if (data.conflictsCount) {
+                    logger.log(ELC.format(UNDO_CONFLICTS_MSG, data), false);
+                    data.conflicts.forEach(function (conflict) {
+                        logger.log(conflict, true);
+                    });
+                }
+                undoBtn.remove();
+            });
+        });
+        logger.dialog.footer.appendChild(undoBtn);
+    }
+
+    function logReplacementError(status, logger, item) {
+        if (status === 500) {
+            logger.log(ELC.format(PERSISTENCE_ERROR_MSG, item), false);
+        } else if (status === 403) {
+            logger.log(ELC.format(FORBIDDEN_ERROR_MSG, item), false);
+        } else if (status === 503) {
+            logger.log(ELC.format(UNAVAILABLE_ERROR_MSG, item), false);
+        } else {
+            logger.log(ELC.format(PROCESSING_ERROR_MSG, item), false);
+        }
+    }
+
     function handleSuccessRequest(xhr, data, logger, item) {
         if (item.isDryRun) {
             processingSuccessMsg = DRY_RUN_PREFIX_MSG + processingSuccessMsg;
@@ -187,6 +288,10 @@
         var $isBackupCheckbox = $('<coral-checkbox name="isBackup" disabled>').text(BACKUP_CHECKBOX_LABEL);
         $isBackupCheckbox.appendTo(el.content);
 
+        // Journal backup checkbox group
+        var $isJournalBackupCheckbox = $('<coral-checkbox name="isJournalBackup" disabled>').text(JOURNAL_BACKUP_CHECKBOX_LABEL);
+        $isJournalBackupCheckbox.appendTo(el.content);
+
         // CSV output checkbox group
         var $isCsvOutputCheckbox = $('<coral-checkbox name="isOutputAsCsv">').text(CSV_OUT_CHECKBOX_LABEL);
         $isCsvOutputCheckbox.appendTo(el.content);
@@ -212,6 +317,7 @@
                 replacement: $replacementTextField.val(),
                 isDryRun: $isDryRunCheckbox.prop("checked"),
                 isBackup: $isBackupCheckbox.prop("checked"),
+                isJournalBackup: $isJournalBackupCheckbox.prop("checked"),
                 isOutputAsCsv: $isCsvOutputCheckbox.prop("checked"),
                 selected: selection.map(item => {
                     return item.path + '@' + item.propertyName
@@ -226,6 +332,7 @@
         /** @param {Event} e */
         function onDryRunChange(e) {
             $isBackupCheckbox.attr('disabled', $isDryRunCheckbox.prop('checked'));
+            $isJournalBackupCheckbox.attr('disabled', $isDryRunCheckbox.prop('checked'));
         }
 
         el.on('input', 'input', onValidate);